@@ -0,0 +1,44 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.condition;
+
+/**
+ * Wait condition which is able to listen to events changing its state. Waits
+ * do not sleep for the whole test period between two tests of such condition,
+ * they rather wake up as soon as an event which could change result of 
+ * {@link #test()} occurs. Test period still applies as a safety net for 
+ * state changes which are not accompanied by any event.
+ */
+public interface EventDrivenWaitCondition extends WaitCondition {
+
+	/**
+	 * Starts listening to events. Called once before the first test 
+	 * of the condition in a wait.
+	 * 
+	 * @return true if the condition listens to events, false if it is not able 
+	 * to listen (e.g. it is waited for in UI thread) and it has to be polled
+	 */
+	boolean startListening();
+
+	/**
+	 * Blocks until an event which could change result of {@link #test()} 
+	 * occurs or until specified time elapses.
+	 * 
+	 * @param timeout maximal time to block in milliseconds
+	 * @return true if an event occurred, false if time elapsed
+	 */
+	boolean waitForEvent(long timeout);
+
+	/**
+	 * Stops listening to events. Called once after the wait finished.
+	 */
+	void stopListening();
+}
@@ -21,11 +21,12 @@ import org.jboss.reddeer.common.properties.RedDeerProperties;
  *
  */
 public class ExecutionSetting {
-	private static ExecutionSetting instance;
+	private static volatile ExecutionSetting instance;
 	private boolean pauseFailedTest = false;
 	private int logMessageFilter;
 	private int logLevel = Integer.MAX_VALUE;
 	private boolean filterSet = false;
+	private volatile boolean asyncLogging = false;
 
 	/**
 	 * Provides ExecutionSetting instance.
@@ -33,15 +34,19 @@ public class ExecutionSetting {
 	 * @return instance
 	 */
 	public static ExecutionSetting getInstance() {
-		if (instance == null) {
-			instance = new ExecutionSetting();
-			instance.pauseFailedTest = RedDeerProperties.PAUSE_FAILED_TEST.getBooleanValue();
+		ExecutionSetting setting = instance;
+		if (setting == null) {
+			// instance is published only when fully initialized, loggers read it from many threads
+			setting = new ExecutionSetting();
+			setting.pauseFailedTest = RedDeerProperties.PAUSE_FAILED_TEST.getBooleanValue();
 			String logMessageFilterText = RedDeerProperties.LOG_MESSAGE_FILTER.getValue();
 			String logLevel = RedDeerProperties.LOG_LEVEL.getValue();
-			instance.logLevel = LogLevel.ALL.fromString(logLevel).getValue();
-			instance.parseLogMessageFilter(logMessageFilterText);
+			setting.logLevel = LogLevel.ALL.fromString(logLevel).getValue();
+			setting.parseLogMessageFilter(logMessageFilterText);
+			setting.asyncLogging = RedDeerProperties.LOG_ASYNC.getBooleanValue();
+			instance = setting;
 		}
-		return instance;
+		return setting;
 	}
 
 	private void parseLogMessageFilter(String logMessageTypeParam) {
@@ -126,4 +131,23 @@ public class ExecutionSetting {
 		return logLevel;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Finds out whether log messages are printed asynchronously.
+	 *
+	 * @return true if -Drd.logAsync=true, false otherwise (default)
+	 */
+	public boolean isAsyncLogging() {
+		return asyncLogging;
+	}
+
+	/**
+	 * Sets whether log messages are printed asynchronously. Usually you will use
+	 * -Drd.logAsync parameter instead of call this method.
+	 *
+	 * @param asyncLogging true to print log messages asynchronously
+	 */
+	public void setAsyncLogging(boolean asyncLogging) {
+		this.asyncLogging = asyncLogging;
+	}
+
+}
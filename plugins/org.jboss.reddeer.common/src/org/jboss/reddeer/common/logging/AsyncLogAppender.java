@@ -0,0 +1,104 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous appender printing log messages to standard output in a background thread. 
+ * Messages are passed to the thread via lock-free ring buffer. When the buffer is full, 
+ * logging threads wait until there is free space, so no message is lost and order 
+ * of messages is preserved.
+ */
+class AsyncLogAppender {
+
+	private static final int CAPACITY = 1024;
+
+	private static final long IDLE_WAIT = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final AtomicReferenceArray<String> buffer = new AtomicReferenceArray<String>(CAPACITY);
+
+	/** Sequence number of the next message to be appended. */
+	private final AtomicLong head = new AtomicLong();
+
+	/** Sequence number of the next message to be printed, modified only by printing thread. */
+	private volatile long tail = 0;
+
+	/** Whether printing thread is parked waiting for next message. */
+	private volatile boolean idle = false;
+
+	private final Thread printer;
+
+	AsyncLogAppender() {
+		printer = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				printMessages();
+			}
+		}, "RedDeer log appender");
+		printer.setDaemon(true);
+		printer.start();
+	}
+
+	/**
+	 * Appends message to the buffer.
+	 * 
+	 * @param message message to print
+	 */
+	void append(String message) {
+		long sequence = head.getAndIncrement();
+		while (sequence - tail >= CAPACITY) {
+			// buffer is full, wait for printer
+			LockSupport.unpark(printer);
+			LockSupport.parkNanos(IDLE_WAIT);
+		}
+		buffer.set((int) (sequence % CAPACITY), message);
+		if (idle) {
+			LockSupport.unpark(printer);
+		}
+	}
+
+	/**
+	 * Waits until all messages appended so far are printed.
+	 */
+	void flush() {
+		long target = head.get();
+		while (tail < target) {
+			LockSupport.unpark(printer);
+			LockSupport.parkNanos(IDLE_WAIT / 10);
+		}
+		System.out.flush();
+	}
+
+	private void printMessages() {
+		while (true) {
+			int index = (int) (tail % CAPACITY);
+			String message = buffer.get(index);
+			if (message == null) {
+				// park until a message is appended, check the buffer again after 
+				// announcing idleness so that no wake up is missed
+				idle = true;
+				if (buffer.get(index) == null) {
+					LockSupport.park(this);
+				}
+				idle = false;
+				continue;
+			}
+			buffer.set(index, null);
+			System.out.println(message);
+			tail++;
+		}
+	}
+}
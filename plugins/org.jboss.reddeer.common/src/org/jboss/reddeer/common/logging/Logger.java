@@ -13,19 +13,37 @@ package org.jboss.reddeer.common.logging;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.reddeer.common.context.ExecutionSetting;
 import org.jboss.reddeer.common.exception.RedDeerException;
 
 /**
- * Simple console logger for Reddeer
+ * Simple console logger for Reddeer. Messages using formatting string and arguments 
+ * are formatted only if they are going to be printed. Use {@link #isDebugEnabled()} 
+ * and similar methods to guard expensive creation of log messages. 
+ * 
+ * If RedDeer property {@link org.jboss.reddeer.common.properties.RedDeerProperties#LOG_ASYNC}
+ * is set to true, messages are printed asynchronously. Use {@link #flush()} 
+ * to wait until all messages are printed.
  * 
  * @author Jiri Peterka
  *
  */
 public class Logger {
 
-	private DateFormat dateFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+	private static final ThreadLocal<DateFormat> dateFormat = new ThreadLocal<DateFormat>() {
+		
+		@Override
+		protected DateFormat initialValue() {
+			return new SimpleDateFormat("HH:mm:ss.SSS");
+		}
+	};
+
+	private static final ConcurrentMap<Class<?>, Logger> loggers = new ConcurrentHashMap<Class<?>, Logger>();
+
+	private static volatile AsyncLogAppender asyncAppender;
 
 	private static final String error = "ERROR";
 	private static final String warning = "WARNING";
@@ -39,13 +57,21 @@ public class Logger {
 	private Class<? extends Object> loggerClass;
 
 	/**
-	 * Returns logger based on given class.
+	 * Returns logger based on given class. Loggers are cached per class.
 	 *
 	 * @param c given class
 	 * @return logger instance
 	 */
 	public static Logger getLogger(Class<? extends Object> c) {
-		return new Logger(c);
+		Logger logger = loggers.get(c);
+		if (logger == null) {
+			Logger newLogger = new Logger(c);
+			logger = loggers.putIfAbsent(c, newLogger);
+			if (logger == null) {
+				logger = newLogger;
+			}
+		}
+		return logger;
 	}
 
 	/**
@@ -74,7 +100,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void debug(String fmtString, Object... args) {
-		debug(String.format(fmtString, args));
+		if (isEnabled(MessageType.DEBUG)) {
+			debug(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -94,7 +122,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void trace(String fmtString, Object... args) {
-		trace(String.format(fmtString, args));
+		if (isEnabled(MessageType.TRACE)) {
+			trace(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -114,7 +144,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void warn(String fmtString, Object... args) {
-		warn(String.format(fmtString, args));
+		if (isEnabled(MessageType.WARN)) {
+			warn(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -134,7 +166,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void error(String fmtString, Object... args) {
-		error(String.format(fmtString, args));
+		if (isEnabled(MessageType.ERROR)) {
+			error(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -145,7 +179,11 @@ public class Logger {
 	 */
 	public void error(String msg, Throwable t) {
 		print(error, msg, MessageType.ERROR);
-		printStackTraceRecursive(t);
+		if (isEnabled(MessageType.ERROR)) {
+			// stack trace is printed synchronously
+			flush();
+			printStackTraceRecursive(t);
+		}
 	}
 
 	/**
@@ -158,7 +196,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void error(String fmtString, Throwable t, Object... args) {
-		error(String.format(fmtString, args), t);
+		if (isEnabled(MessageType.ERROR)) {
+			error(String.format(fmtString, args), t);
+		}
 	}
 
 	/**
@@ -178,7 +218,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void info(String fmtString, Object... args) {
-		info(String.format(fmtString, args));
+		if (isEnabled(MessageType.INFO)) {
+			info(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -198,7 +240,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void dump(String fmtString, Object... args) {
-		dump(String.format(fmtString, args));
+		if (isEnabled(MessageType.DUMP)) {
+			dump(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -226,7 +270,9 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void step(String fmtString, Object... args) {
-		step(String.format(fmtString, args));
+		if (isEnabled(MessageType.STEP)) {
+			step(String.format(fmtString, args));
+		}
 	}
 
 	/**
@@ -254,21 +300,72 @@ public class Logger {
 	 * @see java.lang.String#format(String, Object...)
 	 */
 	public void fatal(String fmtString, Object... args) {
-		fatal(String.format(fmtString, args));
+		if (isEnabled(MessageType.FATAL)) {
+			fatal(String.format(fmtString, args));
+		}
+	}
+
+	/**
+	 * Finds out whether messages of trace type are printed.
+	 *
+	 * @return true if trace messages are printed, false otherwise
+	 */
+	public boolean isTraceEnabled() {
+		return isEnabled(MessageType.TRACE);
+	}
+
+	/**
+	 * Finds out whether messages of debug type are printed.
+	 *
+	 * @return true if debug messages are printed, false otherwise
+	 */
+	public boolean isDebugEnabled() {
+		return isEnabled(MessageType.DEBUG);
+	}
+
+	/**
+	 * Finds out whether messages of info type are printed.
+	 *
+	 * @return true if info messages are printed, false otherwise
+	 */
+	public boolean isInfoEnabled() {
+		return isEnabled(MessageType.INFO);
+	}
+
+	/**
+	 * Finds out whether messages of specified type are printed with respect 
+	 * to log message filter and log level.
+	 *
+	 * @param type message type, see {@link MessageType}
+	 * @return true if messages of specified type are printed, false otherwise
+	 */
+	public boolean isEnabled(int type) {
+		ExecutionSetting setting = ExecutionSetting.getInstance();
+		if ((type & setting.getLogMessageFilter()) != type) {
+			return false;
+		}
+		return setting.getLogLevel() >= getLevelFromMsgType(type).getValue();
+	}
+
+	/**
+	 * Waits until all messages logged so far are printed. Does nothing
+	 * if messages are printed synchronously.
+	 */
+	public static void flush() {
+		AsyncLogAppender appender = asyncAppender;
+		if (appender != null) {
+			appender.flush();
+		}
 	}
 
 	private void print(String severity, String msg, int type) {
-		if ((type & ExecutionSetting.getInstance().getLogMessageFilter()) != type)
+		if (!isEnabled(type)) {
 			return;
-		
-		int logLevel = ExecutionSetting.getInstance().getLogLevel();
-		if (logLevel < getLevelFromMsgType(type).getValue()) {
-			return; 
 		}
 
 		StringBuilder sb = new StringBuilder();
-		sb.append(dateFormat.format(new Date()) + " ");		
-
+		sb.append(dateFormat.get().format(new Date()));
+		sb.append(" ");
 		sb.append(severity);
 		sb.append(" [");
 		sb.append(getThreadName());
@@ -277,7 +374,22 @@ public class Logger {
 		sb.append(loggerClass.getSimpleName());
 		sb.append("] ");
 		sb.append(msg);
-		System.out.println(sb.toString());
+		if (ExecutionSetting.getInstance().isAsyncLogging()) {
+			getAsyncAppender().append(sb.toString());
+		} else {
+			System.out.println(sb.toString());
+		}
+	}
+
+	private static AsyncLogAppender getAsyncAppender() {
+		if (asyncAppender == null) {
+			synchronized (Logger.class) {
+				if (asyncAppender == null) {
+					asyncAppender = new AsyncLogAppender();
+				}
+			}
+		}
+		return asyncAppender;
 	}
 
 	private LogLevel getLevelFromMsgType(int msgType) {
@@ -29,6 +29,11 @@ public enum RedDeerProperties {
 
 	LOG_LEVEL("rd.logLevel", "ALL"),
 
+	/**
+	 * Whether log messages should be printed asynchronously by a background thread.
+	 */
+	LOG_ASYNC("rd.logAsync", false),
+
 	CLOSE_WELCOME_SCREEN("rd.closeWelcomeScreen", true),
 
 	CLOSE_ALL_SHELLS("rd.closeShells", true),
@@ -37,6 +42,12 @@ public enum RedDeerProperties {
 	
 	LOG_COLLECTOR_ENABLED("rd.logCollectorEnabled", true),
 
+	/**
+	 * Whether log collector should also write collected log entries to a compressed archive 
+	 * with an index per test run configuration.
+	 */
+	LOG_COLLECTOR_ARCHIVE("rd.logCollectorArchive", false),
+
 	/**
 	 * System property pointing either to the configuration file or to the configuration directory. 
 	 */
@@ -46,9 +57,68 @@ public enum RedDeerProperties {
 
 	RELATIVE_SCREENSHOT_DIRECTORY("rd.relativeScreenshotDirectory", (String) null),
 
+	/**
+	 * Image format of captured screenshots.
+	 */
+	SCREENSHOT_FORMAT("rd.screenshotFormat", "png", "png", "jpg", "bmp"),
+
+	/**
+	 * Compression of captured screenshots, 0 (none) to 3 (best) for PNG, quality 1 to 100 for JPG,
+	 * -1 for default compression of the format.
+	 */
+	SCREENSHOT_COMPRESSION("rd.screenshotCompression", -1),
+
 	OPEN_ASSOCIATED_PERSPECTIVE("rd.openAssociatedPerspective", "never"),
 
-	TIME_PERIOD_FACTOR("rd.timePeriodFactor", 1.f);
+	TIME_PERIOD_FACTOR("rd.timePeriodFactor", 1.f),
+
+	/**
+	 * Default strategy used by wait conditions to schedule next test of a condition. 
+	 */
+	POLLING_STRATEGY("rd.pollingStrategy", "backoff", "fixed", "backoff", "adaptive"),
+
+	/**
+	 * Whether widget lookup should use cached index of widgets instead of walking widget tree.
+	 */
+	WIDGET_INDEX("rd.widgetIndex", false),
+
+	/**
+	 * Delay in milliseconds between press and release of a mouse button when clicking.
+	 */
+	MOUSE_CLICK_DELAY("rd.mouseClickDelay", 0),
+
+	/**
+	 * Number of forked Eclipse instances test run configurations are distributed to. 
+	 */
+	PARALLEL_SHARDS("rd.parallelShards", 1),
+
+	/**
+	 * Comma separated list of X displays used by forked Eclipse instances, e.g. ":1,:2".
+	 * Forked instances use display of the main instance if not set.
+	 */
+	PARALLEL_SHARD_DISPLAYS("rd.parallelShardDisplays", (String) null),
+
+	/**
+	 * Zero based index of the shard of test classes executed by this test run. 
+	 */
+	SHARD_INDEX("rd.shardIndex", 0),
+
+	/**
+	 * Total number of shards test classes are divided into, e.g. number of CI agents. 
+	 */
+	SHARD_TOTAL("rd.shardTotal", 1),
+
+	/**
+	 * File with durations of test classes from previous runs. Durations are used to balance 
+	 * shards. The file is updated after each run unless test classes are divided into shards.
+	 */
+	TEST_DURATIONS_FILE("rd.testDurationsFile", (String) null),
+
+	/**
+	 * File durations of test classes recorded by a run are saved to. Durations of test classes 
+	 * not executed by the run are copied from {@link #TEST_DURATIONS_FILE}.
+	 */
+	TEST_DURATIONS_OUTPUT_FILE("rd.testDurationsOutputFile", (String) null);
 
 	private static final Logger log = Logger.getLogger(RedDeerProperties.class);
 
@@ -91,6 +161,14 @@ public enum RedDeerProperties {
 		checkSystemValue(getValueInternal());
 	}
 
+	private RedDeerProperties(String name, Integer defaultValue){
+		this.name = name;
+		this.type = RedDeerPropertyType.INTEGER;
+		this.defaultValue = defaultValue.toString();
+		this.supportedValues = new String[0];
+		checkSystemValue(getValueInternal());
+	}
+
 	/**
 	 * Returns the enumeration by its name.
 	 *
@@ -147,6 +225,20 @@ public enum RedDeerProperties {
 		return Float.parseFloat(propertyValue.toLowerCase());
 	}
 
+	/**
+	 * Returns {@link #getValue()} converted to the integer. 
+	 *
+	 * @return the integer value
+	 */
+	public int getIntegerValue(){
+		if (getType() != RedDeerPropertyType.INTEGER){
+			throw new RedDeerException("Requested integer system value from non integer property [" 
+					+ getName() + ", " + getType() + "]");
+		}
+		String propertyValue = getValue();
+		return Integer.parseInt(propertyValue.trim());
+	}
+
 	/**
 	 * Property name.
 	 *
@@ -203,6 +295,18 @@ public enum RedDeerProperties {
 			}
 		}
 
+		if (getType() == RedDeerPropertyType.INTEGER) {
+			try {
+				Integer.parseInt(systemValue.trim());
+				return;
+			} catch (Exception e) {
+				log.error("System property '" + getName() + "' has unsupported value '" 
+						+ systemValue + "'. Value has to be integer number");
+				throw new RedDeerException("System property '" + getName() + "' has unsupported value '" 
+						+ systemValue + "'. Value has to be integer number");
+			}
+		}
+
 		if (getType() == RedDeerPropertyType.BOOLEAN || getType() == RedDeerPropertyType.ENUMERATION){
 			systemValue = systemValue.toLowerCase();
 		}
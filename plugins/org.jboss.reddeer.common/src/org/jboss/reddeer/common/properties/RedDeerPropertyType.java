@@ -18,5 +18,5 @@ package org.jboss.reddeer.common.properties;
  */
 public enum RedDeerPropertyType {
 
-	BOOLEAN, ENUMERATION, TEXT, FLOAT;
+	BOOLEAN, ENUMERATION, TEXT, FLOAT, INTEGER;
 }
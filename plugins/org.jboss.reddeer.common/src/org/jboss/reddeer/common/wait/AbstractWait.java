@@ -10,13 +10,20 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.common.wait;
 
+import org.jboss.reddeer.common.condition.EventDrivenWaitCondition;
 import org.jboss.reddeer.common.condition.WaitCondition;
 import org.jboss.reddeer.common.exception.WaitTimeoutExpiredException;
 import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
 
 /**
  * Common ancestor for waiting classes. Contains abstract
  * {@link #stopWaiting(WaitCondition)} method that is called in the constructor.
+ * Time between two tests of a wait condition is driven by a {@link PollingStrategy}.
+ * If no polling strategy nor test period is specified, default polling strategy
+ * is used, see {@link #getDefaultPollingStrategy()}. If wait condition is 
+ * an {@link EventDrivenWaitCondition}, waiting between two tests is interrupted 
+ * as soon as the condition is notified about an event changing its state.
  * 
  * @author Vlado Pakan
  * @author Lucia Jelinkova
@@ -29,6 +36,8 @@ public abstract class AbstractWait {
 	 */
 	private static final Logger log = Logger.getLogger(AbstractWait.class);
 
+	private static PollingStrategy defaultPollingStrategy;
+
 	private TimePeriod timeout;
 
 	private boolean throwTimeoutException = true;
@@ -68,7 +77,7 @@ public abstract class AbstractWait {
 	 */
 	public AbstractWait(WaitCondition condition, TimePeriod timePeriod,
 			boolean throwRuntimeException) {
-		this(condition, timePeriod, throwRuntimeException, TimePeriod.SHORT);
+		this(condition, timePeriod, throwRuntimeException, getDefaultPollingStrategy());
 	}
 	
 	/**
@@ -87,18 +96,69 @@ public abstract class AbstractWait {
 	 */
 	public AbstractWait(WaitCondition condition, TimePeriod timePeriod, 
 			boolean throwRuntimeException, TimePeriod testPeriod) {
+		this(condition, timePeriod, throwRuntimeException, new FixedPollingStrategy(testPeriod));
+	}
+
+	/**
+	 * Waits till condition is met for specified timeout period. There is a
+	 * possibility to turn on/off throwing a exception. This constructor also 
+	 * allows to set custom polling strategy - strategy deciding how long to
+	 * wait before another execution of a wait condition is performed.
+	 *
+	 * @param condition wait condition to met
+	 * @param timePeriod time period to wait
+	 * @param throwRuntimeException whether exception should be thrown after
+	 * expiration of the period
+	 * @param pollingStrategy strategy deciding time to wait before another
+	 * testing of a wait condition is performed
+	 * @throws WaitTimeoutExpiredException the wait timeout expired exception
+	 */
+	public AbstractWait(WaitCondition condition, TimePeriod timePeriod, 
+			boolean throwRuntimeException, PollingStrategy pollingStrategy) {
 		if(condition == null) {
 			throw new IllegalArgumentException("condition can't be null");
 		}
 		if(timePeriod == null) {
 			throw new IllegalArgumentException("timePeriod can't be null");
 		}
-		if (testPeriod == null) {
-			throw new IllegalArgumentException("testPeriod cannot be null.");
+		if (pollingStrategy == null) {
+			throw new IllegalArgumentException("pollingStrategy cannot be null.");
 		}
 		this.timeout = timePeriod;
 		this.throwTimeoutException = throwRuntimeException;
-		wait(condition, testPeriod);
+		wait(condition, pollingStrategy);
+	}
+
+	/**
+	 * Gets polling strategy used by waits which do not specify test period
+	 * nor polling strategy. Unless set by {@link #setDefaultPollingStrategy(PollingStrategy)},
+	 * the strategy is chosen according to {@link RedDeerProperties#POLLING_STRATEGY}.
+	 * 
+	 * @return default polling strategy
+	 */
+	public static synchronized PollingStrategy getDefaultPollingStrategy() {
+		if (defaultPollingStrategy == null) {
+			String strategy = RedDeerProperties.POLLING_STRATEGY.getValue().toLowerCase();
+			if ("fixed".equals(strategy)) {
+				defaultPollingStrategy = new FixedPollingStrategy(TimePeriod.SHORT);
+			} else if ("adaptive".equals(strategy)) {
+				defaultPollingStrategy = new AdaptivePollingStrategy();
+			} else {
+				defaultPollingStrategy = new BackoffPollingStrategy();
+			}
+		}
+		return defaultPollingStrategy;
+	}
+
+	/**
+	 * Sets polling strategy used by waits which do not specify test period
+	 * nor polling strategy. Passing null resets the strategy to the one 
+	 * defined by {@link RedDeerProperties#POLLING_STRATEGY}.
+	 * 
+	 * @param pollingStrategy default polling strategy
+	 */
+	public static synchronized void setDefaultPollingStrategy(PollingStrategy pollingStrategy) {
+		defaultPollingStrategy = pollingStrategy;
 	}
 
 	/**
@@ -118,28 +178,56 @@ public abstract class AbstractWait {
 	 */
 	protected abstract String description();
 	
-	private void wait(WaitCondition condition, TimePeriod testPeriod) {
+	private void wait(WaitCondition condition, PollingStrategy pollingStrategy) {
 		log.debug(this.description() + condition.description() + "...");
 		
+		EventDrivenWaitCondition eventDrivenCondition = null;
+		if (condition instanceof EventDrivenWaitCondition 
+				&& ((EventDrivenWaitCondition) condition).startListening()) {
+			eventDrivenCondition = (EventDrivenWaitCondition) condition;
+		}
+		try {
+			waitInternal(condition, eventDrivenCondition, pollingStrategy);
+		} finally {
+			if (eventDrivenCondition != null) {
+				eventDrivenCondition.stopListening();
+			}
+		}
+	}
+
+	private void waitInternal(WaitCondition condition, EventDrivenWaitCondition eventDrivenCondition, 
+			PollingStrategy pollingStrategy) {
+		long start = System.currentTimeMillis();
 		long limit;
-		if((Long.MAX_VALUE - System.currentTimeMillis()) / 1000 > getTimeout().getSeconds()){
-			limit = System.currentTimeMillis() + getTimeout().getSeconds() * 1000;
+		if(Long.MAX_VALUE - start > getTimeout().getMilliseconds()){
+			limit = start + getTimeout().getMilliseconds();
 		} else {
 			limit = Long.MAX_VALUE;
 		}
 
+		int attempt = 0;
 		while (true) {
 			if (stopWaiting(condition)){
 				break;
 			}
+			attempt++;
 			
-			if (timeoutExceeded(condition, limit)){
+			if (timeoutExceeded(condition, pollingStrategy, start, limit)){
 				return;
 			}
 			
-			sleep(testPeriod);
+			long now = System.currentTimeMillis();
+			long delay = pollingStrategy.getDelay(condition, attempt, now - start);
+			// do not oversleep the timeout, condition is tested once more after it expires
+			delay = Math.max(0, Math.min(delay, limit - now + 1));
+			if (eventDrivenCondition != null) {
+				eventDrivenCondition.waitForEvent(delay);
+			} else {
+				sleep(delay);
+			}
 		}
 		
+		pollingStrategy.waitingFinished(condition, true, System.currentTimeMillis() - start);
 		log.debug(this.description() + condition.description()
 				+ " finished successfully");
 	}
@@ -169,19 +257,37 @@ public abstract class AbstractWait {
 	 * @param timePeriod time period to sleep
 	 */
 	public static void sleep(TimePeriod timePeriod) {
+		sleep(timePeriod.getMilliseconds());
+	}
+
+	private static void sleep(long milliseconds) {
 		try {
-			Thread.sleep(timePeriod.getSeconds() * 1000);
+			Thread.sleep(milliseconds);
 		} catch (InterruptedException e) {
 			throw new RuntimeException("Sleep interrupted", e);
 		}
 	}
 
-	private boolean timeoutExceeded(WaitCondition condition, long limit) {
-		if (System.currentTimeMillis() > limit) {
+	/**
+	 * Formats timeout in seconds, or in milliseconds if it is not a whole number of seconds.
+	 */
+	private String formatTimeout() {
+		long milliseconds = timeout.getMilliseconds();
+		if (milliseconds != Long.MAX_VALUE && milliseconds % 1000 != 0) {
+			return milliseconds + " ms.";
+		}
+		return timeout.getSeconds() + " s.";
+	}
+
+	private boolean timeoutExceeded(WaitCondition condition, PollingStrategy pollingStrategy, 
+			long start, long limit) {
+		long now = System.currentTimeMillis();
+		if (now > limit) {
+			pollingStrategy.waitingFinished(condition, false, now - start);
 			if (throwTimeoutException()) {
 				log.debug(this.description()  + condition.description() + " failed, an exception will be thrown");
 				throw new WaitTimeoutExpiredException("Timeout after: "
-						+ timeout.getSeconds() + " s.: " + condition.errorMessage());
+						+ formatTimeout() + ": " + condition.errorMessage());
 			} else {
 				log.debug(this.description()  + condition.description() + " failed, NO exception will be thrown");
 				return true;
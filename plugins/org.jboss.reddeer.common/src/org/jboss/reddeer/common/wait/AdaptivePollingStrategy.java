@@ -0,0 +1,89 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.wait;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.reddeer.common.condition.WaitCondition;
+
+/**
+ * Polling strategy which adapts test period to a type of wait condition. 
+ * Strategy remembers how long it usually takes until a wait condition of 
+ * specific class is met and tests such conditions with a period proportional
+ * to this time. Conditions without any history and conditions which take
+ * considerably longer than usually are tested with exponential backoff.
+ */
+public class AdaptivePollingStrategy implements PollingStrategy {
+
+	/** Shortest test period used by the strategy. */
+	public static final long MIN_DELAY = 10;
+
+	/** Longest test period used by the strategy. */
+	public static final long MAX_DELAY = 1000;
+
+	/** Count of tests which should be performed within usual waiting time. */
+	private static final int TESTS_PER_USUAL_TIME = 4;
+
+	/** Weight of the newest sample in the moving average. */
+	private static final double SAMPLE_WEIGHT = 0.3;
+
+	private Map<Class<?>, Double> usualTimes = new ConcurrentHashMap<Class<?>, Double>();
+
+	private PollingStrategy fallback = new BackoffPollingStrategy(
+			TimePeriod.getCustomMilliseconds(MIN_DELAY), TimePeriod.getCustomMilliseconds(MAX_DELAY), 2);
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.wait.PollingStrategy#getDelay(org.jboss.reddeer.common.condition.WaitCondition, int, long)
+	 */
+	@Override
+	public long getDelay(WaitCondition condition, int attempt, long elapsedMillis) {
+		Double usualTime = usualTimes.get(condition.getClass());
+		if (usualTime == null || elapsedMillis > 2 * usualTime) {
+			return fallback.getDelay(condition, attempt, elapsedMillis);
+		}
+		long delay = Math.round(usualTime / TESTS_PER_USUAL_TIME);
+		return Math.max(MIN_DELAY, Math.min(MAX_DELAY, delay));
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.wait.PollingStrategy#waitingFinished(org.jboss.reddeer.common.condition.WaitCondition, boolean, long)
+	 */
+	@Override
+	public void waitingFinished(WaitCondition condition, boolean successful, long elapsedMillis) {
+		if (!successful) {
+			// timeout does not say anything about usual waiting time
+			return;
+		}
+		Class<?> conditionClass = condition.getClass();
+		Double usualTime = usualTimes.get(conditionClass);
+		if (usualTime == null) {
+			usualTimes.put(conditionClass, (double) elapsedMillis);
+		} else {
+			usualTimes.put(conditionClass, SAMPLE_WEIGHT * elapsedMillis + (1 - SAMPLE_WEIGHT) * usualTime);
+		}
+	}
+
+	/**
+	 * Forgets all remembered waiting times.
+	 */
+	public void reset() {
+		usualTimes.clear();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "Adaptive polling strategy";
+	}
+}
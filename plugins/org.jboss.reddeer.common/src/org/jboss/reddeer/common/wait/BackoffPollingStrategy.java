@@ -0,0 +1,97 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.wait;
+
+import org.jboss.reddeer.common.condition.WaitCondition;
+
+/**
+ * Polling strategy with exponential backoff. First test of a wait condition
+ * is repeated after a short initial delay which is then multiplied after 
+ * each unsuccessful test until maximal delay is reached.
+ */
+public class BackoffPollingStrategy implements PollingStrategy {
+
+	/** Default initial delay 10 milliseconds. */
+	public static final TimePeriod DEFAULT_INITIAL_DELAY = TimePeriod.getCustomMilliseconds(10);
+
+	/** Default maximal delay is the same as former default test period. */
+	public static final TimePeriod DEFAULT_MAX_DELAY = TimePeriod.SHORT;
+
+	/** Default multiplier of a delay. */
+	public static final double DEFAULT_MULTIPLIER = 2;
+
+	private TimePeriod initialDelay;
+
+	private TimePeriod maxDelay;
+
+	private double multiplier;
+
+	/**
+	 * Creates backoff polling strategy with default initial delay, maximal 
+	 * delay and multiplier.
+	 */
+	public BackoffPollingStrategy() {
+		this(DEFAULT_INITIAL_DELAY, DEFAULT_MAX_DELAY, DEFAULT_MULTIPLIER);
+	}
+
+	/**
+	 * Creates backoff polling strategy.
+	 * 
+	 * @param initialDelay delay before the second test of a wait condition
+	 * @param maxDelay maximal delay between two tests of a wait condition
+	 * @param multiplier multiplier applied on a delay after each test, 
+	 * has to be at least 1
+	 */
+	public BackoffPollingStrategy(TimePeriod initialDelay, TimePeriod maxDelay, double multiplier) {
+		if (initialDelay == null) {
+			throw new IllegalArgumentException("initialDelay cannot be null.");
+		}
+		if (maxDelay == null) {
+			throw new IllegalArgumentException("maxDelay cannot be null.");
+		}
+		if (multiplier < 1) {
+			throw new IllegalArgumentException("multiplier has to be at least 1.");
+		}
+		this.initialDelay = initialDelay;
+		this.maxDelay = maxDelay;
+		this.multiplier = multiplier;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.wait.PollingStrategy#getDelay(org.jboss.reddeer.common.condition.WaitCondition, int, long)
+	 */
+	@Override
+	public long getDelay(WaitCondition condition, int attempt, long elapsedMillis) {
+		long max = maxDelay.getMilliseconds();
+		double delay = initialDelay.getMilliseconds() * Math.pow(multiplier, Math.max(0, attempt - 1));
+		if (delay >= max) {
+			return max;
+		}
+		return Math.round(delay);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.wait.PollingStrategy#waitingFinished(org.jboss.reddeer.common.condition.WaitCondition, boolean, long)
+	 */
+	@Override
+	public void waitingFinished(WaitCondition condition, boolean successful, long elapsedMillis) {
+		// nothing to remember
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "Backoff polling strategy (initial delay " + initialDelay.getMilliseconds() 
+				+ " ms, max delay " + maxDelay.getMilliseconds() + " ms, multiplier " + multiplier + ")";
+	}
+}
@@ -0,0 +1,59 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.wait;
+
+import org.jboss.reddeer.common.condition.WaitCondition;
+
+/**
+ * Polling strategy testing a wait condition periodically with a fixed
+ * test period.
+ */
+public class FixedPollingStrategy implements PollingStrategy {
+
+	private TimePeriod testPeriod;
+
+	/**
+	 * Creates polling strategy with specified test period.
+	 * 
+	 * @param testPeriod time to wait before another testing of a wait
+	 * condition is performed
+	 */
+	public FixedPollingStrategy(TimePeriod testPeriod) {
+		if (testPeriod == null) {
+			throw new IllegalArgumentException("testPeriod cannot be null.");
+		}
+		this.testPeriod = testPeriod;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.wait.PollingStrategy#getDelay(org.jboss.reddeer.common.condition.WaitCondition, int, long)
+	 */
+	@Override
+	public long getDelay(WaitCondition condition, int attempt, long elapsedMillis) {
+		return testPeriod.getMilliseconds();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.wait.PollingStrategy#waitingFinished(org.jboss.reddeer.common.condition.WaitCondition, boolean, long)
+	 */
+	@Override
+	public void waitingFinished(WaitCondition condition, boolean successful, long elapsedMillis) {
+		// nothing to remember
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "Fixed polling strategy (" + testPeriod + ")";
+	}
+}
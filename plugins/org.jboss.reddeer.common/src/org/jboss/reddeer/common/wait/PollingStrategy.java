@@ -0,0 +1,40 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.wait;
+
+import org.jboss.reddeer.common.condition.WaitCondition;
+
+/**
+ * Polling strategy decides how long a wait should sleep before another 
+ * testing of a wait condition is performed.
+ */
+public interface PollingStrategy {
+
+	/**
+	 * Gets time to sleep before next test of a wait condition.
+	 * 
+	 * @param condition wait condition being tested
+	 * @param attempt number of tests of the wait condition already performed
+	 * @param elapsedMillis time elapsed since the waiting started in milliseconds
+	 * @return time to sleep in milliseconds
+	 */
+	long getDelay(WaitCondition condition, int attempt, long elapsedMillis);
+
+	/**
+	 * Notifies polling strategy that waiting for a wait condition finished.
+	 * 
+	 * @param condition wait condition which was tested
+	 * @param successful true if waiting stopped because of the wait condition, 
+	 * false if timeout expired
+	 * @param elapsedMillis time elapsed since the waiting started in milliseconds
+	 */
+	void waitingFinished(WaitCondition condition, boolean successful, long elapsedMillis);
+}
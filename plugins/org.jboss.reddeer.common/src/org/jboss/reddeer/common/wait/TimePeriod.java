@@ -15,7 +15,8 @@ import org.jboss.reddeer.common.properties.RedDeerProperties;
 /**
  * Represents the time period for how long the user operation might last. 
  * Predefined values should cover most of the use cases. There is also a 
- * possibility to define own time period - see {@link #getCustom(long)} method. 
+ * possibility to define own time period - see {@link #getCustom(long)} method
+ * or {@link #getCustomMilliseconds(long)} method for sub-second periods. 
  * 
  * @author Lucia Jelinkova
  *
@@ -44,8 +45,20 @@ public class TimePeriod {
 
 	private long seconds;
 
+	private long milliseconds;
+
 	private TimePeriod(long seconds) {
 		this.seconds = seconds;
+		if (seconds >= Long.MAX_VALUE / 1000) {
+			this.milliseconds = Long.MAX_VALUE;
+		} else {
+			this.milliseconds = seconds * 1000;
+		}
+	}
+
+	private TimePeriod(long seconds, long milliseconds) {
+		this.seconds = seconds;
+		this.milliseconds = milliseconds;
 	}
 
 	/**
@@ -70,6 +83,29 @@ public class TimePeriod {
 		}
 	}
 
+	/**
+	 * Gets duration of a time period in milliseconds. Time period factor
+	 * is applied the same way as in {@link #getSeconds()}.
+	 * 
+	 * @return duration of time period in milliseconds
+	 */
+	public long getMilliseconds() {
+		if (milliseconds == Long.MAX_VALUE || milliseconds == 0) {
+			return milliseconds;
+		}
+
+		if (FACTOR == 1) {
+			return milliseconds;
+		}
+
+		// do not exceed max value of Long
+		if (milliseconds >= Long.MAX_VALUE / FACTOR) {
+			return Long.MAX_VALUE;
+		} else {
+			return Math.round((double) milliseconds * FACTOR);
+		}
+	}
+
 	/**
 	 * Gets custom duration of a time period specified by seconds.
 	 * 
@@ -83,11 +119,32 @@ public class TimePeriod {
 		return new TimePeriod(seconds);
 	}
 
+	/**
+	 * Gets custom duration of a time period specified by milliseconds. 
+	 * Method {@link #getSeconds()} of such time period returns duration 
+	 * truncated to whole seconds.
+	 * 
+	 * @param milliseconds how many milliseconds should time period last
+	 * @return time period with custom time frame in milliseconds
+	 */
+	public static TimePeriod getCustomMilliseconds(long milliseconds) {
+		if (milliseconds < 0) {
+			throw new IllegalArgumentException("Time in milliseconds has to be positive number");
+		}
+		if (milliseconds == Long.MAX_VALUE) {
+			return new TimePeriod(Long.MAX_VALUE);
+		}
+		return new TimePeriod(milliseconds / 1000, milliseconds);
+	}
+
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
 	@Override
 	public String toString() {
+		if (milliseconds != Long.MAX_VALUE && milliseconds % 1000 != 0) {
+			return "Time period " + milliseconds + " ms (factor " + FACTOR + " was used).";
+		}
 		return "Time period " + seconds + " s (factor " + FACTOR + " was used).";
 	}
 	
@@ -81,6 +81,25 @@ public class WaitUntil extends AbstractWait {
 			boolean throwWaitTimeoutExpiredException, TimePeriod testPeriod) {
 		super(condition, timeout, throwWaitTimeoutExpiredException, testPeriod);
 	}
+
+	/**
+	 * Waits until condition is met for specified time period. Can throw
+	 * WaitTimeoutExpiredException if condition is not met after expiration
+	 * of specified time period. This constructor also allows to set custom 
+	 * polling strategy - strategy deciding time elapsed before another execution 
+	 * of a wait condition is performed.
+	 * 
+	 * @param condition condition to wait until it is met
+	 * @param timeout period to wait for
+	 * @param throwWaitTimeoutExpiredException whether exception
+	 * should be thrown or not
+	 * @param pollingStrategy strategy deciding time to wait before another 
+	 * testing of a wait condition is performed
+	 */
+	public WaitUntil(WaitCondition condition, TimePeriod timeout,
+			boolean throwWaitTimeoutExpiredException, PollingStrategy pollingStrategy) {
+		super(condition, timeout, throwWaitTimeoutExpiredException, pollingStrategy);
+	}
 	
 	/* (non-Javadoc)
 	 * @see org.jboss.reddeer.common.wait.AbstractWait#stopWaiting(org.jboss.reddeer.common.condition.WaitCondition)
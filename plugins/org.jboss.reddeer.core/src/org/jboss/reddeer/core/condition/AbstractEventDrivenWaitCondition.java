@@ -0,0 +1,79 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.condition;
+
+import org.jboss.reddeer.common.condition.AbstractWaitCondition;
+import org.jboss.reddeer.common.condition.EventDrivenWaitCondition;
+import org.jboss.reddeer.core.util.DisplayEventHub;
+import org.jboss.reddeer.core.util.DisplayEventHub.Subscription;
+
+/**
+ * Abstract wait condition which is tested again as soon as an SWT event which
+ * could change its result occurs. Events are received via {@link DisplayEventHub}.
+ * Subclasses can narrow types of events by overriding {@link #getEventTypes()}.
+ */
+public abstract class AbstractEventDrivenWaitCondition extends AbstractWaitCondition
+		implements EventDrivenWaitCondition {
+
+	private Subscription subscription;
+
+	private int listeners = 0;
+
+	/**
+	 * Gets types of SWT events which could change result of the condition.
+	 * 
+	 * @return types of SWT events
+	 */
+	protected int[] getEventTypes() {
+		return DisplayEventHub.SUPPORTED_EVENT_TYPES;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.EventDrivenWaitCondition#startListening()
+	 */
+	@Override
+	public synchronized boolean startListening() {
+		if (subscription == null) {
+			subscription = DisplayEventHub.getInstance().subscribe(getEventTypes());
+			if (subscription == null) {
+				return false;
+			}
+		}
+		listeners++;
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.EventDrivenWaitCondition#waitForEvent(long)
+	 */
+	@Override
+	public boolean waitForEvent(long timeout) {
+		Subscription currentSubscription;
+		synchronized (this) {
+			currentSubscription = subscription;
+		}
+		if (currentSubscription == null) {
+			throw new IllegalStateException("Condition " + description() + " is not listening to events");
+		}
+		return currentSubscription.await(timeout);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.EventDrivenWaitCondition#stopListening()
+	 */
+	@Override
+	public synchronized void stopListening() {
+		if (subscription != null && --listeners == 0) {
+			DisplayEventHub.getInstance().unsubscribe(subscription);
+			subscription = null;
+		}
+	}
+}
@@ -10,8 +10,8 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.core.condition;
 
-import org.jboss.reddeer.common.condition.AbstractWaitCondition;
 import org.jboss.reddeer.core.lookup.ShellLookup;
+import org.jboss.reddeer.core.util.DisplayEventHub;
 
 /**
  * Condition is met when active shell exists.
@@ -20,7 +20,7 @@ import org.jboss.reddeer.core.lookup.ShellLookup;
  * @since 0.8.0
  */
 
-public class ActiveShellExists extends AbstractWaitCondition {
+public class ActiveShellExists extends AbstractEventDrivenWaitCondition {
 
 	/* (non-Javadoc)
 	 * @see org.jboss.reddeer.common.condition.WaitCondition#test()
@@ -30,6 +30,14 @@ public class ActiveShellExists extends AbstractWaitCondition {
 		return ShellLookup.getInstance().getCurrentActiveShell() != null;
 	}
 
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.core.condition.AbstractEventDrivenWaitCondition#getEventTypes()
+	 */
+	@Override
+	protected int[] getEventTypes() {
+		return DisplayEventHub.SHELL_EVENT_TYPES;
+	}
+
 	/* (non-Javadoc)
 	 * @see org.jboss.reddeer.common.condition.AbstractWaitCondition#description()
 	 */
@@ -12,11 +12,11 @@ package org.jboss.reddeer.core.condition;
 
 import org.eclipse.swt.widgets.Shell;
 import org.hamcrest.core.IsEqual;
-import org.jboss.reddeer.common.condition.AbstractWaitCondition;
 import org.jboss.reddeer.common.exception.RedDeerException;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.core.handler.WidgetHandler;
 import org.jboss.reddeer.core.lookup.ShellLookup;
+import org.jboss.reddeer.core.util.DisplayEventHub;
 import org.jboss.reddeer.core.util.InstanceValidator;
 
 /**
@@ -26,7 +26,7 @@ import org.jboss.reddeer.core.util.InstanceValidator;
  * @author jniederm
  */
 
-public class ShellWithTextIsActive extends AbstractWaitCondition {
+public class ShellWithTextIsActive extends AbstractEventDrivenWaitCondition {
 
 	private static final Logger log = Logger.getLogger(ShellWithTextIsActive.class);
 	private org.hamcrest.Matcher<String> matcher;
@@ -80,6 +80,14 @@ public class ShellWithTextIsActive extends AbstractWaitCondition {
 		return matches;
 	}
 
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.core.condition.AbstractEventDrivenWaitCondition#getEventTypes()
+	 */
+	@Override
+	protected int[] getEventTypes() {
+		return DisplayEventHub.SHELL_EVENT_TYPES;
+	}
+
 	/* (non-Javadoc)
 	 * @see org.jboss.reddeer.common.condition.AbstractWaitCondition#description()
 	 */
@@ -12,11 +12,11 @@ package org.jboss.reddeer.core.condition;
 
 import org.eclipse.swt.widgets.Shell;
 import org.hamcrest.Matcher;
-import org.jboss.reddeer.common.condition.AbstractWaitCondition;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.common.wait.TimePeriod;
 import org.jboss.reddeer.core.lookup.ShellLookup;
 import org.jboss.reddeer.core.matcher.WithTextMatcher;
+import org.jboss.reddeer.core.util.DisplayEventHub;
 import org.jboss.reddeer.core.util.InstanceValidator;
 
 /**
@@ -25,7 +25,7 @@ import org.jboss.reddeer.core.util.InstanceValidator;
  * @author Andrej Podhradsky (andrej.podhradsky@gmail.com)
  * @author jniederm
  */
-public class ShellWithTextIsAvailable extends AbstractWaitCondition { 
+public class ShellWithTextIsAvailable extends AbstractEventDrivenWaitCondition { 
 	private Matcher<String> matcher;
 	private static final Logger log = Logger.getLogger(ShellWithTextIsAvailable.class);
 
@@ -61,6 +61,14 @@ public class ShellWithTextIsAvailable extends AbstractWaitCondition {
 		return shell != null;
 	}
 
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.core.condition.AbstractEventDrivenWaitCondition#getEventTypes()
+	 */
+	@Override
+	protected int[] getEventTypes() {
+		return DisplayEventHub.SHELL_EVENT_TYPES;
+	}
+
 	/* (non-Javadoc)
 	 * @see org.jboss.reddeer.common.condition.AbstractWaitCondition#description()
 	 */
@@ -15,11 +15,11 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Widget;
 import org.hamcrest.Matcher;
-import org.jboss.reddeer.common.condition.AbstractWaitCondition;
 import org.jboss.reddeer.common.platform.RunningPlatform;
 import org.jboss.reddeer.core.handler.WidgetHandler;
 import org.jboss.reddeer.core.lookup.WidgetLookup;
 import org.jboss.reddeer.core.matcher.AndMatcher;
+import org.jboss.reddeer.core.matcher.MatcherBuilder;
 
 /**
  * WidgetIsFound is general condition to find desired widget
@@ -27,7 +27,7 @@ import org.jboss.reddeer.core.matcher.AndMatcher;
  * 
  * @param <T> widget class
  */
-public class WidgetIsFound <T extends Widget> extends AbstractWaitCondition {
+public class WidgetIsFound <T extends Widget> extends AbstractEventDrivenWaitCondition {
 
 	private Control parent;
 	private AndMatcher am;
@@ -50,7 +50,7 @@ public class WidgetIsFound <T extends Widget> extends AbstractWaitCondition {
 		} else {
 			this.parent = parent;
 		}
-		this.am=new AndMatcher(matchers);
+		this.am=MatcherBuilder.getInstance().compile(matchers);
 		this.index=index;
 	}
 
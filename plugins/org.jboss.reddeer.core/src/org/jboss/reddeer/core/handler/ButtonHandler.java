@@ -63,10 +63,14 @@ public class ButtonHandler {
 		WidgetHandler.getInstance().sendClickNotifications(button);
 
 		Display.syncExec(new Runnable() {
+
+			private EventPipeline events = new EventPipeline();
+
 			@Override
 			public void run() {
 				if (!button.isDisposed()) {
 					handleNotSelectedRadioButton(button);
+					events.flush();
 				}
 			}
 
@@ -91,21 +95,20 @@ public class ButtonHandler {
 						Button sibling = (Button) widget;
 						if ((sibling.getStyle() & SWT.RADIO) != 0
 								&& sibling.getSelection()) {
-							WidgetHandler.getInstance().notify(SWT.Deactivate,
-									sibling);
+							events.add(SWT.Deactivate, sibling);
 							sibling.setSelection(false);
-							WidgetHandler.getInstance().notify(SWT.Selection, sibling);
+							events.add(SWT.Selection, sibling);
 						}
 					}
 				}
 			}
 
 			private void selectRadio(Button button) {
-				WidgetHandler.getInstance().notify(SWT.Activate, button);
-				WidgetHandler.getInstance().notify(SWT.MouseDown, button);
-				WidgetHandler.getInstance().notify(SWT.MouseUp, button);
+				events.add(SWT.Activate, button)
+					.add(SWT.MouseDown, button)
+					.add(SWT.MouseUp, button);
 				button.setSelection(true);
-				WidgetHandler.getInstance().notify(SWT.Selection, button);
+				events.add(SWT.Selection, button);
 			}
 
 		});
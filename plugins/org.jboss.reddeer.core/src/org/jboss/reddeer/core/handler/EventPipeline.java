@@ -0,0 +1,217 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Widget;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.core.util.Display;
+
+/**
+ * Event pipeline queues sequence of events for one or more widgets and posts 
+ * them to UI thread in a single runnable. Events are notified in the order 
+ * in which they were added. Example:
+ * 
+ * <pre>
+ * new EventPipeline()
+ *     .add(SWT.MouseDown, button)
+ *     .add(SWT.MouseUp, button)
+ *     .add(SWT.Selection, button)
+ *     .flush();
+ * </pre>
+ * 
+ * Events are posted asynchronously, so a listener opening a modal dialog does
+ * not block the calling thread. {@link #flush()} waits for posted events to be 
+ * processed by a barrier (an empty sync execution). When called from UI thread, 
+ * events are processed after the current UI runnable finishes.
+ */
+public class EventPipeline {
+
+	private static final Logger log = Logger.getLogger(EventPipeline.class);
+
+	private List<QueuedEvent> events = new ArrayList<QueuedEvent>();
+
+	/**
+	 * Adds event of specified event type for specified widget.
+	 * 
+	 * @param eventType type of the event
+	 * @param widget widget to notify
+	 * @return this pipeline
+	 */
+	public EventPipeline add(int eventType, Widget widget) {
+		return add(eventType, createEvent(widget), widget);
+	}
+
+	/**
+	 * Adds event of specified event type with specified details and item for specified widget.
+	 * 
+	 * @param eventType type of the event
+	 * @param detail details of the event
+	 * @param widget widget to notify
+	 * @param widgetItem item of the event
+	 * @return this pipeline
+	 */
+	public EventPipeline addItem(int eventType, int detail, Widget widget, Widget widgetItem) {
+		return add(eventType, createEventItem(eventType, detail, widget, widgetItem), widget);
+	}
+
+	/**
+	 * Adds mouse event of specified event type, position, button and item for specified widget.
+	 * 
+	 * @param eventType type of the event
+	 * @param detail details of the event
+	 * @param widget widget to notify
+	 * @param widgetItem item of the event
+	 * @param x x of the event
+	 * @param y y of the event
+	 * @param button button of the event
+	 * @return this pipeline
+	 */
+	public EventPipeline addItemMouse(int eventType, int detail, Widget widget, Widget widgetItem, 
+			int x, int y, int button) {
+		return add(eventType, createMouseItemEvent(eventType, detail, widget, widgetItem, x, y, button), widget);
+	}
+
+	/**
+	 * Adds specified event of specified type for specified widget.
+	 * 
+	 * @param eventType type of the event
+	 * @param event event
+	 * @param widget widget to notify
+	 * @return this pipeline
+	 */
+	public EventPipeline add(int eventType, Event event, Widget widget) {
+		event.type = eventType;
+		events.add(new QueuedEvent(eventType, event, widget));
+		return this;
+	}
+
+	/**
+	 * Gets number of queued events.
+	 * 
+	 * @return number of events which were not posted yet
+	 */
+	public int size() {
+		return events.size();
+	}
+
+	/**
+	 * Posts all queued events to UI thread in a single runnable without waiting 
+	 * for them to be processed. Events of disposed widgets are skipped.
+	 */
+	public void post() {
+		if (events.isEmpty()) {
+			return;
+		}
+		final List<QueuedEvent> posted = events;
+		events = new ArrayList<QueuedEvent>();
+		log.trace("Post " + posted.size() + " event(s)");
+		Display.asyncExec(new Runnable() {
+			public void run() {
+				dispatch(posted);
+			}
+		});
+	}
+
+	/**
+	 * Notifies all queued events immediately. Must be called from UI thread.
+	 */
+	void dispatch() {
+		List<QueuedEvent> dispatched = events;
+		events = new ArrayList<QueuedEvent>();
+		dispatch(dispatched);
+	}
+
+	private static void dispatch(List<QueuedEvent> queuedEvents) {
+		for (QueuedEvent queued : queuedEvents) {
+			if ((queued.widget == null) || queued.widget.isDisposed()) {
+				continue;
+			}
+			queued.widget.notifyListeners(queued.eventType, queued.event);
+		}
+	}
+
+	/**
+	 * Posts all queued events to UI thread in a single runnable and waits 
+	 * for them to be processed.
+	 */
+	public void flush() {
+		post();
+		barrier();
+	}
+
+	/**
+	 * Waits until all runnables posted to UI thread so far are processed.
+	 */
+	public static void barrier() {
+		log.trace("Wait for synchronization");
+		Display.syncExec(new Runnable() {
+			public void run() {
+				// do nothing here
+			}
+		});
+	}
+
+	private Event createEvent(Widget widget) {
+		Event event = new Event();
+		event.time = (int) System.currentTimeMillis();
+		event.widget = widget;
+		event.display = Display.getDisplay();
+		return event;
+	}
+
+	private Event createEventItem(int eventType, int detail, Widget widget,
+			Widget widgetItem) {
+		Event event = new Event();
+		event.display = Display.getDisplay();
+		event.time = (int) System.currentTimeMillis();
+		event.item = widgetItem;
+		event.widget = widget;
+		event.detail = detail;
+		event.type = eventType;
+		return event;
+	}
+
+	private Event createMouseItemEvent(int eventType, int detail,
+			Widget widget, Widget widgetItem, int x, int y, int button) {
+		Event event = new Event();
+		event.display = Display.getDisplay();
+		event.time = (int) System.currentTimeMillis();
+		event.item = widgetItem;
+		event.widget = widget;
+		event.detail = detail;
+		event.type = eventType;
+		event.button = button;
+		event.x = x;
+		event.y = y;
+		if(eventType == SWT.MouseDoubleClick){
+			event.count=2;
+		}
+		return event;
+	}
+
+	private static class QueuedEvent {
+
+		private final int eventType;
+		private final Event event;
+		private final Widget widget;
+
+		public QueuedEvent(int eventType, Event event, Widget widget) {
+			this.eventType = eventType;
+			this.event = event;
+			this.widget = widget;
+		}
+	}
+}
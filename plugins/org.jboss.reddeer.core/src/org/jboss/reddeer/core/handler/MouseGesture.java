@@ -0,0 +1,143 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.handler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.common.wait.TimePeriod;
+import org.jboss.reddeer.core.util.Display;
+
+/**
+ * Timed mouse gesture consisting of press events and release events. Press events
+ * are notified at first, release events are scheduled by {@link org.eclipse.swt.widgets.Display#timerExec(int, Runnable)}
+ * after configured delay, so UI thread is never blocked between press and release
+ * of a mouse button. Example:
+ * 
+ * <pre>
+ * MouseGesture click = new MouseGesture();
+ * click.press().addItemMouse(SWT.MouseDown, SWT.NONE, table, item, x, y, 1);
+ * click.release().addItemMouse(SWT.MouseUp, SWT.NONE, table, item, x, y, 1);
+ * click.perform();
+ * </pre>
+ * 
+ * Default delay is taken from {@link RedDeerProperties#MOUSE_CLICK_DELAY} system property.
+ */
+public class MouseGesture {
+
+	private static final Logger log = Logger.getLogger(MouseGesture.class);
+
+	private EventPipeline press = new EventPipeline();
+
+	private EventPipeline release = new EventPipeline();
+
+	private int delay;
+
+	/**
+	 * Creates new mouse gesture with default delay.
+	 */
+	public MouseGesture() {
+		this(getDefaultDelay());
+	}
+
+	/**
+	 * Creates new mouse gesture with specified delay.
+	 * 
+	 * @param delay delay in milliseconds between press and release events
+	 */
+	public MouseGesture(int delay) {
+		if (delay < 0) {
+			throw new IllegalArgumentException("Delay cannot be negative");
+		}
+		this.delay = delay;
+	}
+
+	/**
+	 * Gets default delay between press and release of a mouse button.
+	 * 
+	 * @return delay in milliseconds
+	 */
+	public static int getDefaultDelay() {
+		return RedDeerProperties.MOUSE_CLICK_DELAY.getIntegerValue();
+	}
+
+	/**
+	 * Gets events notified when mouse button is pressed.
+	 * 
+	 * @return press events
+	 */
+	public EventPipeline press() {
+		return press;
+	}
+
+	/**
+	 * Gets events notified when mouse button is released.
+	 * 
+	 * @return release events
+	 */
+	public EventPipeline release() {
+		return release;
+	}
+
+	/**
+	 * Gets delay between press and release events.
+	 * 
+	 * @return delay in milliseconds
+	 */
+	public int getDelay() {
+		return delay;
+	}
+
+	/**
+	 * Performs the gesture. When called from non UI thread, waits until release
+	 * events are processed. When called from UI thread, the gesture is performed
+	 * after the current UI runnable finishes.
+	 */
+	public void perform() {
+		final CountDownLatch released = new CountDownLatch(1);
+		final Runnable releaseRunnable = new Runnable() {
+
+			@Override
+			public void run() {
+				// count down before notification, listener could open a modal dialog
+				released.countDown();
+				release.dispatch();
+			}
+		};
+		log.trace("Perform mouse gesture with delay " + delay + " ms");
+		Display.asyncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				press.dispatch();
+				if (delay == 0) {
+					releaseRunnable.run();
+				} else {
+					Display.getDisplay().timerExec(delay, releaseRunnable);
+				}
+			}
+		});
+		if (Display.getDisplay().getThread() == Thread.currentThread()) {
+			return;
+		}
+		try {
+			long timeout = delay + TimePeriod.SHORT.getMilliseconds();
+			if (!released.await(timeout, TimeUnit.MILLISECONDS)) {
+				log.warn("Release events of mouse gesture were not notified within " + timeout + " ms");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		EventPipeline.barrier();
+	}
+}
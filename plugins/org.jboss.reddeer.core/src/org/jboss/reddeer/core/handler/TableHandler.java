@@ -19,11 +19,10 @@ import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableColumn;
 import org.eclipse.swt.widgets.TableItem;
-import org.jboss.reddeer.common.wait.AbstractWait;
-import org.jboss.reddeer.common.wait.TimePeriod;
 import org.jboss.reddeer.core.exception.CoreLayerException;
 import org.jboss.reddeer.core.util.Display;
 import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.core.util.UIBatch;
 import org.jboss.reddeer.core.handler.TableItemHandler;
 import org.jboss.reddeer.core.handler.WidgetHandler;
 
@@ -216,24 +215,23 @@ public class TableHandler {
 	 * @param column column to click on
 	 */
 	public void click(final TableItem tableItem, final int column) {
-		Display.syncExec(new Runnable() {
+		MouseGesture click = Display.syncExec(new ResultRunnable<MouseGesture>() {
 
 			@Override
-			public void run() {
+			public MouseGesture run() {
 				TableItemHandler.getInstance().select(tableItem);
 				Rectangle rectangle = tableItem.getBounds(column);
 				int x = rectangle.x + (rectangle.width / 2);
 				int y = rectangle.y + (rectangle.height / 2);
-				WidgetHandler.getInstance().notifyItemMouse(
-						SWT.MouseDown, SWT.NONE, tableItem.getParent(),
-						tableItem, x, y, 1);
-				AbstractWait.sleep(TimePeriod.getCustom(1));
-				WidgetHandler.getInstance().notifyItemMouse(
-						SWT.MouseUp, SWT.NONE, tableItem.getParent(),
-						tableItem, x, y, 1);
-
+				MouseGesture click = new MouseGesture();
+				click.press().addItemMouse(SWT.MouseDown, SWT.NONE, 
+						tableItem.getParent(), tableItem, x, y, 1);
+				click.release().addItemMouse(SWT.MouseUp, SWT.NONE, 
+						tableItem.getParent(), tableItem, x, y, 1);
+				return click;
 			}
 		});
+		click.perform();
 	}
 
 	/**
@@ -252,6 +250,43 @@ public class TableHandler {
 		});
 	}
 
+	/**
+	 * Captures states of all {@link TableItem}s of specified {@link Table}
+	 * in a single UI thread round-trip.
+	 * 
+	 * @param table table to handle
+	 * @return snapshots of table items of specified table
+	 */
+	public List<TableItemSnapshot> snapshotItems(Table table) {
+		UIBatch batch = new UIBatch();
+		UIBatch.Result<List<TableItemSnapshot>> snapshots = snapshotItems(batch, table);
+		batch.execute();
+		return snapshots.get();
+	}
+
+	/**
+	 * Adds capturing of states of all {@link TableItem}s of specified {@link Table}
+	 * to specified batch.
+	 * 
+	 * @param batch batch to add capturing to
+	 * @param table table to handle
+	 * @return snapshots of table items of specified table available after execution of the batch
+	 */
+	public UIBatch.Result<List<TableItemSnapshot>> snapshotItems(UIBatch batch, final Table table) {
+		return batch.add(new ResultRunnable<List<TableItemSnapshot>>() {
+
+			@Override
+			public List<TableItemSnapshot> run() {
+				TableItem[] items = table.getItems();
+				List<TableItemSnapshot> snapshots = new ArrayList<TableItemSnapshot>(items.length);
+				for (int i = 0; i < items.length; i++) {
+					snapshots.add(TableItemHandler.getInstance().createSnapshot(items[i], i, table.isSelected(i)));
+				}
+				return snapshots;
+			}
+		});
+	}
+
 	/**
 	 * Gets {@link TableItem} from the position specified by index from
 	 * specified {@link Table}.
@@ -24,6 +24,7 @@ import org.jboss.reddeer.core.condition.WidgetIsChecked;
 import org.jboss.reddeer.core.exception.CoreLayerException;
 import org.jboss.reddeer.core.util.Display;
 import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.core.util.UIBatch;
 
 /**
  * Contains methods for handling UI operations on {@link TableItem} widgets.
@@ -195,6 +196,51 @@ public class TableItemHandler {
 		});
 	}
 	
+	/**
+	 * Captures state of specified {@link TableItem} in a single UI thread round-trip.
+	 * 
+	 * @param tableItem table item to handle
+	 * @return snapshot of specified table item
+	 */
+	public TableItemSnapshot snapshot(TableItem tableItem) {
+		UIBatch batch = new UIBatch();
+		UIBatch.Result<TableItemSnapshot> snapshot = snapshot(batch, tableItem);
+		batch.execute();
+		return snapshot.get();
+	}
+
+	/**
+	 * Adds capturing of state of specified {@link TableItem} to specified batch, 
+	 * so it can be captured in the same UI thread round-trip as other operations.
+	 * 
+	 * @param batch batch to add capturing to
+	 * @param tableItem table item to handle
+	 * @return snapshot of specified table item available after execution of the batch
+	 */
+	public UIBatch.Result<TableItemSnapshot> snapshot(UIBatch batch, final TableItem tableItem) {
+		return batch.add(new ResultRunnable<TableItemSnapshot>() {
+			@Override
+			public TableItemSnapshot run() {
+				Table table = tableItem.getParent();
+				int index = table.indexOf(tableItem);
+				return createSnapshot(tableItem, index, table.isSelected(index));
+			}
+		});
+	}
+
+	/**
+	 * Creates snapshot of specified table item. Has to be called in UI thread.
+	 */
+	TableItemSnapshot createSnapshot(TableItem tableItem, int index, boolean selected) {
+		int columnCount = Math.max(1, tableItem.getParent().getColumnCount());
+		String[] cells = new String[columnCount];
+		for (int i = 0; i < columnCount; i++) {
+			cells[i] = tableItem.getText(i);
+		}
+		return new TableItemSnapshot(tableItem, cells, index, tableItem.getChecked(),
+				tableItem.getGrayed(), selected);
+	}
+	
 	/**
 	 * Focuses specified {@link TableItem}.
 	 *
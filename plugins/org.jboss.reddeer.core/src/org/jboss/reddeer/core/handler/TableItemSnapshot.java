@@ -0,0 +1,131 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.handler;
+
+import java.util.Arrays;
+
+import org.eclipse.swt.widgets.TableItem;
+
+/**
+ * Immutable snapshot of a state of {@link TableItem} captured in a single UI 
+ * thread round-trip. Methods of a snapshot do not access UI thread. 
+ * See {@link TableItemHandler#snapshot(TableItem)}.
+ */
+public class TableItemSnapshot {
+
+	private final TableItem swtTableItem;
+
+	private final String[] cells;
+
+	private final int index;
+
+	private final boolean checked;
+
+	private final boolean grayed;
+
+	private final boolean selected;
+
+	TableItemSnapshot(TableItem swtTableItem, String[] cells, int index, boolean checked,
+			boolean grayed, boolean selected) {
+		this.swtTableItem = swtTableItem;
+		this.cells = cells;
+		this.index = index;
+		this.checked = checked;
+		this.grayed = grayed;
+		this.selected = selected;
+	}
+
+	/**
+	 * Gets table item the snapshot was captured from.
+	 * 
+	 * @return SWT table item
+	 */
+	public TableItem getSWTTableItem() {
+		return swtTableItem;
+	}
+
+	/**
+	 * Gets text of the first cell of the table item.
+	 * 
+	 * @return text of the table item
+	 */
+	public String getText() {
+		return cells[0];
+	}
+
+	/**
+	 * Gets text of a cell on specified index. Same as SWT table item, returns
+	 * empty string if there is no cell on the index.
+	 * 
+	 * @param cellIndex index of a cell
+	 * @return text of the cell
+	 */
+	public String getCell(int cellIndex) {
+		if (cellIndex < 0 || cellIndex >= cells.length) {
+			return "";
+		}
+		return cells[cellIndex];
+	}
+
+	/**
+	 * Gets texts of all cells. If the table has no columns, returned array
+	 * contains only text of the table item.
+	 * 
+	 * @return texts of all cells
+	 */
+	public String[] getCells() {
+		return cells.clone();
+	}
+
+	/**
+	 * Gets index of the table item in its table.
+	 * 
+	 * @return index of the table item
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Finds out whether the table item was checked.
+	 * 
+	 * @return true if table item was checked, false otherwise
+	 */
+	public boolean isChecked() {
+		return checked;
+	}
+
+	/**
+	 * Finds out whether the table item was grayed.
+	 * 
+	 * @return true if table item was grayed, false otherwise
+	 */
+	public boolean isGrayed() {
+		return grayed;
+	}
+
+	/**
+	 * Finds out whether the table item was selected.
+	 * 
+	 * @return true if table item was selected, false otherwise
+	 */
+	public boolean isSelected() {
+		return selected;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "TableItemSnapshot " + Arrays.toString(cells);
+	}
+}
@@ -20,6 +20,7 @@ import org.eclipse.swt.widgets.TreeColumn;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.core.util.Display;
 import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.core.util.UIBatch;
 
 /**
  * Contains methods for handling UI operations on
@@ -65,6 +66,40 @@ public class TreeHandler {
 		});
 	}
 
+	/**
+	 * Captures states of all direct descendants of specified {@link org.eclipse.swt.widgets.Tree}
+	 * in a single UI thread round-trip.
+	 * 
+	 * @param swtTree tree to handle
+	 * @return snapshots of descendants of specified tree
+	 */
+	public List<TreeItemSnapshot> snapshotItems(org.eclipse.swt.widgets.Tree swtTree) {
+		UIBatch batch = new UIBatch();
+		UIBatch.Result<List<TreeItemSnapshot>> snapshots = snapshotItems(batch, swtTree);
+		batch.execute();
+		return snapshots.get();
+	}
+
+	/**
+	 * Adds capturing of states of all direct descendants of specified 
+	 * {@link org.eclipse.swt.widgets.Tree} to specified batch.
+	 * 
+	 * @param batch batch to add capturing to
+	 * @param swtTree tree to handle
+	 * @return snapshots of descendants of specified tree available after execution of the batch
+	 */
+	public UIBatch.Result<List<TreeItemSnapshot>> snapshotItems(UIBatch batch, 
+			final org.eclipse.swt.widgets.Tree swtTree) {
+		return batch.add(new ResultRunnable<List<TreeItemSnapshot>>() {
+			@Override
+			public List<TreeItemSnapshot> run() {
+				TreeItemHandler treeItemHandler = TreeItemHandler.getInstance();
+				return treeItemHandler.createSnapshots(swtTree.getItems(), new String[0],
+						treeItemHandler.getSelectionInternal(swtTree));
+			}
+		});
+	}
+
 	/**
 	 * Sets focus on specified {@link org.eclipse.swt.widgets.Tree}.
 	 * 
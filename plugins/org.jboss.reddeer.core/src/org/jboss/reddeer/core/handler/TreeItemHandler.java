@@ -10,9 +10,12 @@
  ******************************************************************************/
 package org.jboss.reddeer.core.handler;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Rectangle;
@@ -29,6 +32,7 @@ import org.jboss.reddeer.common.wait.WaitUntil;
 import org.jboss.reddeer.core.exception.CoreLayerException;
 import org.jboss.reddeer.core.util.Display;
 import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.core.util.UIBatch;
 
 /**
  * Contains methods for handling UI operations on {@link TreeItem} widgets.
@@ -220,8 +224,8 @@ public class TreeItemHandler {
 			CoreLayerException exception = new CoreLayerException(
 					"Tree Item " + this + " has no Tree Item with text " + text);
 			exception.addMessageDetail("Tree Item " + this + " has these direct children:");
-			for (TreeItem treeItem : TreeHandler.getInstance().getSWTItems(getParent(swtTreeItem))) {
-				exception.addMessageDetail("  " + getText(treeItem, 0));
+			for (TreeItemSnapshot treeItem : snapshotChildren(swtTreeItem)) {
+				exception.addMessageDetail("  " + treeItem.getText());
 			}
 			throw exception;
 		}
@@ -246,6 +250,86 @@ public class TreeItemHandler {
 		});
 	}
 
+	/**
+	 * Captures states of direct children of specified {@link TreeItem} in a single
+	 * UI thread round-trip. Tree item is not expanded, only already existing 
+	 * children are captured.
+	 * 
+	 * @param swtTreeItem
+	 *            tree item to handle
+	 * @return snapshots of children of specified tree item
+	 */
+	public List<TreeItemSnapshot> snapshotChildren(TreeItem swtTreeItem) {
+		UIBatch batch = new UIBatch();
+		UIBatch.Result<List<TreeItemSnapshot>> snapshots = snapshotChildren(batch, swtTreeItem);
+		batch.execute();
+		return snapshots.get();
+	}
+
+	/**
+	 * Adds capturing of states of direct children of specified {@link TreeItem} 
+	 * to specified batch. Tree item is not expanded, only already existing 
+	 * children are captured.
+	 * 
+	 * @param batch
+	 *            batch to add capturing to
+	 * @param swtTreeItem
+	 *            tree item to handle
+	 * @return snapshots of children of specified tree item available after execution of the batch
+	 */
+	public UIBatch.Result<List<TreeItemSnapshot>> snapshotChildren(UIBatch batch, final TreeItem swtTreeItem) {
+		return batch.add(new ResultRunnable<List<TreeItemSnapshot>>() {
+			@Override
+			public List<TreeItemSnapshot> run() {
+				return createSnapshots(swtTreeItem.getItems(), getPathInternal(swtTreeItem),
+						getSelectionInternal(swtTreeItem.getParent()));
+			}
+		});
+	}
+
+	/**
+	 * Creates snapshots of specified tree items. Has to be called in UI thread.
+	 */
+	List<TreeItemSnapshot> createSnapshots(TreeItem[] items, String[] parentPath, Set<TreeItem> selection) {
+		List<TreeItemSnapshot> snapshots = new ArrayList<TreeItemSnapshot>(items.length);
+		for (TreeItem item : items) {
+			snapshots.add(createSnapshot(item, parentPath, selection));
+		}
+		return snapshots;
+	}
+
+	/**
+	 * Creates snapshot of specified tree item. Has to be called in UI thread.
+	 */
+	TreeItemSnapshot createSnapshot(TreeItem item, String[] parentPath, Set<TreeItem> selection) {
+		int columnCount = Math.max(1, item.getParent().getColumnCount());
+		String[] cells = new String[columnCount];
+		for (int i = 0; i < columnCount; i++) {
+			cells[i] = item.getText(i);
+		}
+		String[] path = Arrays.copyOf(parentPath, parentPath.length + 1);
+		path[parentPath.length] = item.getText();
+		return new TreeItemSnapshot(item, cells, path, item.getChecked(), item.getExpanded(),
+				selection.contains(item), item.getItemCount());
+	}
+
+	/**
+	 * Gets selected items of specified tree. Has to be called in UI thread.
+	 */
+	Set<TreeItem> getSelectionInternal(Tree tree) {
+		return new HashSet<TreeItem>(Arrays.asList(tree.getSelection()));
+	}
+
+	private String[] getPathInternal(TreeItem swtTreeItem) {
+		LinkedList<String> items = new LinkedList<String>();
+		TreeItem item = swtTreeItem;
+		while (item != null) {
+			items.addFirst(item.getText());
+			item = item.getParentItem();
+		}
+		return items.toArray(new String[0]);
+	}
+
 	/**
 	 * See {@link TreeItem#getParent()}.
 	 * 
@@ -273,13 +357,7 @@ public class TreeItemHandler {
 		return Display.syncExec(new ResultRunnable<String[]>() {
 			@Override
 			public String[] run() {
-				org.eclipse.swt.widgets.TreeItem swttiDummy = swtTreeItem;
-				LinkedList<String> items = new LinkedList<String>();
-				while (swttiDummy != null) {
-					items.addFirst(swttiDummy.getText());
-					swttiDummy = swttiDummy.getParentItem();
-				}
-				return items.toArray(new String[0]);
+				return getPathInternal(swtTreeItem);
 			}
 		});
 	}
@@ -447,10 +525,13 @@ public class TreeItemHandler {
 	 * @param y
 	 */
 	private void notifyMouseClick(TreeItem swtTreeItem, int x, int y) {
-		TreeHandler.getInstance().notifyTree(swtTreeItem, SWT.MouseDown,
-				createMouseEvent(swtTreeItem, null, SWT.NONE, x, y, 1, SWT.NONE, 1));
-		TreeHandler.getInstance().notifyTree(swtTreeItem, SWT.MouseUp,
-				createMouseEvent(swtTreeItem, null, SWT.NONE, x, y, 1, SWT.BUTTON1, 1));
+		Tree tree = getParent(swtTreeItem);
+		MouseGesture click = new MouseGesture();
+		click.press().add(SWT.MouseDown,
+				createMouseEvent(swtTreeItem, null, SWT.NONE, x, y, 1, SWT.NONE, 1), tree);
+		click.release().add(SWT.MouseUp,
+				createMouseEvent(swtTreeItem, null, SWT.NONE, x, y, 1, SWT.BUTTON1, 1), tree);
+		click.perform();
 	}
 
 	/**
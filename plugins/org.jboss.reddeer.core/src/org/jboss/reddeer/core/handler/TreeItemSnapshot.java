@@ -0,0 +1,141 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.handler;
+
+import java.util.Arrays;
+
+import org.eclipse.swt.widgets.TreeItem;
+
+/**
+ * Immutable snapshot of a state of {@link TreeItem} captured in a single UI 
+ * thread round-trip. Methods of a snapshot do not access UI thread. 
+ * See {@link TreeItemHandler#snapshotChildren(TreeItem)}.
+ */
+public class TreeItemSnapshot {
+
+	private final TreeItem swtTreeItem;
+
+	private final String[] cells;
+
+	private final String[] path;
+
+	private final boolean checked;
+
+	private final boolean expanded;
+
+	private final boolean selected;
+
+	private final int itemCount;
+
+	TreeItemSnapshot(TreeItem swtTreeItem, String[] cells, String[] path, boolean checked,
+			boolean expanded, boolean selected, int itemCount) {
+		this.swtTreeItem = swtTreeItem;
+		this.cells = cells;
+		this.path = path;
+		this.checked = checked;
+		this.expanded = expanded;
+		this.selected = selected;
+		this.itemCount = itemCount;
+	}
+
+	/**
+	 * Gets tree item the snapshot was captured from.
+	 * 
+	 * @return SWT tree item
+	 */
+	public TreeItem getSWTTreeItem() {
+		return swtTreeItem;
+	}
+
+	/**
+	 * Gets text of the tree item.
+	 * 
+	 * @return text of the tree item
+	 */
+	public String getText() {
+		return cells[0];
+	}
+
+	/**
+	 * Gets text of a cell on specified index.
+	 * 
+	 * @param cellIndex index of a cell
+	 * @return text of the cell
+	 */
+	public String getCell(int cellIndex) {
+		return cells[cellIndex];
+	}
+
+	/**
+	 * Gets texts of all cells. If the tree has no columns, returned array
+	 * contains only text of the tree item.
+	 * 
+	 * @return texts of all cells
+	 */
+	public String[] getCells() {
+		return cells.clone();
+	}
+
+	/**
+	 * Gets path of the tree item, i.e. texts of all ancestors and text of
+	 * the tree item.
+	 * 
+	 * @return path of the tree item
+	 */
+	public String[] getPath() {
+		return path.clone();
+	}
+
+	/**
+	 * Finds out whether the tree item was checked.
+	 * 
+	 * @return true if tree item was checked, false otherwise
+	 */
+	public boolean isChecked() {
+		return checked;
+	}
+
+	/**
+	 * Finds out whether the tree item was expanded.
+	 * 
+	 * @return true if tree item was expanded, false otherwise
+	 */
+	public boolean isExpanded() {
+		return expanded;
+	}
+
+	/**
+	 * Finds out whether the tree item was selected.
+	 * 
+	 * @return true if tree item was selected, false otherwise
+	 */
+	public boolean isSelected() {
+		return selected;
+	}
+
+	/**
+	 * Gets count of direct children of the tree item. Lazy trees may report 
+	 * items which were not created yet.
+	 * 
+	 * @return count of direct children
+	 */
+	public int getItemCount() {
+		return itemCount;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "TreeItemSnapshot " + Arrays.toString(path);
+	}
+}
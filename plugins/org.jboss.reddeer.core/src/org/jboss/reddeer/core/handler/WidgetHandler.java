@@ -12,17 +12,13 @@ package org.jboss.reddeer.core.handler;
 
 import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
 
 import org.eclipse.swt.SWT;
-import org.eclipse.swt.custom.CLabel;
 import org.eclipse.swt.custom.CTabFolder;
 import org.eclipse.swt.custom.CTabItem;
-import org.eclipse.swt.layout.FormData;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Event;
-import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.TabFolder;
 import org.eclipse.swt.widgets.TabItem;
@@ -31,8 +27,7 @@ import org.eclipse.swt.widgets.ToolItem;
 import org.eclipse.swt.widgets.Widget;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.core.exception.CoreLayerException;
-import org.jboss.reddeer.core.lookup.WidgetLookup;
-import org.jboss.reddeer.core.resolver.WidgetResolver;
+import org.jboss.reddeer.core.lookup.LabelLookup;
 import org.jboss.reddeer.core.util.Display;
 import org.jboss.reddeer.core.util.ObjectUtil;
 import org.jboss.reddeer.core.util.ResultRunnable;
@@ -204,47 +199,7 @@ public class WidgetHandler {
 
 			@Override
 			public String run() {
-				Control parent = ((Control) w).getParent();
-				java.util.List<Widget> children = WidgetResolver.getInstance()
-						.getChildren(parent);
-				// check whether a label is defined using form data layout
-				for (Widget child : children) {
-					if (child instanceof Label || child instanceof CLabel) {
-						Object layoutData = ((Control) child).getLayoutData();
-						if (layoutData instanceof FormData) {
-							FormData formData = (FormData) layoutData;
-							if (formData.right != null && w.equals(formData.right.control)) {
-								if (child instanceof Label) {
-									return ((Label) child).getText();
-								} else if (child instanceof CLabel) {
-									return ((CLabel) child).getText();
-								}
-							}
-						}
-					}
-				}
-				List<Control> allWidgets = WidgetLookup.getInstance().findAllParentWidgets();
-				int widgetIndex = allWidgets.indexOf(w);
-				if (widgetIndex < 0) {
-					return null;
-				}
-				ListIterator<? extends Widget> listIterator = allWidgets.listIterator(widgetIndex);
-				while (listIterator.hasPrevious()) {
-					Widget previousWidget = listIterator.previous();
-					if (previousWidget instanceof Label) {
-						Label label = (Label) previousWidget;
-						if (label.getImage() == null) {
-							return label.getText();
-						}
-					}
-					if (previousWidget instanceof CLabel) {
-						CLabel cLabel = (CLabel) previousWidget;
-						if (cLabel.getImage() == null) {
-							return cLabel.getText();
-						}
-					}
-				}
-				return null;
+				return LabelLookup.getInstance().getLabel(w);
 			}
 		});
 		if (label != null) {
@@ -337,8 +292,22 @@ public class WidgetHandler {
 	 * @param widget widget to handle
 	 */
 	public void notify(int eventType, Widget widget) {
-		Event event = createEvent(widget);
-		notify(eventType, event, widget);
+		new EventPipeline().add(eventType, widget).flush();
+	}
+
+	/**
+	 * Notifies specified widget about the events of specified event types in 
+	 * a single UI runnable. See {@link EventPipeline}.
+	 * 
+	 * @param widget widget to handle
+	 * @param eventTypes types of the events in order in which they are notified
+	 */
+	public void notify(Widget widget, int... eventTypes) {
+		EventPipeline pipeline = new EventPipeline();
+		for (int eventType : eventTypes) {
+			pipeline.add(eventType, widget);
+		}
+		pipeline.flush();
 	}
 
 	/**
@@ -352,8 +321,7 @@ public class WidgetHandler {
 	 */
 	public void notifyItem(int eventType, int detail, Widget widget,
 			Widget widgetItem) {
-		Event event = createEventItem(eventType, detail, widget, widgetItem);
-		notify(eventType, event, widget);
+		new EventPipeline().addItem(eventType, detail, widget, widgetItem).flush();
 	}
 
 	/**
@@ -370,9 +338,7 @@ public class WidgetHandler {
 	 */
 	public void notifyItemMouse(int eventType, int detail, Widget widget,
 			Widget widgetItem, int x, int y, int button) {
-		Event event = createMouseItemEvent(eventType, detail, widget,
-				widgetItem, x, y, button);
-		notify(eventType, event, widget);
+		new EventPipeline().addItemMouse(eventType, detail, widget, widgetItem, x, y, button).flush();
 	}
 
 	/**
@@ -384,64 +350,8 @@ public class WidgetHandler {
 	 */
 	public void notify(final int eventType, final Event createEvent,
 			final Widget widget) {
-		createEvent.type = eventType;
-
 		log.trace("Notify " + widget.getClass().getSimpleName() + " with event " + eventType);
-		Display.asyncExec(new Runnable() {
-			public void run() {
-				if ((widget == null) || widget.isDisposed()) {
-					return;
-				}
-
-				widget.notifyListeners(eventType, createEvent);
-			}
-		});
-
-		log.trace("Wait for synchronization");
-		// Wait for synchronization
-		Display.syncExec(new Runnable() {
-			public void run() {
-				// do nothing here
-			}
-		});
-	}
-
-	private Event createEvent(Widget widget) {
-		Event event = new Event();
-		event.time = (int) System.currentTimeMillis();
-		event.widget = widget;
-		event.display = Display.getDisplay();
-		return event;
-	}
-
-	private Event createEventItem(int eventType, int detail, Widget widget,
-			Widget widgetItem) {
-		Event event = new Event();
-		event.display = Display.getDisplay();
-		event.time = (int) System.currentTimeMillis();
-		event.item = widgetItem;
-		event.widget = widget;
-		event.detail = detail;
-		event.type = eventType;
-		return event;
-	}
-
-	private Event createMouseItemEvent(int eventType, int detail,
-			Widget widget, Widget widgetItem, int x, int y, int button) {
-		Event event = new Event();
-		event.display = Display.getDisplay();
-		event.time = (int) System.currentTimeMillis();
-		event.item = widgetItem;
-		event.widget = widget;
-		event.detail = detail;
-		event.type = eventType;
-		event.button = button;
-		event.x = x;
-		event.y = y;
-		if(eventType == SWT.MouseDoubleClick){
-			event.count=2;
-		}
-		return event;
+		new EventPipeline().add(eventType, createEvent, widget).flush();
 	}
 	
 	/**
@@ -10,9 +10,6 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.core.interceptor;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
-
 import org.jboss.reddeer.common.exception.RedDeerException;
 import org.jboss.reddeer.common.logging.Logger;
 
@@ -25,8 +22,10 @@ import org.jboss.reddeer.common.logging.Logger;
  * It's strongly advised to don't provide UI operation that changes UI state. Such action
  * could cause breaking state and it is required to restore original state manually.
  * 
- * Should be used from single working thread. Otherwise synchronization is up to
- * a user.
+ * Registered interceptors are kept in a copy-on-write array, so interceptors can be 
+ * registered and unregistered while other threads perform sync executions. 
+ * Recursion is guarded per thread. If there is no registered interceptor, 
+ * performing interceptors costs a single volatile read.
  * 
  * @author Jiri Peterka
  *
@@ -35,9 +34,11 @@ public class SyncInterceptorManager {
 
 	public static SyncInterceptorManager instance = null;;
 	
+	private static final Interceptor[] NO_INTERCEPTORS = new Interceptor[0];
+	
 	private Logger log = Logger.getLogger(SyncInterceptorManager.class);
-	private Map<String, ISyncInterceptor> syncInterceptors = new LinkedHashMap<String, ISyncInterceptor>();
-	private boolean isIntercepted = false;
+	private volatile Interceptor[] syncInterceptors = NO_INTERCEPTORS;
+	private final ThreadLocal<Boolean> isIntercepted = new ThreadLocal<Boolean>();
 
 	/**
 	 * Registers interceptor if it doesn't exist.
@@ -45,12 +46,15 @@ public class SyncInterceptorManager {
 	 * @param name interceptor name 
 	 * @param interceptor implementation of interceptor
 	 */
-	public void register(String name, ISyncInterceptor interceptor) {
-		if (!syncInterceptors.containsKey(name)) {
-			syncInterceptors.put(name, interceptor);
-		} else {
+	public synchronized void register(String name, ISyncInterceptor interceptor) {
+		Interceptor[] interceptors = syncInterceptors;
+		if (indexOf(interceptors, name) != -1) {
 			throw new RedDeerException("Interceptor " + name + " is already registered");
 		}
+		Interceptor[] newInterceptors = new Interceptor[interceptors.length + 1];
+		System.arraycopy(interceptors, 0, newInterceptors, 0, interceptors.length);
+		newInterceptors[interceptors.length] = new Interceptor(name, interceptor);
+		syncInterceptors = newInterceptors;
 	}
 	
 	/**
@@ -58,19 +62,27 @@ public class SyncInterceptorManager {
 	 * 
 	 * @param name interceptor name 
 	 */
-	public void unregister(String name) {
-		if (syncInterceptors.containsKey(name)) {
-			syncInterceptors.remove(name);
-		} else {
+	public synchronized void unregister(String name) {
+		Interceptor[] interceptors = syncInterceptors;
+		int index = indexOf(interceptors, name);
+		if (index == -1) {
 			throw new RedDeerException("Interceptor " + name + " doesn't exist registered");
 		}
+		if (interceptors.length == 1) {
+			syncInterceptors = NO_INTERCEPTORS;
+			return;
+		}
+		Interceptor[] newInterceptors = new Interceptor[interceptors.length - 1];
+		System.arraycopy(interceptors, 0, newInterceptors, 0, index);
+		System.arraycopy(interceptors, index + 1, newInterceptors, index, interceptors.length - index - 1);
+		syncInterceptors = newInterceptors;
 	}
 	
 	/**
 	 * Unregister all registered interceptors.
 	 */
-	public void unregisterAll() {
-		syncInterceptors.clear();
+	public synchronized void unregisterAll() {
+		syncInterceptors = NO_INTERCEPTORS;
 	}
 	
 	/**
@@ -81,14 +93,14 @@ public class SyncInterceptorManager {
 	 * @return true, if is registered
 	 */
 	public boolean isRegistered(String name) {
-		return syncInterceptors.containsKey(name);
+		return indexOf(syncInterceptors, name) != -1;
 	}
 	
 	/**
 	 * Returns SyncInterceptorManager instance.
 	 * @return SyncInterceptorManager instance
 	 */
-	public static SyncInterceptorManager getInstance() {
+	public static synchronized SyncInterceptorManager getInstance() {
 		if (instance == null) {
 			instance = new SyncInterceptorManager();
 		}
@@ -97,53 +109,83 @@ public class SyncInterceptorManager {
 
 	
 	/**
-	 * Performs registered operation(s) before sync.
+	 * Performs registered operation(s) before sync. Does nothing if called 
+	 * from intercepted code.
 	 */
 	public void performBeforeSync() {
-		for (Map.Entry<String, ISyncInterceptor> op : syncInterceptors
-				.entrySet()) {
-			isIntercepted = true;
-			log.trace("SyncExec intercepted before by " + op.getKey());
-			try {
-				op.getValue().beforeSyncOp();
-			} catch (Exception e) {
-				log.error("BeforeSync interceptor error: " + op.getKey() + " :"
-						+ e.getMessage());
-				isIntercepted = false;
-				throw e;
+		Interceptor[] interceptors = syncInterceptors;
+		if (interceptors.length == 0 || isIntercepted()) {
+			return;
+		}
+		isIntercepted.set(Boolean.TRUE);
+		try {
+			for (Interceptor op : interceptors) {
+				log.trace("SyncExec intercepted before by " + op.name);
+				try {
+					op.interceptor.beforeSyncOp();
+				} catch (RuntimeException e) {
+					log.error("BeforeSync interceptor error: " + op.name + " :"
+							+ e.getMessage());
+					throw e;
+				}
 			}
-			isIntercepted = false;
-		}	
+		} finally {
+			isIntercepted.remove();
+		}
 	}
 	
 	/**
-	 * Performs registered operation(s) after sync. 
+	 * Performs registered operation(s) after sync. Does nothing if called 
+	 * from intercepted code.
 	 */
 	public void performAfterSync() {
-
-		for (Map.Entry<String, ISyncInterceptor> op : syncInterceptors
-				.entrySet()) {
-			isIntercepted = true;
-			log.trace("SyncExec intercepted after by " + op.getKey());
-			try {
-				op.getValue().afterSyncOp();
-			} catch (Exception e) {
-				log.error("AfterSync interceptor error: " + op.getKey() + " :"
-						+ e.getMessage());
-				isIntercepted = false;
-				throw e;
+		Interceptor[] interceptors = syncInterceptors;
+		if (interceptors.length == 0 || isIntercepted()) {
+			return;
+		}
+		isIntercepted.set(Boolean.TRUE);
+		try {
+			for (Interceptor op : interceptors) {
+				log.trace("SyncExec intercepted after by " + op.name);
+				try {
+					op.interceptor.afterSyncOp();
+				} catch (RuntimeException e) {
+					log.error("AfterSync interceptor error: " + op.name + " :"
+							+ e.getMessage());
+					throw e;
+				}
 			}
-			isIntercepted = false;
+		} finally {
+			isIntercepted.remove();
 		}
 	}
 	
 	/**
-	 * Finds out whether intercepted code is being executed or not.
+	 * Finds out whether intercepted code is being executed by current thread or not.
 	 * 
 	 * @return true if intercepted code is being executed, false otherwise
 	 */
 	public boolean isIntercepted() {
-		return isIntercepted;
+		return isIntercepted.get() != null;
 	}
 
+	private static int indexOf(Interceptor[] interceptors, String name) {
+		for (int i = 0; i < interceptors.length; i++) {
+			if (interceptors[i].name.equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static class Interceptor {
+
+		private final String name;
+		private final ISyncInterceptor interceptor;
+
+		public Interceptor(String name, ISyncInterceptor interceptor) {
+			this.name = name;
+			this.interceptor = interceptor;
+		}
+	}
 }
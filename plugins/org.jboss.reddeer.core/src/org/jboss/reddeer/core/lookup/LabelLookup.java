@@ -0,0 +1,183 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.lookup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.custom.CLabel;
+import org.eclipse.swt.layout.FormData;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Widget;
+import org.jboss.reddeer.core.resolver.WidgetResolver;
+
+/**
+ * Label lookup resolves labels of widgets. Label of a widget is either a label 
+ * attached to the widget using form data layout or the nearest label without image
+ * preceding the widget in the active parent control.
+ * 
+ * Labels attached using form data and labels preceding widgets are resolved in
+ * a single pass over all widgets of the active parent control. Within a lookup 
+ * session (see {@link #startSession()}) the resolved labels are reused, so matching 
+ * many widgets by their labels does not require traversing the active parent 
+ * control repeatedly.
+ * 
+ * Note: Must be used in UI Thread.
+ */
+public class LabelLookup {
+
+	private static LabelLookup instance;
+
+	private int sessions = 0;
+
+	private ResolvedLabels resolvedLabels;
+
+	private LabelLookup() {
+		super();
+	}
+
+	/**
+	 * Gets instance of LabelLookup.
+	 * 
+	 * @return instance of LabelLookup
+	 */
+	public static LabelLookup getInstance() {
+		if (instance == null) {
+			instance = new LabelLookup();
+		}
+		return instance;
+	}
+
+	/**
+	 * Starts lookup session. Labels resolved within the session are reused until
+	 * the session ends. Sessions can be nested.
+	 */
+	public void startSession() {
+		sessions++;
+	}
+
+	/**
+	 * Ends lookup session. Resolved labels are dropped when the outermost session ends.
+	 */
+	public void endSession() {
+		if (sessions > 0 && --sessions == 0) {
+			resolvedLabels = null;
+		}
+	}
+
+	/**
+	 * Gets label of specified widget.
+	 * 
+	 * @param widget widget to resolve label of
+	 * @return label of specified widget or null if the widget has no label
+	 */
+	public String getLabel(Widget widget) {
+		ResolvedLabels labels = resolvedLabels;
+		if (labels == null) {
+			labels = resolveLabels();
+			if (sessions > 0) {
+				resolvedLabels = labels;
+			}
+		}
+		if (labels.formLabels.containsKey(widget)) {
+			return labels.formLabels.get(widget);
+		}
+		if (labels.precedingLabels.containsKey(widget)) {
+			return labels.precedingLabels.get(widget);
+		}
+		// widget is not located in the active parent control
+		return getFormLabel(widget);
+	}
+
+	/**
+	 * Gets text of a label defined using form data layout which is attached 
+	 * to specified widget by scanning siblings of the widget.
+	 */
+	private String getFormLabel(Widget widget) {
+		Control parent = ((Control) widget).getParent();
+		for (Widget child : WidgetResolver.getInstance().getChildren(parent)) {
+			if (child instanceof Label || child instanceof CLabel) {
+				Object layoutData = ((Control) child).getLayoutData();
+				if (layoutData instanceof FormData) {
+					FormData formData = (FormData) layoutData;
+					if (formData.right != null && widget.equals(formData.right.control)) {
+						if (child instanceof Label) {
+							return ((Label) child).getText();
+						} else {
+							return ((CLabel) child).getText();
+						}
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Maps all widgets of the active parent control to the text of the nearest
+	 * preceding label without image and widgets having a label attached using 
+	 * form data to the text of the label.
+	 */
+	private ResolvedLabels resolveLabels() {
+		List<Control> allWidgets = WidgetLookup.getInstance().findAllParentWidgets();
+		ResolvedLabels labels = new ResolvedLabels(allWidgets.size());
+		String lastLabel = null;
+		for (Control control : allWidgets) {
+			if (!labels.precedingLabels.containsKey(control)) {
+				labels.precedingLabels.put(control, lastLabel);
+			}
+			if (control instanceof Label || control instanceof CLabel) {
+				String text = control instanceof Label ? ((Label) control).getText() : ((CLabel) control).getText();
+				Control attached = getFormAttachedControl(control);
+				// the first label attached to a widget wins
+				if (attached != null && !labels.formLabels.containsKey(attached)) {
+					labels.formLabels.put(attached, text);
+				}
+				Object image = control instanceof Label ? ((Label) control).getImage() : ((CLabel) control).getImage();
+				if (image == null) {
+					lastLabel = text;
+				}
+			}
+		}
+		return labels;
+	}
+
+	/**
+	 * Gets sibling control specified label is attached to by right form attachment.
+	 */
+	private static Control getFormAttachedControl(Control label) {
+		Object layoutData = label.getLayoutData();
+		if (layoutData instanceof FormData) {
+			FormData formData = (FormData) layoutData;
+			if (formData.right != null && formData.right.control != null
+					&& formData.right.control.getParent() == label.getParent()) {
+				return formData.right.control;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Labels resolved in the active parent control.
+	 */
+	private static class ResolvedLabels {
+
+		private final Map<Widget, String> formLabels = new HashMap<Widget, String>();
+
+		private final Map<Widget, String> precedingLabels;
+
+		private ResolvedLabels(int widgetCount) {
+			precedingLabels = new HashMap<Widget, String>(widgetCount * 2);
+		}
+	}
+}
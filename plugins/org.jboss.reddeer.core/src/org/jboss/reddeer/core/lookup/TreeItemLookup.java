@@ -11,8 +11,15 @@
 package org.jboss.reddeer.core.lookup;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Tree;
 import org.eclipse.swt.widgets.TreeItem;
 import org.hamcrest.Matcher;
@@ -20,11 +27,21 @@ import org.jboss.reddeer.common.condition.AbstractWaitCondition;
 import org.jboss.reddeer.common.wait.TimePeriod;
 import org.jboss.reddeer.common.wait.WaitUntil;
 import org.jboss.reddeer.core.exception.CoreLayerException;
+import org.jboss.reddeer.core.handler.EventPipeline;
 import org.jboss.reddeer.core.handler.TreeHandler;
 import org.jboss.reddeer.core.handler.TreeItemHandler;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
 
 /**
  * Tree item lookup provides methods for looking up tree items located within trees.
+ * <br>
+ * Path is resolved level by level. All candidate items on one level are expanded 
+ * together, then their children are read and matched in a single UI thread 
+ * round-trip and the lookup waits only for 
+ * candidates which have no children yet, until any of them gets children. Lookup 
+ * of a tree item with specified index stops as soon as enough items matching the
+ * last path matcher are found.
  * 
  * @author Lucia Jelinkova
  *
@@ -32,6 +49,8 @@ import org.jboss.reddeer.core.handler.TreeItemHandler;
 @SuppressWarnings("unchecked")
 public class TreeItemLookup {
 
+	private static final int NO_LIMIT = Integer.MAX_VALUE;
+
 	private static TreeItemLookup instance = null;
 	
 	private TreeItemLookup() {
@@ -60,7 +79,8 @@ public class TreeItemLookup {
 	 * @return tree item on specified index matching specified matchers in specified tree 
 	 */
 	public TreeItem getTreeItem(Tree tree, int index, Matcher<TreeItem>... matchers){
-		List<TreeItem> result = getTreeItems(tree, matchers);
+		new WaitUntil(new TreeHasChildren(tree));
+		List<TreeItem> result = getTreeItems(TreeHandler.getInstance().getSWTItems(tree), index + 1, matchers);
 		if (result.size() < index + 1) {
 			throw new CoreLayerException("Specified index (" + index + ") is bigger or equal as the number of found items (" + result.size() + ")");
 		}
@@ -81,7 +101,7 @@ public class TreeItemLookup {
 	public List<TreeItem> getTreeItems(Tree tree, Matcher<TreeItem>... pathItemMatchers){
 		new WaitUntil(new TreeHasChildren(tree));
 		List<TreeItem> items = TreeHandler.getInstance().getSWTItems(tree);
-		return getTreeItems(items, pathItemMatchers);
+		return getTreeItems(items, NO_LIMIT, pathItemMatchers);
 	}
 
 	/**
@@ -97,7 +117,8 @@ public class TreeItemLookup {
 	 * @return tree item on specified index matching specified matchers in specified tree item
 	 */
 	public TreeItem getTreeItem(TreeItem treeItem, int index, Matcher<TreeItem>... matchers){
-		List<TreeItem> result = getTreeItems(treeItem, matchers);
+		List<TreeItem> result = getTreeItems(TreeItemHandler.getInstance().getChildrenItems(treeItem), 
+				index + 1, matchers);
 		if (result.size() < index + 1) {
 			throw new CoreLayerException("Specified index (" + index + ") is bigger or equal as the number of found items (" + result.size() + ")");
 		}
@@ -117,48 +138,202 @@ public class TreeItemLookup {
 	 */
 	public List<TreeItem> getTreeItems(TreeItem treeItem, Matcher<TreeItem>... pathItemMatchers){
 		List<TreeItem> items = TreeItemHandler.getInstance().getChildrenItems(treeItem);
-		return getTreeItems(items, pathItemMatchers);
+		return getTreeItems(items, NO_LIMIT, pathItemMatchers);
 	}
 	
-	private List<TreeItem> getTreeItems(List<TreeItem> items, Matcher<TreeItem>... pathItemMatchers) {
+	/**
+	 * Finds tree items matching path matchers. 
+	 * 
+	 * @param limit number of items matching the last matcher after which the lookup can stop
+	 */
+	private List<TreeItem> getTreeItems(List<TreeItem> items, int limit, Matcher<TreeItem>... pathItemMatchers) {
 		if (pathItemMatchers.length == 0){
 			return items;
 		}
 
-		for(int index = 0; index < pathItemMatchers.length; index++) {
-			List<TreeItem> matchingItems = getMatchingTreeItems(items, pathItemMatchers[index]);
-			
+		List<TreeItem> matchingItems = getMatchingTreeItems(items, pathItemMatchers[0]);
+		for(int index = 1; index < pathItemMatchers.length; index++) {
 			if (matchingItems.isEmpty()){
-				throw new CoreLayerException("There are no items matching matcher " + pathItemMatchers[index]);
+				throw new CoreLayerException("There are no items matching matcher " + pathItemMatchers[index - 1]);
 			}
+			matchingItems = getMatchingChildItems(matchingItems, pathItemMatchers[index],
+					index == pathItemMatchers.length - 1 ? limit : NO_LIMIT);
+		}
+		if (matchingItems.isEmpty()){
+			throw new CoreLayerException("There are no items matching matcher " 
+					+ pathItemMatchers[pathItemMatchers.length - 1]);
+		}
+		return matchingItems;
+	}
 
-			if (index == pathItemMatchers.length - 1) {
-				return matchingItems;
+	/**
+	 * Finds children of specified parent items matching specified matcher. Matching
+	 * children are ordered by their parents.
+	 * 
+	 * @param limit number of matching children after which the lookup can stop
+	 */
+	private List<TreeItem> getMatchingChildItems(List<TreeItem> parentItems, Matcher<TreeItem> matcher, int limit) {
+		expandItems(parentItems);
+		// null means that children of the parent item are not available yet
+		List<List<TreeItem>> matchingChildren = new ArrayList<List<TreeItem>>(
+				Collections.<List<TreeItem>>nCopies(parentItems.size(), null));
+		matchChildItems(parentItems, matchingChildren, matcher);
+		while (true) {
+			List<TreeItem> pendingItems = new ArrayList<TreeItem>();
+			int matchedCount = 0;
+			for (int i = 0; i < parentItems.size(); i++) {
+				if (matchingChildren.get(i) == null) {
+					pendingItems.add(parentItems.get(i));
+				} else if (pendingItems.isEmpty()) {
+					matchedCount += matchingChildren.get(i).size();
+				}
+			}
+			if (pendingItems.isEmpty() || matchedCount >= limit) {
+				break;
 			}
+			new WaitUntil(new AnyTreeItemHasChildren(pendingItems), TimePeriod.NORMAL, false);
+			if (!matchChildItems(parentItems, matchingChildren, matcher)) {
+				// no other parent item got children in time
+				break;
+			}
+		}
+		List<TreeItem> result = new ArrayList<TreeItem>();
+		for (List<TreeItem> children : matchingChildren) {
+			if (children != null) {
+				result.addAll(children);
+			}
+		}
+		return result;
+	}
 
-			items = getChildItems(matchingItems);
+	/**
+	 * Matches children of parent items whose children were not available yet 
+	 * in a single UI thread round-trip. 
+	 * 
+	 * @return true if children of at least one parent item became available
+	 */
+	private boolean matchChildItems(final List<TreeItem> parentItems, final List<List<TreeItem>> matchingChildren,
+			final Matcher<TreeItem> matcher) {
+		return Display.syncExec(new ResultRunnable<Boolean>() {
+			@Override
+			public Boolean run() {
+				boolean changed = false;
+				for (int i = 0; i < parentItems.size(); i++) {
+					if (matchingChildren.get(i) != null) {
+						continue;
+					}
+					List<TreeItem> children = getAvailableChildren(parentItems.get(i));
+					if (!children.isEmpty()) {
+						matchingChildren.set(i, getMatchingTreeItems(children, matcher));
+						changed = true;
+					}
+				}
+				return changed;
+			}
+		});
+	}
+
+	/**
+	 * Expands all collapsed items, so that their children are created by lazy trees and 
+	 * items found under them are visible. Expand events of all items are posted in a single
+	 * UI runnable and the items are expanded in a single UI thread round-trip afterwards.
+	 */
+	private void expandItems(final List<TreeItem> items) {
+		final EventPipeline pipeline = new EventPipeline();
+		final List<TreeItem> collapsedItems = Display.syncExec(new ResultRunnable<List<TreeItem>>() {
+			@Override
+			public List<TreeItem> run() {
+				List<TreeItem> collapsedItems = new ArrayList<TreeItem>();
+				for (TreeItem item : items) {
+					if (!item.isDisposed() && !item.getExpanded()) {
+						collapsedItems.add(item);
+						pipeline.add(SWT.Expand, createExpandEvent(item), item.getParent());
+					}
+				}
+				return collapsedItems;
+			}
+		});
+		if (collapsedItems.isEmpty()) {
+			return;
 		}
-		
-		throw new IllegalStateException("It should never get here. This is probably flaw in lookup algoritnus");
+		// listeners creating children are notified before items are expanded
+		pipeline.post();
+		Display.syncExec(new Runnable() {
+			@Override
+			public void run() {
+				Set<Tree> trees = new HashSet<Tree>();
+				for (TreeItem item : collapsedItems) {
+					if (!item.isDisposed()) {
+						item.setExpanded(true);
+						trees.add(item.getParent());
+					}
+				}
+				for (Tree tree : trees) {
+					tree.update();
+				}
+			}
+		});
 	}
-		
-	private List<TreeItem> getChildItems(List<TreeItem> parentItems) {
-		List<TreeItem> children = new ArrayList<TreeItem>();
-		for (TreeItem parentItem : parentItems){
-			new WaitUntil(new TreeItemHasChildren(parentItem), TimePeriod.NORMAL, false);	
-			children.addAll(TreeItemHandler.getInstance().getChildrenItems(parentItem));
+
+	/**
+	 * Creates expand event of specified item. Has to be called in UI thread.
+	 */
+	private static Event createExpandEvent(TreeItem item) {
+		Event event = new Event();
+		event.display = item.getDisplay();
+		event.time = (int) System.currentTimeMillis();
+		event.item = item;
+		event.widget = item.getParent();
+		return event;
+	}
+
+	/**
+	 * Gets children of specified item without a placeholder item which JFace tree viewers
+	 * create for collapsed items whose children were not created yet. Has to be called 
+	 * in UI thread.
+	 */
+	private static List<TreeItem> getAvailableChildren(TreeItem item) {
+		TreeItem[] children = item.getItems();
+		if (children.length == 1 && isPlaceholder(item, children[0])) {
+			return Collections.emptyList();
 		}
-		return children;
+		return Arrays.asList(children);
 	}
 
-	private List<TreeItem> getMatchingTreeItems(List<TreeItem> items, Matcher<TreeItem> matcher){
-		List<TreeItem> matchingitems = new ArrayList<TreeItem>();
-		for (TreeItem item : items){
-			if (matcher.matches(item)){
-				matchingitems.add(item);
-			}
+	/**
+	 * Finds out whether specified child is the only placeholder item of specified collapsed 
+	 * item of a tree managed by a JFace viewer. 
+	 */
+	private static boolean isPlaceholder(TreeItem item, TreeItem child) {
+		if (item.getExpanded() || !isViewerItem(item)) {
+			return false;
 		}
-		return matchingitems;
+		// text is read first so that virtual trees set data of the child
+		return child.getText().isEmpty() && child.getData() == null;
+	}
+
+	/**
+	 * Finds out whether specified item belongs to a tree managed by a JFace viewer. Tree viewer
+	 * sets its input as data of the tree and elements as data of their items.
+	 */
+	private static boolean isViewerItem(TreeItem item) {
+		Object treeData = item.getParent().getData();
+		return treeData instanceof Viewer || (treeData != null && item.getData() != null);
+	}
+
+	private List<TreeItem> getMatchingTreeItems(final List<TreeItem> items, final Matcher<TreeItem> matcher){
+		return Display.syncExec(new ResultRunnable<List<TreeItem>>() {
+			@Override
+			public List<TreeItem> run() {
+				List<TreeItem> matchingitems = new ArrayList<TreeItem>();
+				for (TreeItem item : items){
+					if (matcher.matches(item)){
+						matchingitems.add(item);
+					}
+				}
+				return matchingitems;
+			}
+		});
 	}
 	
 	/**
@@ -197,6 +372,50 @@ public class TreeItemLookup {
 		}
 	}
 	
+	/**
+	 * Condition is met when any of tree items has at least one child, placeholder
+	 * children of lazy trees are not counted.
+	 */
+	class AnyTreeItemHasChildren extends AbstractWaitCondition {
+
+		private final List<TreeItem> treeItems;
+
+		/**
+		 * Instantiates a new condition.
+		 *
+		 * @param treeItems the tree items
+		 */
+		public AnyTreeItemHasChildren(List<TreeItem> treeItems) {
+			this.treeItems = treeItems;
+		}
+
+		/* (non-Javadoc)
+		 * @see org.jboss.reddeer.common.condition.WaitCondition#test()
+		 */
+		@Override
+		public boolean test() {
+			return Display.syncExec(new ResultRunnable<Boolean>() {
+				@Override
+				public Boolean run() {
+					for (TreeItem treeItem : treeItems) {
+						if (!getAvailableChildren(treeItem).isEmpty()) {
+							return true;
+						}
+					}
+					return false;
+				}
+			});
+		}
+
+		/* (non-Javadoc)
+		 * @see org.jboss.reddeer.common.condition.AbstractWaitCondition#description()
+		 */
+		@Override
+		public String description() {
+			return "any of " + treeItems.size() + " tree items has children";
+		}
+	}
+
 	/**
 	 * Condition is met when tree item has at least one child. 
 	 * 
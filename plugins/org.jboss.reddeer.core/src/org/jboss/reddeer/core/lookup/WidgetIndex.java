@@ -0,0 +1,315 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.lookup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Widget;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.core.matcher.AndMatcher;
+import org.jboss.reddeer.core.matcher.ClassMatcher;
+import org.jboss.reddeer.core.resolver.WidgetResolver;
+
+/**
+ * Index of widgets located under a root widget (usually an active shell or
+ * a control of a workbench part). Index holds visible widgets in the same 
+ * order in which they are visited by the recursive lookup in {@link WidgetLookup}
+ * and groups them by their classes, so widgets matching a {@link ClassMatcher}
+ * are resolved by a hash lookup instead of a widget tree traversal. Other 
+ * matchers (e.g. text or label matchers) are then evaluated only on widgets 
+ * of the requested class. Texts are not indexed because SWT does not notify 
+ * about their changes. For the same reason labels are not indexed either, text
+ * and image of a label can change without any event. {@link LabelLookup} resolves 
+ * labels in a single pass over the widgets returned by the index and reuses them 
+ * only within a lookup session.
+ * 
+ * Index is invalidated whenever the widget tree changes, i.e. a widget is created,
+ * disposed, shown or hidden. Resizing and reskinning of indexed widgets keeps the 
+ * index. It is used only if {@link RedDeerProperties#WIDGET_INDEX} is set.
+ * 
+ * Note: Must be used in UI Thread.
+ */
+public class WidgetIndex {
+
+	private static final Logger log = Logger.getLogger(WidgetIndex.class);
+
+	/**
+	 * Types of events invalidating the index. Creation of a widget is
+	 * announced by {@link SWT#Skin} event, which is sent also when an existing 
+	 * widget is reskinned, so it invalidates the index only for widgets which 
+	 * are not indexed yet.
+	 */
+	public static final int[] INVALIDATING_EVENT_TYPES = new int[] { SWT.Skin, SWT.Dispose, SWT.Show,
+			SWT.Hide };
+
+	private static WidgetIndex instance;
+
+	private Map<Widget, Entry> entries = new WeakHashMap<Widget, Entry>();
+
+	private org.eclipse.swt.widgets.Display listenedDisplay;
+
+	private Listener invalidatingListener = new Listener() {
+
+		@Override
+		public void handleEvent(Event event) {
+			if (event.type == SWT.Skin && isIndexedWidget(event.widget)) {
+				return;
+			}
+			invalidate();
+		}
+	};
+
+	private WidgetIndex() {
+		super();
+	}
+
+	/**
+	 * Gets instance of WidgetIndex.
+	 * 
+	 * @return instance of WidgetIndex
+	 */
+	public static WidgetIndex getInstance() {
+		if (instance == null) {
+			instance = new WidgetIndex();
+		}
+		return instance;
+	}
+
+	/**
+	 * Finds out whether widget lookup should use the index.
+	 * 
+	 * @return true if index is enabled, false otherwise
+	 */
+	public static boolean isEnabled() {
+		return RedDeerProperties.WIDGET_INDEX.getBooleanValue();
+	}
+
+	/**
+	 * Drops all indexed widgets.
+	 */
+	public void invalidate() {
+		if (!entries.isEmpty()) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Finds out whether widgets located under specified root widget are indexed,
+	 * i.e. whether next lookup under the root widget will not walk widget tree.
+	 * 
+	 * @param root root widget
+	 * @return true if widgets under the root widget are indexed, false otherwise
+	 */
+	public boolean isIndexed(Widget root) {
+		return entries.containsKey(root);
+	}
+
+	/**
+	 * Finds all widgets matching specified matcher located under specified root
+	 * widget (including the root widget).
+	 * 
+	 * @param <T> type of widget
+	 * @param root root widget
+	 * @param matcher matcher to match widgets
+	 * @return widgets matching specified matcher
+	 */
+	public <T extends Widget> List<T> findControls(Widget root, Matcher<T> matcher) {
+		LinkedHashSet<T> controls = new LinkedHashSet<T>();
+		for (Widget widget : getCandidates(root, matcher)) {
+			if (matcher.matches(widget)) {
+				controls.add(WidgetIndex.<T>cast(widget));
+			}
+		}
+		return new ArrayList<T>(controls);
+	}
+
+	/**
+	 * Finds widget matching specified matcher on specified index located under
+	 * specified root widget (including the root widget).
+	 * 
+	 * @param <T> type of widget
+	 * @param root root widget
+	 * @param matcher matcher to match widgets
+	 * @param index index of the widget among matching widgets
+	 * @return widget matching specified matcher or null
+	 */
+	public <T extends Widget> T findControl(Widget root, Matcher<T> matcher, int index) {
+		int remaining = index;
+		for (Widget widget : getCandidates(root, matcher)) {
+			if (matcher.matches(widget)) {
+				if (remaining <= 0) {
+					return WidgetIndex.<T>cast(widget);
+				}
+				remaining--;
+			}
+		}
+		return null;
+	}
+
+	private boolean isIndexedWidget(Widget widget) {
+		for (Entry entry : entries.values()) {
+			if (entry.contains(widget)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private List<Widget> getCandidates(Widget root, Matcher<?> matcher) {
+		if (root == null || root.isDisposed() || !visible(root)) {
+			return new ArrayList<Widget>();
+		}
+		listenTo(root.getDisplay());
+		Class<?> widgetClass = getWidgetClass(matcher);
+		Entry entry = entries.get(root);
+		if (entry == null) {
+			entry = new Entry(root);
+			entries.put(root, entry);
+		}
+		List<Widget> candidates = entry.getWidgets(widgetClass);
+		for (Widget candidate : candidates) {
+			if (candidate.isDisposed()) {
+				// disposal was not noticed yet, e.g. it is still in progress
+				log.trace("Widget index of " + root + " contains disposed widget, rebuilding");
+				entry = new Entry(root);
+				entries.put(root, entry);
+				return entry.getWidgets(widgetClass);
+			}
+		}
+		return candidates;
+	}
+
+	private void listenTo(org.eclipse.swt.widgets.Display display) {
+		if (listenedDisplay == display) {
+			return;
+		}
+		if (listenedDisplay != null && !listenedDisplay.isDisposed()) {
+			for (int eventType : INVALIDATING_EVENT_TYPES) {
+				listenedDisplay.removeFilter(eventType, invalidatingListener);
+			}
+		}
+		for (int eventType : INVALIDATING_EVENT_TYPES) {
+			display.addFilter(eventType, invalidatingListener);
+		}
+		listenedDisplay = display;
+		entries.clear();
+	}
+
+	/**
+	 * Gets the most specific widget class required by class matchers, 
+	 * possibly nested in {@link AndMatcher}s.
+	 */
+	@SuppressWarnings("rawtypes")
+	private Class<?> getWidgetClass(Matcher<?> matcher) {
+		if (matcher instanceof ClassMatcher) {
+			return ((ClassMatcher) matcher).getWidgetClass();
+		}
+		Class<?> result = Widget.class;
+		if (matcher instanceof AndMatcher) {
+			for (Matcher nested : ((AndMatcher) matcher).getMatchers()) {
+				Class<?> nestedClass = getWidgetClass(nested);
+				if (result.isAssignableFrom(nestedClass)) {
+					result = nestedClass;
+				}
+			}
+		}
+		return result;
+	}
+
+	private static boolean visible(Widget widget) {
+		return !((widget instanceof Control) && !((Control) widget).getVisible());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T extends Widget> T cast(Widget widget) {
+		return (T) widget;
+	}
+
+	/**
+	 * Indexed widgets of one root widget.
+	 */
+	private static class Entry {
+
+		private Widget[] widgets;
+
+		private Set<Widget> members;
+
+		private Map<Class<?>, List<Integer>> positionsByClass = new HashMap<Class<?>, List<Integer>>();
+
+		private Map<Class<?>, List<Widget>> widgetsByRequestedClass = new HashMap<Class<?>, List<Widget>>();
+
+		private Entry(Widget root) {
+			List<Widget> collected = new ArrayList<Widget>();
+			collect(root, collected);
+			widgets = collected.toArray(new Widget[collected.size()]);
+			members = new HashSet<Widget>(collected);
+			for (int i = 0; i < widgets.length; i++) {
+				List<Integer> positions = positionsByClass.get(widgets[i].getClass());
+				if (positions == null) {
+					positions = new ArrayList<Integer>();
+					positionsByClass.put(widgets[i].getClass(), positions);
+				}
+				positions.add(i);
+			}
+		}
+
+		private void collect(Widget widget, List<Widget> collected) {
+			if (widget == null || widget.isDisposed() || !visible(widget)) {
+				return;
+			}
+			collected.add(widget);
+			for (Widget child : WidgetResolver.getInstance().getChildren(widget)) {
+				collect(child, collected);
+			}
+		}
+
+		private boolean contains(Widget widget) {
+			return members.contains(widget);
+		}
+
+		/**
+		 * Gets widgets which are instances of specified class in the order of lookup.
+		 */
+		private List<Widget> getWidgets(Class<?> requestedClass) {
+			List<Widget> result = widgetsByRequestedClass.get(requestedClass);
+			if (result == null) {
+				List<Integer> positions = new ArrayList<Integer>();
+				for (Map.Entry<Class<?>, List<Integer>> entry : positionsByClass.entrySet()) {
+					if (requestedClass.isAssignableFrom(entry.getKey())) {
+						positions.addAll(entry.getValue());
+					}
+				}
+				Integer[] sorted = positions.toArray(new Integer[positions.size()]);
+				Arrays.sort(sorted);
+				result = new ArrayList<Widget>(sorted.length);
+				for (Integer position : sorted) {
+					result.add(widgets[position]);
+				}
+				widgetsByRequestedClass.put(requestedClass, result);
+			}
+			return result;
+		}
+	}
+}
@@ -31,6 +31,7 @@ import org.jboss.reddeer.core.condition.WidgetIsFound;
 import org.jboss.reddeer.core.exception.CoreLayerException;
 import org.jboss.reddeer.core.handler.WidgetHandler;
 import org.jboss.reddeer.core.matcher.AndMatcher;
+import org.jboss.reddeer.core.matcher.CompiledMatcher;
 import org.jboss.reddeer.core.matcher.ClassMatcher;
 import org.jboss.reddeer.core.matcher.MatcherBuilder;
 import org.jboss.reddeer.core.reference.ReferencedComposite;
@@ -91,11 +92,13 @@ public class WidgetLookup {
 	 */
 	@SuppressWarnings({ "rawtypes","unchecked" })
 	public <T extends Widget> T activeWidget(ReferencedComposite refComposite, Class<T> clazz, int index, TimePeriod timePeriod, Matcher... matchers) {				
-		logger.debug("Looking up active widget with class type " + clazz.getName() +  ", index " + index + " and " + createMatcherDebugMsg(matchers));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Looking up active widget with class type " + clazz.getName() +  ", index " + index + " and " + createMatcherDebugMsg(matchers));
+		}
 
 		ClassMatcher cm = new ClassMatcher(clazz);
 		Matcher[] allMatchers = MatcherBuilder.getInstance().addMatcher(matchers, cm);
-		AndMatcher am  = new AndMatcher(allMatchers);
+		AndMatcher am  = MatcherBuilder.getInstance().compile(allMatchers);
 
 		Control parentControl = getParentControl(refComposite);
 		WidgetIsFound found = new WidgetIsFound(parentControl, index, am.getMatchers());
@@ -121,11 +124,13 @@ public class WidgetLookup {
 	 * @return widgets located in specified referenced composite and matching specified matchers
 	 */
 	public <T extends Widget> List<T> activeWidgets(ReferencedComposite refComposite, Class<T> clazz, Matcher<?>... matchers) {				
-		logger.debug("Looking up active widgets with class type " + clazz.getName() +  " and " + createMatcherDebugMsg(matchers));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Looking up active widgets with class type " + clazz.getName() +  " and " + createMatcherDebugMsg(matchers));
+		}
 
 		ClassMatcher cm = new ClassMatcher(clazz);
 		Matcher<?>[] allMatchers = MatcherBuilder.getInstance().addMatcher(matchers, cm);
-		AndMatcher am  = new AndMatcher(allMatchers);
+		AndMatcher am  = MatcherBuilder.getInstance().compile(allMatchers);
 
 		List<T> foundWidgets = activeWidgets(refComposite.getControl(), am);
 		logger.debug("Found " + foundWidgets.size() + " widgets");
@@ -183,10 +188,9 @@ public class WidgetLookup {
 	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public <T extends Widget> T activeWidget(Control refComposite, Matcher matcher, int index) {
-		String widgetDescription = "widget with index " + index;
-		logger.trace("Looking up " + widgetDescription + " with specified parent and matchers");
+		logger.trace("Looking up widget with index %d with specified parent and matchers", index);
 		T widget = (T)findControl(refComposite, matcher, true, index);
-		logger.trace(widgetDescription + (widget != null ? " is found" : "is not found"));
+		logger.trace("Widget with index %d %s", index, widget != null ? "is found" : "is not found");
 		return widget;
 	}
 
@@ -221,12 +225,16 @@ public class WidgetLookup {
 
 		if ((activeWorkbenchParentShell == null || !activeWorkbenchParentShell.equals(activeShell))
 				&& activeShell != null){
-			logger.trace("Setting active shell with title \"" + WidgetHandler.getInstance().getText(activeShell) + "\" as the parent");
+			if (logger.isTraceEnabled()) {
+				logger.trace("Setting active shell with title \"" + WidgetHandler.getInstance().getText(activeShell) + "\" as the parent");
+			}
 			control = activeShell;	
 		}			
 		else {
 			if (activeWorkbenchReference != null){
-				logger.trace("Setting workbench part with title \"" + getTitle(activeWorkbenchReference) + "\"as the parent");
+				if (logger.isTraceEnabled()) {
+					logger.trace("Setting workbench part with title \"" + getTitle(activeWorkbenchReference) + "\"as the parent");
+				}
 				control = WorkbenchPartLookup.getInstance().getWorkbenchControl(activeWorkbenchReference);
 			}
 		}	
@@ -300,8 +308,16 @@ public class WidgetLookup {
 
 			@Override
 			public List<T> run() {
-				List<T> findControlsUI = findControlsUI(parentWidget, matcher, recursive);
-				return findControlsUI;
+				LabelLookup.getInstance().startSession();
+				try {
+					if (recursive && WidgetIndex.isEnabled()) {
+						return WidgetIndex.getInstance().findControls(parentWidget, matcher);
+					}
+					List<T> findControlsUI = findControlsUI(parentWidget, matcher, recursive);
+					return findControlsUI;
+				} finally {
+					LabelLookup.getInstance().endSession();
+				}
 			}
 		});
 		return ret;
@@ -313,7 +329,15 @@ public class WidgetLookup {
 
 			@Override
 			public T run() {
-				return findControlUI(parentWidget, matcher, recursive, new Index(index));
+				LabelLookup.getInstance().startSession();
+				try {
+					if (recursive && WidgetIndex.isEnabled()) {
+						return WidgetIndex.getInstance().findControl(parentWidget, matcher, index);
+					}
+					return findControlUI(parentWidget, matcher, recursive, new Index(index));
+				} finally {
+					LabelLookup.getInstance().endSession();
+				}
 			}
 		});
 		return ret;
@@ -380,7 +404,7 @@ public class WidgetLookup {
 			} catch (ClassCastException exception) {
 				throw new IllegalArgumentException("The specified matcher should only match against is declared type.", exception);
 			}
-		if (recursive) {
+		if (recursive && canMatchBelow(parentWidget, matcher)) {
 			List<Widget> children = WidgetResolver.getInstance().getChildren(parentWidget);
 			controls.addAll(findControlsUI(children, matcher, recursive));
 		}
@@ -404,13 +428,29 @@ public class WidgetLookup {
 			} catch (ClassCastException exception) {
 				throw new IllegalArgumentException("The specified matcher should only match against is declared type.", exception);
 			}
-		if (recursive) {
+		if (recursive && canMatchBelow(parentWidget, matcher)) {
 			List<Widget> children = WidgetResolver.getInstance().getChildren(parentWidget);
 			return findControlUI(children, matcher, recursive, index);
 		}
 		return null;
 	}
 
+	/**
+	 * Finds out whether a widget matching specified matcher can be located below specified widget.
+	 * Only {@link CompiledMatcher} is able to tell, subtrees are not pruned for other matchers.
+	 */
+	private boolean canMatchBelow(Widget widget, Matcher<?> matcher) {
+		return !(matcher instanceof CompiledMatcher) || ((CompiledMatcher) matcher).canMatchBelow(widget);
+	}
+
+	/**
+	 * Finds out whether specified widget can be skipped because neither the widget nor its descendants
+	 * can match specified matcher. Only {@link CompiledMatcher} is able to tell.
+	 */
+	private boolean canSkip(Widget widget, Matcher<?> matcher) {
+		return matcher instanceof CompiledMatcher && ((CompiledMatcher) matcher).canSkip(widget);
+	}
+
 	/**
 	 * Gets list of children control widgets matching specified matcher from specified list of widgets. Method
 	 * can be used recursively to get all children in descendants.
@@ -425,6 +465,9 @@ public class WidgetLookup {
 	private <T extends Widget> List<T> findControlsUI(final List<Widget> widgets, final Matcher<T> matcher, final boolean recursive) {
 		LinkedHashSet<T> list = new LinkedHashSet<T>();
 		for (Widget w : widgets) {
+			if (canSkip(w, matcher)) {
+				continue;
+			}
 			list.addAll(findControlsUI(w, matcher, recursive));
 		}
 		return new ArrayList<T>(list);
@@ -432,6 +475,9 @@ public class WidgetLookup {
 
 	private <T extends Widget> T findControlUI(final List<Widget> widgets, final Matcher<T> matcher, final boolean recursive, Index index) {
 		for (Widget w : widgets) {
+			if (canSkip(w, matcher)) {
+				continue;
+			}
 			T control = findControlUI(w, matcher, recursive, index);
 			if(control != null) {
 				return control;
@@ -43,6 +43,15 @@ public class ClassMatcher extends BaseMatcher {
 		this.c = c;
 	}
 	
+	/**
+	 * Gets widget class matched by the matcher.
+	 * 
+	 * @return widget class
+	 */
+	public Class<? extends Widget> getWidgetClass() {
+		return c;
+	}
+
 	/* (non-Javadoc)
 	 * @see org.hamcrest.Matcher#matches(java.lang.Object)
 	 */
@@ -0,0 +1,133 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.matcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.swt.custom.CTabItem;
+import org.eclipse.swt.widgets.ExpandItem;
+import org.eclipse.swt.widgets.Item;
+import org.eclipse.swt.widgets.TabItem;
+import org.eclipse.swt.widgets.ToolBar;
+import org.eclipse.swt.widgets.ToolItem;
+import org.eclipse.swt.widgets.Widget;
+import org.hamcrest.Matcher;
+
+/**
+ * Matcher matching conjunctive satisfaction of all matchers which are evaluated
+ * in order of their {@link MatcherCost}. Nested {@link AndMatcher}s are flattened,
+ * matchers of the same cost class keep their original order.<br/>
+ * 
+ * Compiled matcher also knows the most specific widget class required by its
+ * {@link ClassMatcher}s, so widget lookup can skip subtrees which cannot contain 
+ * a widget of such class (e.g. tool bar when looking for a text) and items which
+ * cannot match (e.g. table items when looking for a button).
+ * 
+ * Use {@link MatcherBuilder#compile(Matcher...)} to create compiled matcher.
+ */
+@SuppressWarnings("rawtypes")
+public class CompiledMatcher extends AndMatcher {
+
+	private Class<?> widgetClass;
+
+	CompiledMatcher(Matcher[] matchers, Class<?> widgetClass) {
+		super(matchers);
+		this.widgetClass = widgetClass;
+	}
+
+	/**
+	 * Compiles specified matchers.
+	 * 
+	 * @param matchers matchers to compile
+	 * @return compiled matcher
+	 */
+	static CompiledMatcher compile(Matcher... matchers) {
+		if (matchers == null) {
+			throw new NullPointerException("matchers");
+		}
+		List<Matcher> flattened = new ArrayList<Matcher>();
+		flatten(matchers, flattened);
+		Class<?> widgetClass = Widget.class;
+		for (Matcher matcher : flattened) {
+			if (matcher instanceof ClassMatcher) {
+				Class<?> matcherClass = ((ClassMatcher) matcher).getWidgetClass();
+				if (widgetClass.isAssignableFrom(matcherClass)) {
+					widgetClass = matcherClass;
+				}
+			}
+		}
+		// Collections.sort is stable, so matchers of the same cost keep their order
+		Collections.sort(flattened, new Comparator<Matcher>() {
+
+			@Override
+			public int compare(Matcher m1, Matcher m2) {
+				return MatcherCost.of(m1).compareTo(MatcherCost.of(m2));
+			}
+		});
+		return new CompiledMatcher(flattened.toArray(new Matcher[flattened.size()]), widgetClass);
+	}
+
+	private static void flatten(Matcher[] matchers, List<Matcher> result) {
+		for (Matcher matcher : matchers) {
+			if (matcher instanceof AndMatcher) {
+				flatten(((AndMatcher) matcher).getMatchers(), result);
+			} else {
+				result.add(matcher);
+			}
+		}
+	}
+
+	/**
+	 * Gets the most specific widget class required by this matcher.
+	 * 
+	 * @return widget class required by this matcher, {@link Widget} if there is no class constraint
+	 */
+	public Class<?> getWidgetClass() {
+		return widgetClass;
+	}
+
+	/**
+	 * Finds out whether a widget matching this matcher can be located below specified widget.
+	 * 
+	 * @param widget widget to check descendants of
+	 * @return false if no descendant of specified widget can match this matcher, true otherwise
+	 */
+	public boolean canMatchBelow(Widget widget) {
+		if (widget instanceof ToolBar) {
+			// tool bar children are resolved to tool items only
+			return isCompatible(ToolItem.class);
+		}
+		if (widget instanceof Item) {
+			// only items holding a control have children
+			return widget instanceof TabItem || widget instanceof CTabItem || widget instanceof ExpandItem;
+		}
+		return true;
+	}
+
+	/**
+	 * Finds out whether specified widget can be skipped by widget lookup, i.e. 
+	 * it is an item which can match neither itself nor by any of its descendants. 
+	 * Items are never skipped if required widget class is an item.
+	 * 
+	 * @param widget widget to check
+	 * @return true if neither specified widget nor its descendants can match this matcher, false otherwise
+	 */
+	public boolean canSkip(Widget widget) {
+		return widget instanceof Item && !isCompatible(Item.class) && !canMatchBelow(widget);
+	}
+
+	private boolean isCompatible(Class<?> clazz) {
+		return widgetClass.isAssignableFrom(clazz) || clazz.isAssignableFrom(widgetClass);
+	}
+}
@@ -54,4 +54,17 @@ public class MatcherBuilder {
 
 		return finalMatchers;
 	}
+
+	/**
+	 * Compiles matchers into single matcher which evaluates cheap matchers
+	 * (e.g. class matchers) before expensive ones (e.g. label matchers).
+	 * 
+	 * @param matchers matchers to compile
+	 * @return compiled matcher matching when all specified matchers match
+	 * @see MatcherCost
+	 */
+	@SuppressWarnings("rawtypes")
+	public CompiledMatcher compile(Matcher... matchers) {
+		return CompiledMatcher.compile(matchers);
+	}
 }
@@ -0,0 +1,72 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.matcher;
+
+import org.hamcrest.Matcher;
+
+/**
+ * Cost class of a widget matcher. Cheaper matchers are evaluated first by 
+ * {@link CompiledMatcher}, so expensive matchers run only on widgets which
+ * already satisfied the cheap ones.
+ */
+public enum MatcherCost {
+
+	/**
+	 * Matcher checking only class of a widget.
+	 */
+	TYPE,
+
+	/**
+	 * Matcher reading a single property of a widget, e.g. its style.
+	 */
+	PROPERTY,
+
+	/**
+	 * Matcher reading and matching text of a widget. Matchers of unknown 
+	 * type are considered to be of this cost class.
+	 */
+	TEXT,
+
+	/**
+	 * Matcher looking up other widgets or resources, e.g. label or tooltip of a widget.
+	 */
+	LOOKUP;
+
+	/**
+	 * Gets cost class of specified matcher.
+	 * 
+	 * @param matcher matcher to get cost class of
+	 * @return cost class of specified matcher
+	 */
+	@SuppressWarnings("rawtypes")
+	public static MatcherCost of(Matcher<?> matcher) {
+		if (matcher instanceof ClassMatcher || matcher instanceof WithClassNameMatcher) {
+			return TYPE;
+		}
+		if (matcher instanceof WithStyleMatcher) {
+			return PROPERTY;
+		}
+		if (matcher instanceof WithLabelMatcher || matcher instanceof WithTooltipTextMatcher) {
+			return LOOKUP;
+		}
+		if (matcher instanceof AndMatcher) {
+			MatcherCost cost = TYPE;
+			for (Matcher nested : ((AndMatcher) matcher).getMatchers()) {
+				MatcherCost nestedCost = of(nested);
+				if (nestedCost.compareTo(cost) > 0) {
+					cost = nestedCost;
+				}
+			}
+			return cost;
+		}
+		return TEXT;
+	}
+}
@@ -10,6 +10,10 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.core.util;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ui.PlatformUI;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.core.interceptor.SyncInterceptorManager;
 import org.jboss.reddeer.core.exception.CoreLayerException;
@@ -25,7 +29,8 @@ public class Display {
 
 	private static final Logger log = Logger.getLogger(Display.class);
 
-	private static org.eclipse.swt.widgets.Display display;
+	private static volatile org.eclipse.swt.widgets.Display display;
+	private static volatile Thread uiThread;
 	private static SyncInterceptorManager sim = SyncInterceptorManager.getInstance();
 
 	private Display(){
@@ -33,23 +38,88 @@ public class Display {
 	}
 	
 	/**
-	 * Returns {@link org.eclipse.swt.widgets.Display} instance.
+	 * Returns {@link org.eclipse.swt.widgets.Display} instance. Display is resolved
+	 * only once and it is cached until it is disposed. Cached display is checked
+	 * for being disposed on each call because dispose hook may be registered
+	 * asynchronously and may not run before the display is disposed.
 	 *    
 	 * @return current Display instance or throws CoreLayerException if there is no display
 	 */
 	public static org.eclipse.swt.widgets.Display getDisplay() {
-		if ((display == null) || display.isDisposed()) {
+		org.eclipse.swt.widgets.Display cachedDisplay = display;
+		if (cachedDisplay != null && !cachedDisplay.isDisposed()) {
+			return cachedDisplay;
+		}
+		return resolveDisplay();
+	}
+
+	private static synchronized org.eclipse.swt.widgets.Display resolveDisplay() {
+		if (display != null) {
+			if (!display.isDisposed()) {
+				return display;
+			}
+			invalidate(display);
+		}
+		final org.eclipse.swt.widgets.Display d = findDisplay();
+		if (d == null) {
+			throw new CoreLayerException("Could not find a display");
+		}
+		Thread thread = d.getThread();
+		final Runnable invalidation = new Runnable() {
+
+			@Override
+			public void run() {
+				invalidate(d);
+			}
+		};
+		if (thread == Thread.currentThread()) {
+			d.disposeExec(invalidation);
+		} else {
+			d.asyncExec(new Runnable() {
+
+				@Override
+				public void run() {
+					d.disposeExec(invalidation);
+				}
+			});
+		}
+		uiThread = thread;
+		display = d;
+		log.debug("Display resolved, UI thread is '" + thread.getName() + "'");
+		return d;
+	}
+
+	private static synchronized void invalidate(org.eclipse.swt.widgets.Display disposedDisplay) {
+		if (display == disposedDisplay) {
 			display = null;
-			Thread[] allThreads = allThreads();
-			for (Thread thread : allThreads) {
-				org.eclipse.swt.widgets.Display d = org.eclipse.swt.widgets.Display.findDisplay(thread);
-				if (d != null && !d.isDisposed())
-					display = d;
+			uiThread = null;
+		}
+	}
+
+	/**
+	 * Finds display at first via workbench, then display of current thread and
+	 * at last display of any running thread. Display.getDefault() is not used 
+	 * because it would create new display when called from non UI thread before
+	 * workbench display exists.
+	 */
+	private static org.eclipse.swt.widgets.Display findDisplay() {
+		if (PlatformUI.isWorkbenchRunning()) {
+			org.eclipse.swt.widgets.Display d = PlatformUI.getWorkbench().getDisplay();
+			if (d != null && !d.isDisposed()) {
+				return d;
+			}
+		}
+		org.eclipse.swt.widgets.Display current = org.eclipse.swt.widgets.Display.getCurrent();
+		if (current != null && !current.isDisposed()) {
+			return current;
+		}
+		for (Thread thread : allThreads()) {
+			org.eclipse.swt.widgets.Display d = org.eclipse.swt.widgets.Display.findDisplay(thread);
+			if (d != null && !d.isDisposed()) {
+				return d;
 			}
-			if (display == null)
-				throw new CoreLayerException("Could not find a display");
 		}
-		return display;
+		return null;
 	}
 
 	/**
@@ -71,9 +141,7 @@ public class Display {
 	@SuppressWarnings("unchecked")
 	public static <T> T syncExec(final ResultRunnable<T> runnable) {
 		
-		if (!sim.isIntercepted()) {
-			sim.performBeforeSync();
-		}
+		sim.performBeforeSync();
 		
 		ErrorHandlingRunnable<T> errorHandlingRunnable = new ErrorHandlingRunnable<T>(runnable);
 
@@ -90,14 +158,33 @@ public class Display {
 			throw new CoreLayerException("Exception during sync execution in UI thread", errorHandlingRunnable.getException());
 		}
 
-		if (!sim.isIntercepted()) {
-			sim.performAfterSync();
-		}
+		sim.performAfterSync();
 		
 		return errorHandlingRunnable.getResult();
 
 	}
 
+	/**
+	 * Runs all specified runnables in UI thread within a single sync execution.
+	 * See {@link UIBatch} for a typed variant.
+	 *
+	 * @param runnables runnables to execute in given order
+	 * @return results of runnables in the same order as runnables
+	 */
+	public static List<Object> batch(ResultRunnable<?>... runnables) {
+		UIBatch batch = new UIBatch();
+		List<UIBatch.Result<?>> results = new ArrayList<UIBatch.Result<?>>(runnables.length);
+		for (ResultRunnable<?> runnable : runnables) {
+			results.add(batch.add(runnable));
+		}
+		batch.execute();
+		List<Object> values = new ArrayList<Object>(runnables.length);
+		for (UIBatch.Result<?> result : results) {
+			values.add(result.get());
+		}
+		return values;
+	}
+
 	/**
 	 * Run async in UI thread without returning any result.
 	 * 
@@ -114,14 +201,20 @@ public class Display {
 	}
 
 	private static boolean isUIThread() {
-		return getDisplay().getThread() == Thread.currentThread();			
+		getDisplay();
+		return uiThread == Thread.currentThread();
 	}
 
 	private static Thread[] allThreads() {
 		ThreadGroup threadGroup = primaryThreadGroup();
 
-		Thread[] threads = new Thread[64];
+		// enumerate again with larger array if threads do not fit
+		Thread[] threads = new Thread[threadGroup.activeCount() + 16];
 		int enumerate = threadGroup.enumerate(threads, true);
+		while (enumerate == threads.length) {
+			threads = new Thread[threads.length * 2];
+			enumerate = threadGroup.enumerate(threads, true);
+		}
 
 		Thread[] result = new Thread[enumerate];
 		System.arraycopy(threads, 0, result, 0, enumerate);
@@ -0,0 +1,189 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.jboss.reddeer.common.logging.Logger;
+
+/**
+ * Hub distributing SWT events to non UI threads waiting for a change of UI state. 
+ * Hub registers display filters for events listed in {@link #SUPPORTED_EVENT_TYPES}
+ * when the first subscription is created. Each {@link Subscription} is notified 
+ * about events of types it was created for.
+ */
+public class DisplayEventHub {
+
+	private static final Logger log = Logger.getLogger(DisplayEventHub.class);
+
+	/**
+	 * Types of events the hub is able to distribute.
+	 */
+	public static final int[] SUPPORTED_EVENT_TYPES = new int[] { SWT.Show, SWT.Hide, SWT.Activate,
+			SWT.Deactivate, SWT.Dispose, SWT.Paint, SWT.Selection };
+
+	/**
+	 * Types of events changing state of shells.
+	 */
+	public static final int[] SHELL_EVENT_TYPES = new int[] { SWT.Show, SWT.Hide, SWT.Activate,
+			SWT.Deactivate, SWT.Dispose };
+
+	/**
+	 * Minimal time between two notifications of a subscription in milliseconds.
+	 * It prevents repeated testing of a condition in case of event storm, e.g. 
+	 * paint events of a progress bar.
+	 */
+	public static final long MIN_NOTIFICATION_INTERVAL = 10;
+
+	private static DisplayEventHub instance;
+
+	private List<Subscription> subscriptions = new CopyOnWriteArrayList<Subscription>();
+
+	private org.eclipse.swt.widgets.Display filteredDisplay;
+
+	private Listener filter = new Listener() {
+
+		@Override
+		public void handleEvent(Event event) {
+			for (Subscription subscription : subscriptions) {
+				subscription.notify(event.type);
+			}
+		}
+	};
+
+	private DisplayEventHub() {
+		super();
+	}
+
+	/**
+	 * Gets instance of display event hub.
+	 * 
+	 * @return display event hub
+	 */
+	public static synchronized DisplayEventHub getInstance() {
+		if (instance == null) {
+			instance = new DisplayEventHub();
+		}
+		return instance;
+	}
+
+	/**
+	 * Creates subscription for events of specified types. Subscription cannot be
+	 * created from UI thread because waiting for an event would block the UI thread.
+	 * 
+	 * @param eventTypes types of events, each of them has to be one of {@link #SUPPORTED_EVENT_TYPES}
+	 * @return subscription or null if it is not possible to listen to events
+	 */
+	public Subscription subscribe(int... eventTypes) {
+		org.eclipse.swt.widgets.Display display = Display.getDisplay();
+		if (display.getThread() == Thread.currentThread()) {
+			return null;
+		}
+		installFilter(display);
+		Subscription subscription = new Subscription(eventTypes);
+		subscriptions.add(subscription);
+		return subscription;
+	}
+
+	/**
+	 * Removes subscription. Display filters stay registered for next subscriptions.
+	 * 
+	 * @param subscription subscription to remove
+	 */
+	public void unsubscribe(Subscription subscription) {
+		subscriptions.remove(subscription);
+	}
+
+	private synchronized void installFilter(final org.eclipse.swt.widgets.Display display) {
+		if (filteredDisplay == display) {
+			return;
+		}
+		log.trace("Registering display filters of display event hub");
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				for (int eventType : SUPPORTED_EVENT_TYPES) {
+					display.addFilter(eventType, filter);
+				}
+				display.disposeExec(new Runnable() {
+
+					@Override
+					public void run() {
+						displayDisposed(display);
+					}
+				});
+			}
+		});
+		filteredDisplay = display;
+	}
+
+	private synchronized void displayDisposed(org.eclipse.swt.widgets.Display display) {
+		if (filteredDisplay == display) {
+			filteredDisplay = null;
+		}
+	}
+
+	/**
+	 * Subscription for events of specific types. 
+	 */
+	public static class Subscription {
+
+		private int[] eventTypes;
+
+		private boolean notified = false;
+
+		private Subscription(int[] eventTypes) {
+			this.eventTypes = eventTypes.clone();
+		}
+
+		private void notify(int eventType) {
+			for (int type : eventTypes) {
+				if (type == eventType) {
+					synchronized (this) {
+						notified = true;
+						notifyAll();
+					}
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Blocks until an event of subscribed type occurs or until specified 
+		 * time elapses. Events occurred since the last call are taken into account. 
+		 * 
+		 * @param timeout maximal time to block in milliseconds
+		 * @return true if an event occurred, false otherwise
+		 */
+		public synchronized boolean await(long timeout) {
+			long start = System.currentTimeMillis();
+			long limit = start + timeout;
+			long minLimit = start + Math.min(timeout, MIN_NOTIFICATION_INTERVAL);
+			try {
+				long now = start;
+				while (now < limit && (!notified || now < minLimit)) {
+					wait(notified ? minLimit - now : limit - now);
+					now = System.currentTimeMillis();
+				}
+			} catch (InterruptedException e) {
+				throw new RuntimeException("Sleep interrupted", e);
+			}
+			boolean result = notified;
+			notified = false;
+			return result;
+		}
+	}
+}
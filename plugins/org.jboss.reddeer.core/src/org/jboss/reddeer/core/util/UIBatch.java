@@ -0,0 +1,137 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch of UI operations executed in a single UI thread round-trip. Operations 
+ * are collected by {@link #add(ResultRunnable)} and executed in the order of
+ * addition by {@link #execute()}, results are then available via returned 
+ * {@link Result}s. If any operation throws an exception, remaining operations 
+ * are not executed and {@link org.jboss.reddeer.core.exception.CoreLayerException} 
+ * is thrown the same way as in {@link Display#syncExec(ResultRunnable)}.
+ * 
+ * <pre>
+ * UIBatch batch = new UIBatch();
+ * Result&lt;String&gt; text = batch.add(new ResultRunnable&lt;String&gt;() {...});
+ * Result&lt;Boolean&gt; enabled = batch.add(new ResultRunnable&lt;Boolean&gt;() {...});
+ * batch.execute();
+ * text.get();
+ * </pre>
+ */
+public class UIBatch {
+
+	private List<Result<?>> results = new ArrayList<Result<?>>();
+
+	private boolean executed = false;
+
+	/**
+	 * Adds operation to the batch.
+	 * 
+	 * @param <T> type of result
+	 * @param runnable operation to execute in UI thread
+	 * @return result of the operation available after execution of the batch
+	 */
+	public <T> Result<T> add(ResultRunnable<T> runnable) {
+		if (executed) {
+			throw new IllegalStateException("Batch was already executed");
+		}
+		Result<T> result = new Result<T>(runnable);
+		results.add(result);
+		return result;
+	}
+
+	/**
+	 * Adds operation without result to the batch.
+	 * 
+	 * @param runnable operation to execute in UI thread
+	 */
+	public void add(final Runnable runnable) {
+		add(new ResultRunnable<Void>() {
+
+			@Override
+			public Void run() {
+				runnable.run();
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * Gets number of operations in the batch.
+	 * 
+	 * @return number of operations
+	 */
+	public int size() {
+		return results.size();
+	}
+
+	/**
+	 * Executes all operations of the batch in a single UI thread round-trip.
+	 * Batch can be executed only once.
+	 */
+	public void execute() {
+		if (executed) {
+			throw new IllegalStateException("Batch was already executed");
+		}
+		executed = true;
+		if (results.isEmpty()) {
+			return;
+		}
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				for (Result<?> result : results) {
+					result.compute();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Result of an operation in a batch.
+	 *
+	 * @param <T> type of result
+	 */
+	public static class Result<T> {
+
+		private ResultRunnable<T> runnable;
+
+		private T value;
+
+		private boolean computed = false;
+
+		private Result(ResultRunnable<T> runnable) {
+			this.runnable = runnable;
+		}
+
+		private void compute() {
+			value = runnable.run();
+			computed = true;
+		}
+
+		/**
+		 * Gets result of the operation.
+		 * 
+		 * @return result of the operation
+		 * @throws IllegalStateException if the batch was not executed yet
+		 */
+		public T get() {
+			if (!computed) {
+				throw new IllegalStateException("Batch was not executed yet");
+			}
+			return value;
+		}
+	}
+}
@@ -12,10 +12,12 @@ package org.jboss.reddeer.eclipse.condition;
 
 import org.jboss.reddeer.common.condition.AbstractWaitCondition;
 import org.jboss.reddeer.common.wait.TimePeriod;
+import org.jboss.reddeer.eclipse.ui.console.ConsoleTap;
 import org.jboss.reddeer.eclipse.ui.console.ConsoleView;
 
 /**
- * Returns true if a console has no change for the specified time period.
+ * Returns true if a console has no change for the specified time period. Changes
+ * of the console displayed in Console view are watched via {@link ConsoleTap}.
  * 
  * @author Andrej Podhradsky
  * 
@@ -24,7 +26,7 @@ public class ConsoleHasNoChange extends AbstractWaitCondition {
 
 	private TimePeriod timePeriod;
 
-	private String consoleText;
+	private ConsoleTap consoleTap;
 	private long consoleTime;
 
 	/**
@@ -42,7 +44,7 @@ public class ConsoleHasNoChange extends AbstractWaitCondition {
 	 */
 	public ConsoleHasNoChange(TimePeriod timePeriod) {
 		this.timePeriod = timePeriod;
-		this.consoleText = getConsoleText();
+		this.consoleTap = getConsoleTap();
 		this.consoleTime = System.currentTimeMillis();
 	}
 
@@ -51,16 +53,19 @@ public class ConsoleHasNoChange extends AbstractWaitCondition {
 	 */
 	@Override
 	public boolean test() {
-		String currentConsoleText = getConsoleText();
+		ConsoleTap currentConsoleTap = getConsoleTap();
 		long currentConsoleTime = System.currentTimeMillis();
 
-		if (!currentConsoleText.equals(consoleText)) {
-			consoleText = currentConsoleText;
+		if (currentConsoleTap != consoleTap) {
+			consoleTap = currentConsoleTap;
 			consoleTime = currentConsoleTime;
 			return false;
 		}
+		if (consoleTap != null) {
+			consoleTime = Math.max(consoleTime, consoleTap.getLastChangeTime());
+		}
 
-		return currentConsoleTime - consoleTime - timePeriod.getSeconds() * 1000 >= 0;
+		return currentConsoleTime - consoleTime - timePeriod.getMilliseconds() >= 0;
 	}
 
 	/* (non-Javadoc)
@@ -71,10 +76,12 @@ public class ConsoleHasNoChange extends AbstractWaitCondition {
 		return "Console is still changing";
 	}
 
-	private static String getConsoleText() {
-		ConsoleView consoleView = new ConsoleView();
-		consoleView.open();
-
-		return consoleView.getConsoleText();
+	private static ConsoleTap getConsoleTap() {
+		ConsoleTap tap = ConsoleTap.getDisplayedConsoleTap();
+		if (tap == null) {
+			new ConsoleView().open();
+			tap = ConsoleTap.getDisplayedConsoleTap();
+		}
+		return tap;
 	}
 }
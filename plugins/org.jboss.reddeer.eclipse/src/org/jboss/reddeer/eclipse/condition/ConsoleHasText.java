@@ -10,18 +10,33 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.eclipse.condition;
 
+import java.util.regex.Pattern;
+
 import org.jboss.reddeer.common.condition.AbstractWaitCondition;
+import org.jboss.reddeer.common.condition.EventDrivenWaitCondition;
+import org.jboss.reddeer.common.wait.AbstractWait;
+import org.jboss.reddeer.common.wait.TimePeriod;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.eclipse.ui.console.ConsoleTap;
+import org.jboss.reddeer.eclipse.ui.console.ConsoleTap.TextMatcher;
 import org.jboss.reddeer.eclipse.ui.console.ConsoleView;
 
 /**
- * Returns true if the console contains a given text
+ * Returns true if the console contains a given text. The console displayed in
+ * Console view is watched via {@link ConsoleTap}, only text appended since the
+ * previous test is searched. Waits for the condition are woken up as soon as 
+ * text is appended to the console.
  * 
  * @author apodhrad
  * 
  */
-public class ConsoleHasText extends AbstractWaitCondition {
+public class ConsoleHasText extends AbstractWaitCondition implements EventDrivenWaitCondition {
 
 	private String text;
+	private Pattern pattern;
+	private ConsoleTap consoleTap;
+	private TextMatcher textMatcher;
+	private long changeCount;
 
 	/**
 	 * Construct the condition with a given text.
@@ -32,13 +47,60 @@ public class ConsoleHasText extends AbstractWaitCondition {
 		this.text = text;
 	}
 
+	/**
+	 * Construct the condition with a given pattern. The pattern is matched
+	 * against console lines.
+	 * 
+	 * @param pattern Pattern
+	 */
+	public ConsoleHasText(Pattern pattern) {
+		this.pattern = pattern;
+	}
+
 	/* (non-Javadoc)
 	 * @see org.jboss.reddeer.common.condition.WaitCondition#test()
 	 */
 	@Override
 	public boolean test() {
-		String consoleText = getConsoleText();
-		return consoleText.contains(text);
+		ConsoleTap currentTap = getConsoleTap();
+		if (currentTap == null) {
+			return false;
+		}
+		if (currentTap != consoleTap) {
+			consoleTap = currentTap;
+			textMatcher = pattern == null ? consoleTap.newMatcher(text) : consoleTap.newMatcher(pattern);
+		}
+		changeCount = consoleTap.getChangeCount();
+		return textMatcher.matches();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.EventDrivenWaitCondition#startListening()
+	 */
+	@Override
+	public boolean startListening() {
+		// console document is changed in UI thread, it must not be blocked
+		return Display.getDisplay().getThread() != Thread.currentThread();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.EventDrivenWaitCondition#waitForEvent(long)
+	 */
+	@Override
+	public boolean waitForEvent(long timeout) {
+		if (consoleTap == null) {
+			AbstractWait.sleep(TimePeriod.getCustomMilliseconds(timeout));
+			return false;
+		}
+		return consoleTap.awaitChange(changeCount, timeout);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.common.condition.EventDrivenWaitCondition#stopListening()
+	 */
+	@Override
+	public void stopListening() {
+		// the tap keeps listening to the console document
 	}
 
 	/* (non-Javadoc)
@@ -46,14 +108,17 @@ public class ConsoleHasText extends AbstractWaitCondition {
 	 */
 	@Override
 	public String description() {
-		String consoleText = getConsoleText();
-		return "console contains '" + text + "'\n" + consoleText;
+		String consoleText = consoleTap == null ? "" : consoleTap.getText();
+		return "console contains '" + (pattern == null ? text : pattern.pattern()) + "'\n" + consoleText;
 	}
 
-	private static String getConsoleText() {
-		ConsoleView consoleView = new ConsoleView();
-		consoleView.open();
-		return consoleView.getConsoleText();
+	private static ConsoleTap getConsoleTap() {
+		ConsoleTap tap = ConsoleTap.getDisplayedConsoleTap();
+		if (tap == null) {
+			new ConsoleView().open();
+			tap = ConsoleTap.getDisplayedConsoleTap();
+		}
+		return tap;
 	}
 
 }
@@ -54,12 +54,30 @@ public class ExactNumberOfProblemsExists extends AbstractWaitCondition {
 	 * @param matchers problem matchers
 	 */
 	public ExactNumberOfProblemsExists(ProblemType type, int count, AbstractProblemMatcher... matchers) {
+		this(type, count, false, matchers);
+	}
+
+	/**
+	 * Constructs the condition for the specified problem type and
+	 * the specified count of the problems matching specified matchers.
+	 * If direct is true, problems are read directly from problem markers 
+	 * and Problems view is not opened.
+	 * 
+	 * @param type type of the problems
+	 * @param count number of the problems
+	 * @param direct whether problems are read directly from problem markers
+	 * @param matchers problem matchers
+	 */
+	public ExactNumberOfProblemsExists(ProblemType type, int count, boolean direct, AbstractProblemMatcher... matchers) {
 		problemType = type;
 		expectedProblemsCount = count;
 		problemMatchers = matchers;
 		
 		problemsView = new ProblemsView();
-		problemsView.open();
+		problemsView.setDirect(direct);
+		if (!direct) {
+			problemsView.open();
+		}
 	}
 
 	/* (non-Javadoc)
@@ -67,7 +85,9 @@ public class ExactNumberOfProblemsExists extends AbstractWaitCondition {
 	 */
 	@Override
 	public boolean test() {
-		problemsView.activate();
+		if (!problemsView.isDirect()) {
+			problemsView.activate();
+		}
 
 		problems = problemsView.getProblems(problemType, problemMatchers);
 		
@@ -36,10 +36,25 @@ public class ProblemExists extends AbstractWaitCondition {
 	 * @param matchers matchers for a problem
 	 */
 	public ProblemExists(ProblemType problemType, AbstractProblemMatcher... matchers) {
+		this(problemType, false, matchers);
+	}
+	
+	/**
+	 * Creates a new ProblemExists condition. If direct is true, problems are read directly 
+	 * from problem markers and Problems view is not opened.
+	 * 
+	 * @param problemType type of a problem (warning or error)
+	 * @param direct whether problems are read directly from problem markers
+	 * @param matchers matchers for a problem
+	 */
+	public ProblemExists(ProblemType problemType, boolean direct, AbstractProblemMatcher... matchers) {
 		this.problemType = problemType;
 		this.matchers = matchers;
 		problemsView = new ProblemsView();
-		problemsView.open();
+		problemsView.setDirect(direct);
+		if (!direct) {
+			problemsView.open();
+		}
 	}
 	
 	/* (non-Javadoc)
@@ -47,7 +62,9 @@ public class ProblemExists extends AbstractWaitCondition {
 	 */
 	@Override
 	public boolean test() {
-		problemsView.activate();
+		if (!problemsView.isDirect()) {
+			problemsView.activate();
+		}
 		return !problemsView.getProblems(problemType, matchers).isEmpty();
 	}
 
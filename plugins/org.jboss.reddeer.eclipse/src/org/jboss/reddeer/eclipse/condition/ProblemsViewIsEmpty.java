@@ -11,6 +11,7 @@
 package org.jboss.reddeer.eclipse.condition;
 
 import org.jboss.reddeer.common.condition.AbstractWaitCondition;
+import org.jboss.reddeer.eclipse.ui.problems.ProblemMarkerIndex;
 import org.jboss.reddeer.eclipse.ui.problems.ProblemsView;
 import org.jboss.reddeer.swt.impl.tree.DefaultTree;
 
@@ -29,8 +30,21 @@ public class ProblemsViewIsEmpty extends AbstractWaitCondition {
 	 * Creates a new wait condition to wait for empty problems view.
 	 */
 	public ProblemsViewIsEmpty() {
+		this(false);
+	}
+	
+	/**
+	 * Creates a new wait condition to wait for empty problems view. If direct is true, 
+	 * problem markers are checked directly and Problems view is not opened.
+	 * 
+	 * @param direct whether problem markers are checked directly
+	 */
+	public ProblemsViewIsEmpty(boolean direct) {
 		problemsView = new ProblemsView();
-		problemsView.open();
+		problemsView.setDirect(direct);
+		if (!direct) {
+			problemsView.open();
+		}
 	}
 	
 	/* (non-Javadoc)
@@ -38,6 +52,9 @@ public class ProblemsViewIsEmpty extends AbstractWaitCondition {
 	 */
 	@Override
 	public boolean test() {
+		if (problemsView.isDirect()) {
+			return ProblemMarkerIndex.getInstance().isEmpty();
+		}
 		problemsView.activate();
 		// using this should ensure atomicity, because getProblems method of Problems view 
 		// does not get warnings and errors at once
@@ -0,0 +1,431 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.eclipse.ui.console;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.ui.IViewPart;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.console.ConsolePlugin;
+import org.eclipse.ui.console.IConsole;
+import org.eclipse.ui.console.IConsoleConstants;
+import org.eclipse.ui.console.IConsoleListener;
+import org.eclipse.ui.console.IConsoleView;
+import org.eclipse.ui.console.TextConsole;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+
+/**
+ * Taps the document of a text console. A document listener is attached once per
+ * console and keeps a rolling buffer with the tail of the console output, so
+ * text can be searched incrementally via {@link TextMatcher} without opening Console
+ * view and without copying the whole console text on each check.<br/>
+ * <br/>
+ * Appended text is added to the buffer, removal of text from the beginning of
+ * the document (console output limit) is ignored and any other change (e.g.
+ * clearing the console) resets the buffer to the current document content.
+ * The tap is detached when its console is removed from console manager.<br/>
+ * <br/>
+ * The buffer holds at most {@link #DEFAULT_CAPACITY} characters of the tail of
+ * the console. When older text does not fit into the buffer, the first search 
+ * of each matcher falls back to searching the whole document once, so text 
+ * printed before the tap was attached or before the matcher was created is 
+ * found as well.
+ */
+public class ConsoleTap {
+
+	private static final Logger log = Logger.getLogger(ConsoleTap.class);
+
+	/**
+	 * Default number of characters kept in the buffer.
+	 */
+	public static final int DEFAULT_CAPACITY = 1 << 20;
+
+	private static final Map<TextConsole, ConsoleTap> taps = new HashMap<TextConsole, ConsoleTap>();
+
+	private static final IConsoleListener consoleListener = new IConsoleListener() {
+
+		@Override
+		public void consolesAdded(IConsole[] consoles) {
+			// taps are attached on demand
+		}
+
+		@Override
+		public void consolesRemoved(IConsole[] consoles) {
+			for (IConsole console : consoles) {
+				ConsoleTap tap;
+				synchronized (taps) {
+					tap = taps.get(console);
+				}
+				if (tap != null) {
+					tap.detach();
+				}
+			}
+		}
+	};
+
+	private static boolean listeningToConsoles = false;
+
+	private final IDocument document;
+	private final int capacity;
+	private final StringBuilder buffer = new StringBuilder();
+	private final IDocumentListener documentListener = new IDocumentListener() {
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			// nothing to do
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			update(event);
+		}
+	};
+	// absolute position of the first character of the buffer
+	private long start = 0;
+	// incremented each time the buffer is reset
+	private int generation = 0;
+	// whether the document contains text preceding the buffer
+	private boolean truncated = false;
+	// incremented on each change of the document
+	private long changeCount = 0;
+	private long lastChangeTime;
+
+	private ConsoleTap(IDocument document, int capacity) {
+		this.document = document;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Gets tap of specified console, the tap is attached on first call.
+	 * 
+	 * @param console text console
+	 * @return console tap
+	 */
+	public static ConsoleTap getTap(final TextConsole console) {
+		synchronized (taps) {
+			if (!listeningToConsoles) {
+				ConsolePlugin.getDefault().getConsoleManager().addConsoleListener(consoleListener);
+				listeningToConsoles = true;
+			}
+			ConsoleTap tap = taps.get(console);
+			if (tap != null) {
+				return tap;
+			}
+		}
+		// attach in UI thread without holding the lock, consoles are removed in UI thread
+		ConsoleTap newTap = new ConsoleTap(console.getDocument(), DEFAULT_CAPACITY);
+		newTap.attach();
+		ConsoleTap tap;
+		synchronized (taps) {
+			tap = taps.get(console);
+			if (tap == null) {
+				taps.put(console, newTap);
+				return newTap;
+			}
+		}
+		newTap.detach();
+		return tap;
+	}
+
+	/**
+	 * Gets tap of the console displayed in Console view. Console view is not
+	 * opened nor activated.
+	 * 
+	 * @return console tap or null if Console view is not opened or it does not
+	 *         display a text console
+	 */
+	public static ConsoleTap getDisplayedConsoleTap() {
+		TextConsole console = getDisplayedConsole();
+		return console == null ? null : getTap(console);
+	}
+
+	private static TextConsole getDisplayedConsole() {
+		return Display.syncExec(new ResultRunnable<TextConsole>() {
+
+			@Override
+			public TextConsole run() {
+				for (IWorkbenchWindow window : PlatformUI.getWorkbench().getWorkbenchWindows()) {
+					IWorkbenchPage page = window.getActivePage();
+					if (page == null) {
+						continue;
+					}
+					IViewPart view = page.findView(IConsoleConstants.ID_CONSOLE_VIEW);
+					if (view instanceof IConsoleView) {
+						IConsole console = ((IConsoleView) view).getConsole();
+						if (console instanceof TextConsole) {
+							return (TextConsole) console;
+						}
+					}
+				}
+				return null;
+			}
+		});
+	}
+
+	private void attach() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				synchronized (ConsoleTap.this) {
+					document.addDocumentListener(documentListener);
+					reset();
+				}
+			}
+		});
+		log.debug("Console tap attached");
+	}
+
+	/**
+	 * Detaches the tap from console document and drops its buffer. The tap of
+	 * the console is attached again on next call of {@link #getTap(TextConsole)}.
+	 */
+	public void detach() {
+		synchronized (taps) {
+			taps.values().remove(this);
+		}
+		document.removeDocumentListener(documentListener);
+		synchronized (this) {
+			buffer.setLength(0);
+			buffer.trimToSize();
+			generation++;
+			changeCount++;
+			notifyAll();
+		}
+		log.debug("Console tap detached");
+	}
+
+	private synchronized void update(DocumentEvent event) {
+		int documentLength = document.getLength();
+		String text = event.getText() == null ? "" : event.getText();
+		if (event.getLength() == 0 && event.getOffset() + text.length() == documentLength) {
+			append(text);
+		} else if (event.getOffset() != 0 || text.length() != 0 || documentLength == 0) {
+			reset();
+		}
+		lastChangeTime = System.currentTimeMillis();
+		changeCount++;
+		notifyAll();
+	}
+
+	private void append(String text) {
+		buffer.append(text);
+		if (buffer.length() > 2 * capacity) {
+			int removed = buffer.length() - capacity;
+			buffer.delete(0, removed);
+			start += removed;
+			truncated = true;
+		}
+	}
+
+	private void reset() {
+		int documentLength = document.getLength();
+		int offset = Math.max(0, documentLength - capacity);
+		buffer.setLength(0);
+		try {
+			buffer.append(document.get(offset, documentLength - offset));
+		} catch (BadLocationException ex) {
+			log.error("Unable to read console document", ex);
+		}
+		start = 0;
+		truncated = offset > 0;
+		generation++;
+		lastChangeTime = System.currentTimeMillis();
+	}
+
+	private String getDocumentText() {
+		return Display.syncExec(new ResultRunnable<String>() {
+
+			@Override
+			public String run() {
+				return document.get();
+			}
+		});
+	}
+
+	/**
+	 * Gets the buffered console text.
+	 * 
+	 * @return tail of the console text
+	 */
+	public synchronized String getText() {
+		return buffer.toString();
+	}
+
+	/**
+	 * Gets number of changes of the console since the tap was attached.
+	 * 
+	 * @return number of changes
+	 */
+	public synchronized long getChangeCount() {
+		return changeCount;
+	}
+
+	/**
+	 * Blocks until the console changes or until specified time elapses.
+	 * 
+	 * @param knownChangeCount number of changes known to the caller, see
+	 *            {@link #getChangeCount()}
+	 * @param timeout maximal time to block in milliseconds
+	 * @return true if the console changed, false if time elapsed
+	 */
+	public synchronized boolean awaitChange(long knownChangeCount, long timeout) {
+		long limit = System.currentTimeMillis() + timeout;
+		try {
+			long now = System.currentTimeMillis();
+			while (changeCount == knownChangeCount && now < limit) {
+				wait(limit - now);
+				now = System.currentTimeMillis();
+			}
+		} catch (InterruptedException e) {
+			throw new RuntimeException("Sleep interrupted", e);
+		}
+		return changeCount != knownChangeCount;
+	}
+
+	/**
+	 * Gets time of the last change of the console.
+	 * 
+	 * @return time in milliseconds
+	 */
+	public synchronized long getLastChangeTime() {
+		return lastChangeTime;
+	}
+
+	/**
+	 * Creates a new matcher of specified text.
+	 * 
+	 * @param text text to find
+	 * @return text matcher
+	 */
+	public TextMatcher newMatcher(String text) {
+		return new TextMatcher(text, null);
+	}
+
+	/**
+	 * Creates a new matcher of specified pattern. Console text is matched line
+	 * by line, so the pattern should not match text spanning over several lines.
+	 * 
+	 * @param pattern pattern to find
+	 * @return text matcher
+	 */
+	public TextMatcher newMatcher(Pattern pattern) {
+		return new TextMatcher(null, pattern);
+	}
+
+	/**
+	 * Matcher searching a text or a pattern in the console. Each search continues
+	 * where the previous one stopped, so only newly appended text is processed.
+	 * If the buffer does not hold the whole console text, the first search reads
+	 * the whole document instead. Once found, the matcher matches until the console 
+	 * is reset, then it starts to search from the beginning of the buffer again.
+	 */
+	public class TextMatcher {
+
+		private final String text;
+		private final Pattern pattern;
+		private long position;
+		private int matcherGeneration;
+		private boolean found;
+		private boolean documentSearched;
+
+		private TextMatcher(String text, Pattern pattern) {
+			this.text = text;
+			this.pattern = pattern;
+			synchronized (ConsoleTap.this) {
+				position = start;
+				matcherGeneration = generation;
+			}
+		}
+
+		/**
+		 * Searches console text appended since the previous call.
+		 * 
+		 * @return true if the text or pattern is present in the console, false
+		 *         otherwise
+		 */
+		public boolean matches() {
+			int searchGeneration;
+			long searchEnd;
+			synchronized (ConsoleTap.this) {
+				if (matcherGeneration != generation) {
+					matcherGeneration = generation;
+					position = start;
+					found = false;
+					documentSearched = false;
+				}
+				if (found || documentSearched || !truncated) {
+					if (!found) {
+						int from = (int) (Math.max(position, start) - start);
+						found = text != null ? findText(from) : findPattern(from);
+					}
+					return found;
+				}
+				searchGeneration = generation;
+				searchEnd = start + buffer.length();
+			}
+			// document is read in UI thread, so it must not be read while holding the lock
+			boolean foundInDocument = findInDocument(getDocumentText());
+			synchronized (ConsoleTap.this) {
+				if (matcherGeneration != searchGeneration || generation != searchGeneration) {
+					// console was reset meanwhile, search again next time
+					return false;
+				}
+				documentSearched = true;
+				found = foundInDocument;
+				if (!found) {
+					// continue with text appended after the document was searched
+					position = Math.max(searchEnd, start);
+					int from = (int) (position - start);
+					if (pattern != null) {
+						position = start + buffer.lastIndexOf("\n", from - 1) + 1;
+						from = (int) (position - start);
+					}
+					found = text != null ? findText(from) : findPattern(from);
+				}
+				return found;
+			}
+		}
+
+		private boolean findInDocument(String documentText) {
+			if (text != null) {
+				return documentText.contains(text);
+			}
+			return pattern.matcher(documentText).find();
+		}
+
+		private boolean findText(int from) {
+			// text split between two consecutive searches has to be found too
+			int index = buffer.indexOf(text, Math.max(0, from - text.length() + 1));
+			position = start + buffer.length();
+			return index >= 0;
+		}
+
+		private boolean findPattern(int from) {
+			Matcher matcher = pattern.matcher(buffer).region(from, buffer.length());
+			boolean matched = matcher.find();
+			// the last line is not complete yet, search it again next time
+			position = start + Math.max(from, buffer.lastIndexOf("\n") + 1);
+			return matched;
+		}
+	}
+}
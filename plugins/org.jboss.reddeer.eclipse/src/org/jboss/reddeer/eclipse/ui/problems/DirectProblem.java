@@ -0,0 +1,151 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.eclipse.ui.problems;
+
+import org.jboss.reddeer.eclipse.exception.EclipseLayerException;
+import org.jboss.reddeer.eclipse.ui.problems.ProblemsView.Column;
+import org.jboss.reddeer.eclipse.ui.problems.ProblemsView.ProblemType;
+import org.jboss.reddeer.eclipse.ui.views.markers.QuickFixWizard;
+
+/**
+ * Problem read directly from a problem marker, it does not access Problems view 
+ * nor UI thread. Values of all columns are available regardless of columns shown
+ * in Problems view. See {@link ProblemMarkerIndex}.
+ */
+public class DirectProblem extends Problem {
+
+	private final long markerId;
+	private final String description;
+	private final String resource;
+	private final String path;
+	private final String location;
+	private final String type;
+	private final String creationTime;
+
+	/**
+	 * Creates a new problem.
+	 * 
+	 * @param problemType type of a problem [warning|error]
+	 * @param markerId ID of the marker
+	 * @param description description of the problem
+	 * @param resource name of the resource of the problem
+	 * @param path path of the parent of the resource
+	 * @param location location of the problem
+	 * @param type label of the marker type
+	 * @param creationTime creation time of the marker
+	 */
+	public DirectProblem(ProblemType problemType, long markerId, String description, String resource, String path,
+			String location, String type, String creationTime) {
+		super(problemType, null);
+		this.markerId = markerId;
+		this.description = description;
+		this.resource = resource;
+		this.path = path;
+		this.location = location;
+		this.type = type;
+		this.creationTime = creationTime;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.eclipse.ui.problems.Problem#getDescription()
+	 */
+	@Override
+	public String getDescription() {
+		return description;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.eclipse.ui.problems.Problem#getResource()
+	 */
+	@Override
+	public String getResource() {
+		return resource;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.eclipse.ui.problems.Problem#getPath()
+	 */
+	@Override
+	public String getPath() {
+		return path;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.eclipse.ui.problems.Problem#getId()
+	 */
+	@Override
+	public String getId() {
+		return String.valueOf(markerId);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.eclipse.ui.problems.Problem#getLocation()
+	 */
+	@Override
+	public String getLocation() {
+		return location;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.eclipse.ui.problems.Problem#getType()
+	 */
+	@Override
+	public String getType() {
+		return type;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.eclipse.ui.problems.Problem#getCreationTime()
+	 */
+	@Override
+	public String getCreationTime() {
+		return creationTime;
+	}
+
+	/**
+	 * Quick fix is not available for problems read directly from markers, use
+	 * problems of {@link ProblemsView} instead.
+	 * 
+	 * @throws EclipseLayerException always
+	 */
+	@Override
+	public QuickFixWizard openQuickFix() {
+		throw new EclipseLayerException("Quick fix cannot be opened for problem read directly from marker " 
+				+ markerId + ", get the problem from Problems view");
+	}
+
+	/**
+	 * Gets value of specified column.
+	 * 
+	 * @param column column of Problems view
+	 * @return value of the column
+	 */
+	public String getColumnValue(Column column) {
+		switch (column) {
+		case DESCRIPTION:
+			return getDescription();
+		case RESOURCE:
+			return getResource();
+		case PATH:
+			return getPath();
+		case ID:
+			return getId();
+		case LOCATION:
+			return getLocation();
+		case TYPE:
+			return getType();
+		case CREATION_TIME:
+			return getCreationTime();
+		default:
+			return null;
+		}
+	}
+}
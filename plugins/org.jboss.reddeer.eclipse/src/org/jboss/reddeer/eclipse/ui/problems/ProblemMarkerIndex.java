@@ -0,0 +1,322 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.eclipse.ui.problems;
+
+import java.text.DateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Platform;
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.eclipse.ui.problems.ProblemsView.ProblemType;
+import org.jboss.reddeer.eclipse.ui.problems.matcher.AbstractProblemMatcher;
+
+/**
+ * Live index of problem markers of the workspace. Index is populated from the
+ * workspace once and then it is updated by a resource change listener, so queries
+ * access neither Problems view nor UI thread. Problems are indexed by severity, 
+ * resource and marker type.<br/>
+ * <br/>
+ * Filters of Problems view are not applied and markers are visible as soon as 
+ * they are created, i.e. before Problems view is updated.
+ */
+public class ProblemMarkerIndex {
+
+	private static final Logger log = Logger.getLogger(ProblemMarkerIndex.class);
+
+	private static final String MARKERS_EXTENSION_POINT = ResourcesPlugin.PI_RESOURCES + ".markers";
+
+	private static ProblemMarkerIndex instance;
+
+	private final Map<Long, Entry> entries = new LinkedHashMap<Long, Entry>();
+	private final Map<Integer, Set<Long>> severityIndex = new HashMap<Integer, Set<Long>>();
+	private final Map<IPath, Set<Long>> resourceIndex = new HashMap<IPath, Set<Long>>();
+	private final Map<String, Set<Long>> typeIndex = new HashMap<String, Set<Long>>();
+	private final Map<String, String> typeLabels = new HashMap<String, String>();
+
+	private final IResourceChangeListener listener = new IResourceChangeListener() {
+		@Override
+		public void resourceChanged(IResourceChangeEvent event) {
+			update(event.findMarkerDeltas(IMarker.PROBLEM, true));
+		}
+	};
+
+	private ProblemMarkerIndex() {
+	}
+
+	/**
+	 * Gets index of problem markers of the workspace. Index starts listening to
+	 * resource changes when it is got for the first time.
+	 * 
+	 * @return problem marker index
+	 */
+	public static synchronized ProblemMarkerIndex getInstance() {
+		if (instance == null) {
+			instance = new ProblemMarkerIndex();
+			instance.start();
+		}
+		return instance;
+	}
+
+	/**
+	 * Gets problems of specified type matching specified matchers. Errors are 
+	 * followed by warnings if problem type is any.
+	 * 
+	 * @param problemType type of a problem
+	 * @param matchers matchers of columns
+	 * @return list of problems
+	 */
+	public synchronized List<Problem> getProblems(ProblemType problemType, AbstractProblemMatcher... matchers) {
+		List<Problem> problems = new ArrayList<Problem>();
+		for (Long markerId : getMarkerIds(problemType)) {
+			DirectProblem problem = entries.get(markerId).problem;
+			if (matches(problem, matchers)) {
+				problems.add(problem);
+			}
+		}
+		return problems;
+	}
+
+	/**
+	 * Gets problems of specified type on specified resource. Problems of 
+	 * descendants of the resource are not included.
+	 * 
+	 * @param problemType type of a problem
+	 * @param resource resource of problems
+	 * @return list of problems
+	 */
+	public synchronized List<Problem> getProblems(ProblemType problemType, IResource resource) {
+		return getProblems(problemType, resourceIndex.get(resource.getFullPath()));
+	}
+
+	/**
+	 * Gets problems of specified type with specified marker type.
+	 * 
+	 * @param problemType type of a problem
+	 * @param markerType ID of marker type, e.g. org.eclipse.jdt.core.problem
+	 * @return list of problems
+	 */
+	public synchronized List<Problem> getProblemsOfMarkerType(ProblemType problemType, String markerType) {
+		return getProblems(problemType, typeIndex.get(markerType));
+	}
+
+	/**
+	 * Gets number of problems of specified type.
+	 * 
+	 * @param problemType type of a problem
+	 * @return number of problems
+	 */
+	public synchronized int getProblemsCount(ProblemType problemType) {
+		return getMarkerIds(problemType).size();
+	}
+
+	/**
+	 * Finds out whether there are no problem markers of any severity, i.e.
+	 * whether Problems view would be empty.
+	 * 
+	 * @return true if there are no problem markers, false otherwise
+	 */
+	public synchronized boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	private void start() {
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		// listener is added first so no change is missed, markers are indexed by IDs
+		workspace.addResourceChangeListener(listener, IResourceChangeEvent.POST_CHANGE);
+		try {
+			IMarker[] markers = workspace.getRoot().findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE);
+			synchronized (this) {
+				for (IMarker marker : markers) {
+					// marker may have been indexed already by the listener
+					remove(marker.getId());
+					add(marker);
+				}
+			}
+		} catch (CoreException ce) {
+			log.error("Unable to find problem markers of workspace", ce);
+		}
+	}
+
+	private synchronized void update(IMarkerDelta[] deltas) {
+		for (IMarkerDelta delta : deltas) {
+			switch (delta.getKind()) {
+			case IResourceDelta.ADDED:
+			case IResourceDelta.CHANGED:
+				remove(delta.getId());
+				add(delta.getMarker());
+				break;
+			case IResourceDelta.REMOVED:
+				remove(delta.getId());
+				break;
+			}
+		}
+	}
+
+	private void add(IMarker marker) {
+		if (!marker.exists()) {
+			return;
+		}
+		Map<String, Object> attributes;
+		String markerType;
+		long creationTime;
+		try {
+			attributes = marker.getAttributes();
+			markerType = marker.getType();
+			creationTime = marker.getCreationTime();
+		} catch (CoreException ce) {
+			// marker was deleted meanwhile
+			return;
+		}
+		int severity = getInt(attributes, IMarker.SEVERITY, -1);
+		IResource resource = marker.getResource();
+		IPath parentPath = resource.getFullPath().removeLastSegments(1);
+		int line = getInt(attributes, IMarker.LINE_NUMBER, -1);
+		Object location = attributes.get(IMarker.LOCATION);
+		Object message = attributes.get(IMarker.MESSAGE);
+		DirectProblem problem = new DirectProblem(getProblemType(severity), marker.getId(),
+				message == null ? "" : message.toString(),
+				resource.getName(),
+				parentPath.isRoot() ? "" : parentPath.toString(),
+				line >= 0 ? "line " + line : (location == null ? "" : location.toString()),
+				getTypeLabel(markerType),
+				DateFormat.getDateTimeInstance(DateFormat.LONG, DateFormat.LONG).format(new Date(creationTime)));
+		Entry entry = new Entry(problem, severity, resource.getFullPath(), markerType);
+		entries.put(marker.getId(), entry);
+		addToIndex(severityIndex, entry.severity, marker.getId());
+		addToIndex(resourceIndex, entry.resourcePath, marker.getId());
+		addToIndex(typeIndex, entry.markerType, marker.getId());
+	}
+
+	private void remove(long markerId) {
+		Entry entry = entries.remove(markerId);
+		if (entry != null) {
+			removeFromIndex(severityIndex, entry.severity, markerId);
+			removeFromIndex(resourceIndex, entry.resourcePath, markerId);
+			removeFromIndex(typeIndex, entry.markerType, markerId);
+		}
+	}
+
+	private Collection<Long> getMarkerIds(ProblemType problemType) {
+		List<Long> markerIds = new ArrayList<Long>();
+		if (problemType == ProblemType.ERROR || problemType == ProblemType.ANY) {
+			addAll(markerIds, severityIndex.get(IMarker.SEVERITY_ERROR));
+		}
+		if (problemType == ProblemType.WARNING || problemType == ProblemType.ANY) {
+			addAll(markerIds, severityIndex.get(IMarker.SEVERITY_WARNING));
+		}
+		return markerIds;
+	}
+
+	private List<Problem> getProblems(ProblemType problemType, Set<Long> markerIds) {
+		List<Problem> problems = new ArrayList<Problem>();
+		if (markerIds == null) {
+			return problems;
+		}
+		for (Long markerId : getMarkerIds(problemType)) {
+			if (markerIds.contains(markerId)) {
+				problems.add(entries.get(markerId).problem);
+			}
+		}
+		return problems;
+	}
+
+	private boolean matches(DirectProblem problem, AbstractProblemMatcher... matchers) {
+		if (matchers != null) {
+			for (AbstractProblemMatcher matcher : matchers) {
+				if (!matcher.matches(problem.getColumnValue(matcher.getColumn()))) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private String getTypeLabel(String markerType) {
+		String label = typeLabels.get(markerType);
+		if (label == null) {
+			IExtension extension = Platform.getExtensionRegistry().getExtension(MARKERS_EXTENSION_POINT, markerType);
+			label = extension == null || extension.getLabel().isEmpty() ? markerType : extension.getLabel();
+			typeLabels.put(markerType, label);
+		}
+		return label;
+	}
+
+	private static ProblemType getProblemType(int severity) {
+		return severity == IMarker.SEVERITY_ERROR ? ProblemType.ERROR : ProblemType.WARNING;
+	}
+
+	private static int getInt(Map<String, Object> attributes, String name, int defaultValue) {
+		Object value = attributes == null ? null : attributes.get(name);
+		return value instanceof Integer ? (Integer) value : defaultValue;
+	}
+
+	private static void addAll(List<Long> markerIds, Set<Long> indexed) {
+		if (indexed != null) {
+			markerIds.addAll(indexed);
+		}
+	}
+
+	private static <K> void addToIndex(Map<K, Set<Long>> index, K key, long markerId) {
+		Set<Long> markerIds = index.get(key);
+		if (markerIds == null) {
+			markerIds = new LinkedHashSet<Long>();
+			index.put(key, markerIds);
+		}
+		markerIds.add(markerId);
+	}
+
+	private static <K> void removeFromIndex(Map<K, Set<Long>> index, K key, long markerId) {
+		Set<Long> markerIds = index.get(key);
+		if (markerIds != null) {
+			markerIds.remove(markerId);
+			if (markerIds.isEmpty()) {
+				index.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Indexed problem with its index keys.
+	 */
+	private static class Entry {
+
+		private final DirectProblem problem;
+		private final int severity;
+		private final IPath resourcePath;
+		private final String markerType;
+
+		Entry(DirectProblem problem, int severity, IPath resourcePath, String markerType) {
+			this.problem = problem;
+			this.severity = severity;
+			this.resourcePath = resourcePath;
+			this.markerType = markerType;
+		}
+	}
+}
@@ -37,6 +37,8 @@ import org.jboss.reddeer.workbench.impl.view.WorkbenchView;
  */
 public class ProblemsView extends WorkbenchView{
 
+	private boolean direct = false;
+
 	/**
 	 * Constructs the view with "Problems".
 	 */
@@ -44,6 +46,25 @@ public class ProblemsView extends WorkbenchView{
 		super("Problems");
 	}
 	
+	/**
+	 * Sets whether problems are read directly from problem markers instead of the view.
+	 * Direct reading does not access UI, see {@link ProblemMarkerIndex}.
+	 * 
+	 * @param direct true to read problems directly from problem markers
+	 */
+	public void setDirect(boolean direct) {
+		this.direct = direct;
+	}
+	
+	/**
+	 * Finds out whether problems are read directly from problem markers.
+	 * 
+	 * @return true if problems are read directly from problem markers
+	 */
+	public boolean isDirect() {
+		return direct;
+	}
+	
 	/**
 	 * Returns a list of problems that are of a specific type or any and that are matching specified matchers.
 	 * 
@@ -52,6 +73,9 @@ public class ProblemsView extends WorkbenchView{
 	 * @return list of problem
 	 */
 	public List<Problem> getProblems(ProblemType problemType, AbstractProblemMatcher... matchers) {
+		if (direct) {
+			return ProblemMarkerIndex.getInstance().getProblems(problemType, matchers);
+		}
 		activate();
 		new WaitUntil(new ProblemsViewMarkerIsUpdating(),TimePeriod.SHORT,false);
 		new WaitWhile(new ProblemsViewMarkerIsUpdating());
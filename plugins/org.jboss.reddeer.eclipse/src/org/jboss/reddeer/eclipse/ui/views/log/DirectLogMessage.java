@@ -0,0 +1,106 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.eclipse.ui.views.log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Log message read directly from workbench log, it does not access Error Log view
+ * nor UI thread. See {@link WorkbenchLog}.
+ */
+public class DirectLogMessage extends LogMessage {
+
+	/**
+	 * Stack trace returned for messages without exception, it is the same text 
+	 * as in Event Details dialog of Error Log view.
+	 */
+	public static final String NO_STACK_TRACE = "An exception stack trace is not available.";
+
+	private final String message;
+	private final String plugin;
+	private final String date;
+	private final String stackTrace;
+	private final String sessionData;
+	private final List<LogMessage> subLogMessages = new ArrayList<LogMessage>();
+
+	/**
+	 * Instantiates a new log message.
+	 *
+	 * @param severity the severity
+	 * @param message the message
+	 * @param plugin the plugin
+	 * @param date the date as written in the log
+	 * @param stackTrace the stack trace or null if there is no exception
+	 * @param sessionData the session data
+	 */
+	public DirectLogMessage(int severity, String message, String plugin, String date, String stackTrace,
+			String sessionData) {
+		super(null, severity);
+		this.message = message;
+		this.plugin = plugin;
+		this.date = date;
+		this.stackTrace = stackTrace;
+		this.sessionData = sessionData;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.eclipse.ui.views.log.LogMessage#getMessage()
+	 */
+	@Override
+	public String getMessage() {
+		return message;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.eclipse.ui.views.log.LogMessage#getPlugin()
+	 */
+	@Override
+	public String getPlugin() {
+		return plugin;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.eclipse.ui.views.log.LogMessage#getDate()
+	 */
+	@Override
+	public String getDate() {
+		return date;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.eclipse.ui.views.log.LogMessage#getStackTrace()
+	 */
+	@Override
+	public String getStackTrace() {
+		return stackTrace == null ? NO_STACK_TRACE : stackTrace;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.eclipse.ui.views.log.LogMessage#getSessionData()
+	 */
+	@Override
+	public String getSessionData() {
+		return sessionData;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.eclipse.ui.views.log.LogMessage#getSubLogMessages()
+	 */
+	@Override
+	public List<LogMessage> getSubLogMessages() {
+		return new ArrayList<LogMessage>(subLogMessages);
+	}
+
+	void addSubLogMessage(LogMessage subLogMessage) {
+		subLogMessages.add(subLogMessage);
+	}
+}
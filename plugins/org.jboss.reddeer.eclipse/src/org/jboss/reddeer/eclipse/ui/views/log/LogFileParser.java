@@ -0,0 +1,178 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.eclipse.ui.views.log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses entries of workbench log file. Entries are read incrementally, text 
+ * passed to the parser has to start at the beginning of an entry. An entry is
+ * complete once it is followed by another entry, the last entry is parsed only
+ * if the caller knows the text is complete, because a large entry can be written
+ * to the log in several parts. Session data are remembered between calls.
+ */
+class LogFileParser {
+
+	private static final String SESSION = "!SESSION";
+	private static final String ENTRY = "!ENTRY";
+	private static final String SUBENTRY = "!SUBENTRY";
+	private static final String MESSAGE = "!MESSAGE";
+	private static final String STACK = "!STACK";
+
+	private String sessionData = "";
+
+	String getSessionData() {
+		return sessionData;
+	}
+
+	/**
+	 * Parses complete entries of the text.
+	 * 
+	 * @param text log text starting at the beginning of an entry
+	 * @param messages list to add parsed top level entries to
+	 * @param complete whether the text is complete, i.e. the last entry is parsed 
+	 * 		if its last line is terminated
+	 * @return number of characters of parsed entries
+	 */
+	int parse(String text, List<DirectLogMessage> messages, boolean complete) {
+		List<String> block = new ArrayList<String>();
+		int blockStart = 0;
+		int start = 0;
+		while (start < text.length()) {
+			int end = text.indexOf('\n', start);
+			if (end < 0) {
+				// incomplete line
+				break;
+			}
+			String line = text.substring(start, end > start && text.charAt(end - 1) == '\r' ? end - 1 : end);
+			if (line.startsWith(SESSION) || line.startsWith(ENTRY)) {
+				parseBlock(block, messages);
+				block.clear();
+				blockStart = start;
+			}
+			block.add(line);
+			start = end + 1;
+		}
+		if (complete && start == text.length()) {
+			// log writer writes the empty line before an entry, so the last
+			// entry is not followed by anything
+			parseBlock(block, messages);
+			return start;
+		}
+		return blockStart;
+	}
+
+	private void parseBlock(List<String> block, List<DirectLogMessage> messages) {
+		if (block.isEmpty()) {
+			return;
+		}
+		if (block.get(0).startsWith(SESSION)) {
+			StringBuilder session = new StringBuilder();
+			for (String line : block) {
+				if (!line.isEmpty()) {
+					session.append(line).append(System.getProperty("line.separator"));
+				}
+			}
+			sessionData = session.toString().trim();
+		} else if (block.get(0).startsWith(ENTRY)) {
+			messages.add(parseEntry(block));
+		}
+	}
+
+	private DirectLogMessage parseEntry(List<String> block) {
+		List<Header> entries = new ArrayList<Header>();
+		Header current = null;
+		StringBuilder section = null;
+		for (String line : block) {
+			if (line.startsWith(ENTRY) || line.startsWith(SUBENTRY)) {
+				current = new Header(line);
+				entries.add(current);
+				section = null;
+			} else if (line.startsWith(MESSAGE)) {
+				current.message = new StringBuilder(line.substring(MESSAGE.length()).trim());
+				section = current.message;
+			} else if (line.startsWith(STACK)) {
+				current.stackTrace = new StringBuilder();
+				section = current.stackTrace;
+			} else if (section != null) {
+				if (section.length() > 0) {
+					section.append(System.getProperty("line.separator"));
+				}
+				section.append(line);
+			}
+		}
+		// parents of sub entries on each depth
+		List<DirectLogMessage> parents = new ArrayList<DirectLogMessage>();
+		for (Header header : entries) {
+			DirectLogMessage message = header.toMessage(sessionData);
+			while (parents.size() > header.depth) {
+				parents.remove(parents.size() - 1);
+			}
+			if (!parents.isEmpty()) {
+				parents.get(parents.size() - 1).addSubLogMessage(message);
+			}
+			parents.add(message);
+		}
+		return parents.get(0);
+	}
+
+	/**
+	 * Parsed !ENTRY or !SUBENTRY line with its message and stack trace.
+	 */
+	private static class Header {
+
+		private int depth;
+		private String plugin = "";
+		private int severity;
+		private String date = "";
+		private StringBuilder message;
+		private StringBuilder stackTrace;
+
+		Header(String line) {
+			// !ENTRY plugin severity code date or !SUBENTRY depth plugin severity code date
+			String[] tokens = line.split(" ", line.startsWith(SUBENTRY) ? 6 : 5);
+			int index = 1;
+			if (line.startsWith(SUBENTRY)) {
+				depth = parseInt(token(tokens, index++));
+			}
+			plugin = token(tokens, index++);
+			severity = parseInt(token(tokens, index++));
+			index++;
+			date = token(tokens, index).trim();
+		}
+
+		DirectLogMessage toMessage(String sessionData) {
+			return new DirectLogMessage(severity, message == null ? "" : trimEnd(message), plugin, date,
+					stackTrace == null ? null : trimEnd(stackTrace), sessionData);
+		}
+
+		private static String trimEnd(StringBuilder text) {
+			int end = text.length();
+			while (end > 0 && Character.isWhitespace(text.charAt(end - 1))) {
+				end--;
+			}
+			return text.substring(0, end);
+		}
+
+		private static String token(String[] tokens, int index) {
+			return index < tokens.length ? tokens[index] : "";
+		}
+
+		private static int parseInt(String token) {
+			try {
+				return Integer.parseInt(token);
+			} catch (NumberFormatException nfe) {
+				return 0;
+			}
+		}
+	}
+}
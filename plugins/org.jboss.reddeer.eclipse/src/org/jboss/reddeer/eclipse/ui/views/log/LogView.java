@@ -48,6 +48,8 @@ public class LogView extends WorkbenchView{
 	public static final String WARNING_SEVERITY="Warning";
 	public static final String ERROR_SEVERITY="Error";
 	
+	private boolean direct = false;
+	
 	/**
 	 * Constructs the view with "Error Log".
 	 */
@@ -55,6 +57,26 @@ public class LogView extends WorkbenchView{
 		super("Error Log");
 	}
 	
+	/**
+	 * Sets whether messages are read directly from workbench log instead of the view.
+	 * Direct reading does not access UI and reads only entries appended since last
+	 * reading, see {@link WorkbenchLog}.
+	 *
+	 * @param direct true to read messages directly from workbench log
+	 */
+	public void setDirect(boolean direct) {
+		this.direct = direct;
+	}
+	
+	/**
+	 * Finds out whether messages are read directly from workbench log.
+	 *
+	 * @return true if messages are read directly from workbench log
+	 */
+	public boolean isDirect() {
+		return direct;
+	}
+	
 	/**
 	 * Gets the OK messages.
 	 *
@@ -62,6 +84,9 @@ public class LogView extends WorkbenchView{
 	 */
 	
 	public List<LogMessage> getOKMessages() {
+		if (direct) {
+			return WorkbenchLog.getInstance().getOKMessages();
+		}
 		activate();
 		setFilter(OK_SEVERITY);
 		activate();
@@ -80,6 +105,9 @@ public class LogView extends WorkbenchView{
 	 * @return list of messages with severity INFO (according to IStatus)
 	 */
 	public List<LogMessage> getInfoMessages() {
+		if (direct) {
+			return WorkbenchLog.getInstance().getInfoMessages();
+		}
 		activate();
 		setFilter(INFORMATION_SEVERITY);
 		activate();
@@ -98,6 +126,9 @@ public class LogView extends WorkbenchView{
 	 * @return list of messages with severity WARNING (according to IStatus)
 	 */
 	public List<LogMessage> getWarningMessages() {
+		if (direct) {
+			return WorkbenchLog.getInstance().getWarningMessages();
+		}
 		activate();
 		setFilter(WARNING_SEVERITY);
 		activate();
@@ -116,6 +147,9 @@ public class LogView extends WorkbenchView{
 	 * @return list of messages with severity ERROR (according to IStatus)
 	 */
 	public List<LogMessage> getErrorMessages() {
+		if (direct) {
+			return WorkbenchLog.getInstance().getErrorMessages();
+		}
 		activate();
 		setFilter(ERROR_SEVERITY);
 		activate();
@@ -129,9 +163,14 @@ public class LogView extends WorkbenchView{
 	}
 	
 	/**
-	 * Clears Error lLog messages.
+	 * Clears Error lLog messages. When messages are read directly, only messages
+	 * logged later are returned afterwards.
 	 */
 	public void clearLog() {
+		if (direct) {
+			WorkbenchLog.getInstance().clear();
+			return;
+		}
 		activate();
 		new DefaultTree().setFocus();
 		Menu cm = new ContextMenu(CLEAR_LOG);
@@ -153,6 +192,9 @@ public class LogView extends WorkbenchView{
 		new DefaultShell(CONFIRM_DLG);
 		new OkButton().click();
 		new WaitWhile(new ShellWithTextIsAvailable(CONFIRM_DLG));
+		if (direct) {
+			WorkbenchLog.getInstance().clear();
+		}
 	}
 
 	/**
@@ -0,0 +1,277 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.eclipse.ui.views.log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.ILogListener;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.jboss.reddeer.common.logging.Logger;
+
+/**
+ * Provides log messages of workbench log without using Error Log view. Messages
+ * are read from the log file incrementally, each call reads only entries appended
+ * since the previous call and adds them to an index of messages by severity. 
+ * Alternatively messages can be collected from {@link ILogListener} notifications, 
+ * see {@link #listen()}.<br/>
+ * <br/>
+ * Only top level entries are indexed, sub entries are available via 
+ * {@link LogMessage#getSubLogMessages()}. Filters of Error Log view are not applied.<br/>
+ * <br/>
+ * The last entry of the file is read only when the file has not been modified for
+ * a while, because a large entry can be flushed to the file in several parts.
+ */
+public class WorkbenchLog {
+
+	private static final Logger log = Logger.getLogger(WorkbenchLog.class);
+
+	private static final Charset LOG_CHARSET = Charset.forName("UTF-8");
+
+	/**
+	 * Time in milliseconds since the last modification after which the log file
+	 * is considered complete.
+	 */
+	private static final long QUIET_PERIOD = 500;
+
+	/**
+	 * Maximal time in milliseconds to wait for the log file to become complete.
+	 */
+	private static final long MAX_QUIET_WAIT = 2000;
+
+	private static WorkbenchLog instance;
+
+	private final File logFile;
+	private final LogFileParser parser = new LogFileParser();
+	private final List<LogMessage> messages = new ArrayList<LogMessage>();
+	private final Map<Integer, List<LogMessage>> severityIndex = new HashMap<Integer, List<LogMessage>>();
+	private long offset = 0;
+	private ILogListener logListener;
+
+	/**
+	 * Creates workbench log reading specified log file.
+	 * 
+	 * @param logFile log file
+	 */
+	public WorkbenchLog(File logFile) {
+		this.logFile = logFile;
+	}
+
+	/**
+	 * Gets workbench log reading log file of the running workbench.
+	 * 
+	 * @return workbench log
+	 */
+	public static synchronized WorkbenchLog getInstance() {
+		if (instance == null) {
+			instance = new WorkbenchLog(org.jboss.reddeer.direct.platform.Platform.getWorkbenchLog());
+		}
+		return instance;
+	}
+
+	/**
+	 * Gets the OK messages.
+	 *
+	 * @return list of messages with severity OK (according to IStatus)
+	 */
+	public List<LogMessage> getOKMessages() {
+		return getMessages(IStatus.OK);
+	}
+
+	/**
+	 * Gets the info messages.
+	 *
+	 * @return list of messages with severity INFO (according to IStatus)
+	 */
+	public List<LogMessage> getInfoMessages() {
+		return getMessages(IStatus.INFO);
+	}
+
+	/**
+	 * Gets the warning messages.
+	 *
+	 * @return list of messages with severity WARNING (according to IStatus)
+	 */
+	public List<LogMessage> getWarningMessages() {
+		return getMessages(IStatus.WARNING);
+	}
+
+	/**
+	 * Gets the error messages.
+	 *
+	 * @return list of messages with severity ERROR (according to IStatus)
+	 */
+	public List<LogMessage> getErrorMessages() {
+		return getMessages(IStatus.ERROR);
+	}
+
+	/**
+	 * Gets messages with specified severity.
+	 * 
+	 * @param severity severity according to IStatus
+	 * @return list of messages with specified severity in order of logging
+	 */
+	public synchronized List<LogMessage> getMessages(int severity) {
+		update();
+		List<LogMessage> indexed = severityIndex.get(severity);
+		return indexed == null ? new ArrayList<LogMessage>() : new ArrayList<LogMessage>(indexed);
+	}
+
+	/**
+	 * Gets all messages.
+	 * 
+	 * @return list of all messages in order of logging
+	 */
+	public synchronized List<LogMessage> getAllMessages() {
+		update();
+		return new ArrayList<LogMessage>(messages);
+	}
+
+	/**
+	 * Forgets all messages read so far, only messages logged later will be returned.
+	 */
+	public synchronized void clear() {
+		update();
+		messages.clear();
+		severityIndex.clear();
+		if (logListener == null) {
+			// entry which is still being written is skipped too
+			offset = logFile.length();
+		}
+	}
+
+	/**
+	 * Starts collecting messages from log listener instead of reading the log
+	 * file. Entries already written to the file are read first.
+	 */
+	public synchronized void listen() {
+		if (logListener != null) {
+			return;
+		}
+		update();
+		logListener = new ILogListener() {
+			@Override
+			public void logging(IStatus status, String plugin) {
+				add(createMessage(status, new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date())));
+			}
+		};
+		Platform.addLogListener(logListener);
+	}
+
+	/**
+	 * Stops collecting messages from log listener, messages are read from the 
+	 * log file again. Entries written to the file while listening are skipped.
+	 */
+	public synchronized void stopListening() {
+		if (logListener == null) {
+			return;
+		}
+		Platform.removeLogListener(logListener);
+		logListener = null;
+		offset = logFile.length();
+	}
+
+	private synchronized void add(LogMessage message) {
+		messages.add(message);
+		List<LogMessage> indexed = severityIndex.get(message.getSeverity());
+		if (indexed == null) {
+			indexed = new ArrayList<LogMessage>();
+			severityIndex.put(message.getSeverity(), indexed);
+		}
+		indexed.add(message);
+	}
+
+	/**
+	 * Reads entries appended to the log file since last update.
+	 */
+	private void update() {
+		if (logListener != null) {
+			return;
+		}
+		boolean complete = waitUntilQuiet();
+		long length = logFile.length();
+		if (length < offset) {
+			// log was deleted or replaced
+			log.debug("Workbench log " + logFile + " was truncated, reading it from the beginning");
+			offset = 0;
+			messages.clear();
+			severityIndex.clear();
+		}
+		if (length == offset) {
+			return;
+		}
+		try (RandomAccessFile file = new RandomAccessFile(logFile, "r")) {
+			byte[] bytes = new byte[(int) Math.min(length - offset, Integer.MAX_VALUE)];
+			file.seek(offset);
+			file.readFully(bytes);
+			String text = new String(bytes, LOG_CHARSET);
+			List<DirectLogMessage> parsed = new ArrayList<DirectLogMessage>();
+			int parsedLength = parser.parse(text, parsed, complete);
+			offset += text.substring(0, parsedLength).getBytes(LOG_CHARSET).length;
+			for (DirectLogMessage message : parsed) {
+				add(message);
+			}
+		} catch (IOException ioe) {
+			log.error("Unable to read workbench log " + logFile, ioe);
+		}
+	}
+
+	/**
+	 * Waits until the log file is not modified for {@link #QUIET_PERIOD}.
+	 * 
+	 * @return true if the log file is not being written, false otherwise
+	 */
+	private boolean waitUntilQuiet() {
+		long deadline = System.currentTimeMillis() + MAX_QUIET_WAIT;
+		while (true) {
+			long now = System.currentTimeMillis();
+			long age = now - logFile.lastModified();
+			if (age >= QUIET_PERIOD) {
+				return true;
+			}
+			if (now >= deadline) {
+				return false;
+			}
+			try {
+				Thread.sleep(Math.min(QUIET_PERIOD - age, deadline - now));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+	}
+
+	private DirectLogMessage createMessage(IStatus status, String date) {
+		String stackTrace = null;
+		if (status.getException() != null) {
+			StringWriter writer = new StringWriter();
+			status.getException().printStackTrace(new PrintWriter(writer));
+			stackTrace = writer.toString().trim();
+		}
+		DirectLogMessage message = new DirectLogMessage(status.getSeverity(), status.getMessage(),
+				status.getPlugin(), date, stackTrace, parser.getSessionData());
+		for (IStatus child : status.getChildren()) {
+			message.addSubLogMessage(createMessage(child, date));
+		}
+		return message;
+	}
+}
@@ -76,8 +76,7 @@ public class TabbedPropertyList extends AbstractWidget<org.eclipse.swt.widgets.C
 	public void selectTab(final String label) {
 		for (Control control : getChildren()) {
 			if (label.equals(control.toString())) {
-				WidgetHandler.getInstance().notify(SWT.MouseDown, control);
-				WidgetHandler.getInstance().notify(SWT.MouseUp, control);
+				WidgetHandler.getInstance().notify(control, SWT.MouseDown, SWT.MouseUp);
 				return;
 			}
 		}
@@ -22,7 +22,7 @@ import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.jboss.reddeer.common.logging.Logger;
-import org.jboss.reddeer.core.handler.WidgetHandler;
+import org.jboss.reddeer.core.handler.MouseGesture;
 import org.jboss.reddeer.core.util.Display;
 import org.jboss.reddeer.core.util.ResultRunnable;
 import org.jboss.reddeer.gef.api.Palette;
@@ -115,11 +115,13 @@ public class ViewerHandler {
 	 */
 	public void click(final EditPartViewer viewer, final int x, final int y) {
 		log.info("Click at [" + x + ", " + y + "]");
-		WidgetHandler handler = WidgetHandler.getInstance();
 		FigureCanvas figureCanvas = getFigureCanvas(viewer);
-		handler.notifyItemMouse(SWT.MouseMove, 0, figureCanvas, null, x, y, 0);
-		handler.notifyItemMouse(SWT.MouseDown, 0, figureCanvas, null, x, y, 1);
-		handler.notifyItemMouse(SWT.MouseUp, 0, figureCanvas, null, x, y, 1);
+		MouseGesture click = new MouseGesture();
+		click.press()
+			.addItemMouse(SWT.MouseMove, 0, figureCanvas, null, x, y, 0)
+			.addItemMouse(SWT.MouseDown, 0, figureCanvas, null, x, y, 1);
+		click.release().addItemMouse(SWT.MouseUp, 0, figureCanvas, null, x, y, 1);
+		click.perform();
 	}
 
 	/**
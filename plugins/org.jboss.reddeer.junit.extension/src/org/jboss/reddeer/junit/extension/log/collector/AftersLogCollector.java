@@ -11,7 +11,6 @@
 package org.jboss.reddeer.junit.extension.log.collector;
 
 import org.jboss.reddeer.common.properties.RedDeerProperties;
-import org.jboss.reddeer.direct.platform.Platform;
 import org.jboss.reddeer.junit.extension.ExtensionPriority;
 import org.jboss.reddeer.junit.extensionpoint.IAfterTest;
 import org.junit.runners.model.FrameworkMethod;
@@ -44,14 +43,12 @@ public class AftersLogCollector extends LogCollector implements IAfterTest {
 	@Override
 	public void runAfterTestClass(String config, TestClass testClass) {
 		processWorkbenchLog(config, testClass.getJavaClass().getSimpleName(), AFTER_TEST_CLASS_DESCRIPTION);
-		Platform.getWorkbenchLog().delete();
 	}
 
 	@Override
 	public void runAfterTest(String config, Object target, FrameworkMethod method) {
 		constructAfterTestMethodDescription(method.getMethod().getName());
 		processWorkbenchLog(config, method.getDeclaringClass().getSimpleName(), AFTER_TEST_METHOD_DESCRIPTION);
-		Platform.getWorkbenchLog().delete();
 	}
 
 	@Override
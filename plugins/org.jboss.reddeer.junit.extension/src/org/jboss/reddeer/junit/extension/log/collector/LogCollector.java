@@ -10,22 +10,45 @@
  ******************************************************************************/
 package org.jboss.reddeer.junit.extension.log.collector;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
 import org.jboss.reddeer.direct.platform.Platform;
 
 /**
  * Log collector collect Eclipse workbench log and process it for a specific test class and test methods.
  * This is useful for post test run evaluation whether there were any silent errors/warnings shown in log.
+ * <br/><br/>
+ * Workbench log is never deleted. Log collector remembers offset of the log processed so far 
+ * and copies only entries appended since then. If {@link RedDeerProperties#LOG_COLLECTOR_ARCHIVE} 
+ * is enabled, collected entries are also appended as gzip members to an archive of the test run 
+ * configuration and their positions are written to an index file next to the archive.
+ * <br/><br/>
+ * When Eclipse rolls the log over, it renames the log to a backup file (e.g. .bak_0.log) 
+ * and starts a new one. Log collector recognizes the processed log by its file key or by 
+ * its first bytes, collects the rest of the backup file and then the new log from its 
+ * beginning.
  * 
  * @author mlabuda@redhat.com
  * @since 1.2.0
@@ -34,6 +57,28 @@ public class LogCollector {
 
 	private static final long timestamp = System.currentTimeMillis();
 	private static final Logger log = Logger.getLogger(LogCollector.class);
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/**
+	 * Offset of workbench log up to which log entries were already processed. 
+	 * It is shared by all log collectors.
+	 */
+	private static long offset = 0;
+
+	/**
+	 * Number of first bytes of the workbench log used to recognize it after a rollover.
+	 */
+	private static final int HEAD_LENGTH = 256;
+
+	/**
+	 * File key of the workbench log processed so far, null if not supported by file system.
+	 */
+	private static Object logKey;
+
+	/**
+	 * First bytes of the workbench log processed so far.
+	 */
+	private static byte[] logHead = new byte[0];
 
 	/**
 	 * Gets file name for a file with collected log entries. File name contains
@@ -112,30 +157,225 @@ public class LogCollector {
 	 */
 	public void processWorkbenchLog(String config, String className, String logDescription) {
 		if(eclipseLogFileExists()){
-			try (BufferedReader br = new BufferedReader(new FileReader(Platform.getWorkbenchLog()));
-					BufferedWriter bw = new BufferedWriter(new FileWriter(getLogFile(config, className), true))) {
-				String line = br.readLine();
-				if (line != null) {
-					bw.write(logDescription + "\n\n");
-					bw.write(line + "\n");
-					while ((line = br.readLine()) != null) {
-						bw.write(line + "\n");
+			synchronized (LogCollector.class) {
+				File workbenchLog = getWorkbenchLog();
+				File rotatedLog = null;
+				try (FileInputStream in = new FileInputStream(workbenchLog)) {
+					FileChannel source = in.getChannel();
+					long end = source.size();
+					List<LogRegion> regions = new ArrayList<LogRegion>();
+					long start = offset;
+					if (!isProcessedLog(workbenchLog, source, end)) {
+						rotatedLog = findRotatedLog(workbenchLog);
+						start = 0;
+					}
+					try (FileInputStream rotatedIn = rotatedLog == null ? null : new FileInputStream(rotatedLog)) {
+						if (rotatedIn != null) {
+							FileChannel rotated = rotatedIn.getChannel();
+							regions.add(new LogRegion(rotated, offset, rotated.size()));
+						}
+						regions.add(new LogRegion(source, start, end));
+						if (!isEmpty(regions)) {
+							copyRegions(regions, getLogFile(config, className), logDescription);
+							if (RedDeerProperties.LOG_COLLECTOR_ARCHIVE.getBooleanValue()) {
+								archiveRegions(regions, config, className, logDescription);
+							}
+						}
 					}
-					bw.write("\n\n");
+					setProcessed(workbenchLog, source, end);
+				} catch (IOException e) {
+					log.error("Cannot process workbench log", e);
 				}
-			} catch (FileNotFoundException e) {
-				// Should not happen
-				e.printStackTrace();
-			} catch (IOException e1) {
-				e1.printStackTrace();
 			}
 		} else {
 			log.debug("Log file does not exist");
 		}
 	}
+
+	/**
+	 * Skips all log entries currently present in the workbench log, they will not be 
+	 * collected by subsequent processing.
+	 */
+	public void skipWorkbenchLog() {
+		File logFile = getWorkbenchLog();
+		synchronized (LogCollector.class) {
+			if (logFile == null || !logFile.exists()) {
+				offset = 0;
+				logKey = null;
+				logHead = new byte[0];
+				return;
+			}
+			try (FileInputStream in = new FileInputStream(logFile)) {
+				FileChannel source = in.getChannel();
+				setProcessed(logFile, source, source.size());
+			} catch (IOException e) {
+				log.error("Cannot read workbench log", e);
+			}
+		}
+	}
+
+	/**
+	 * Remembers specified log as processed up to specified offset.
+	 */
+	private static void setProcessed(File logFile, FileChannel source, long end) throws IOException {
+		offset = end;
+		logKey = getFileKey(logFile);
+		logHead = readHead(source, (int) Math.min(HEAD_LENGTH, end));
+	}
+
+	/**
+	 * Finds out whether specified log is the log processed so far. Log which is shorter 
+	 * than processed offset was rolled over or truncated.
+	 */
+	private static boolean isProcessedLog(File logFile, FileChannel source, long size) throws IOException {
+		if (size < offset) {
+			return false;
+		}
+		Object key = getFileKey(logFile);
+		if (key != null && logKey != null) {
+			return key.equals(logKey);
+		}
+		return Arrays.equals(logHead, readHead(source, logHead.length));
+	}
+
+	/**
+	 * Finds backup file the processed log was renamed to by a rollover.
+	 * 
+	 * @return backup file or null if there is no such file
+	 */
+	private static File findRotatedLog(File logFile) throws IOException {
+		String name = logFile.getName();
+		String prefix = (name.toLowerCase().endsWith(".log") ? name.substring(0, name.length() - 4) : name) + ".bak_";
+		File[] backups = logFile.getAbsoluteFile().getParentFile().listFiles();
+		File rotatedLog = null;
+		if (backups == null) {
+			return null;
+		}
+		for (File backup : backups) {
+			if (!backup.getName().startsWith(prefix) || backup.length() < offset
+					|| (rotatedLog != null && backup.lastModified() < rotatedLog.lastModified())) {
+				continue;
+			}
+			if (isRotatedLog(backup)) {
+				rotatedLog = backup;
+			}
+		}
+		if (rotatedLog == null && offset > 0) {
+			log.warn("Workbench log was rolled over but its backup was not found, " 
+					+ "entries logged before the rollover are not collected");
+		}
+		return rotatedLog;
+	}
+
+	private static boolean isRotatedLog(File backup) throws IOException {
+		Object key = getFileKey(backup);
+		if (key != null && logKey != null) {
+			return key.equals(logKey);
+		}
+		try (FileInputStream in = new FileInputStream(backup)) {
+			return Arrays.equals(logHead, readHead(in.getChannel(), logHead.length));
+		}
+	}
+
+	private static Object getFileKey(File file) throws IOException {
+		return Files.readAttributes(file.toPath(), BasicFileAttributes.class).fileKey();
+	}
+
+	private static byte[] readHead(FileChannel source, int length) throws IOException {
+		ByteBuffer head = ByteBuffer.allocate(length);
+		while (head.hasRemaining() && source.read(head, head.position()) > 0) {
+			// read until the buffer is full or the file ends
+		}
+		return Arrays.copyOf(head.array(), head.position());
+	}
+
+	private static boolean isEmpty(List<LogRegion> regions) {
+		for (LogRegion region : regions) {
+			if (region.end > region.start) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void copyRegions(List<LogRegion> regions, File target, String logDescription) throws IOException {
+		try (FileOutputStream out = new FileOutputStream(target, true)) {
+			FileChannel channel = out.getChannel();
+			channel.write(UTF8.encode(logDescription + "\n\n"));
+			for (LogRegion region : regions) {
+				transfer(region.channel, region.start, region.end, channel);
+			}
+			channel.write(UTF8.encode("\n\n"));
+		}
+	}
+
+	private static void transfer(FileChannel source, long start, long end, WritableByteChannel target) throws IOException {
+		long position = start;
+		while (position < end) {
+			long transferred = source.transferTo(position, end - position, target);
+			if (transferred <= 0) {
+				break;
+			}
+			position += transferred;
+		}
+	}
+
+	/**
+	 * Appends log regions as a separate gzip member to the archive of the configuration and 
+	 * writes its offset and length to the index file.
+	 */
+	private void archiveRegions(List<LogRegion> regions, String config, String className,
+			String logDescription) throws IOException {
+		File archive = new File(getDirectory(), "config-" + config + "_" + getID() + ".log.gz");
+		File index = new File(getDirectory(), "config-" + config + "_" + getID() + ".log.idx");
+		archive.getParentFile().mkdirs();
+
+		ByteArrayOutputStream member = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(member)) {
+			gzip.write((logDescription + "\n\n").getBytes(UTF8));
+			WritableByteChannel target = Channels.newChannel(gzip);
+			for (LogRegion region : regions) {
+				transfer(region.channel, region.start, region.end, target);
+			}
+			gzip.write("\n\n".getBytes(UTF8));
+		}
+		long archiveOffset = archive.length();
+		try (OutputStream out = new FileOutputStream(archive, true)) {
+			member.writeTo(out);
+		}
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(index, true), UTF8)) {
+			writer.write(className + "\t" + archiveOffset + "\t" + member.size() + "\t" 
+					+ logDescription.replace('\n', ' ') + "\n");
+		}
+	}
 	
+	/**
+	 * Gets Eclipse workbench log whose entries are collected.
+	 * 
+	 * @return workbench log file
+	 */
+	protected File getWorkbenchLog() {
+		return Platform.getWorkbenchLog();
+	}
+
 	protected boolean eclipseLogFileExists(){
-		File logFile = Platform.getWorkbenchLog();
+		File logFile = getWorkbenchLog();
 		return  logFile != null && logFile.exists();
 	}
+
+	/**
+	 * Region of a log file to collect.
+	 */
+	private static class LogRegion {
+
+		private final FileChannel channel;
+		private final long start;
+		private final long end;
+
+		public LogRegion(FileChannel channel, long start, long end) {
+			this.channel = channel;
+			this.start = start;
+			this.end = end;
+		}
+	}
 }
\ No newline at end of file
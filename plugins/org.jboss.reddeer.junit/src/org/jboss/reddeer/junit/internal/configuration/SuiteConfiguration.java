@@ -19,6 +19,7 @@ import java.util.List;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.common.properties.RedDeerProperties;
 import org.jboss.reddeer.junit.configuration.RedDeerConfigurationException;
+import org.jboss.reddeer.junit.internal.configuration.reader.XMLReader;
 
 /**
  * Finds configuration files and provides access to that configuration.
@@ -59,6 +60,8 @@ public class SuiteConfiguration {
 			return configurations;
 		}
 		
+		// files are parsed and validated in parallel, readers then use cached documents
+		XMLReader.preload(confFilesList);
 		for (File file :confFilesList){
 			log.info("Found configuration file " + file);
 			configurations.add(new TestRunConfigurationImpl(file));
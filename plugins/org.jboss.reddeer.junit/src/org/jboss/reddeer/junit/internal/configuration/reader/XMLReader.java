@@ -10,11 +10,25 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.junit.internal.configuration.reader;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.zip.CRC32;
 
+import javax.xml.XMLConstants;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
@@ -22,6 +36,13 @@ import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
 
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.junit.configuration.RedDeerConfigurationException;
@@ -34,7 +55,13 @@ import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 
 /**
- * Reads the XML file and unmarshalls the requirements configuration.
+ * Reads the XML file and unmarshalls the requirements configuration.<br/>
+ * <br/>
+ * JAXB contexts, compiled XSD schemas and parsed documents are cached for the whole 
+ * process. Document of a file is parsed again only if the file was modified, i.e. 
+ * its size, modification time in milliseconds or checksum of its content changed.
+ * Each schema is compiled only once, concurrent readers of files with other 
+ * schemas are not blocked meanwhile.
  * 
  * @author Lucia Jelinkova
  * 
@@ -51,6 +78,12 @@ public class XMLReader {
 	// e.g. http://www.jboss.org/reddeer/schema
 	private static final String RED_DEER_NS = "http://www.jboss.org/NS/Req";
 
+	private static final ConcurrentMap<Class<?>, JAXBContext> contexts = new ConcurrentHashMap<Class<?>, JAXBContext>();
+
+	private static final ConcurrentMap<String, Future<Schema>> schemas = new ConcurrentHashMap<String, Future<Schema>>();
+
+	private static final ConcurrentMap<String, ParsedFile> documents = new ConcurrentHashMap<String, ParsedFile>();
+
 	/**
 	 * Instantiates a new XML reader.
 	 *
@@ -73,14 +106,56 @@ public class XMLReader {
 		return getConfiguration(getNamespace(root), getName(root), clazz);
 	}
 
+	/**
+	 * Parses and validates specified configuration files in parallel so that 
+	 * readers of these files do not need to parse them. Files which cannot be 
+	 * loaded are skipped, the error is reported when a reader of the file is used.
+	 *
+	 * @param files configuration files
+	 */
+	public static void preload(List<File> files) {
+		if (files.size() < 2) {
+			return;
+		}
+		int threads = Math.min(files.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> results = new ArrayList<Future<?>>();
+			for (final File file : files) {
+				results.add(executor.submit(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							getDocument(file);
+						} catch (RedDeerConfigurationException e) {
+							log.debug("Preloading of " + file.getAbsolutePath() + " failed: " + e.getMessage());
+						}
+					}
+				}));
+			}
+			for (Future<?> result : results) {
+				result.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			log.debug("Preloading of configuration files failed: " + e.getMessage());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	private <T> List<T> getConfiguration(String namespace, String tag,
 			Class<T> clazz) {
-		NodeList list = getDocument().getElementsByTagNameNS(namespace, tag);
+		Document document = getDocument();
 		try {
-			JAXBContext context = JAXBContext.newInstance(clazz);
-			Unmarshaller unmarshaller = context.createUnmarshaller();
-			return (List<T>) unmarshall(unmarshaller, list);
+			Unmarshaller unmarshaller = getContext(clazz).createUnmarshaller();
+			// parsed documents are shared by readers and DOM is not thread safe
+			synchronized (document) {
+				NodeList list = document.getElementsByTagNameNS(namespace, tag);
+				return (List<T>) unmarshall(unmarshaller, list);
+			}
 		} catch (JAXBException e) {
 			throw new RedDeerConfigurationException("Cannot unmarshall tag "
 					+ tag + " in XML configuration file "
@@ -97,6 +172,18 @@ public class XMLReader {
 		return objects;
 	}
 
+	private static JAXBContext getContext(Class<?> clazz) throws JAXBException {
+		JAXBContext context = contexts.get(clazz);
+		if (context == null) {
+			context = JAXBContext.newInstance(clazz);
+			JAXBContext previous = contexts.putIfAbsent(clazz, context);
+			if (previous != null) {
+				context = previous;
+			}
+		}
+		return context;
+	}
+
 	private Document getDocument() {
 		if (doc == null) {
 			init();
@@ -105,32 +192,68 @@ public class XMLReader {
 	}
 
 	/**
-	 * Parses and validates xml configuration of requirements according to their
-	 * xsd schema.
+	 * Gets parsed and validated xml configuration of requirements and checks 
+	 * it uses RedDeer schema.
 	 * 
 	 * @throws RedDeerConfigurationException
 	 *             when the xml configuration is not valid according to the
 	 *             specified xsd schema
 	 */
 	private void init() {
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		factory.setNamespaceAware(true);
-		factory.setValidating(true);
-		factory.setAttribute(
-				"http://java.sun.com/xml/jaxp/properties/schemaLanguage",
-				"http://www.w3.org/2001/XMLSchema");
-
-		DocumentBuilder builder;
-		try {
-			builder = factory.newDocumentBuilder();
-			builder.setErrorHandler(new RedDeerErrorHandler());
-
-			doc = builder.parse(file);
-
-			if (!containsSchema(doc, RED_DEER_NS)) {
+		Document document = getDocument(file);
+		synchronized (document) {
+			if (!containsSchema(document, RED_DEER_NS)) {
 				throw new RedDeerConfigurationException(
 						"Xml requirements configuration does not use RedDeer schema.");
 			}
+		}
+		doc = document;
+	}
+
+	/**
+	 * Gets parsed document of specified file. The file is parsed only if it was not
+	 * parsed yet or if it was modified since it was parsed.
+	 */
+	private static Document getDocument(File file) {
+		String key = file.getAbsolutePath();
+		ParsedFile parsed = documents.get(key);
+		byte[] content;
+		long lastModified;
+		try {
+			lastModified = Files.getLastModifiedTime(file.toPath()).toMillis();
+			content = Files.readAllBytes(file.toPath());
+		} catch (IOException e) {
+			throw createCannotLoadException(file, e);
+		}
+		long checksum = checksum(content);
+		if (parsed != null && parsed.isUpToDate(lastModified, content.length, checksum)) {
+			return parsed.document;
+		}
+		Document document = parse(file, content);
+		documents.put(key, new ParsedFile(document, lastModified, content.length, checksum));
+		return document;
+	}
+
+	private static long checksum(byte[] content) {
+		CRC32 crc = new CRC32();
+		crc.update(content);
+		return crc.getValue();
+	}
+
+	/**
+	 * Parses and validates xml configuration of requirements according to their
+	 * xsd schema in a single pass. Schemas are compiled once and reused for all 
+	 * files with the same schema locations.
+	 */
+	private static Document parse(File file, byte[] content) {
+		try {
+			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+			factory.setNamespaceAware(true);
+			factory.setSchema(getSchema(file, content));
+
+			DocumentBuilder builder = factory.newDocumentBuilder();
+			builder.setErrorHandler(new RedDeerErrorHandler());
+			return builder.parse(new ByteArrayInputStream(content), file.toURI().toString());
 		} catch (ParserConfigurationException e) {
 			throw createCannotLoadException(file, e);
 		} catch (SAXException e) {
@@ -140,6 +263,98 @@ public class XMLReader {
 		}
 	}
 
+	/**
+	 * Gets compiled schema for schema locations declared in root element of 
+	 * the file. If there are no schema locations, the returned schema uses 
+	 * location hints of the parsed document. Threads requesting the same schema 
+	 * wait until the first one compiles it, a schema which failed to compile is 
+	 * compiled again on next request.
+	 */
+	private static Schema getSchema(File file, byte[] content) throws IOException, SAXException {
+		final List<String> locations = getSchemaLocations(file, content);
+		String key = locations.toString();
+		Future<Schema> schema = schemas.get(key);
+		if (schema == null) {
+			FutureTask<Schema> task = new FutureTask<Schema>(new Callable<Schema>() {
+
+				@Override
+				public Schema call() throws SAXException {
+					return compileSchema(locations);
+				}
+			});
+			schema = schemas.putIfAbsent(key, task);
+			if (schema == null) {
+				schema = task;
+				task.run();
+			}
+		}
+		try {
+			return schema.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for XML schemas " + locations, e);
+		} catch (ExecutionException e) {
+			schemas.remove(key, schema);
+			Throwable cause = e.getCause();
+			if (cause instanceof SAXException) {
+				throw (SAXException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	private static Schema compileSchema(List<String> locations) throws SAXException {
+		SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+		if (locations.isEmpty()) {
+			return schemaFactory.newSchema();
+		}
+		log.debug("Compiling XML schemas " + locations);
+		Source[] sources = new Source[locations.size()];
+		for (int i = 0; i < sources.length; i++) {
+			sources[i] = new StreamSource(locations.get(i));
+		}
+		return schemaFactory.newSchema(sources);
+	}
+
+	/**
+	 * Reads xsi:schemaLocation attribute of the root element. Only the beginning 
+	 * of the file up to the root element is read.
+	 */
+	private static List<String> getSchemaLocations(File file, byte[] content) throws IOException {
+		List<String> locations = new ArrayList<String>();
+		InputStream input = new ByteArrayInputStream(content);
+		try {
+			XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(input);
+			try {
+				while (reader.hasNext() && reader.next() != XMLStreamReader.START_ELEMENT) {
+					// skip prolog
+				}
+				if (reader.isStartElement()) {
+					String schemaLocation = reader.getAttributeValue(
+							XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "schemaLocation");
+					if (schemaLocation != null) {
+						String[] tokens = schemaLocation.trim().split("\\s+");
+						// pairs of namespace and location
+						for (int i = 1; i < tokens.length; i += 2) {
+							locations.add(file.toURI().resolve(URI.create(tokens[i])).toString());
+						}
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			// not well formed document is reported by parser
+			log.debug("Cannot read schema location of " + file.getAbsolutePath() + ": " + e.getMessage());
+		} finally {
+			input.close();
+		}
+		return locations;
+	}
+
 	private XmlRootElement getRoot(Class<?> clazz) {
 		XmlRootElement root = clazz.getAnnotation(XmlRootElement.class);
 		if (root == null) {
@@ -171,7 +386,7 @@ public class XMLReader {
 		return namespace;
 	}
 
-	private RedDeerConfigurationException createCannotLoadException(File file,
+	private static RedDeerConfigurationException createCannotLoadException(File file,
 			Exception e) {
 		return new RedDeerConfigurationException(
 				"Cannot load XML configuration file " + file.getAbsolutePath(), e);
@@ -193,7 +408,31 @@ public class XMLReader {
 		return containsNS;
 	}
 
-	class RedDeerErrorHandler implements ErrorHandler {
+	/**
+	 * Parsed document with size, modification time and checksum of its file.
+	 * Modification time alone is not sufficient because of its coarse resolution
+	 * on some file systems.
+	 */
+	private static class ParsedFile {
+
+		private final Document document;
+		private final long lastModified;
+		private final long length;
+		private final long checksum;
+
+		public ParsedFile(Document document, long lastModified, long length, long checksum) {
+			this.document = document;
+			this.lastModified = lastModified;
+			this.length = length;
+			this.checksum = checksum;
+		}
+
+		public boolean isUpToDate(long lastModified, long length, long checksum) {
+			return this.lastModified == lastModified && this.length == length && this.checksum == checksum;
+		}
+	}
+
+	static class RedDeerErrorHandler implements ErrorHandler {
 
 		/* (non-Javadoc)
 		 * @see org.xml.sax.ErrorHandler#warning(org.xml.sax.SAXParseException)
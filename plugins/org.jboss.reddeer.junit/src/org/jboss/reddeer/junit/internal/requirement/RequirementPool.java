@@ -0,0 +1,267 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.requirement;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.junit.requirement.Requirement;
+import org.jboss.reddeer.junit.requirement.RequirementScope;
+import org.jboss.reddeer.junit.requirement.ScopedRequirement;
+
+/**
+ * Pool of requirements shared by several test classes. Requirements are pooled by 
+ * their type, declaration and test run configuration. Pool counts test classes 
+ * (consumers) using each requirement so that shared requirement is fulfilled only 
+ * once and cleaned up when the last consumer of its {@link RequirementScope} finishes.
+ */
+public class RequirementPool {
+
+	private static final Logger log = Logger.getLogger(RequirementPool.class);
+
+	private static RequirementPool instance;
+
+	private final Map<Key, Entry> entries = new HashMap<Key, Entry>();
+
+	private final Map<Requirement<?>, Entry> pooled = new IdentityHashMap<Requirement<?>, Entry>();
+
+	/**
+	 * Gets the instance of the pool.
+	 * 
+	 * @return the pool
+	 */
+	public static synchronized RequirementPool getInstance() {
+		if (instance == null) {
+			instance = new RequirementPool();
+		}
+		return instance;
+	}
+
+	/**
+	 * Gets pooled requirement equal to the specified one and registers a new consumer 
+	 * of it. If the requirement is not shared or there is no equal requirement in the 
+	 * pool, the specified requirement is returned.
+	 * 
+	 * @param requirement configured requirement
+	 * @param declaration annotation declaring the requirement
+	 * @param configId id of test run configuration
+	 * @return requirement to be used by the consumer
+	 */
+	public synchronized Requirement<?> acquire(Requirement<?> requirement, Annotation declaration, String configId) {
+		RequirementScope scope = getScope(requirement);
+		if (scope == RequirementScope.CLASS) {
+			return requirement;
+		}
+		Key key = new Key(requirement.getClass(), declaration, configId);
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			entry = new Entry(key, requirement, scope);
+			entries.put(key, entry);
+			pooled.put(requirement, entry);
+			log.debug("Requirement " + requirement.getClass() + " is shared in scope " + scope);
+		}
+		entry.consumers++;
+		return entry.requirement;
+	}
+
+	/**
+	 * Unregisters consumer of specified requirements which will not be run.
+	 * 
+	 * @param requirements requirements of the consumer
+	 */
+	public synchronized void discard(Requirements requirements) {
+		for (Requirement<?> requirement : requirements) {
+			Entry entry = pooled.get(requirement);
+			if (entry != null && --entry.consumers == 0 && !entry.fulfilled) {
+				remove(entry);
+			}
+		}
+	}
+
+	/**
+	 * Cleans up shared requirements of {@link RequirementScope#SUITE} scope whose consumers
+	 * finished and which are not used by specified requirements of the next consumer.
+	 * 
+	 * @param requirements requirements of the next consumer
+	 */
+	public synchronized void releaseUnused(Requirements requirements) {
+		List<Entry> unused = new ArrayList<Entry>();
+		for (Entry entry : entries.values()) {
+			if (entry.pending && !contains(requirements, entry.requirement)) {
+				unused.add(entry);
+			}
+		}
+		for (Entry entry : unused) {
+			entry.pending = false;
+			cleanUp(entry);
+		}
+	}
+
+	/**
+	 * Finds out whether specified requirement has to be fulfilled. Shared requirement 
+	 * is fulfilled only by its first consumer.
+	 * 
+	 * @param requirement requirement
+	 * @return true if the requirement has to be fulfilled, false if it is already fulfilled
+	 */
+	public synchronized boolean needsFulfill(Requirement<?> requirement) {
+		Entry entry = pooled.get(requirement);
+		if (entry == null || !entry.fulfilled) {
+			return true;
+		}
+		entry.pending = false;
+		log.info("Requirement " + requirement.getClass() + " is already fulfilled");
+		return false;
+	}
+
+	/**
+	 * Marks specified requirement as fulfilled.
+	 * 
+	 * @param requirement fulfilled requirement
+	 */
+	public synchronized void fulfilled(Requirement<?> requirement) {
+		Entry entry = pooled.get(requirement);
+		if (entry != null) {
+			entry.fulfilled = true;
+		}
+	}
+
+	/**
+	 * Unregisters consumer of specified requirement after it finished and finds out 
+	 * whether the requirement has to be cleaned up now.
+	 * 
+	 * @param requirement requirement
+	 * @return true if the requirement has to be cleaned up, false if clean up is deferred
+	 */
+	public synchronized boolean release(Requirement<?> requirement) {
+		Entry entry = pooled.get(requirement);
+		if (entry == null) {
+			return true;
+		}
+		entry.consumers--;
+		if (entry.consumers <= 0) {
+			remove(entry);
+			return entry.fulfilled;
+		}
+		if (entry.scope == RequirementScope.SUITE) {
+			entry.pending = true;
+		}
+		log.info("Clean up of requirement " + requirement.getClass() + " is deferred");
+		return false;
+	}
+
+	/**
+	 * Cleans up all fulfilled shared requirements and empties the pool. 
+	 */
+	public synchronized void cleanUpAll() {
+		Iterator<Entry> iterator = entries.values().iterator();
+		while (iterator.hasNext()) {
+			Entry entry = iterator.next();
+			iterator.remove();
+			pooled.remove(entry.requirement);
+			cleanUp(entry);
+		}
+	}
+
+	private void remove(Entry entry) {
+		entries.remove(entry.key);
+		pooled.remove(entry.requirement);
+	}
+
+	private void cleanUp(Entry entry) {
+		if (!entry.fulfilled) {
+			return;
+		}
+		entry.fulfilled = false;
+		try {
+			log.info("Cleaning up shared requirement of " + entry.requirement.getClass());
+			entry.requirement.cleanUp();
+		} catch (Throwable t) {
+			log.error("Clean up of shared requirement " + entry.requirement.getClass() + " failed", t);
+		}
+	}
+
+	private static boolean contains(Requirements requirements, Requirement<?> requirement) {
+		for (Requirement<?> r : requirements) {
+			if (r == requirement) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static RequirementScope getScope(Requirement<?> requirement) {
+		if (requirement instanceof ScopedRequirement) {
+			RequirementScope scope = ((ScopedRequirement<?>) requirement).getScope();
+			if (scope != null) {
+				return scope;
+			}
+		}
+		return RequirementScope.CLASS;
+	}
+
+	private static class Entry {
+
+		private final Key key;
+		private final Requirement<?> requirement;
+		private final RequirementScope scope;
+		private int consumers;
+		private boolean fulfilled;
+		private boolean pending;
+
+		public Entry(Key key, Requirement<?> requirement, RequirementScope scope) {
+			this.key = key;
+			this.requirement = requirement;
+			this.scope = scope;
+		}
+	}
+
+	private static class Key {
+
+		private final Class<?> type;
+		private final Annotation declaration;
+		private final String configId;
+
+		public Key(Class<?> type, Annotation declaration, String configId) {
+			this.type = type;
+			this.declaration = declaration;
+			this.configId = configId;
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = type.hashCode();
+			hash = 31 * hash + (declaration == null ? 0 : declaration.hashCode());
+			hash = 31 * hash + (configId == null ? 0 : configId.hashCode());
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return type.equals(other.type) && equal(declaration, other.declaration) 
+					&& equal(configId, other.configId);
+		}
+
+		private static boolean equal(Object o1, Object o2) {
+			return o1 == null ? o2 == null : o1.equals(o2);
+		}
+	}
+}
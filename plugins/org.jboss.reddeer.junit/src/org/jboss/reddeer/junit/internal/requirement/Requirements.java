@@ -99,10 +99,16 @@ public class Requirements implements Requirement<Annotation>, Iterable<Requireme
 	 */
 	@Override
 	public void fulfill() {
+		RequirementPool pool = RequirementPool.getInstance();
+		pool.releaseUnused(this);
 		for (Requirement<?> r : requirements) {
+			if (!pool.needsFulfill(r)) {
+				continue;
+			}
 			try {
 				log.info("Fulfilling requirement of " + r.getClass());
 				r.fulfill();
+				pool.fulfilled(r);
 			} catch (Throwable ex) {
 				ScreenshotCapturer screenshotCapturer = ScreenshotCapturer.getInstance();
 				try {
@@ -129,7 +135,11 @@ public class Requirements implements Requirement<Annotation>, Iterable<Requireme
 	 */
 	@Override
 	public void cleanUp() {
+		RequirementPool pool = RequirementPool.getInstance();
 		for (Requirement<?> r : requirements) {
+			if (!pool.release(r)) {
+				continue;
+			}
 			try {
 				log.info("Cleaning up requirement of " + r.getClass());
 				r.cleanUp();
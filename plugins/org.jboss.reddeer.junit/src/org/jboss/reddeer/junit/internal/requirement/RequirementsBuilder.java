@@ -32,6 +32,8 @@ public class RequirementsBuilder {
 	
 	private AnnotationsFinder finder = new AnnotationsFinder(new RequirementAnnotationMatcher());
 	
+	private RequirementPool pool = RequirementPool.getInstance();
+	
 	/**
 	 * Builds the.
 	 *
@@ -46,12 +48,22 @@ public class RequirementsBuilder {
 		
 		log.info("Creating requirements for test " + clazz);
 		for (Annotation annotation : finder.find(clazz)){
-			requirements.add(build(annotation, config));
+			requirements.add(pool.acquire(build(annotation, config), annotation, configID));
 		}
 		
 		return new Requirements(requirements, clazz, configID);
 	}
 	
+	/**
+	 * Discards requirements built for a test class which will not be run, 
+	 * so that shared requirements do not wait for it.
+	 *
+	 * @param requirements the requirements
+	 */
+	public void discard(Requirements requirements) {
+		pool.discard(requirements);
+	}
+	
 	private Requirement<?> build(Annotation annotation, RequirementsConfiguration requirementConfig){
 		Requirement<?> requirement = getRequirement(annotation);
 		requirementConfig.configure(requirement);
@@ -86,6 +98,15 @@ public class RequirementsBuilder {
 		}
 	}
 	
+	/**
+	 * Sets the pool of shared requirements.
+	 *
+	 * @param pool the new pool
+	 */
+	public void setPool(RequirementPool pool) {
+		this.pool = pool;
+	}
+	
 	/**
 	 * Sets the finder.
 	 *
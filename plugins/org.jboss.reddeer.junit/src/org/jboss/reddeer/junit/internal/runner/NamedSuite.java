@@ -10,6 +10,10 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.junit.internal.runner;
 
+import org.jboss.reddeer.junit.internal.shard.TestDurations;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.ParentRunner;
 import org.junit.runners.Suite;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.RunnerBuilder;
@@ -24,6 +28,8 @@ public class NamedSuite extends Suite {
 	
 	private final String suiteName;
 
+	private TestDurations testDurations;
+
 	/**
 	 * Constructor used for suites. 
 	 *
@@ -50,6 +56,34 @@ public class NamedSuite extends Suite {
 		this.suiteName = name;
 	}
 	
+	/**
+	 * Sets durations to record wall clock time of test classes of this suite to.
+	 *
+	 * @param testDurations durations of test classes or null
+	 */
+	public void setTestDurations(TestDurations testDurations) {
+		this.testDurations = testDurations;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.junit.runners.Suite#runChild(org.junit.runner.Runner, org.junit.runner.notification.RunNotifier)
+	 */
+	@Override
+	protected void runChild(Runner runner, RunNotifier notifier) {
+		Class<?> testClass = runner instanceof ParentRunner ? ((ParentRunner<?>) runner).getTestClass().getJavaClass() : null;
+		if (testDurations == null || testClass == null) {
+			super.runChild(runner, notifier);
+			return;
+		}
+		// class runner covers requirements and class level setup, not only test methods
+		long start = System.currentTimeMillis();
+		try {
+			super.runChild(runner, notifier);
+		} finally {
+			testDurations.addDuration(testClass.getName(), System.currentTimeMillis() - start);
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see org.junit.runners.ParentRunner#getName()
 	 */
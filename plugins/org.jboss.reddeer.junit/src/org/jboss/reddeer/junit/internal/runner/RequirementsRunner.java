@@ -321,6 +321,7 @@ public class RequirementsRunner extends BlockJUnit4ClassRunner {
 		@Override
 		public void testFinished(Description description) throws Exception {
 			log.info("Finished test: " + description);
+			Logger.flush();
 			super.testFinished(description);
 		}
 		
@@ -91,6 +91,10 @@ public class RequirementsRunnerBuilder extends RunnerBuilder {
 	@Override
 	public Runner runnerForClass(Class<?> clazz) throws Throwable {
 		log.info("Found test " + clazz);
+		if (testsManager != null && !testsManager.isInShard(clazz)) {
+			log.info("Test is assigned to another shard, the test will NOT run");
+			return null;
+		}
 		if (clazz.getAnnotation(Ignore.class) != null) {
 			 return new IgnoredClassRunner(clazz);
 		}
@@ -110,6 +114,7 @@ public class RequirementsRunnerBuilder extends RunnerBuilder {
 			}
 		} else {
 			log.info("All requirements cannot be fulfilled, the test will NOT run");
+			requirementsBuilder.discard(requirements);
 			return null;
 		}
 	}
@@ -14,6 +14,8 @@ import java.util.Comparator;
 import java.util.Set;
 import java.util.TreeSet;
 
+import org.jboss.reddeer.junit.internal.shard.ShardAssignment;
+
 /**
  * Divides test classes into two categories:
  * <ul>
@@ -26,7 +28,10 @@ import java.util.TreeSet;
  * It will be added as test without a run.<br/><br/>
  * 
  * If the test class has a run, change the state of the test class
- * using method {@link #addExecutedTest(Class)}.
+ * using method {@link #addExecutedTest(Class)}.<br/><br/>
+ * 
+ * If a {@link ShardAssignment} is set, test classes assigned to other shards
+ * are not managed at all.
  * 
  * @author Radoslav Rabara
  *
@@ -36,6 +41,8 @@ public class TestsExecutionManager {
 	private Set<Class<?>> allTestClasses = new TreeSet<Class<?>>(classNameComparator);
 	private Set<Class<?>> executedTestClasses = new TreeSet<Class<?>>(classNameComparator);
 	
+	private ShardAssignment shardAssignment;
+	
 	private static Comparator<Class<?>> classNameComparator = new Comparator<Class<?>>(){
 		@Override
 		public int compare(Class<?> clazz0, Class<?> clazz1) {
@@ -51,7 +58,9 @@ public class TestsExecutionManager {
 	 * 				as test class without a run
 	 */
 	public void addTest(Class<?> testClass) {
-		allTestClasses.add(testClass);
+		if (isInShard(testClass)) {
+			allTestClasses.add(testClass);
+		}
 	}
 	
 	/**
@@ -62,8 +71,31 @@ public class TestsExecutionManager {
 	 * 				as test class with a run
 	 */
 	public void addExecutedTest(Class<?> testClass) {
-		addTest(testClass);
-		executedTestClasses.add(testClass);
+		if (isInShard(testClass)) {
+			allTestClasses.add(testClass);
+			executedTestClasses.add(testClass);
+		}
+	}
+	
+	/**
+	 * Sets assignment of test classes to shards. 
+	 *
+	 * @param shardAssignment assignment of test classes to shards, null if all test classes
+	 * 				are executed 
+	 */
+	public void setShardAssignment(ShardAssignment shardAssignment) {
+		this.shardAssignment = shardAssignment;
+	}
+	
+	/**
+	 * Returns <code>true</code> if the specified test {@link Class}
+	 * is executed by this shard or if test classes are not divided into shards.
+	 *
+	 * @param testClass test {@link Class} whose status is to be tested
+	 * @return <code>true</code> if the specified test class belongs to this shard
+	 */
+	public boolean isInShard(Class<?> testClass) {
+		return shardAssignment == null || shardAssignment.isAssigned(testClass);
 	}
 	
 	/**
@@ -0,0 +1,166 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.screenshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.jboss.reddeer.common.logging.Logger;
+
+/**
+ * Writes captured screenshots to files in a background thread. Encoding of images
+ * and file I/O is done outside of UI thread. Queue of screenshots waiting to be 
+ * written is bounded, when it is full, screenshot is written by calling thread.<br/>
+ * <br/>
+ * Screenshot is encoded to a temporary file which is renamed to the requested 
+ * file name once it is complete, so the requested file either does not exist yet 
+ * or contains the whole image. Use {@link #flush(long)} to wait until scheduled 
+ * screenshots are written.
+ */
+public class ScreenshotWriter {
+
+	private static final Logger logger = new Logger(ScreenshotWriter.class);
+
+	private static final int QUEUE_CAPACITY = 4;
+
+	private static final String TEMP_SUFFIX = ".part";
+
+	private final ThreadPoolExecutor executor;
+
+	private final Set<String> pendingFiles = new HashSet<String>();
+
+	/**
+	 * Creates a new screenshot writer with its own background thread.
+	 */
+	public ScreenshotWriter() {
+		executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY), new ThreadFactory() {
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable, "RedDeer screenshot writer");
+						thread.setDaemon(true);
+						return thread;
+					}
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	/**
+	 * Schedules writing of specified image data to specified file. File does not
+	 * exist until the whole image is written, see {@link #flush(long)}.
+	 * 
+	 * @param imageData image data to write
+	 * @param fileName name of the file
+	 * @param format SWT image format, e.g. SWT.IMAGE_PNG
+	 * @param compression compression of the image or -1 for default compression
+	 */
+	public void write(final ImageData imageData, final String fileName, final int format, final int compression) {
+		synchronized (this) {
+			pendingFiles.add(fileName);
+		}
+		executor.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				File file = new File(fileName);
+				File tempFile = new File(fileName + TEMP_SUFFIX);
+				try {
+					save(imageData, tempFile.getPath(), format, compression);
+					move(tempFile, file);
+					logger.debug("Screenshot successfully captured. Saved in " + file.getAbsolutePath());
+				} catch (Exception ex) {
+					logger.error("Saving screenshot failed", ex);
+					if (tempFile.exists() && !tempFile.delete()) {
+						logger.debug("Corrupted image will be deleted on exit.");
+						tempFile.deleteOnExit();
+					}
+				} finally {
+					written(fileName);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Encodes specified image data to specified file. Called in background thread.
+	 * 
+	 * @param imageData image data to write
+	 * @param fileName name of the file
+	 * @param format SWT image format, e.g. SWT.IMAGE_PNG
+	 * @param compression compression of the image or -1 for default compression
+	 */
+	protected void save(ImageData imageData, String fileName, int format, int compression) {
+		ImageLoader imageLoader = new ImageLoader();
+		imageLoader.data = new ImageData[] { imageData };
+		if (compression >= 0) {
+			imageLoader.compression = compression;
+		}
+		imageLoader.save(fileName, format);
+	}
+
+	private static void move(File source, File target) throws IOException {
+		try {
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private synchronized void written(String fileName) {
+		pendingFiles.remove(fileName);
+		notifyAll();
+	}
+
+	/**
+	 * Finds out whether specified file is waiting to be written.
+	 * 
+	 * @param fileName name of the file
+	 * @return true if file is waiting to be written, false otherwise
+	 */
+	public synchronized boolean isPending(String fileName) {
+		return pendingFiles.contains(fileName);
+	}
+
+	/**
+	 * Waits until all scheduled screenshots are written or specified timeout expires.
+	 * 
+	 * @param timeout timeout in milliseconds
+	 * @return true if all screenshots were written, false otherwise
+	 */
+	public synchronized boolean flush(long timeout) {
+		long deadline = System.currentTimeMillis() + timeout;
+		while (!pendingFiles.isEmpty()) {
+			long remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0) {
+				logger.warn(pendingFiles.size() + " screenshot(s) were not written within " + timeout + " ms");
+				return false;
+			}
+			try {
+				wait(remaining);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,189 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.shard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.junit.runners.Suite.SuiteClasses;
+
+/**
+ * Assignment of test classes to one of several shards, e.g. CI agents, each executing 
+ * the same suite. Test classes are distributed by greedy bin packing so that every
+ * shard gets approximately the same total duration of test classes. Durations are 
+ * taken from previous runs, test classes with unknown duration are counted with the 
+ * average duration.<br/>
+ * <br/>
+ * The assignment is deterministic, all shards have to use the same durations file 
+ * to get disjoint sets of test classes.
+ */
+public class ShardAssignment {
+
+	private static final Logger log = Logger.getLogger(ShardAssignment.class);
+
+	private final Set<String> assignedClasses;
+
+	private final int index;
+
+	private final int total;
+
+	private ShardAssignment(Set<String> assignedClasses, int index, int total) {
+		this.assignedClasses = assignedClasses;
+		this.index = index;
+		this.total = total;
+	}
+
+	/**
+	 * Creates assignment of test classes of the specified suite or test class for the 
+	 * shard set by {@link RedDeerProperties#SHARD_INDEX} and {@link RedDeerProperties#SHARD_TOTAL}.
+	 * 
+	 * @param clazz suite or test class
+	 * @param durations durations of test classes, can be null
+	 * @return assignment of test classes, null if sharding is not enabled
+	 */
+	public static ShardAssignment fromProperties(Class<?> clazz, TestDurations durations) {
+		int total = RedDeerProperties.SHARD_TOTAL.getIntegerValue();
+		if (total <= 1) {
+			return null;
+		}
+		int index = RedDeerProperties.SHARD_INDEX.getIntegerValue();
+		return create(getTestClassNames(clazz), durations, index, total);
+	}
+
+	/**
+	 * Creates assignment of specified test classes.
+	 * 
+	 * @param classNames names of all test classes
+	 * @param durations durations of test classes, can be null
+	 * @param index zero based index of the shard
+	 * @param total total number of shards
+	 * @return assignment of test classes to the shard with specified index
+	 */
+	public static ShardAssignment create(Set<String> classNames, final TestDurations durations, int index, int total) {
+		if (total < 1 || index < 0 || index >= total) {
+			throw new IllegalArgumentException("Invalid shard " + index + " of " + total);
+		}
+		final long defaultDuration = getAverageDuration(classNames, durations);
+		List<String> sorted = new ArrayList<String>(classNames);
+		// longest classes first, names make the order same for all shards
+		Collections.sort(sorted, new Comparator<String>() {
+			@Override
+			public int compare(String className0, String className1) {
+				long duration0 = getDuration(className0, durations, defaultDuration);
+				long duration1 = getDuration(className1, durations, defaultDuration);
+				if (duration0 != duration1) {
+					return duration0 > duration1 ? -1 : 1;
+				}
+				return className0.compareTo(className1);
+			}
+		});
+
+		long[] loads = new long[total];
+		Set<String> assigned = new HashSet<String>();
+		for (String className : sorted) {
+			int lightest = 0;
+			for (int i = 1; i < total; i++) {
+				if (loads[i] < loads[lightest]) {
+					lightest = i;
+				}
+			}
+			loads[lightest] += getDuration(className, durations, defaultDuration);
+			if (lightest == index) {
+				assigned.add(className);
+			}
+		}
+		log.info("Shard " + index + " of " + total + " executes " + assigned.size() + " of " 
+				+ classNames.size() + " test classes, estimated duration " + loads[index] + " ms");
+		return new ShardAssignment(assigned, index, total);
+	}
+
+	/**
+	 * Finds out whether specified test class is executed by this shard.
+	 * 
+	 * @param testClass test class
+	 * @return true if the test class is assigned to this shard, false otherwise
+	 */
+	public boolean isAssigned(Class<?> testClass) {
+		return assignedClasses.contains(testClass.getName());
+	}
+
+	/**
+	 * Gets zero based index of this shard.
+	 * 
+	 * @return index of the shard
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Gets total number of shards.
+	 * 
+	 * @return number of shards
+	 */
+	public int getTotal() {
+		return total;
+	}
+
+	/**
+	 * Collects names of test classes of specified suite including nested suites. 
+	 * If the class is not a suite, it is the only test class.
+	 * 
+	 * @param clazz suite or test class
+	 * @return names of test classes
+	 */
+	public static Set<String> getTestClassNames(Class<?> clazz) {
+		Set<String> classNames = new LinkedHashSet<String>();
+		collectTestClassNames(clazz, classNames, new HashSet<Class<?>>());
+		return classNames;
+	}
+
+	private static void collectTestClassNames(Class<?> clazz, Set<String> classNames, Set<Class<?>> visitedSuites) {
+		SuiteClasses suiteClasses = clazz.getAnnotation(SuiteClasses.class);
+		if (suiteClasses == null) {
+			classNames.add(clazz.getName());
+			return;
+		}
+		if (!visitedSuites.add(clazz)) {
+			return;
+		}
+		for (Class<?> child : suiteClasses.value()) {
+			collectTestClassNames(child, classNames, visitedSuites);
+		}
+	}
+
+	private static long getAverageDuration(Set<String> classNames, TestDurations durations) {
+		long sum = 0;
+		int count = 0;
+		if (durations != null) {
+			for (String className : classNames) {
+				Long duration = durations.getDuration(className);
+				if (duration != null) {
+					sum += duration;
+					count++;
+				}
+			}
+		}
+		return count == 0 ? 1 : Math.max(1, sum / count);
+	}
+
+	private static long getDuration(String className, TestDurations durations, long defaultDuration) {
+		Long duration = durations == null ? null : durations.getDuration(className);
+		return duration == null ? defaultDuration : duration;
+	}
+}
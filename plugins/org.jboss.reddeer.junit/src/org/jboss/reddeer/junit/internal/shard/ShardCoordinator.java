@@ -0,0 +1,372 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.shard;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+
+/**
+ * Distributes suites of test run configurations across several forked Eclipse 
+ * instances (shards) running in parallel. Every shard executes the same tests
+ * restricted to its test run configurations and reports test events back via
+ * {@link ShardReporter}. Events of all shards are merged into the run notifier of 
+ * the coordinating instance, so there is a single JUnit report.
+ */
+public class ShardCoordinator {
+
+	private static final Logger log = Logger.getLogger(ShardCoordinator.class);
+
+	/**
+	 * Time in milliseconds to wait for remaining events of a shard after its process exited.
+	 */
+	private static final long COMPLETION_TIMEOUT = 10000;
+
+	private final int shardCount;
+
+	private final TestDurations durations;
+
+	private final ShardLauncher launcher = new ShardLauncher();
+
+	/**
+	 * Creates coordinator using specified number of shards.
+	 * 
+	 * @param shardCount number of forked Eclipse instances
+	 */
+	public ShardCoordinator(int shardCount) {
+		this(shardCount, null);
+	}
+
+	/**
+	 * Creates coordinator using specified number of shards which records durations 
+	 * of test classes reported by the shards.
+	 * 
+	 * @param shardCount number of forked Eclipse instances
+	 * @param durations durations to record durations of test classes to or null
+	 */
+	public ShardCoordinator(int shardCount, TestDurations durations) {
+		if (shardCount < 1) {
+			throw new IllegalArgumentException("Shard count has to be positive");
+		}
+		this.shardCount = shardCount;
+		this.durations = durations;
+	}
+
+	/**
+	 * Runs specified suites of test run configurations in shards and waits until all
+	 * shards finish. Suites are distributed round robin. Names of suites have to be ids
+	 * of their test run configurations.
+	 * 
+	 * @param configurationSuites suites of test run configurations
+	 * @param notifier notifier to report test events to
+	 */
+	public void run(List<Runner> configurationSuites, RunNotifier notifier) {
+		int shards = Math.min(shardCount, configurationSuites.size());
+		List<List<Runner>> distribution = new ArrayList<List<Runner>>();
+		for (int i = 0; i < shards; i++) {
+			distribution.add(new ArrayList<Runner>());
+		}
+		for (int i = 0; i < configurationSuites.size(); i++) {
+			distribution.get(i % shards).add(configurationSuites.get(i));
+		}
+
+		ServerSocket serverSocket = null;
+		try {
+			serverSocket = new ServerSocket(0, shards, InetAddress.getLoopbackAddress());
+			List<Shard> running = new ArrayList<Shard>();
+			for (int i = 0; i < shards; i++) {
+				Shard shard = new Shard(i, distribution.get(i), notifier, durations);
+				try {
+					shard.process = launcher.launch(i, serverSocket.getLocalPort(), shard.getConfigurationIds());
+					running.add(shard);
+				} catch (IOException e) {
+					log.error("Cannot start shard " + i, e);
+					shard.fail("Shard could not be started: " + e.getMessage());
+				}
+			}
+			Thread acceptor = new Thread(new ShardAcceptor(serverSocket, running), "RedDeer shard acceptor");
+			acceptor.setDaemon(true);
+			acceptor.start();
+			for (Shard shard : running) {
+				shard.awaitCompletion();
+			}
+		} catch (IOException e) {
+			log.error("Running shards failed", e);
+		} finally {
+			launcher.close();
+			if (serverSocket != null) {
+				try {
+					serverSocket.close();
+				} catch (IOException e) {
+					// nothing to do
+				}
+			}
+		}
+	}
+
+	/**
+	 * Forked Eclipse instance executing suites of several test run configurations.
+	 * Events of the shard are reported to the notifier with descriptions of its suites.
+	 */
+	public static class Shard {
+
+		private final int index;
+		private final List<Runner> suites;
+		private final RunNotifier notifier;
+		private final TestDurations durations;
+		private final Map<String, Description> descriptions = new HashMap<String, Description>();
+		private Process process;
+		private boolean closed = false;
+		private boolean done = false;
+
+		/**
+		 * Creates shard executing specified suites of test run configurations.
+		 * 
+		 * @param index index of the shard
+		 * @param suites suites of test run configurations named by their ids
+		 * @param notifier notifier to report test events to
+		 */
+		public Shard(int index, List<Runner> suites, RunNotifier notifier) {
+			this(index, suites, notifier, null);
+		}
+
+		/**
+		 * Creates shard executing specified suites of test run configurations
+		 * which records durations of test classes reported by the shard.
+		 * 
+		 * @param index index of the shard
+		 * @param suites suites of test run configurations named by their ids
+		 * @param notifier notifier to report test events to
+		 * @param durations durations to record durations of test classes to or null
+		 */
+		public Shard(int index, List<Runner> suites, RunNotifier notifier, TestDurations durations) {
+			this.index = index;
+			this.suites = suites;
+			this.notifier = notifier;
+			this.durations = durations;
+			for (Runner suite : suites) {
+				Description suiteDescription = suite.getDescription();
+				collectDescriptions(suiteDescription.getDisplayName(), suiteDescription);
+			}
+		}
+
+		private void collectDescriptions(String configurationId, Description description) {
+			// the same test has the same display name in each test run configuration
+			descriptions.put(key(configurationId, description.getDisplayName()), description);
+			for (Description child : description.getChildren()) {
+				collectDescriptions(configurationId, child);
+			}
+		}
+
+		private static String key(String configurationId, String displayName) {
+			return configurationId + "/" + displayName;
+		}
+
+		/**
+		 * Gets ids of test run configurations executed by the shard.
+		 * 
+		 * @return ids of test run configurations
+		 */
+		public List<String> getConfigurationIds() {
+			List<String> ids = new ArrayList<String>();
+			for (Runner suite : suites) {
+				ids.add(suite.getDescription().getDisplayName());
+			}
+			return ids;
+		}
+
+		/**
+		 * Reports event received from the shard to the notifier.
+		 * 
+		 * @param event event of the shard
+		 */
+		public void fire(ShardEvent event) {
+			if (event.getType() == ShardEvent.Type.DONE) {
+				synchronized (this) {
+					done = true;
+				}
+				return;
+			}
+			if (event.getType() == ShardEvent.Type.DURATION) {
+				if (durations != null) {
+					durations.addDuration(event.getDisplayName(), event.getDuration());
+				}
+				return;
+			}
+			Description description = descriptions.get(key(event.getConfigurationId(), event.getDisplayName()));
+			if (description == null) {
+				description = Description.createSuiteDescription(event.getDisplayName());
+			}
+			// listeners of the notifier do not expect concurrent events
+			synchronized (notifier) {
+				switch (event.getType()) {
+					case STARTED: notifier.fireTestStarted(description); break;
+					case FINISHED: notifier.fireTestFinished(description); break;
+					case FAILURE: notifier.fireTestFailure(new Failure(description, event.getFailure())); break;
+					case ASSUMPTION_FAILURE: notifier.fireTestAssumptionFailed(new Failure(description, event.getFailure())); break;
+					case IGNORED: notifier.fireTestIgnored(description); break;
+					default: break;
+				}
+			}
+		}
+
+		/**
+		 * Reports failure of all suites of the shard.
+		 * 
+		 * @param message failure message
+		 */
+		public void fail(String message) {
+			synchronized (notifier) {
+				for (Runner suite : suites) {
+					notifier.fireTestFailure(new Failure(suite.getDescription(), 
+							new IllegalStateException("Shard " + index + ": " + message)));
+				}
+			}
+		}
+
+		/**
+		 * Waits until process of the shard exits and all its events are reported.
+		 */
+		public void awaitCompletion() {
+			int exitCode;
+			try {
+				exitCode = process.waitFor();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				process.destroy();
+				fail("Interrupted while waiting for shard");
+				return;
+			}
+			synchronized (this) {
+				// events are read by connection thread, wait for the last one
+				long deadline = System.currentTimeMillis() + COMPLETION_TIMEOUT;
+				while (!closed && !done && System.currentTimeMillis() < deadline) {
+					try {
+						wait(100);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						break;
+					}
+				}
+				if (!done) {
+					fail("Shard finished with exit code " + exitCode + " before all tests were reported");
+				}
+			}
+			log.info("Shard " + index + " finished with exit code " + exitCode);
+		}
+
+		/**
+		 * Informs the shard its connection was closed.
+		 */
+		public synchronized void disconnected() {
+			closed = true;
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Accepts connections of shards until the server socket is closed.
+	 */
+	private static class ShardAcceptor implements Runnable {
+
+		private final ServerSocket serverSocket;
+		private final List<Shard> shards;
+
+		public ShardAcceptor(ServerSocket serverSocket, List<Shard> shards) {
+			this.serverSocket = serverSocket;
+			this.shards = shards;
+		}
+
+		@Override
+		public void run() {
+			int connections = 0;
+			while (!serverSocket.isClosed()) {
+				try {
+					Socket socket = serverSocket.accept();
+					Thread connection = new Thread(new ShardConnection(socket, shards), 
+							"RedDeer shard connection " + connections++);
+					connection.setDaemon(true);
+					connection.start();
+				} catch (IOException e) {
+					// server socket was closed after all shards finished
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads events sent by a shard. Shard is identified by its index which it sends
+	 * in the first event.
+	 */
+	private static class ShardConnection implements Runnable {
+
+		private final Socket socket;
+		private final List<Shard> shards;
+
+		public ShardConnection(Socket socket, List<Shard> shards) {
+			this.socket = socket;
+			this.shards = shards;
+		}
+
+		private Shard getShard(int index) throws IOException {
+			for (Shard shard : shards) {
+				if (shard.index == index) {
+					return shard;
+				}
+			}
+			throw new IOException("Unknown shard " + index);
+		}
+
+		@Override
+		public void run() {
+			Shard shard = null;
+			try {
+				ObjectInputStream input = new ObjectInputStream(socket.getInputStream());
+				ShardEvent connected = (ShardEvent) input.readObject();
+				shard = getShard(Integer.parseInt(connected.getDisplayName()));
+				while (true) {
+					ShardEvent event = (ShardEvent) input.readObject();
+					shard.fire(event);
+					if (event.getType() == ShardEvent.Type.DONE) {
+						break;
+					}
+				}
+			} catch (EOFException e) {
+				log.warn("Shard closed connection unexpectedly");
+			} catch (IOException | ClassNotFoundException e) {
+				log.error("Reading shard events failed", e);
+			} finally {
+				if (shard != null) {
+					shard.disconnected();
+				}
+				try {
+					socket.close();
+				} catch (IOException e) {
+					// nothing to do
+				}
+			}
+		}
+	}
+}
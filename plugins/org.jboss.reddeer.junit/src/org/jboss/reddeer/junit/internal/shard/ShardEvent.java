@@ -0,0 +1,179 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.shard;
+
+import java.io.Serializable;
+
+/**
+ * Test event sent by a forked Eclipse instance (shard) to the coordinating instance.
+ * Descriptions are identified by ids of their test run configurations and by their 
+ * display names. Failures are sent without original exception classes which might 
+ * not be resolvable by the coordinator.
+ */
+public class ShardEvent implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Type of the shard event.
+	 */
+	public enum Type {
+		CONNECTED, STARTED, FINISHED, FAILURE, ASSUMPTION_FAILURE, IGNORED, DURATION, DONE
+	}
+
+	private final Type type;
+
+	private final String configurationId;
+
+	private final String displayName;
+
+	private final ThrowableInfo failure;
+
+	private final long duration;
+
+	/**
+	 * Creates shard event.
+	 * 
+	 * @param type type of the event
+	 * @param configurationId id of test run configuration of the test or null
+	 * @param displayName display name of the test description or null
+	 * @param failure failure of the test or null
+	 */
+	public ShardEvent(Type type, String configurationId, String displayName, Throwable failure) {
+		this.type = type;
+		this.configurationId = configurationId;
+		this.displayName = displayName;
+		this.failure = failure == null ? null : new ThrowableInfo(failure);
+		this.duration = 0;
+	}
+
+	/**
+	 * Creates shard event with duration of a test class recorded by the shard.
+	 * 
+	 * @param className name of the test class
+	 * @param duration duration of the test class in milliseconds
+	 */
+	public ShardEvent(String className, long duration) {
+		this.type = Type.DURATION;
+		this.configurationId = null;
+		this.displayName = className;
+		this.failure = null;
+		this.duration = duration;
+	}
+
+	/**
+	 * Gets type of the event.
+	 * 
+	 * @return type of the event
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Gets id of test run configuration the test belongs to.
+	 * 
+	 * @return id of test run configuration or null
+	 */
+	public String getConfigurationId() {
+		return configurationId;
+	}
+
+	/**
+	 * Gets display name of the test description.
+	 * 
+	 * @return display name or null
+	 */
+	public String getDisplayName() {
+		return displayName;
+	}
+
+	/**
+	 * Gets duration of the test class of a {@link Type#DURATION} event.
+	 * 
+	 * @return duration in milliseconds
+	 */
+	public long getDuration() {
+		return duration;
+	}
+
+	/**
+	 * Recreates failure of the event.
+	 * 
+	 * @return throwable with message and stack trace of the original failure
+	 */
+	public Throwable getFailure() {
+		return failure == null ? null : failure.toThrowable();
+	}
+
+	private static class ThrowableInfo implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String className;
+
+		private final String message;
+
+		private final boolean assertionError;
+
+		private final StackTraceElement[] stackTrace;
+
+		private final ThrowableInfo cause;
+
+		public ThrowableInfo(Throwable throwable) {
+			className = throwable.getClass().getName();
+			message = throwable.getMessage();
+			assertionError = throwable instanceof AssertionError;
+			stackTrace = throwable.getStackTrace();
+			Throwable throwableCause = throwable.getCause();
+			cause = throwableCause == null || throwableCause == throwable ? null : new ThrowableInfo(throwableCause);
+		}
+
+		public Throwable toThrowable() {
+			String text = message == null ? className : className + ": " + message;
+			Throwable throwable;
+			if (assertionError) {
+				throwable = new ShardAssertionError(text);
+			} else {
+				throwable = new ShardException(text);
+			}
+			throwable.setStackTrace(stackTrace);
+			if (cause != null) {
+				throwable.initCause(cause.toThrowable());
+			}
+			return throwable;
+		}
+	}
+
+	/**
+	 * Assertion error which occurred in a shard.
+	 */
+	static class ShardAssertionError extends AssertionError {
+
+		private static final long serialVersionUID = 1L;
+
+		ShardAssertionError(String message) {
+			super(message);
+		}
+	}
+
+	/**
+	 * Exception which occurred in a shard.
+	 */
+	static class ShardException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		ShardException(String message) {
+			super(message);
+		}
+	}
+}
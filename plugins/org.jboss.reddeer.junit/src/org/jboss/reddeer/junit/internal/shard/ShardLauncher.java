@@ -0,0 +1,293 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.shard;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+
+/**
+ * Forks Eclipse instance running the same tests as the current instance. Command line
+ * of the current instance is taken from properties set by Eclipse launcher 
+ * (eclipse.vm, eclipse.vmargs, eclipse.commands). Forked instance gets its own workspace
+ * and optionally its own X display.<br/>
+ * <br/>
+ * Forked instance keeps options of test runners of PDE JUnit and Tycho launches, but
+ * they are pointed to the shard. PDE test runner of the shard reports to a port which 
+ * discards its messages, the coordinating instance reports merged test events to the 
+ * original test runner. Tycho test runner of the shard writes its reports to the shard
+ * directory, so they are not mixed with reports of the coordinating instance.
+ */
+class ShardLauncher {
+
+	private static final Logger log = Logger.getLogger(ShardLauncher.class);
+
+	private static final String LAUNCHER_MAIN_CLASS = "org.eclipse.equinox.launcher.Main";
+
+	/**
+	 * Options of the current instance which are not passed to shards together with 
+	 * their values. Workspace and vm are specified for each shard separately.
+	 */
+	private static final List<String> SKIPPED_OPTIONS = Arrays.asList("-data", "-vm");
+
+	/**
+	 * Option with port of PDE JUnit test runner.
+	 */
+	private static final String PORT_OPTION = "-port";
+
+	/**
+	 * Option with test properties file of Tycho surefire test runner.
+	 */
+	private static final String TEST_PROPERTIES_OPTION = "-testproperties";
+
+	/**
+	 * Tycho surefire test property with directory test reports are written to.
+	 */
+	private static final String REPORTS_DIRECTORY_PROPERTY = "reportsdirectory";
+
+	private final File shardsDirectory;
+
+	private TestRunnerSink testRunnerSink;
+
+	ShardLauncher() {
+		shardsDirectory = new File(getWorkspaceDirectory().getParentFile(), "reddeer-shards");
+	}
+
+	/**
+	 * Forks Eclipse instance executing specified test run configurations.
+	 * 
+	 * @param index index of the shard
+	 * @param port port of coordinator the shard reports to
+	 * @param configurationIds ids of test run configurations executed by the shard
+	 * @return process of forked Eclipse instance
+	 * @throws IOException if the process cannot be started
+	 */
+	Process launch(int index, int port, List<String> configurationIds) throws IOException {
+		File shardDirectory = new File(shardsDirectory, "shard-" + index);
+		File workspace = new File(shardDirectory, "workspace");
+		if (!workspace.exists() && !workspace.mkdirs()) {
+			throw new IOException("Cannot create workspace " + workspace.getAbsolutePath());
+		}
+
+		List<String> command = new ArrayList<String>();
+		command.add(getVm());
+		command.add("-D" + ShardReporter.WORKER_PORT_PROPERTY + "=" + port);
+		command.add("-D" + ShardReporter.INDEX_PROPERTY + "=" + index);
+		command.add("-D" + ShardReporter.CONFIGURATIONS_PROPERTY + "=" + join(configurationIds));
+		command.add("-D" + RedDeerProperties.PARALLEL_SHARDS.getName() + "=1");
+		command.addAll(getVmArgs());
+		command.addAll(getCommands(workspace, shardDirectory));
+
+		ProcessBuilder builder = new ProcessBuilder(command);
+		builder.redirectErrorStream(true);
+		builder.redirectOutput(new File(shardDirectory, "shard.log"));
+		String display = getDisplay(index);
+		if (display != null) {
+			builder.environment().put("DISPLAY", display);
+		}
+		log.info("Starting shard " + index + " with configurations " + configurationIds 
+				+ (display != null ? " on display " + display : ""));
+		log.debug("Shard command: " + command);
+		return builder.start();
+	}
+
+	private String getVm() {
+		String vm = System.getProperty("eclipse.vm");
+		if (vm == null || !new File(vm).isFile()) {
+			vm = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		}
+		return vm;
+	}
+
+	private List<String> getVmArgs() {
+		String vmArgs = System.getProperty("eclipse.vmargs");
+		if (vmArgs != null) {
+			return lines(vmArgs);
+		}
+		log.warn("Property eclipse.vmargs is not set, using arguments of running JVM");
+		List<String> args = new ArrayList<String>(ManagementFactory.getRuntimeMXBean().getInputArguments());
+		args.add("-classpath");
+		args.add(System.getProperty("java.class.path"));
+		args.add(LAUNCHER_MAIN_CLASS);
+		return args;
+	}
+
+	/**
+	 * Stops discarding messages of PDE test runners of shards.
+	 */
+	void close() {
+		if (testRunnerSink != null) {
+			testRunnerSink.close();
+			testRunnerSink = null;
+		}
+	}
+
+	private List<String> getCommands(File workspace, File shardDirectory) throws IOException {
+		List<String> commands = lines(System.getProperty("eclipse.commands", ""));
+		List<String> result = new ArrayList<String>();
+		for (int i = 0; i < commands.size(); i++) {
+			String command = commands.get(i);
+			boolean hasValue = i + 1 < commands.size();
+			if (SKIPPED_OPTIONS.contains(command)) {
+				// skip the option value too
+				i++;
+			} else if (PORT_OPTION.equals(command) && hasValue) {
+				result.add(command);
+				result.add(String.valueOf(getTestRunnerSink().getPort()));
+				i++;
+			} else if (TEST_PROPERTIES_OPTION.equals(command) && hasValue) {
+				result.add(command);
+				result.add(createTestProperties(new File(commands.get(++i)), shardDirectory).getAbsolutePath());
+			} else {
+				result.add(command);
+			}
+		}
+		result.add("-data");
+		result.add(workspace.getAbsolutePath());
+		return result;
+	}
+
+	private synchronized TestRunnerSink getTestRunnerSink() throws IOException {
+		if (testRunnerSink == null) {
+			testRunnerSink = new TestRunnerSink();
+		}
+		return testRunnerSink;
+	}
+
+	/**
+	 * Copies Tycho test properties for the shard with reports directory in the shard directory.
+	 */
+	private File createTestProperties(File testProperties, File shardDirectory) throws IOException {
+		Properties properties = new Properties();
+		try (InputStream in = new FileInputStream(testProperties)) {
+			properties.load(in);
+		}
+		File reportsDirectory = new File(shardDirectory, "surefire-reports");
+		properties.setProperty(REPORTS_DIRECTORY_PROPERTY, reportsDirectory.getAbsolutePath());
+		File shardProperties = new File(shardDirectory, testProperties.getName());
+		try (OutputStream out = new FileOutputStream(shardProperties)) {
+			properties.store(out, "Test properties of RedDeer shard");
+		}
+		return shardProperties;
+	}
+
+	private String getDisplay(int index) {
+		String displays = RedDeerProperties.PARALLEL_SHARD_DISPLAYS.getValue();
+		if (displays == null || displays.trim().isEmpty()) {
+			return null;
+		}
+		String[] displayArray = displays.split(",");
+		return displayArray[index % displayArray.length].trim();
+	}
+
+	private static File getWorkspaceDirectory() {
+		String instanceArea = System.getProperty("osgi.instance.area");
+		if (instanceArea != null) {
+			try {
+				return new File(URI.create(instanceArea.replace(" ", "%20")));
+			} catch (IllegalArgumentException e) {
+				log.warn("Cannot resolve workspace location " + instanceArea);
+			}
+		}
+		return new File(System.getProperty("java.io.tmpdir"), "reddeer");
+	}
+
+	private static List<String> lines(String text) {
+		List<String> lines = new ArrayList<String>();
+		for (String line : Arrays.asList(text.split("\\r?\\n"))) {
+			if (!line.isEmpty()) {
+				lines.add(line);
+			}
+		}
+		return lines;
+	}
+
+	/**
+	 * Accepts connections of PDE test runners of shards and discards their messages.
+	 */
+	private static class TestRunnerSink implements Runnable {
+
+		private final ServerSocket serverSocket;
+
+		public TestRunnerSink() throws IOException {
+			serverSocket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress());
+			Thread thread = new Thread(this, "RedDeer shard test runner sink");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		public int getPort() {
+			return serverSocket.getLocalPort();
+		}
+
+		public void close() {
+			try {
+				serverSocket.close();
+			} catch (IOException e) {
+				// nothing to do
+			}
+		}
+
+		@Override
+		public void run() {
+			while (!serverSocket.isClosed()) {
+				final Socket socket;
+				try {
+					socket = serverSocket.accept();
+				} catch (IOException e) {
+					// server socket was closed after all shards finished
+					return;
+				}
+				Thread drain = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						byte[] buffer = new byte[8192];
+						try (InputStream in = socket.getInputStream()) {
+							while (in.read(buffer) >= 0) {
+								// messages of the test runner are reported by the coordinator
+							}
+						} catch (IOException e) {
+							// connection closed
+						}
+					}
+				}, "RedDeer shard test runner drain");
+				drain.setDaemon(true);
+				drain.start();
+			}
+		}
+	}
+
+	private static String join(List<String> values) {
+		StringBuilder sb = new StringBuilder();
+		for (String value : values) {
+			if (sb.length() > 0) {
+				sb.append(",");
+			}
+			sb.append(value);
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,172 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.shard;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * Run listener of a forked Eclipse instance (shard) which reports test events 
+ * to the coordinating Eclipse instance. See {@link ShardCoordinator}.
+ */
+public class ShardReporter extends RunListener {
+
+	/**
+	 * System property with port of the coordinator a shard reports to.
+	 */
+	public static final String WORKER_PORT_PROPERTY = "rd.shard.worker";
+
+	/**
+	 * System property with comma separated ids of test run configurations executed by a shard.
+	 */
+	public static final String CONFIGURATIONS_PROPERTY = "rd.shard.configurations";
+
+	/**
+	 * System property with index of a shard.
+	 */
+	public static final String INDEX_PROPERTY = "rd.shard.index";
+
+	private static final Logger log = Logger.getLogger(ShardReporter.class);
+
+	private Socket socket;
+
+	private ObjectOutputStream output;
+
+	private volatile String configurationId;
+
+	/**
+	 * Finds out whether this Eclipse instance is a shard forked by a coordinator.
+	 * 
+	 * @return true if this instance is a shard, false otherwise
+	 */
+	public static boolean isWorker() {
+		return System.getProperty(WORKER_PORT_PROPERTY) != null;
+	}
+
+	/**
+	 * Gets ids of test run configurations executed by this shard.
+	 * 
+	 * @return ids of test run configurations
+	 */
+	public static List<String> getConfigurationIds() {
+		String ids = System.getProperty(CONFIGURATIONS_PROPERTY, "");
+		return Arrays.asList(ids.split(","));
+	}
+
+	/**
+	 * Connects to the coordinator.
+	 * 
+	 * @throws IOException if connection cannot be established
+	 */
+	public void connect() throws IOException {
+		int port = Integer.parseInt(System.getProperty(WORKER_PORT_PROPERTY));
+		socket = new Socket(InetAddress.getLoopbackAddress(), port);
+		output = new ObjectOutputStream(socket.getOutputStream());
+		send(new ShardEvent(ShardEvent.Type.CONNECTED, null, System.getProperty(INDEX_PROPERTY), null));
+		log.info("Reporting test events to coordinator on port " + port);
+	}
+
+	/**
+	 * Sets id of test run configuration whose tests are executed now. 
+	 * Subsequent events are reported for this test run configuration.
+	 * 
+	 * @param configurationId id of test run configuration
+	 */
+	public void setConfigurationId(String configurationId) {
+		this.configurationId = configurationId;
+	}
+
+	/**
+	 * Reports durations of test classes recorded by this shard to the coordinator.
+	 * 
+	 * @param durations durations of test classes
+	 */
+	public void reportDurations(TestDurations durations) {
+		for (Map.Entry<String, Long> entry : durations.getRecordedDurations().entrySet()) {
+			send(new ShardEvent(entry.getKey(), entry.getValue()));
+		}
+	}
+
+	/**
+	 * Informs coordinator all tests of this shard were executed and disconnects.
+	 */
+	public void close() {
+		send(new ShardEvent(ShardEvent.Type.DONE, null, null, null));
+		try {
+			socket.close();
+		} catch (IOException e) {
+			log.warn("Cannot close connection to coordinator: " + e.getMessage());
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.junit.runner.notification.RunListener#testStarted(org.junit.runner.Description)
+	 */
+	@Override
+	public void testStarted(Description description) throws Exception {
+		send(new ShardEvent(ShardEvent.Type.STARTED, configurationId, description.getDisplayName(), null));
+	}
+
+	/* (non-Javadoc)
+	 * @see org.junit.runner.notification.RunListener#testFinished(org.junit.runner.Description)
+	 */
+	@Override
+	public void testFinished(Description description) throws Exception {
+		send(new ShardEvent(ShardEvent.Type.FINISHED, configurationId, description.getDisplayName(), null));
+	}
+
+	/* (non-Javadoc)
+	 * @see org.junit.runner.notification.RunListener#testFailure(org.junit.runner.notification.Failure)
+	 */
+	@Override
+	public void testFailure(Failure failure) throws Exception {
+		send(new ShardEvent(ShardEvent.Type.FAILURE, configurationId, 
+				failure.getDescription().getDisplayName(), failure.getException()));
+	}
+
+	/* (non-Javadoc)
+	 * @see org.junit.runner.notification.RunListener#testAssumptionFailure(org.junit.runner.notification.Failure)
+	 */
+	@Override
+	public void testAssumptionFailure(Failure failure) {
+		send(new ShardEvent(ShardEvent.Type.ASSUMPTION_FAILURE, configurationId, 
+				failure.getDescription().getDisplayName(), failure.getException()));
+	}
+
+	/* (non-Javadoc)
+	 * @see org.junit.runner.notification.RunListener#testIgnored(org.junit.runner.Description)
+	 */
+	@Override
+	public void testIgnored(Description description) throws Exception {
+		send(new ShardEvent(ShardEvent.Type.IGNORED, configurationId, description.getDisplayName(), null));
+	}
+
+	private synchronized void send(ShardEvent event) {
+		try {
+			output.writeObject(event);
+			output.flush();
+			// events are not referenced again, do not keep them in the stream
+			output.reset();
+		} catch (IOException e) {
+			log.error("Cannot report test event to coordinator", e);
+		}
+	}
+}
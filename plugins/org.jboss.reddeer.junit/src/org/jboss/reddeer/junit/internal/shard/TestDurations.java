@@ -0,0 +1,202 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.internal.shard;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
+
+/**
+ * Durations of test classes in milliseconds persisted in a properties file. Durations
+ * are loaded from an input file before tests are run, recorded per test class during 
+ * the run and merged into an output file afterwards. Duration of a test class is the 
+ * wall clock time of the whole class including fulfilling of requirements and class 
+ * level setup and tear down, summed over all test run configurations.<br/>
+ * <br/>
+ * Shards of a single run have to balance by the same durations, so the input file 
+ * is not rewritten when test classes are divided into shards unless a separate 
+ * output file is set.
+ */
+public class TestDurations {
+
+	private static final Logger log = Logger.getLogger(TestDurations.class);
+
+	private final File outputFile;
+
+	private final Map<String, Long> durations = new HashMap<String, Long>();
+
+	private final Map<String, Long> recorded = new HashMap<String, Long>();
+
+	/**
+	 * Loads durations from specified file which is also used to save recorded 
+	 * durations. File does not have to exist.
+	 * 
+	 * @param file properties file with durations
+	 */
+	public TestDurations(File file) {
+		this(file, file);
+	}
+
+	/**
+	 * Loads durations from specified input file. Recorded durations are saved 
+	 * to specified output file. Files do not have to exist.
+	 * 
+	 * @param inputFile properties file with durations from previous runs or null
+	 * @param outputFile properties file to save durations to or null
+	 */
+	public TestDurations(File inputFile, File outputFile) {
+		this.outputFile = outputFile;
+		if (inputFile != null && inputFile.isFile()) {
+			load(inputFile);
+		}
+	}
+
+	/**
+	 * Creates durations from the files set by {@link RedDeerProperties#TEST_DURATIONS_FILE}
+	 * and {@link RedDeerProperties#TEST_DURATIONS_OUTPUT_FILE}. If the output file is not set,
+	 * durations are saved to the input file only if test classes are not divided into shards
+	 * by {@link RedDeerProperties#SHARD_TOTAL}.
+	 * 
+	 * @return durations of test classes, null if neither of the properties is set
+	 */
+	public static TestDurations fromProperties() {
+		String input = RedDeerProperties.TEST_DURATIONS_FILE.getValue();
+		String output = RedDeerProperties.TEST_DURATIONS_OUTPUT_FILE.getValue();
+		if (input == null && output == null) {
+			return null;
+		}
+		if (output == null && RedDeerProperties.SHARD_TOTAL.getIntegerValue() <= 1) {
+			output = input;
+		}
+		return new TestDurations(input == null ? null : new File(input), output == null ? null : new File(output));
+	}
+
+	/**
+	 * Gets duration of specified test class from previous runs.
+	 * 
+	 * @param className name of test class
+	 * @return duration in milliseconds, null if the duration is not known
+	 */
+	public Long getDuration(String className) {
+		return durations.get(className);
+	}
+
+	/**
+	 * Sets duration of specified test class.
+	 * 
+	 * @param className name of test class
+	 * @param duration duration in milliseconds
+	 */
+	public void setDuration(String className, long duration) {
+		durations.put(className, duration);
+	}
+
+	/**
+	 * Records duration of a run of specified test class. Durations of several 
+	 * runs, e.g. in different test run configurations, are summed up.
+	 * 
+	 * @param className name of test class
+	 * @param duration duration of the run in milliseconds
+	 */
+	public void addDuration(String className, long duration) {
+		synchronized (recorded) {
+			Long total = recorded.get(className);
+			recorded.put(className, total == null ? duration : total + duration);
+		}
+	}
+
+	/**
+	 * Gets durations recorded during this run.
+	 * 
+	 * @return durations of test classes in milliseconds
+	 */
+	public Map<String, Long> getRecordedDurations() {
+		synchronized (recorded) {
+			return new HashMap<String, Long>(recorded);
+		}
+	}
+
+	/**
+	 * Merges durations recorded during the run with the loaded durations and saves them
+	 * into the output file. Durations of test classes which were not run are kept.
+	 */
+	public void save() {
+		Map<String, Long> recordedDurations = getRecordedDurations();
+		if (recordedDurations.isEmpty()) {
+			return;
+		}
+		if (outputFile == null) {
+			log.info("Durations of " + recordedDurations.size() + " test classes are not saved, no output file is set");
+			return;
+		}
+		durations.putAll(recordedDurations);
+		Properties properties = new Properties();
+		for (Map.Entry<String, Long> entry : durations.entrySet()) {
+			properties.setProperty(entry.getKey(), String.valueOf(entry.getValue()));
+		}
+		File parent = outputFile.getAbsoluteFile().getParentFile();
+		if (parent != null) {
+			parent.mkdirs();
+		}
+		OutputStream output = null;
+		try {
+			output = new FileOutputStream(outputFile);
+			properties.store(output, "RedDeer test class durations in milliseconds");
+			log.debug("Durations of " + recordedDurations.size() + " test classes saved to " 
+					+ outputFile.getAbsolutePath());
+		} catch (IOException e) {
+			log.error("Cannot save test durations to " + outputFile.getAbsolutePath(), e);
+		} finally {
+			close(output);
+		}
+	}
+
+	private void load(File file) {
+		Properties properties = new Properties();
+		InputStream input = null;
+		try {
+			input = new FileInputStream(file);
+			properties.load(input);
+		} catch (IOException e) {
+			log.warn("Cannot read test durations from " + file.getAbsolutePath() + ": " + e.getMessage());
+			return;
+		} finally {
+			close(input);
+		}
+		for (String className : properties.stringPropertyNames()) {
+			try {
+				durations.put(className, Long.parseLong(properties.getProperty(className).trim()));
+			} catch (NumberFormatException e) {
+				log.warn("Ignoring invalid duration of " + className + " in " + file.getAbsolutePath());
+			}
+		}
+	}
+
+	private static void close(Closeable closeable) {
+		if (closeable != null) {
+			try {
+				closeable.close();
+			} catch (IOException e) {
+				// nothing to do
+			}
+		}
+	}
+}
@@ -0,0 +1,39 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.requirement;
+
+/**
+ * Lifecycle scope of a requirement. Requirement with scope other than {@link #CLASS}
+ * is shared by test classes declaring the same requirement (same annotation values) 
+ * in the same test run configuration. Such requirement is fulfilled only once 
+ * and its clean up is deferred until the last test class of the scope finishes.
+ * 
+ * @see ScopedRequirement
+ */
+public enum RequirementScope {
+
+	/**
+	 * Requirement is fulfilled before and cleaned up after each test class.
+	 */
+	CLASS,
+
+	/**
+	 * Requirement is shared by consecutive test classes declaring it. It is cleaned up
+	 * before the first following test class which does not declare it.
+	 */
+	SUITE,
+
+	/**
+	 * Requirement is shared by all test classes declaring it in a test run configuration.
+	 * It is cleaned up after the last of these test classes finishes.
+	 */
+	CONFIGURATION
+}
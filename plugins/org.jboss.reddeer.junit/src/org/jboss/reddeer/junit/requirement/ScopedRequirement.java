@@ -0,0 +1,30 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.requirement;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Requirements that can be shared by several test classes need to implement the 
+ * interface. Scope is obtained after declaration and configuration of the requirement 
+ * were set, so it can be specified e.g. by an attribute of the requirement annotation.
+ * 
+ * @param <T> requirement annotation
+ */
+public interface ScopedRequirement<T extends Annotation> extends Requirement<T> {
+
+	/**
+	 * Gets the lifecycle scope of the requirement.
+	 *
+	 * @return the scope
+	 */
+	RequirementScope getScope();
+}
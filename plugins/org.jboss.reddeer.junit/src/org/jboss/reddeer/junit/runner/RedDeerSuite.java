@@ -10,11 +10,13 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.junit.runner;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
 import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.properties.RedDeerProperties;
 import org.jboss.reddeer.junit.extensionpoint.IAfterTest;
 import org.jboss.reddeer.junit.extensionpoint.IBeforeTest;
 import org.jboss.reddeer.junit.extensionpoint.IIssueTracker;
@@ -23,13 +25,20 @@ import org.jboss.reddeer.junit.internal.configuration.TestRunConfiguration;
 import org.jboss.reddeer.junit.internal.extensionpoint.AfterTestInitialization;
 import org.jboss.reddeer.junit.internal.extensionpoint.BeforeTestInitialization;
 import org.jboss.reddeer.junit.internal.extensionpoint.IssueTrackerInitialization;
+import org.jboss.reddeer.junit.internal.requirement.RequirementPool;
 import org.jboss.reddeer.junit.internal.runner.EmptySuite;
 import org.jboss.reddeer.junit.internal.runner.NamedSuite;
 import org.jboss.reddeer.junit.internal.runner.RequirementsRunnerBuilder;
 import org.jboss.reddeer.junit.internal.runner.TestsExecutionManager;
 import org.jboss.reddeer.junit.internal.runner.TestsWithoutExecutionSuite;
+import org.jboss.reddeer.junit.internal.shard.ShardAssignment;
+import org.jboss.reddeer.junit.internal.shard.ShardCoordinator;
+import org.jboss.reddeer.junit.internal.shard.ShardReporter;
+import org.jboss.reddeer.junit.internal.shard.TestDurations;
+import org.jboss.reddeer.junit.screenshot.ScreenshotCapturer;
 import org.junit.runner.Runner;
 import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.Suite;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.RunnerBuilder;
@@ -55,6 +64,12 @@ public class RedDeerSuite extends Suite {
 	
 	private static List<IIssueTracker> issueTrackerExtensions;
 
+	// reports events to shard coordinator if this instance is a shard
+	private ShardReporter shardReporter;
+
+	// durations of test classes recorded by this run, null if not enabled
+	private TestDurations durations;
+
 	/**
 	 * Called by the JUnit framework.
 	 *
@@ -76,7 +91,12 @@ public class RedDeerSuite extends Suite {
 	 * @throws InitializationError the initialization error
 	 */
 	protected RedDeerSuite(Class<?> clazz, RunnerBuilder builder, SuiteConfiguration config) throws InitializationError {
-		super(EmptySuite.class, createSuite(clazz, config));
+		this(clazz, config, TestDurations.fromProperties());
+	}
+
+	private RedDeerSuite(Class<?> clazz, SuiteConfiguration config, TestDurations durations) throws InitializationError {
+		super(EmptySuite.class, createSuite(clazz, config, durations));
+		this.durations = durations;
 	}
 
 	/**
@@ -88,23 +108,49 @@ public class RedDeerSuite extends Suite {
 	 * @throws InitializationError the initialization error
 	 */
 	public static List<Runner> createSuite(Class<?> clazz, SuiteConfiguration config) throws InitializationError {
+		return createSuite(clazz, config, TestDurations.fromProperties());
+	}
+
+	/**
+	 * Creates a new suite for each configuration file found. Test classes are assigned
+	 * to shards according to specified durations and their durations are recorded.
+	 *
+	 * @param clazz the clazz
+	 * @param config the config
+	 * @param durations durations of test classes, can be null
+	 * @return the list
+	 * @throws InitializationError the initialization error
+	 */
+	private static List<Runner> createSuite(Class<?> clazz, SuiteConfiguration config, TestDurations durations) 
+			throws InitializationError {
 		log.info("Creating RedDeer suite...");
 		TestsExecutionManager testsManager = new TestsExecutionManager();
+		testsManager.setShardAssignment(ShardAssignment.fromProperties(clazz, durations));
 		List<Runner> configuredSuites = new ArrayList<Runner>();
 		boolean isSuite = isSuite(clazz);
+		boolean isShard = ShardReporter.isWorker();
+		List<String> shardConfigurations = ShardReporter.getConfigurationIds();
 
 		for (TestRunConfiguration testRunConfig : config.getTestRunConfigurations()) {
+			if (isShard && !shardConfigurations.contains(testRunConfig.getId())) {
+				log.debug("Skipping suite with name " + testRunConfig.getId() + " executed by another shard");
+				continue;
+			}
 			log.info("Adding suite with name " + testRunConfig.getId() + " to RedDeer suite");
+			NamedSuite configuredSuite;
 			if (isSuite) {
-				configuredSuites.add(new NamedSuite(clazz, new RequirementsRunnerBuilder(testRunConfig, runListeners,
-						beforeTestExtensions, afterTestExtensions, testsManager), testRunConfig.getId()));
+				configuredSuite = new NamedSuite(clazz, new RequirementsRunnerBuilder(testRunConfig, runListeners,
+						beforeTestExtensions, afterTestExtensions, testsManager), testRunConfig.getId());
 			} else {
-				configuredSuites.add(new NamedSuite(new Class[] { clazz }, new RequirementsRunnerBuilder(testRunConfig,
-						runListeners, beforeTestExtensions, afterTestExtensions, testsManager), testRunConfig.getId()));
+				configuredSuite = new NamedSuite(new Class[] { clazz }, new RequirementsRunnerBuilder(testRunConfig,
+						runListeners, beforeTestExtensions, afterTestExtensions, testsManager), testRunConfig.getId());
 			}
+			configuredSuite.setTestDurations(durations);
+			configuredSuites.add(configuredSuite);
 		}
 
-		if (!testsManager.allTestsAreExecuted()) {
+		// tests without execution are reported by the coordinator
+		if (!isShard && !testsManager.allTestsAreExecuted()) {
 			if (isSuite) {
 				configuredSuites.add(new TestsWithoutExecutionSuite(clazz, testsManager));
 			} else {
@@ -120,6 +166,96 @@ public class RedDeerSuite extends Suite {
 		return annotation != null;
 	}
 
+	/* (non-Javadoc)
+	 * @see org.junit.runners.ParentRunner#run(org.junit.runner.notification.RunNotifier)
+	 */
+	@Override
+	public void run(RunNotifier notifier) {
+		try {
+			if (ShardReporter.isWorker()) {
+				runShard(notifier);
+			} else if (RedDeerProperties.PARALLEL_SHARDS.getIntegerValue() > 1 && getConfigurationSuites().size() > 1) {
+				runSharded(notifier);
+			} else {
+				super.run(notifier);
+			}
+		} finally {
+			// forked instances report their durations to the coordinator
+			if (durations != null && !ShardReporter.isWorker()) {
+				durations.save();
+			}
+			RequirementPool.getInstance().cleanUpAll();
+			// screenshots and log messages are written in background
+			ScreenshotCapturer.getInstance().flush();
+			Logger.flush();
+		}
+	}
+
+	/**
+	 * Runs tests of this instance and reports them to the coordinating instance.
+	 */
+	private void runShard(RunNotifier notifier) {
+		ShardReporter reporter = new ShardReporter();
+		try {
+			reporter.connect();
+		} catch (IOException e) {
+			log.error("Cannot connect to shard coordinator, test results are reported only locally", e);
+			super.run(notifier);
+			return;
+		}
+		notifier.addListener(reporter);
+		shardReporter = reporter;
+		try {
+			super.run(notifier);
+		} finally {
+			shardReporter = null;
+			notifier.removeListener(reporter);
+			if (durations != null) {
+				reporter.reportDurations(durations);
+			}
+			reporter.close();
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.junit.runners.Suite#runChild(org.junit.runner.Runner, org.junit.runner.notification.RunNotifier)
+	 */
+	@Override
+	protected void runChild(Runner runner, RunNotifier notifier) {
+		if (shardReporter != null) {
+			// suites of test run configurations are named by ids of the configurations
+			shardReporter.setConfigurationId(runner.getDescription().getDisplayName());
+		}
+		super.runChild(runner, notifier);
+	}
+
+	/**
+	 * Runs suites of test run configurations in forked Eclipse instances and 
+	 * remaining suites in this instance.
+	 */
+	private void runSharded(RunNotifier notifier) {
+		List<Runner> configurationSuites = getConfigurationSuites();
+		int shards = RedDeerProperties.PARALLEL_SHARDS.getIntegerValue();
+		log.info("Running " + configurationSuites.size() + " test run configurations in " 
+				+ Math.min(shards, configurationSuites.size()) + " shards");
+		new ShardCoordinator(shards, durations).run(configurationSuites, notifier);
+		for (Runner child : getChildren()) {
+			if (!configurationSuites.contains(child)) {
+				child.run(notifier);
+			}
+		}
+	}
+
+	private List<Runner> getConfigurationSuites() {
+		List<Runner> configurationSuites = new ArrayList<Runner>();
+		for (Runner child : getChildren()) {
+			if (child instanceof NamedSuite) {
+				configurationSuites.add(child);
+			}
+		}
+		return configurationSuites;
+	}
+
 	/* (non-Javadoc)
 	 * @see org.junit.runners.ParentRunner#getName()
 	 */
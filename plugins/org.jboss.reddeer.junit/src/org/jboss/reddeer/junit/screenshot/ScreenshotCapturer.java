@@ -16,13 +16,18 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
-import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.widgets.Display;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.common.properties.RedDeerProperties;
+import org.jboss.reddeer.common.wait.TimePeriod;
+import org.jboss.reddeer.junit.internal.screenshot.ScreenshotWriter;
 
 /**
- * This class provides capabilities to capture screenshot of display. 
+ * This class provides capabilities to capture screenshot of display. Only copying
+ * of display pixels is done in UI thread, screenshots are encoded and written 
+ * to files in background. Use {@link #flush()} to wait until all screenshots are written.
+ * Format and compression of screenshots is defined by {@link RedDeerProperties#SCREENSHOT_FORMAT}
+ * and {@link RedDeerProperties#SCREENSHOT_COMPRESSION}.
  * 
  * @author mlabuda@redhat.com
  * @since 0.5
@@ -35,6 +40,8 @@ public class ScreenshotCapturer {
 	
 	private static ScreenshotCapturer instance;
 	
+	private ScreenshotWriter writer = new ScreenshotWriter();
+	
 	private ScreenshotCapturer() {}
 	
 	/**
@@ -87,7 +94,7 @@ public class ScreenshotCapturer {
 			
 			createDirectories(path);
 			
-			captureScreenshot(path + name + ".png");
+			captureScreenshot(path + name);
 		} else {
 			logger.warn("Screenshot has not been captured on failure, because RedDeer property whether screenshot "
 					+ "should be captured or not is set to false.");
@@ -118,16 +125,21 @@ public class ScreenshotCapturer {
 	}
 	
 	/**
-	 * Capture screenshot with specified file name. PNG format is supported.
+	 * Capture screenshot with specified file name. Screenshot is written to the file
+	 * in background, so the file with returned path appears later, once the whole 
+	 * image is written. Use {@link #flush()} to wait for it. Extension of configured 
+	 * format is appended to the file name if it is missing.
 	 *
 	 * @param screenshotFileName the screenshot file name
 	 * @return absolute path to create screenshot filename
 	 * @throws CaptureScreenshotException the capture screenshot exception
 	 */
 	public String captureScreenshot(final String screenshotFileName) throws CaptureScreenshotException {
-		String alteredFileName = getAlteredScreenshotFileName(screenshotFileName);
+		String format = RedDeerProperties.SCREENSHOT_FORMAT.getValue();
+		String alteredFileName = getAlteredScreenshotFileName(screenshotFileName, "." + format);
 		final String fileName = createMissingDirectories(alteredFileName);
 		final Display display = Display.getDefault();
+		final ImageData[] imageData = new ImageData[1];
 		display.syncExec(new Runnable() {
 			@Override
 			public void run() {
@@ -138,12 +150,7 @@ public class ScreenshotCapturer {
 					logger.debug("Capturing Screenshot: " + fileName);
 					image = new Image(display, display.getBounds().width, display.getBounds().height);
 					gc.copyArea(image, display.getBounds().x, display.getBounds().y);
-
-					ImageLoader imageLoader = new ImageLoader();
-					imageLoader.data = new ImageData[] { image.getImageData() };
-					imageLoader.save(fileName, SWT.IMAGE_PNG);
-
-					logger.debug("Screenshot successfully captured. Saved in " + new File(fileName).getAbsolutePath());
+					imageData[0] = image.getImageData();
 				} catch (Exception ex) {
 					logger.error("Capturing screenshot failed", ex);
 					handleCorruptedScreenshot(fileName);
@@ -155,9 +162,31 @@ public class ScreenshotCapturer {
 				}
 			}
 		});
+		if (imageData[0] != null) {
+			writer.write(imageData[0], fileName, getImageFormat(format), 
+					RedDeerProperties.SCREENSHOT_COMPRESSION.getIntegerValue());
+		}
 		return fileName;
 	}
 
+	/**
+	 * Waits until all captured screenshots are written to files.
+	 * 
+	 * @return true if all screenshots were written, false if waiting timed out
+	 */
+	public boolean flush() {
+		return writer.flush(TimePeriod.LONG.getMilliseconds());
+	}
+
+	private int getImageFormat(String format) {
+		if ("jpg".equals(format)) {
+			return SWT.IMAGE_JPEG;
+		} else if ("bmp".equals(format)) {
+			return SWT.IMAGE_BMP;
+		}
+		return SWT.IMAGE_PNG;
+	}
+
 	/**
 	 * Removes corrupted screenshot.
 	 * 
@@ -252,16 +281,15 @@ public class ScreenshotCapturer {
 		}
 	}
 	
-	private String getAlteredScreenshotFileName(String screenshotFileName) {
+	private String getAlteredScreenshotFileName(String screenshotFileName, String fileExtension) {
 		String fileName = screenshotFileName;
-		String fileExtension = ".png";
-		if (!screenshotFileName.contains(fileExtension)) {
+		if (!screenshotFileName.endsWith(fileExtension)) {
 			fileName += fileExtension;
 		}
 		String partialFileName = fileName.substring(0, fileName.lastIndexOf("."));
 		int counter = 2;
-		if (new File(fileName).exists()) {
-			while (new File(partialFileName + "(" + counter + ")" + fileExtension).exists()) {
+		if (exists(fileName)) {
+			while (exists(partialFileName + "(" + counter + ")" + fileExtension)) {
 				counter++;
 			}
 			return partialFileName + "(" + counter + ")" + fileExtension;
@@ -269,4 +297,8 @@ public class ScreenshotCapturer {
 			return partialFileName + fileExtension;
 		}
 	}
+
+	private boolean exists(String fileName) {
+		return new File(fileName).exists() || writer.isPending(fileName);
+	}
 }
@@ -10,19 +10,22 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.logparser.editors;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.LineNumberReader;
-import java.io.StringReader;
-import java.util.Arrays;
-import java.util.Iterator;
-import java.util.TreeMap;
+import java.net.URI;
+import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.action.IMenuListener;
 import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.action.MenuManager;
 import org.eclipse.jface.action.Separator;
+import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.events.ModifyEvent;
@@ -35,6 +38,7 @@ import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.Text;
@@ -46,21 +50,34 @@ import org.eclipse.ui.PartInitException;
 import org.eclipse.ui.part.MultiPageEditorPart;
 import org.jboss.reddeer.logparser.LogParserActivator;
 import org.jboss.reddeer.logparser.LogParserLog;
+import org.jboss.reddeer.logparser.model.LineIndex;
 import org.jboss.reddeer.logparser.model.LogData;
-import org.jboss.reddeer.logparser.model.ParseRule;
+import org.jboss.reddeer.logparser.model.LogParseEngine;
+import org.jboss.reddeer.logparser.model.MappedLog;
+import org.jboss.reddeer.logparser.model.ParsedLog;
 
 public class LogParserEditor extends MultiPageEditorPart {
 	/**
 	 * The ID of the editor as specified by the extension.
 	 */
 	public static final String ID = "org.jboss.reddeer.logparser.editors.LogParserEditor";
+	/**
+	 * Logs larger than this size in bytes are mapped to memory and displayed lazily
+	 * instead of being loaded to text editor.
+	 */
+	public static final long LARGE_LOG_SIZE = 32 * 1024 * 1024;
+	private static final int INDEX_REFRESH_INTERVAL = 500;
 	private static Image findPrevImage;
 	private static Image findNextImage;
 	private static Image closeFindCompositeImage;
 	
 	private ReadOnlyTextEditor sourceTextEditor;
+	private StyledText sourceStyledText;
+	private MappedLog mappedLog;
+	private Job indexJob;
+	private Job parseJob;
 	private StyledText parsedLogStyledText;
-	private TreeMap<Integer, Integer> parsedLineNumToOrigLineNum;
+	private ParsedLog parsedLog;
 	private Text findText;
 	private Label findStatusLabel;	
 	private Composite findComposite;
@@ -100,12 +117,35 @@ public class LogParserEditor extends MultiPageEditorPart {
 			parsedLogStyledText.setFocus();
 			break;
 		case 1:
-			sourceTextEditor.setFocus();
+			if (sourceStyledText != null) {
+				sourceStyledText.setFocus();
+			} else {
+				sourceTextEditor.setFocus();
+			}
 			break;
 		}
 	}
 	
+	@Override
+	public void dispose() {
+		if (indexJob != null) {
+			indexJob.cancel();
+		}
+		if (parseJob != null) {
+			parseJob.cancel();
+		}
+		super.dispose();
+	}
+	
 	public void refreshLog(){
+		if (sourceStyledText != null) {
+			try {
+				openMappedLog(mappedLog.getFile());
+			} catch (IOException ioe) {
+				LogParserLog.logError("Unable to refresh editor content", ioe);
+			}
+			return;
+		}
 		try {
 			sourceTextEditor.getDocumentProvider().resetDocument(sourceTextEditor.getEditorInput());
 		} catch (CoreException ce) {
@@ -187,6 +227,15 @@ public class LogParserEditor extends MultiPageEditorPart {
 	}
 
 	private void createSourcePage() {
+		File logFile = getLogFile();
+		if (logFile != null && logFile.length() > LARGE_LOG_SIZE) {
+			try {
+				createLargeSourcePage(logFile);
+				return;
+			} catch (IOException ioe) {
+				LogParserLog.logError("Unable to map log file " + logFile + " to memory", ioe);
+			}
+		}
 		sourceTextEditor = new ReadOnlyTextEditor();
 		int pageIndex;
 		try {
@@ -197,100 +246,132 @@ public class LogParserEditor extends MultiPageEditorPart {
 		}
 	}
 
+	private void createLargeSourcePage(File logFile) throws IOException {
+		StyledText styledText = new StyledText(getContainer(),
+				SWT.V_SCROLL | SWT.H_SCROLL | SWT.MULTI | SWT.FULL_SELECTION | SWT.READ_ONLY);
+		styledText.setFont(JFaceResources.getTextFont());
+		sourceStyledText = styledText;
+		try {
+			openMappedLog(logFile);
+		} catch (IOException ioe) {
+			sourceStyledText = null;
+			styledText.dispose();
+			throw ioe;
+		}
+		int pageIndex = addPage(sourceStyledText);
+		setPageText(pageIndex, "Original Log");
+	}
+
+	private void openMappedLog(File logFile) throws IOException {
+		if (indexJob != null) {
+			indexJob.cancel();
+		}
+		mappedLog = MappedLog.open(logFile);
+		if (mappedLog.isTruncated()) {
+			LogParserLog.logInfo("Log " + logFile + " is too large, only first " + mappedLog.length()
+					+ " bytes are displayed");
+		}
+		final LineIndex lineIndex = new LineIndex(mappedLog);
+		final MappedLogContent content = new MappedLogContent(mappedLog, lineIndex);
+		sourceStyledText.setContent(content);
+		final Job job = new Job("Indexing log " + logFile.getName()) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				return lineIndex.build(monitor) ? Status.OK_STATUS : Status.CANCEL_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
+		indexJob = job;
+		final Display display = sourceStyledText.getDisplay();
+		display.timerExec(INDEX_REFRESH_INTERVAL, new Runnable() {
+			@Override
+			public void run() {
+				if (sourceStyledText == null || sourceStyledText.isDisposed() 
+						|| sourceStyledText.getContent() != content) {
+					return;
+				}
+				// state is read before refresh so lines indexed before the job ended are published
+				boolean indexing = job.getState() != Job.NONE;
+				content.refresh();
+				if (indexing) {
+					display.timerExec(INDEX_REFRESH_INTERVAL, this);
+				}
+			}
+		});
+	}
+
+	private File getLogFile() {
+		URI uri = ((IURIEditorInput) getEditorInput()).getURI();
+		if (uri == null || !"file".equals(uri.getScheme())) {
+			return null;
+		}
+		return new File(uri);
+	}
+
 	private void updateTitle() {
 		IEditorInput editorInput = getEditorInput();
 		setPartName(editorInput.getName() + " (read-only)");
 		setTitleToolTip(editorInput.getToolTipText());
 	}
 
+	/**
+	 * Parses the log in background job, parsed log is displayed when the job finishes.
+	 * 
+	 * @param logData log data containing parse rules
+	 */
 	public void parseLog(LogData logData) {
-		parsedLogStyledText.setText("");
-		if (parsedLineNumToOrigLineNum == null) {
-			parsedLineNumToOrigLineNum = new TreeMap<Integer, Integer>();
-		} else {
-			parsedLineNumToOrigLineNum.clear();
+		if (parseJob != null) {
+			parseJob.cancel();
 		}
-		LineNumberReader lineNumberReader = new LineNumberReader(new StringReader(
-				sourceTextEditor.getDocumentProvider().getDocument(sourceTextEditor.getEditorInput()).get()));
-		String line;
+		parsedLog = null;
+		final LogParseEngine engine;
 		try {
-			TreeMap<Integer, String> originalLogLines = new TreeMap<Integer, String>();
-			TreeMap<Integer, ParseRule> parsedLogIncludeLines = new TreeMap<Integer, ParseRule>();
-			while ((line = lineNumberReader.readLine()) != null) {
-				int lineNumber = lineNumberReader.getLineNumber();
-				originalLogLines.put(lineNumber, line);
-				boolean notIncludeLine = true;
-				ParseRule parseRule = getDefaultParseRule();
-				if (logData.getParseRules() != null && !logData.getParseRules().isEmpty() && line != null
-						&& line.length() > 0) {
-					boolean excludeRegexNotApplied = true;
-					Iterator<ParseRule> itParseRule = logData.getParseRules().iterator();
-					while (notIncludeLine && excludeRegexNotApplied && itParseRule.hasNext()) {
-						parseRule = itParseRule.next();
-						boolean includeRegexMatches = true;
-						if (parseRule.getIncludeRegex() != null && parseRule.getIncludeRegex().length() > 0) {
-							includeRegexMatches = line.matches(parseRule.getIncludeRegex());
-						}
-						if (includeRegexMatches) {
-							if (parseRule.getExcludeRegex() != null && parseRule.getExcludeRegex().length() > 0) {
-								notIncludeLine = line.matches(parseRule.getExcludeRegex());
-								if (notIncludeLine) {
-									excludeRegexNotApplied = false;
-								}
-							} else {
-								notIncludeLine = false;
-							}
-						}
-					}
-				} else {
-					notIncludeLine = line == null || line.length() == 0;
+			engine = new LogParseEngine(logData.getParseRules());
+		} catch (PatternSyntaxException pse) {
+			parsedLogStyledText.setText("");
+			LogParserLog.logError("Error while parsing log", pse);
+			return;
+		}
+		final CharSequence log = mappedLog != null ? mappedLog
+				: sourceTextEditor.getDocumentProvider().getDocument(sourceTextEditor.getEditorInput()).get();
+		parsedLogStyledText.setText("Parsing log...");
+		final Display display = parsedLogStyledText.getDisplay();
+		parseJob = new Job("Parsing log " + getEditorInput().getName()) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				final ParsedLog result;
+				try {
+					result = engine.parse(log, monitor);
+				} catch (OperationCanceledException oce) {
+					return Status.CANCEL_STATUS;
 				}
-				if (!notIncludeLine) {
-					int addLinesFrom = lineNumber;
-					int addLinesTo = lineNumber;
-					addLinesFrom -= parseRule.getDisplayLinesBefore();
-					if (addLinesFrom < 0) {
-						addLinesFrom = 0;
-					}
-					addLinesTo += parseRule.getDisplaylinesAfter();
-
-					for (int addLineNumber = addLinesFrom; addLineNumber <= addLinesTo; addLineNumber++) {
-						if (!parsedLogIncludeLines.containsKey(addLineNumber)) {
-							parsedLogIncludeLines.put(addLineNumber, parseRule);
+				final Job job = this;
+				display.asyncExec(new Runnable() {
+					@Override
+					public void run() {
+						if (parseJob != job || parsedLogStyledText.isDisposed()) {
+							return;
 						}
+						parsedLog = result;
+						parsedLogStyledText.setText(result.getText());
 					}
-				}
+				});
+				return Status.OK_STATUS;
 			}
-			Iterator<Integer> itIncludeLine = parsedLogIncludeLines.keySet().iterator();
-			int addLineNumber = 0;
-			while (itIncludeLine.hasNext()) {
-				int originalLineNumber = itIncludeLine.next();
-				parsedLogIncludeLines.get(originalLineNumber);
-				String originalLine = originalLogLines.get(originalLineNumber);
-				if (originalLine != null) {
-					ParseRule appliedParseRule = parsedLogIncludeLines.get(originalLineNumber);
-					String insertLine = originalLine;
-					insertLine = fillString(appliedParseRule.getIndent(), ' ') + appliedParseRule.getPrefix()
-							+ originalLine;
-					parsedLogStyledText.append(insertLine + "\n");
-					parsedLineNumToOrigLineNum.put(addLineNumber, originalLineNumber);
-					addLineNumber++;
-				}
-			}
-		} catch (IOException ioe) {
-			LogParserLog.logError("Error while parsing log", ioe);
-		}
-
+		};
+		parseJob.schedule();
 	}
 
 	public void showSelectedParsedLineInOriginalLog(){
 		int selectedParsedLine = parsedLogStyledText.getLineAtOffset(parsedLogStyledText.getSelection().x);
 		setActivePage(1);
 		int selectedOriginalLine = 0;
-		Integer integerLineNum = selectedOriginalLine = parsedLineNumToOrigLineNum.get(selectedParsedLine);
-		if (integerLineNum != null){
-			selectedOriginalLine = integerLineNum - 1;
+		if (parsedLog != null && parsedLog.getOriginalLineNumber(selectedParsedLine) > 0){
+			selectedOriginalLine = parsedLog.getOriginalLineNumber(selectedParsedLine) - 1;
 		}
+		// large log can be still indexed
+		selectedOriginalLine = Math.min(selectedOriginalLine, getSourceEditorStyledText().getLineCount() - 1);
 		getSourceEditorStyledText().setSelection(getSourceEditorStyledText().getOffsetAtLine(selectedOriginalLine));
 	}
 	
@@ -392,29 +473,6 @@ public class LogParserEditor extends MultiPageEditorPart {
 		findText.setText(parsedLogStyledText.getSelectionText());
 	}
 	
-	private ParseRule getDefaultParseRule() {
-		ParseRule defautlParseRule = new ParseRule();
-
-		defautlParseRule.setIncludeRegex("");
-		defautlParseRule.setExcludeRegex("");
-		defautlParseRule.setIndent(0);
-		defautlParseRule.setDisplayLinesBefore(0);
-		defautlParseRule.setDisplaylinesAfter(0);
-		defautlParseRule.setPrefix("");
-
-		return defautlParseRule;
-	}
-
-	private String fillString(int length, char charToFill) {
-		String result = "";
-		if (length > 0) {
-			char[] array = new char[length];
-			Arrays.fill(array, charToFill);
-			result = new String(array);
-		}
-		return result;
-	}
-
 	private void setParsedLogFont() {
 		parsedLogStyledText.setFont(getSourceEditorStyledText().getFont());
 	}
@@ -438,6 +496,9 @@ public class LogParserEditor extends MultiPageEditorPart {
 	}
 	
 	private StyledText getSourceEditorStyledText(){
+		if (sourceStyledText != null) {
+			return sourceStyledText;
+		}
 		Object control = sourceTextEditor.getAdapter(Control.class);
 		return (StyledText)control;
 	}
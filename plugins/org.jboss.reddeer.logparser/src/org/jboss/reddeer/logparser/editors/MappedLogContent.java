@@ -0,0 +1,169 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.logparser.editors;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.custom.StyledTextContent;
+import org.eclipse.swt.custom.TextChangeListener;
+import org.eclipse.swt.custom.TextChangedEvent;
+import org.eclipse.swt.custom.TextChangingEvent;
+import org.jboss.reddeer.logparser.model.LineIndex;
+import org.jboss.reddeer.logparser.model.MappedLog;
+
+/**
+ * Read-only content of StyledText backed by a mapped log. Lines are decoded only
+ * when StyledText asks for them and recently used lines are cached. Content grows 
+ * as lines are indexed, new lines are published by calling {@link #refresh()} 
+ * from UI thread.
+ */
+public class MappedLogContent implements StyledTextContent {
+
+	private static final int LINE_CACHE_SIZE = 1024;
+
+	private final MappedLog log;
+	private final LineIndex index;
+	private final List<TextChangeListener> listeners = new ArrayList<TextChangeListener>();
+	private final Map<Integer, String> lineCache = new LinkedHashMap<Integer, String>(LINE_CACHE_SIZE, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+			return size() > LINE_CACHE_SIZE;
+		}
+	};
+	private int lineCount = 1;
+	private int charCount = 0;
+	private boolean complete = false;
+
+	public MappedLogContent(MappedLog log, LineIndex index) {
+		this.log = log;
+		this.index = index;
+	}
+
+	/**
+	 * Publishes lines indexed since last refresh to listeners. Has to be called
+	 * from UI thread.
+	 */
+	public void refresh() {
+		if (complete) {
+			return;
+		}
+		// completeness has to be read before lines to get consistent state
+		boolean newComplete = index.isComplete();
+		int newLineCount = index.getLineCount();
+		int newCharCount = newComplete ? log.length() : index.getLineStart(newLineCount - 1);
+		if (newCharCount == charCount && newLineCount == lineCount) {
+			complete = newComplete;
+			return;
+		}
+		TextChangingEvent changingEvent = new TextChangingEvent(this);
+		changingEvent.start = charCount;
+		changingEvent.replaceCharCount = 0;
+		changingEvent.replaceLineCount = 0;
+		changingEvent.newCharCount = newCharCount - charCount;
+		changingEvent.newLineCount = newLineCount - lineCount;
+		for (TextChangeListener listener : listeners) {
+			listener.textChanging(changingEvent);
+		}
+		// the last line was empty until now
+		lineCache.remove(lineCount - 1);
+		lineCount = newLineCount;
+		charCount = newCharCount;
+		complete = newComplete;
+		TextChangedEvent changedEvent = new TextChangedEvent(this);
+		for (TextChangeListener listener : listeners) {
+			listener.textChanged(changedEvent);
+		}
+	}
+
+	/**
+	 * Finds out whether all lines of the log were published.
+	 * 
+	 * @return true if content contains whole log
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	@Override
+	public void addTextChangeListener(TextChangeListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeTextChangeListener(TextChangeListener listener) {
+		listeners.remove(listener);
+	}
+
+	@Override
+	public int getCharCount() {
+		return charCount;
+	}
+
+	@Override
+	public String getLine(int lineIndex) {
+		String line = lineCache.get(lineIndex);
+		if (line == null) {
+			line = log.getText(index.getLineStart(lineIndex), getLineEnd(lineIndex));
+			lineCache.put(lineIndex, line);
+		}
+		return line;
+	}
+
+	@Override
+	public int getLineAtOffset(int offset) {
+		return Math.min(index.getLineAtOffset(offset), lineCount - 1);
+	}
+
+	@Override
+	public int getLineCount() {
+		return lineCount;
+	}
+
+	@Override
+	public String getLineDelimiter() {
+		return System.getProperty("line.separator");
+	}
+
+	@Override
+	public int getOffsetAtLine(int lineIndex) {
+		if (lineIndex == lineCount) {
+			return charCount;
+		}
+		return index.getLineStart(lineIndex);
+	}
+
+	@Override
+	public String getTextRange(int start, int length) {
+		return log.getText(start, start + length);
+	}
+
+	@Override
+	public void replaceTextRange(int start, int replaceLength, String text) {
+		// do nothing it's read-only
+	}
+
+	@Override
+	public void setText(String text) {
+		// do nothing it's read-only
+	}
+
+	private int getLineEnd(int lineIndex) {
+		if (lineIndex == lineCount - 1) {
+			return charCount;
+		}
+		return index.getLineEnd(lineIndex);
+	}
+}
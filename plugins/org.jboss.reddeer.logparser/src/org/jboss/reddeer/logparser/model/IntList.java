@@ -0,0 +1,79 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.logparser.model;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive integers.
+ */
+class IntList {
+
+	private int[] values;
+	private int size;
+
+	IntList() {
+		this(1024);
+	}
+
+	IntList(int capacity) {
+		values = new int[Math.max(capacity, 16)];
+	}
+
+	void add(int value) {
+		ensureCapacity(size + 1);
+		values[size++] = value;
+	}
+
+	void addAll(IntList other) {
+		ensureCapacity(size + other.size);
+		System.arraycopy(other.values, 0, values, size, other.size);
+		size += other.size;
+	}
+
+	int get(int index) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+		}
+		return values[index];
+	}
+
+	void set(int index, int value) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+		}
+		values[index] = value;
+	}
+
+	/**
+	 * Grows the list to specified size, new elements are 0.
+	 */
+	void ensureSize(int newSize) {
+		if (newSize > size) {
+			ensureCapacity(newSize);
+			size = newSize;
+		}
+	}
+
+	int size() {
+		return size;
+	}
+
+	int[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > values.length) {
+			values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1)));
+		}
+	}
+}
@@ -0,0 +1,162 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.logparser.model;
+
+import java.util.Arrays;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * Index of line start offsets of a log. Index can be built in background while 
+ * it is read by other threads, readers see only lines indexed so far. Lines are 
+ * terminated by \n, \r or \r\n, there is always one more line than line 
+ * delimiters.
+ */
+public class LineIndex {
+
+	private static final int PROGRESS_STEP = 1 << 20;
+
+	private final CharSequence log;
+	private volatile int[] starts = new int[1024];
+	private volatile int count = 1;
+	private volatile boolean complete = false;
+
+	/**
+	 * Creates index of specified log. Index contains only the first line until
+	 * {@link #build(IProgressMonitor)} is called.
+	 * 
+	 * @param log log content
+	 */
+	public LineIndex(CharSequence log) {
+		this.log = log;
+	}
+
+	/**
+	 * Builds the index. 
+	 * 
+	 * @param monitor progress monitor, work is reported in MB of the log
+	 * @return true if the index was built, false if it was canceled
+	 */
+	public boolean build(IProgressMonitor monitor) {
+		int length = log.length();
+		monitor.beginTask("Indexing lines", length / PROGRESS_STEP + 1);
+		int offset = 0;
+		while (offset < length) {
+			char c = log.charAt(offset++);
+			if (c == '\r' && offset < length && log.charAt(offset) == '\n') {
+				offset++;
+			}
+			if (c == '\n' || c == '\r') {
+				addLine(offset);
+			}
+			if ((offset & (PROGRESS_STEP - 1)) == 0) {
+				monitor.worked(1);
+				if (monitor.isCanceled()) {
+					monitor.done();
+					return false;
+				}
+			}
+		}
+		complete = true;
+		monitor.done();
+		return true;
+	}
+
+	private void addLine(int start) {
+		int[] current = starts;
+		if (count == current.length) {
+			current = Arrays.copyOf(current, current.length + (current.length >> 1));
+			starts = current;
+		}
+		current[count] = start;
+		// publishes the new line to readers
+		count = count + 1;
+	}
+
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * Gets number of indexed lines.
+	 * 
+	 * @return number of lines
+	 */
+	public int getLineCount() {
+		return count;
+	}
+
+	/**
+	 * Gets number of characters covered by indexed lines. Until the index is complete
+	 * the last indexed line is empty.
+	 * 
+	 * @return number of characters
+	 */
+	public int getCharCount() {
+		if (complete) {
+			return log.length();
+		}
+		int lineCount = count;
+		return starts[lineCount - 1];
+	}
+
+	/**
+	 * Gets offset of the first character of specified line.
+	 * 
+	 * @param line 0 based line index
+	 * @return offset of the line
+	 */
+	public int getLineStart(int line) {
+		int lineCount = count;
+		if (line < 0 || line >= lineCount) {
+			throw new IndexOutOfBoundsException("line: " + line + ", count: " + lineCount);
+		}
+		return starts[line];
+	}
+
+	/**
+	 * Gets offset after the last character of specified line excluding line delimiter.
+	 * 
+	 * @param line 0 based line index
+	 * @return end offset of the line
+	 */
+	public int getLineEnd(int line) {
+		int lineCount = count;
+		int[] current = starts;
+		if (line < 0 || line >= lineCount) {
+			throw new IndexOutOfBoundsException("line: " + line + ", count: " + lineCount);
+		}
+		if (line == lineCount - 1) {
+			return complete ? log.length() : current[line];
+		}
+		int end = current[line + 1];
+		if (end > current[line] && log.charAt(end - 1) == '\n') {
+			end--;
+		}
+		if (end > current[line] && log.charAt(end - 1) == '\r') {
+			end--;
+		}
+		return end;
+	}
+
+	/**
+	 * Gets line containing specified offset.
+	 * 
+	 * @param offset character offset
+	 * @return 0 based line index
+	 */
+	public int getLineAtOffset(int offset) {
+		int lineCount = count;
+		int[] current = starts;
+		int index = Arrays.binarySearch(current, 0, lineCount, offset);
+		return index >= 0 ? index : -index - 2;
+	}
+}
@@ -0,0 +1,360 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.logparser.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Parses log according to list of parse rules. Regular expressions of all rules
+ * are compiled once and evaluated in a single pass over the log. Only offsets of
+ * lines and indexes of applied rules are kept during parsing, parsed log text is 
+ * built into one buffer at the end.<br/>
+ * <br/>
+ * Line is included by the first rule whose include regex matches the line unless
+ * exclude regex of this rule matches the line too, then the line is excluded. 
+ * Lines before and after included line are included too according to the rule.
+ * Empty lines are never matched by rules. <br/>
+ * <br/>
+ * Large logs are split to line aligned chunks which are matched in parallel.
+ * Rules are applied to matched lines of chunks in order of chunks, so lines 
+ * before and after matched line are included across chunk boundaries and the
+ * result is the same as when the log is parsed sequentially.
+ */
+public class LogParseEngine {
+
+	/**
+	 * Number of characters of the log matched by one task.
+	 */
+	static final int CHUNK_SIZE = 1 << 20;
+
+	private final ParseRule[] rules;
+	private final Pattern[] includePatterns;
+	private final Pattern[] excludePatterns;
+	private final String[] linePrefixes;
+
+	/**
+	 * Creates engine for specified parse rules. If there are no rules all 
+	 * non empty lines are included.
+	 * 
+	 * @param parseRules parse rules in order of their priority, can be null
+	 * @throws java.util.regex.PatternSyntaxException if a regex of a rule is not valid
+	 */
+	public LogParseEngine(List<ParseRule> parseRules) {
+		if (parseRules == null || parseRules.isEmpty()) {
+			rules = new ParseRule[] { new ParseRule() };
+		} else {
+			rules = parseRules.toArray(new ParseRule[parseRules.size()]);
+		}
+		includePatterns = new Pattern[rules.length];
+		excludePatterns = new Pattern[rules.length];
+		linePrefixes = new String[rules.length];
+		for (int i = 0; i < rules.length; i++) {
+			includePatterns[i] = compile(rules[i].getIncludeRegex());
+			excludePatterns[i] = compile(rules[i].getExcludeRegex());
+			linePrefixes[i] = fillString(rules[i].getIndent(), ' ') + rules[i].getPrefix();
+		}
+	}
+
+	/**
+	 * Parses the log.
+	 * 
+	 * @param log log content
+	 * @return parsed log
+	 */
+	public ParsedLog parse(CharSequence log) {
+		return parse(log, new NullProgressMonitor());
+	}
+
+	/**
+	 * Parses the log. Logs larger than one chunk are matched in parallel.
+	 * 
+	 * @param log log content, it has to be safe to read it from multiple threads
+	 * @param monitor progress monitor, work is reported in chunks
+	 * @return parsed log
+	 * @throws OperationCanceledException if the monitor was canceled
+	 */
+	public ParsedLog parse(CharSequence log, IProgressMonitor monitor) {
+		return parse(log, monitor, CHUNK_SIZE);
+	}
+
+	/**
+	 * Parses the log split to chunks of approximately specified size.
+	 * 
+	 * @param log log content, it has to be safe to read it from multiple threads
+	 * @param monitor progress monitor, work is reported in chunks
+	 * @param chunkSize number of characters of the log matched by one task
+	 * @return parsed log
+	 * @throws OperationCanceledException if the monitor was canceled
+	 */
+	ParsedLog parse(CharSequence log, IProgressMonitor monitor, int chunkSize) {
+		int[] chunkStarts = splitToChunks(log, chunkSize);
+		int chunkCount = chunkStarts.length - 1;
+		monitor.beginTask("Parsing log", chunkCount + 1);
+		IntList lineStarts = new IntList();
+		IntList lineEnds = new IntList();
+		IntList appliedRules = new IntList();
+		ForkJoinPool pool = chunkCount > 1 ? new ForkJoinPool() : null;
+		try {
+			List<ForkJoinTask<Chunk>> tasks = new ArrayList<ForkJoinTask<Chunk>>(chunkCount);
+			for (int i = 0; i < chunkCount; i++) {
+				ChunkTask task = new ChunkTask(log, chunkStarts[i], chunkStarts[i + 1]);
+				tasks.add(pool == null ? task : pool.submit(task));
+			}
+			for (ForkJoinTask<Chunk> task : tasks) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				Chunk chunk = pool == null ? task.invoke() : task.join();
+				int firstLine = lineStarts.size();
+				lineStarts.addAll(chunk.lineStarts);
+				lineEnds.addAll(chunk.lineEnds);
+				for (int i = 0; i < chunk.matchedLines.size(); i++) {
+					applyRule(appliedRules, firstLine + chunk.matchedLines.get(i), chunk.matchedRules.get(i));
+				}
+				monitor.worked(1);
+			}
+			ParsedLog parsedLog = buildParsedLog(log, lineStarts, lineEnds, appliedRules);
+			monitor.worked(1);
+			return parsedLog;
+		} finally {
+			if (pool != null) {
+				pool.shutdownNow();
+			}
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Splits log to chunks of approximately specified size, each chunk starts 
+	 * at the beginning of a line.
+	 * 
+	 * @return start offsets of chunks followed by the log length
+	 */
+	static int[] splitToChunks(CharSequence log, int chunkSize) {
+		int length = log.length();
+		IntList chunkStarts = new IntList();
+		int start = 0;
+		while (start < length) {
+			chunkStarts.add(start);
+			if (length - start <= chunkSize) {
+				break;
+			}
+			int end = start + chunkSize;
+			if (!isLineSeparator(log.charAt(end - 1)) || log.charAt(end - 1) == '\r' && log.charAt(end) == '\n') {
+				while (end < length && !isLineSeparator(log.charAt(end))) {
+					end++;
+				}
+				end = nextLineStart(log, end);
+			}
+			start = end;
+		}
+		chunkStarts.add(length);
+		return chunkStarts.toArray();
+	}
+
+	/**
+	 * Finds lines of a chunk of the log and rules matching them.
+	 */
+	Chunk matchChunk(CharSequence log, int chunkStart, int chunkEnd) {
+		Chunk chunk = new Chunk();
+		RuleMatcher matcher = newMatcher();
+		int start = chunkStart;
+		while (start < chunkEnd) {
+			int end = start;
+			while (end < chunkEnd && !isLineSeparator(log.charAt(end))) {
+				end++;
+			}
+			int line = chunk.lineStarts.size();
+			chunk.lineStarts.add(start);
+			chunk.lineEnds.add(end);
+			int rule = matcher.match(log.subSequence(start, end));
+			if (rule >= 0) {
+				chunk.matchedLines.add(line);
+				chunk.matchedRules.add(rule);
+			}
+			start = nextLineStart(log, end);
+		}
+		return chunk;
+	}
+
+	/**
+	 * Creates matcher of rules. Matcher is not thread safe.
+	 * 
+	 * @return matcher of rules
+	 */
+	RuleMatcher newMatcher() {
+		return new RuleMatcher();
+	}
+
+	/**
+	 * Marks lines included by specified rule applied to specified line. Lines 
+	 * which are already included keep their rule. 
+	 * 
+	 * @param appliedRules index of applied rule + 1 for each line, 0 for lines which are not included
+	 * @param line index of line matched by the rule
+	 * @param rule index of the rule
+	 */
+	void applyRule(IntList appliedRules, int line, int rule) {
+		int from = Math.max(0, line - rules[rule].getDisplayLinesBefore());
+		int to = line + Math.max(0, rules[rule].getDisplaylinesAfter());
+		appliedRules.ensureSize(to + 1);
+		for (int i = from; i <= to; i++) {
+			if (appliedRules.get(i) == 0) {
+				appliedRules.set(i, rule + 1);
+			}
+		}
+	}
+
+	/**
+	 * Builds parsed log text from included lines.
+	 */
+	ParsedLog buildParsedLog(CharSequence log, IntList lineStarts, IntList lineEnds, IntList appliedRules) {
+		int lineCount = lineStarts.size();
+		int includedCount = 0;
+		long textLength = 0;
+		for (int i = 0; i < lineCount && i < appliedRules.size(); i++) {
+			int rule = appliedRules.get(i);
+			if (rule > 0) {
+				includedCount++;
+				textLength += linePrefixes[rule - 1].length() + lineEnds.get(i) - lineStarts.get(i) + 1;
+			}
+		}
+		if (textLength > Integer.MAX_VALUE) {
+			throw new IllegalStateException("Parsed log is too large");
+		}
+		StringBuilder text = new StringBuilder((int) textLength);
+		int[] originalLines = new int[includedCount];
+		int parsedLine = 0;
+		for (int i = 0; i < lineCount && i < appliedRules.size(); i++) {
+			int rule = appliedRules.get(i);
+			if (rule > 0) {
+				text.append(linePrefixes[rule - 1]).append(log, lineStarts.get(i), lineEnds.get(i)).append('\n');
+				originalLines[parsedLine++] = i + 1;
+			}
+		}
+		return new ParsedLog(text.toString(), originalLines);
+	}
+
+	/**
+	 * Gets offset of the line following the line ending at specified offset. 
+	 * Lines are terminated by \n, \r or \r\n.
+	 */
+	static int nextLineStart(CharSequence log, int lineEnd) {
+		int length = log.length();
+		if (lineEnd >= length) {
+			return length;
+		}
+		if (log.charAt(lineEnd) == '\r' && lineEnd + 1 < length && log.charAt(lineEnd + 1) == '\n') {
+			return lineEnd + 2;
+		}
+		return lineEnd + 1;
+	}
+
+	static boolean isLineSeparator(char c) {
+		return c == '\n' || c == '\r';
+	}
+
+	private static Pattern compile(String regex) {
+		return regex == null || regex.length() == 0 ? null : Pattern.compile(regex);
+	}
+
+	private static String fillString(int length, char charToFill) {
+		String result = "";
+		if (length > 0) {
+			char[] array = new char[length];
+			Arrays.fill(array, charToFill);
+			result = new String(array);
+		}
+		return result;
+	}
+
+	/**
+	 * Lines of a chunk, line numbers of matched lines are relative to the chunk.
+	 */
+	static class Chunk {
+
+		final IntList lineStarts = new IntList();
+		final IntList lineEnds = new IntList();
+		final IntList matchedLines = new IntList(64);
+		final IntList matchedRules = new IntList(64);
+	}
+
+	/**
+	 * Matches one chunk of the log.
+	 */
+	private class ChunkTask extends RecursiveTask<Chunk> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final CharSequence log;
+		private final int start;
+		private final int end;
+
+		ChunkTask(CharSequence log, int start, int end) {
+			this.log = log;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected Chunk compute() {
+			return matchChunk(log, start, end);
+		}
+	}
+
+	/**
+	 * Evaluates rules on lines reusing one {@link Matcher} per regex.
+	 */
+	class RuleMatcher {
+
+		private final Matcher[] includeMatchers = new Matcher[rules.length];
+		private final Matcher[] excludeMatchers = new Matcher[rules.length];
+
+		RuleMatcher() {
+			for (int i = 0; i < rules.length; i++) {
+				includeMatchers[i] = includePatterns[i] == null ? null : includePatterns[i].matcher("");
+				excludeMatchers[i] = excludePatterns[i] == null ? null : excludePatterns[i].matcher("");
+			}
+		}
+
+		/**
+		 * Finds rule including the line.
+		 * 
+		 * @param line line without line separator
+		 * @return index of the rule or -1 if the line is not included
+		 */
+		int match(CharSequence line) {
+			if (line.length() == 0) {
+				return -1;
+			}
+			for (int i = 0; i < rules.length; i++) {
+				if (includeMatchers[i] == null || includeMatchers[i].reset(line).matches()) {
+					if (excludeMatchers[i] != null && excludeMatchers[i].reset(line).matches()) {
+						return -1;
+					}
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+}
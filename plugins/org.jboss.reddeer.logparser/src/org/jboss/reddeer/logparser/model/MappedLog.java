@@ -0,0 +1,144 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.logparser.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * Read-only log file mapped to memory. Log is accessed as a sequence of characters 
+ * where each byte is one character (ISO-8859-1), so character offsets are byte 
+ * offsets and no part of the file has to be decoded or loaded to heap in advance.
+ * Character offsets are integers, so only first 2 GB of larger files are accessible.
+ */
+public class MappedLog implements CharSequence {
+
+	private final File file;
+	private final MappedByteBuffer buffer;
+	private final int length;
+	private final long fileSize;
+
+	private MappedLog(File file, MappedByteBuffer buffer, long fileSize) {
+		this.file = file;
+		this.buffer = buffer;
+		this.length = buffer.capacity();
+		this.fileSize = fileSize;
+	}
+
+	/**
+	 * Maps specified file to memory.
+	 * 
+	 * @param file log file
+	 * @return mapped log
+	 * @throws IOException if the file cannot be mapped
+	 */
+	public static MappedLog open(File file) throws IOException {
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+			FileChannel channel = randomAccessFile.getChannel();
+			long fileSize = channel.size();
+			// mapping stays valid after the channel is closed
+			MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, Math.min(fileSize, Integer.MAX_VALUE));
+			return new MappedLog(file, buffer, fileSize);
+		}
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Finds out whether the file is larger than the accessible part.
+	 * 
+	 * @return true if only a part of the file is accessible
+	 */
+	public boolean isTruncated() {
+		return fileSize > length;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		return (char) (buffer.get(index) & 0xFF);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length || start > end) {
+			throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + length);
+		}
+		return new Region(start, end);
+	}
+
+	/**
+	 * Gets text of specified region.
+	 * 
+	 * @param start start offset
+	 * @param end end offset (exclusive)
+	 * @return text of the region
+	 */
+	public String getText(int start, int end) {
+		char[] chars = new char[end - start];
+		for (int i = start; i < end; i++) {
+			chars[i - start] = (char) (buffer.get(i) & 0xFF);
+		}
+		return new String(chars);
+	}
+
+	@Override
+	public String toString() {
+		return getText(0, length);
+	}
+
+	/**
+	 * Region of mapped log, it is not copied until converted to string.
+	 */
+	private class Region implements CharSequence {
+
+		private final int start;
+		private final int end;
+
+		Region(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public int length() {
+			return end - start;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (index < 0 || index >= end - start) {
+				throw new IndexOutOfBoundsException("index: " + index + ", length: " + (end - start));
+			}
+			return MappedLog.this.charAt(start + index);
+		}
+
+		@Override
+		public CharSequence subSequence(int subStart, int subEnd) {
+			return MappedLog.this.subSequence(start + subStart, start + subEnd);
+		}
+
+		@Override
+		public String toString() {
+			return getText(start, end);
+		}
+	}
+}
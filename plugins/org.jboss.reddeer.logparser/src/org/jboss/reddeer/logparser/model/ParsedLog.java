@@ -0,0 +1,53 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.logparser.model;
+
+/**
+ * Result of log parsing. Contains text of parsed log and numbers of original 
+ * log lines for parsed lines.
+ */
+public class ParsedLog {
+
+	private final String text;
+	private final int[] originalLineNumbers;
+
+	/**
+	 * Creates parsed log.
+	 * 
+	 * @param text parsed log text, each line terminated by \n
+	 * @param originalLineNumbers 1 based numbers of original lines for each parsed line
+	 */
+	public ParsedLog(String text, int[] originalLineNumbers) {
+		this.text = text;
+		this.originalLineNumbers = originalLineNumbers;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public int getLineCount() {
+		return originalLineNumbers.length;
+	}
+
+	/**
+	 * Gets number of original log line for specified line of parsed log.
+	 * 
+	 * @param parsedLine 0 based index of parsed line
+	 * @return 1 based number of original line or -1 if there is no such parsed line
+	 */
+	public int getOriginalLineNumber(int parsedLine) {
+		if (parsedLine < 0 || parsedLine >= originalLineNumbers.length) {
+			return -1;
+		}
+		return originalLineNumbers[parsedLine];
+	}
+}
@@ -17,7 +17,8 @@ import java.lang.annotation.Target;
 
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.junit.requirement.CustomConfiguration;
-import org.jboss.reddeer.junit.requirement.Requirement;
+import org.jboss.reddeer.junit.requirement.RequirementScope;
+import org.jboss.reddeer.junit.requirement.ScopedRequirement;
 import org.jboss.reddeer.requirements.db.DatabaseRequirement.Database;
 
 /**
@@ -25,7 +26,7 @@ import org.jboss.reddeer.requirements.db.DatabaseRequirement.Database;
  * @author Jiri Peterka
  *
  */
-public class DatabaseRequirement implements Requirement<Database>, CustomConfiguration<DatabaseConfiguration> {
+public class DatabaseRequirement implements ScopedRequirement<Database>, CustomConfiguration<DatabaseConfiguration> {
 	
 	@Retention(RetentionPolicy.RUNTIME)
 	@Target(ElementType.TYPE)
@@ -37,6 +38,13 @@ public class DatabaseRequirement implements Requirement<Database>, CustomConfigu
 		 * @return the string
 		 */
 		String name();
+
+		/**
+		 * Lifecycle scope of the requirement.
+		 *
+		 * @return the requirement scope
+		 */
+		RequirementScope scope() default RequirementScope.CLASS;
 	}
 	
 	private Logger log = Logger.getLogger(DatabaseRequirement.class);
@@ -114,4 +122,12 @@ public class DatabaseRequirement implements Requirement<Database>, CustomConfigu
 	public void cleanUp() {
 
 	}
+
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.junit.requirement.ScopedRequirement#getScope()
+	 */
+	@Override
+	public RequirementScope getScope() {
+		return database.scope();
+	}
 }
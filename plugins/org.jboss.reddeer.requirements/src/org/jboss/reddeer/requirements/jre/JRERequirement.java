@@ -18,7 +18,8 @@ import java.lang.annotation.Target;
 import org.jboss.reddeer.common.logging.Logger;
 import org.jboss.reddeer.eclipse.jdt.ui.preferences.JREsPreferencePage;
 import org.jboss.reddeer.junit.requirement.CustomConfiguration;
-import org.jboss.reddeer.junit.requirement.Requirement;
+import org.jboss.reddeer.junit.requirement.RequirementScope;
+import org.jboss.reddeer.junit.requirement.ScopedRequirement;
 import org.jboss.reddeer.requirements.jre.JRERequirement.JRE;
 import org.jboss.reddeer.workbench.ui.dialogs.WorkbenchPreferenceDialog;
 
@@ -30,7 +31,7 @@ import org.jboss.reddeer.workbench.ui.dialogs.WorkbenchPreferenceDialog;
  *
  */
 
-public class JRERequirement implements Requirement<JRE>, CustomConfiguration<JREConfiguration> {
+public class JRERequirement implements ScopedRequirement<JRE>, CustomConfiguration<JREConfiguration> {
 
 	private Logger log = Logger.getLogger(JRERequirement.class);
 	private JRE jre;
@@ -53,6 +54,13 @@ public class JRERequirement implements Requirement<JRE>, CustomConfiguration<JRE
 		 * @return true, if successful
 		 */
 		boolean cleanup() default false;
+
+		/**
+		 * Lifecycle scope of the requirement.
+		 *
+		 * @return the requirement scope
+		 */
+		RequirementScope scope() default RequirementScope.CLASS;
 	}
 
 	/**
@@ -171,4 +179,11 @@ public class JRERequirement implements Requirement<JRE>, CustomConfiguration<JRE
 		return configuration.getVersion();
 	}
 
+	/* (non-Javadoc)
+	 * @see org.jboss.reddeer.junit.requirement.ScopedRequirement#getScope()
+	 */
+	@Override
+	public RequirementScope getScope() {
+		return jre.scope();
+	}
 }
@@ -23,6 +23,7 @@ import org.jboss.reddeer.swt.api.TableItem;
 import org.jboss.reddeer.swt.condition.TableHasRows;
 import org.jboss.reddeer.swt.exception.SWTLayerException;
 import org.jboss.reddeer.core.handler.TableHandler;
+import org.jboss.reddeer.core.handler.TableItemSnapshot;
 import org.jboss.reddeer.swt.impl.table.internal.BasicTableItem;
 import org.jboss.reddeer.core.reference.ReferencedComposite;
 import org.jboss.reddeer.common.wait.TimePeriod;
@@ -52,7 +53,7 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	 */
 	@Override
 	public boolean containsItem(String item){
-		for(TableItem it: getItems()){
+		for(TableItemSnapshot it: getItemSnapshots()){
 			if(it.getText().equals(item)){
 				return true;
 			}
@@ -65,8 +66,8 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	 */
 	@Override
 	public boolean containsItem(String item, int cellIndex){
-		for(TableItem it: getItems()){
-			if(it.getText(cellIndex).equals(item)){
+		for(TableItemSnapshot it: getItemSnapshots()){
+			if(it.getCell(cellIndex).equals(item)){
 				return true;
 			}
 		}
@@ -87,6 +88,16 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 		return tableItems;
 	}
 	
+	/**
+	 * Captures texts and states of all table items in a single UI thread round-trip.
+	 *
+	 * @return snapshots of table items
+	 */
+	private List<TableItemSnapshot> getItemSnapshots() {
+		waitUntilTableHasRows();
+		return TableHandler.getInstance().snapshotItems(swtWidget);
+	}
+
 	/* (non-Javadoc)
 	 * @see org.jboss.reddeer.swt.api.Table#getItems(org.hamcrest.Matcher)
 	 */
@@ -265,9 +276,9 @@ public abstract class AbstractTable extends AbstractWidget<org.eclipse.swt.widge
 	@Override
 	public List<TableItem> getSelectetItems(){
 		LinkedList<TableItem> result = new LinkedList<TableItem>();
-		for (TableItem tableItem : getItems()){
+		for (TableItemSnapshot tableItem : getItemSnapshots()){
 			if (tableItem.isSelected()){
-				result.addLast(tableItem);
+				result.addLast(new BasicTableItem(tableItem.getSWTTableItem()));
 			}
 		}
 		return result;
@@ -43,9 +43,8 @@ public abstract class AbstractTree extends AbstractWidget<org.eclipse.swt.widget
 	 * @see org.jboss.reddeer.swt.api.Tree#getAllItems()
 	 */
 	public List<TreeItem> getAllItems() {
-		List<TreeItem> list = new LinkedList<TreeItem>();
-		list.addAll(getAllItemsRecursive(getItems()));
-		return list;
+		return new LinkedList<TreeItem>(
+				TreeSnapshot.capture(this, TreeSnapshot.UNLIMITED_DEPTH, true).getTreeItems());
 	}
 
 	/* (non-Javadoc)
@@ -114,14 +113,14 @@ public abstract class AbstractTree extends AbstractWidget<org.eclipse.swt.widget
 		logger.info("Unselect all tree items");
 		treeHandler.unselectAllItems(swtWidget);
 	}
-	
-	private List<TreeItem> getAllItemsRecursive(List<TreeItem> parentItems) {
-		List<TreeItem> list = new LinkedList<TreeItem>();
 
-		for (TreeItem item : parentItems) {
-			list.add(item);
-			list.addAll(getAllItemsRecursive(item.getItems()));
-		}
-		return list;
+	/**
+	 * Captures all items of the tree in a single UI thread visit. Items are not expanded.
+	 * 
+	 * @return snapshot of the tree
+	 * @see TreeSnapshot
+	 */
+	public TreeSnapshot getSnapshot() {
+		return TreeSnapshot.capture(this);
 	}
 }
@@ -0,0 +1,523 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.impl.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Event;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.swt.api.Tree;
+import org.jboss.reddeer.swt.api.TreeItem;
+import org.jboss.reddeer.swt.impl.tree.internal.BasicTreeItem;
+
+/**
+ * Immutable snapshot of a whole tree or subtree captured in a single UI thread 
+ * visit. Items are stored in flat arrays in pre-order (parent is followed by its 
+ * descendants), so the snapshot can be traversed and filtered without accessing 
+ * UI thread. Optionally only items up to a specified depth are captured and 
+ * collapsed items are expanded during the visit.<br/>
+ * <br/>
+ * If items are not expanded, only already existing children of collapsed items 
+ * are captured. Lazy trees (e.g. JFace viewers) create children of collapsed 
+ * items when the items are expanded, so they should be captured with expanding.
+ */
+public class TreeSnapshot {
+
+	/**
+	 * Max depth capturing all items regardless of their depth.
+	 */
+	public static final int UNLIMITED_DEPTH = -1;
+
+	private final org.eclipse.swt.widgets.TreeItem[] items;
+	private final String[][] cells;
+	private final String[] rootPath;
+	private final int[] parents;
+	private final int[] depths;
+	private final int[] subtreeEnds;
+	private final int[] itemCounts;
+	private final boolean[] checked;
+	private final boolean[] expanded;
+	private final boolean[] selected;
+	private final List<Row> rows;
+
+	private TreeSnapshot(Builder builder) {
+		int size = builder.size;
+		items = builder.items.toArray(new org.eclipse.swt.widgets.TreeItem[size]);
+		cells = builder.cells.toArray(new String[size][]);
+		rootPath = builder.rootPath;
+		parents = Arrays.copyOf(builder.parents, size);
+		depths = Arrays.copyOf(builder.depths, size);
+		subtreeEnds = Arrays.copyOf(builder.subtreeEnds, size);
+		itemCounts = Arrays.copyOf(builder.itemCounts, size);
+		checked = Arrays.copyOf(builder.checked, size);
+		expanded = Arrays.copyOf(builder.expanded, size);
+		selected = Arrays.copyOf(builder.selected, size);
+		Row[] rowArray = new Row[size];
+		for (int i = 0; i < size; i++) {
+			rowArray[i] = new Row(i);
+		}
+		rows = Collections.unmodifiableList(Arrays.asList(rowArray));
+	}
+
+	/**
+	 * Captures all items of specified tree without expanding them.
+	 * 
+	 * @param tree tree to capture
+	 * @return snapshot of the tree
+	 */
+	public static TreeSnapshot capture(Tree tree) {
+		return capture(tree, UNLIMITED_DEPTH, false);
+	}
+
+	/**
+	 * Captures items of specified tree.
+	 * 
+	 * @param tree tree to capture
+	 * @param maxDepth max depth of captured items, 0 captures only top level items, 
+	 * 		{@link #UNLIMITED_DEPTH} captures all items
+	 * @param expand whether collapsed items having children should be expanded
+	 * @return snapshot of the tree
+	 */
+	public static TreeSnapshot capture(Tree tree, final int maxDepth, final boolean expand) {
+		final org.eclipse.swt.widgets.Tree swtTree = tree.getSWTWidget();
+		return Display.syncExec(new ResultRunnable<TreeSnapshot>() {
+			@Override
+			public TreeSnapshot run() {
+				Builder builder = new Builder(swtTree, new String[0], maxDepth, expand);
+				builder.visit(swtTree.getItems(), -1, 0);
+				return new TreeSnapshot(builder);
+			}
+		});
+	}
+
+	/**
+	 * Captures descendants of specified tree item without expanding them.
+	 * 
+	 * @param treeItem tree item whose descendants are captured
+	 * @return snapshot of the subtree
+	 */
+	public static TreeSnapshot capture(TreeItem treeItem) {
+		return capture(treeItem, UNLIMITED_DEPTH, false);
+	}
+
+	/**
+	 * Captures descendants of specified tree item. Depth of direct children of 
+	 * the tree item is 0.
+	 * 
+	 * @param treeItem tree item whose descendants are captured
+	 * @param maxDepth max depth of captured items, 0 captures only direct children, 
+	 * 		{@link #UNLIMITED_DEPTH} captures all descendants
+	 * @param expand whether the tree item and collapsed descendants having children 
+	 * 		should be expanded
+	 * @return snapshot of the subtree
+	 */
+	public static TreeSnapshot capture(TreeItem treeItem, final int maxDepth, final boolean expand) {
+		final org.eclipse.swt.widgets.TreeItem swtTreeItem = treeItem.getSWTWidget();
+		return Display.syncExec(new ResultRunnable<TreeSnapshot>() {
+			@Override
+			public TreeSnapshot run() {
+				LinkedList<String> path = new LinkedList<String>();
+				for (org.eclipse.swt.widgets.TreeItem item = swtTreeItem; item != null; item = item.getParentItem()) {
+					path.addFirst(item.getText());
+				}
+				Builder builder = new Builder(swtTreeItem.getParent(), path.toArray(new String[path.size()]),
+						maxDepth, expand);
+				if (expand) {
+					builder.expand(swtTreeItem);
+				}
+				builder.visit(swtTreeItem.getItems(), -1, 0);
+				return new TreeSnapshot(builder);
+			}
+		});
+	}
+
+	/**
+	 * Gets number of captured items.
+	 * 
+	 * @return number of items
+	 */
+	public int size() {
+		return rows.size();
+	}
+
+	/**
+	 * Gets all captured items in pre-order.
+	 * 
+	 * @return unmodifiable list of rows
+	 */
+	public List<Row> getRows() {
+		return rows;
+	}
+
+	/**
+	 * Gets row on specified index.
+	 * 
+	 * @param index index of the row in pre-order
+	 * @return row on specified index
+	 */
+	public Row getRow(int index) {
+		return rows.get(index);
+	}
+
+	/**
+	 * Gets top level rows, i.e. rows of depth 0.
+	 * 
+	 * @return top level rows
+	 */
+	public List<Row> getTopRows() {
+		return getRowsAtDepth(0);
+	}
+
+	/**
+	 * Gets rows of specified depth.
+	 * 
+	 * @param depth depth of rows
+	 * @return rows of specified depth in pre-order
+	 */
+	public List<Row> getRowsAtDepth(int depth) {
+		List<Row> result = new ArrayList<Row>();
+		for (int i = 0; i < depths.length; i++) {
+			if (depths[i] == depth) {
+				result.add(rows.get(i));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets rows whose text matches specified matcher.
+	 * 
+	 * @param textMatcher matcher of item text
+	 * @return matching rows in pre-order
+	 */
+	public List<Row> getRows(Matcher<?> textMatcher) {
+		List<Row> result = new ArrayList<Row>();
+		for (int i = 0; i < cells.length; i++) {
+			if (textMatcher.matches(cells[i][0])) {
+				result.add(rows.get(i));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets row with specified path relative to the root of the snapshot.
+	 * 
+	 * @param path texts of the item and its ancestors captured in the snapshot
+	 * @return row with specified path or null if there is no such row
+	 */
+	public Row getRow(String... path) {
+		int from = 0;
+		int to = cells.length;
+		Row row = null;
+		for (String text : path) {
+			row = null;
+			for (int i = from; i < to; i = subtreeEnds[i]) {
+				if (cells[i][0].equals(text)) {
+					row = rows.get(i);
+					break;
+				}
+			}
+			if (row == null) {
+				return null;
+			}
+			from = row.index + 1;
+			to = subtreeEnds[row.index];
+		}
+		return row;
+	}
+
+	/**
+	 * Gets all captured items as tree items. Creating tree items does not access 
+	 * UI thread.
+	 * 
+	 * @return tree items in pre-order
+	 */
+	public List<TreeItem> getTreeItems() {
+		List<TreeItem> result = new ArrayList<TreeItem>(items.length);
+		for (org.eclipse.swt.widgets.TreeItem item : items) {
+			result.add(new BasicTreeItem(item));
+		}
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "TreeSnapshot " + Arrays.toString(rootPath) + " with " + size() + " items";
+	}
+
+	/**
+	 * Captured tree item. Row is a view of the snapshot arrays, its methods do
+	 * not access UI thread.
+	 */
+	public class Row {
+
+		private final int index;
+
+		private Row(int index) {
+			this.index = index;
+		}
+
+		/**
+		 * Gets index of the row in pre-order.
+		 * 
+		 * @return index of the row
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * Gets tree item the row was captured from.
+		 * 
+		 * @return SWT tree item
+		 */
+		public org.eclipse.swt.widgets.TreeItem getSWTTreeItem() {
+			return items[index];
+		}
+
+		/**
+		 * Creates tree item the row was captured from.
+		 * 
+		 * @return tree item
+		 */
+		public TreeItem getTreeItem() {
+			return new BasicTreeItem(items[index]);
+		}
+
+		/**
+		 * Gets text of the tree item.
+		 * 
+		 * @return text of the tree item
+		 */
+		public String getText() {
+			return cells[index][0];
+		}
+
+		/**
+		 * Gets text of a cell on specified index.
+		 * 
+		 * @param cellIndex index of a cell
+		 * @return text of the cell
+		 */
+		public String getCell(int cellIndex) {
+			return cells[index][cellIndex];
+		}
+
+		/**
+		 * Gets texts of all cells. If the tree has no columns, returned array
+		 * contains only text of the tree item.
+		 * 
+		 * @return texts of all cells
+		 */
+		public String[] getCells() {
+			return cells[index].clone();
+		}
+
+		/**
+		 * Gets path of the tree item, i.e. texts of all ancestors and text of
+		 * the tree item.
+		 * 
+		 * @return path of the tree item
+		 */
+		public String[] getPath() {
+			String[] path = new String[rootPath.length + depths[index] + 1];
+			System.arraycopy(rootPath, 0, path, 0, rootPath.length);
+			for (int i = index; i >= 0; i = parents[i]) {
+				path[rootPath.length + depths[i]] = cells[i][0];
+			}
+			return path;
+		}
+
+		/**
+		 * Gets depth of the row, top level rows have depth 0.
+		 * 
+		 * @return depth of the row
+		 */
+		public int getDepth() {
+			return depths[index];
+		}
+
+		/**
+		 * Gets parent row.
+		 * 
+		 * @return parent row or null if the row is top level row
+		 */
+		public Row getParent() {
+			return parents[index] < 0 ? null : rows.get(parents[index]);
+		}
+
+		/**
+		 * Gets captured children of the row.
+		 * 
+		 * @return children rows
+		 */
+		public List<Row> getChildren() {
+			List<Row> children = new ArrayList<Row>();
+			for (int i = index + 1; i < subtreeEnds[index]; i = subtreeEnds[i]) {
+				children.add(rows.get(i));
+			}
+			return children;
+		}
+
+		/**
+		 * Gets captured descendants of the row.
+		 * 
+		 * @return descendant rows in pre-order
+		 */
+		public List<Row> getDescendants() {
+			return rows.subList(index + 1, subtreeEnds[index]);
+		}
+
+		/**
+		 * Gets count of direct children of the tree item. Children are not 
+		 * captured if max depth was reached or the item was not expanded, 
+		 * lazy trees may report items which were not created yet.
+		 * 
+		 * @return count of direct children
+		 */
+		public int getItemCount() {
+			return itemCounts[index];
+		}
+
+		/**
+		 * Finds out whether the tree item was checked.
+		 * 
+		 * @return true if tree item was checked, false otherwise
+		 */
+		public boolean isChecked() {
+			return checked[index];
+		}
+
+		/**
+		 * Finds out whether the tree item was expanded before it was captured.
+		 * 
+		 * @return true if tree item was expanded, false otherwise
+		 */
+		public boolean isExpanded() {
+			return expanded[index];
+		}
+
+		/**
+		 * Finds out whether the tree item was selected.
+		 * 
+		 * @return true if tree item was selected, false otherwise
+		 */
+		public boolean isSelected() {
+			return selected[index];
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return "Row " + Arrays.toString(getPath());
+		}
+	}
+
+	/**
+	 * Collects items in UI thread.
+	 */
+	private static class Builder {
+
+		private final org.eclipse.swt.widgets.Tree swtTree;
+		private final String[] rootPath;
+		private final int maxDepth;
+		private final boolean expand;
+		private final int columnCount;
+		private final Set<org.eclipse.swt.widgets.TreeItem> selection;
+
+		private final List<org.eclipse.swt.widgets.TreeItem> items = new ArrayList<org.eclipse.swt.widgets.TreeItem>();
+		private final List<String[]> cells = new ArrayList<String[]>();
+		private int size = 0;
+		private int[] parents = new int[64];
+		private int[] depths = new int[64];
+		private int[] subtreeEnds = new int[64];
+		private int[] itemCounts = new int[64];
+		private boolean[] checked = new boolean[64];
+		private boolean[] expanded = new boolean[64];
+		private boolean[] selected = new boolean[64];
+
+		Builder(org.eclipse.swt.widgets.Tree swtTree, String[] rootPath, int maxDepth, boolean expand) {
+			this.swtTree = swtTree;
+			this.rootPath = rootPath;
+			this.maxDepth = maxDepth;
+			this.expand = expand;
+			this.columnCount = Math.max(1, swtTree.getColumnCount());
+			this.selection = new HashSet<org.eclipse.swt.widgets.TreeItem>(Arrays.asList(swtTree.getSelection()));
+		}
+
+		void visit(org.eclipse.swt.widgets.TreeItem[] swtItems, int parent, int depth) {
+			for (org.eclipse.swt.widgets.TreeItem item : swtItems) {
+				int index = add(item, parent, depth);
+				if (maxDepth == UNLIMITED_DEPTH || depth < maxDepth) {
+					if (expand && !expanded[index] && itemCounts[index] > 0) {
+						expand(item);
+					}
+					visit(item.getItems(), index, depth + 1);
+				}
+				subtreeEnds[index] = size;
+			}
+		}
+
+		/**
+		 * Expands the item the same way as user does, i.e. tree is notified first
+		 * so lazy trees can create children.
+		 */
+		void expand(org.eclipse.swt.widgets.TreeItem item) {
+			if (!item.getExpanded()) {
+				Event event = new Event();
+				event.item = item;
+				swtTree.notifyListeners(SWT.Expand, event);
+				item.setExpanded(true);
+			}
+		}
+
+		private int add(org.eclipse.swt.widgets.TreeItem item, int parent, int depth) {
+			if (size == parents.length) {
+				int capacity = size * 2;
+				parents = Arrays.copyOf(parents, capacity);
+				depths = Arrays.copyOf(depths, capacity);
+				subtreeEnds = Arrays.copyOf(subtreeEnds, capacity);
+				itemCounts = Arrays.copyOf(itemCounts, capacity);
+				checked = Arrays.copyOf(checked, capacity);
+				expanded = Arrays.copyOf(expanded, capacity);
+				selected = Arrays.copyOf(selected, capacity);
+			}
+			String[] itemCells = new String[columnCount];
+			for (int i = 0; i < columnCount; i++) {
+				itemCells[i] = item.getText(i);
+			}
+			items.add(item);
+			cells.add(itemCells);
+			parents[size] = parent;
+			depths[size] = depth;
+			itemCounts[size] = item.getItemCount();
+			checked[size] = item.getChecked();
+			expanded[size] = item.getExpanded();
+			selected[size] = selection.contains(item);
+			return size++;
+		}
+	}
+}
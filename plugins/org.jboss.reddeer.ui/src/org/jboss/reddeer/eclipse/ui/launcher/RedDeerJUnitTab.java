@@ -240,7 +240,8 @@ public class RedDeerJUnitTab extends AbstractLaunchConfigurationTab {
 					TextCellEditor te = new TextCellEditor((Composite) getViewer().getControl());
 					te.addListener(new CustomCellEditorListener(te, element));
 					return te;
-				} else if (property.getProperty().getType() == RedDeerPropertyType.FLOAT){
+				} else if (property.getProperty().getType() == RedDeerPropertyType.FLOAT
+						|| property.getProperty().getType() == RedDeerPropertyType.INTEGER){
 						TextCellEditor te = new TextCellEditor((Composite) getViewer().getControl());
 						te.addListener(new CustomCellEditorListener(te, element));
 						return te;
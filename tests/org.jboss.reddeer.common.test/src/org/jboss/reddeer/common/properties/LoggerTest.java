@@ -10,9 +10,20 @@
  ******************************************************************************/ 
 package org.jboss.reddeer.common.properties;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.jboss.reddeer.common.context.ExecutionSetting;
 import org.jboss.reddeer.common.logging.Logger;
+import org.jboss.reddeer.common.logging.MessageType;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 
 /**
@@ -25,6 +36,30 @@ public class LoggerTest {
 
 	
 	private static final Logger log = Logger.getLogger(LoggerTest.class);
+
+	private static final int MESSAGES = 3000;
+
+	private PrintStream originalOut;
+
+	private ByteArrayOutputStream output;
+
+	private int originalFilter;
+
+	@Before
+	public void redirectOutput() {
+		originalOut = System.out;
+		originalFilter = ExecutionSetting.getInstance().getLogMessageFilter();
+		output = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(output, true));
+	}
+
+	@After
+	public void restoreOutput() {
+		Logger.flush();
+		ExecutionSetting.getInstance().setAsyncLogging(false);
+		ExecutionSetting.getInstance().setLogMessageFilter(originalFilter);
+		System.setOut(originalOut);
+	}
 			
 	@Test
 	public void testLoggerMessageTypes() {
@@ -45,4 +80,101 @@ public class LoggerTest {
 			fail("Logger error:" + e.getMessage());
 		}
 	}
+
+	@Test
+	public void testLoggerCachedPerClass() {
+		assertThat(Logger.getLogger(LoggerTest.class), sameInstance(Logger.getLogger(LoggerTest.class)));
+		assertThat(Logger.getLogger(LoggerTest.class), not(sameInstance(Logger.getLogger(RedDeerPropertiesTest.class))));
+	}
+
+	@Test
+	public void testFormattingSkippedForDisabledType() {
+		ExecutionSetting.getInstance().setLogMessageFilter(MessageType.ERROR);
+		CountingArgument argument = new CountingArgument();
+
+		log.debug("DEBUG %s", argument);
+		log.trace("TRACE %s", argument);
+		log.info("INFO %s", argument);
+		assertThat(argument.formatted, is(0));
+		assertThat(output.size(), is(0));
+
+		log.error("ERROR %s", argument);
+		assertThat(argument.formatted, is(1));
+	}
+
+	@Test
+	public void testAsyncLoggingPrintsAllMessagesInOrder() throws InterruptedException {
+		ExecutionSetting.getInstance().setAsyncLogging(true);
+		Thread[] threads = new Thread[2];
+		for (int t = 0; t < threads.length; t++) {
+			final int id = t;
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					for (int i = 0; i < MESSAGES; i++) {
+						log.error(id + " " + i);
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Logger.flush();
+
+		String[] lines = output.toString().split("\\r?\\n");
+		assertThat(lines.length, is(MESSAGES * threads.length));
+		int[] expected = new int[threads.length];
+		for (String line : lines) {
+			String[] parts = line.substring(line.indexOf("[LoggerTest] ") + "[LoggerTest] ".length()).split(" ");
+			int id = Integer.parseInt(parts[0]);
+			assertThat(Integer.parseInt(parts[1]), is(expected[id]++));
+		}
+	}
+
+	@Test
+	public void testIdleAsyncPrinterIsParked() throws InterruptedException {
+		ExecutionSetting.getInstance().setAsyncLogging(true);
+		log.error("first");
+		Logger.flush();
+		Thread printer = getThread("RedDeer log appender");
+
+		waitForState(printer, Thread.State.WAITING);
+		log.error("second");
+		Logger.flush();
+		assertThat(output.toString().trim().endsWith("[LoggerTest] second"), is(true));
+		waitForState(printer, Thread.State.WAITING);
+	}
+
+	private static Thread getThread(String name) {
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (name.equals(thread.getName())) {
+				return thread;
+			}
+		}
+		fail("Thread " + name + " is not running");
+		return null;
+	}
+
+	private static void waitForState(Thread thread, Thread.State state) throws InterruptedException {
+		for (int i = 0; i < 500 && thread.getState() != state; i++) {
+			Thread.sleep(10);
+		}
+		assertThat(thread.getState(), is(state));
+	}
+
+	/**
+	 * Argument counting how many times it was formatted.
+	 */
+	private static class CountingArgument {
+
+		private int formatted = 0;
+
+		@Override
+		public String toString() {
+			formatted++;
+			return "argument";
+		}
+	}
 }
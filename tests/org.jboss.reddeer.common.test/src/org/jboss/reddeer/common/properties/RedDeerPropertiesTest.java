@@ -30,6 +30,10 @@ public class RedDeerPropertiesTest {
 
 	private static boolean timePeriodFactorDefined = false;
 
+	private static String mouseClickDelay;
+
+	private static boolean mouseClickDelayDefined = false;
+
 	@BeforeClass
 	public static void setup(){
 
@@ -42,6 +46,11 @@ public class RedDeerPropertiesTest {
 			timePeriodFactor = RedDeerProperties.TIME_PERIOD_FACTOR.getValue();			
 			timePeriodFactorDefined = true;
 		}
+
+		if (System.getProperties().containsKey(RedDeerProperties.MOUSE_CLICK_DELAY.getName())){
+			mouseClickDelay = RedDeerProperties.MOUSE_CLICK_DELAY.getValue();
+			mouseClickDelayDefined = true;
+		}
 	}
 
 	@AfterClass
@@ -57,6 +66,12 @@ public class RedDeerPropertiesTest {
 		} else {
 			System.clearProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName());
 		}
+
+		if (mouseClickDelayDefined){
+			System.setProperty(RedDeerProperties.MOUSE_CLICK_DELAY.getName(), mouseClickDelay);
+		} else {
+			System.clearProperty(RedDeerProperties.MOUSE_CLICK_DELAY.getName());
+		}
 	}
 
 	@Test(expected=RedDeerException.class)
@@ -105,4 +120,25 @@ public class RedDeerPropertiesTest {
 
 		RedDeerProperties.TIME_PERIOD_FACTOR.getFloatValue();
 	}
+
+	@Test
+	public void getIntegerSystemValue() {
+		System.setProperty(RedDeerProperties.MOUSE_CLICK_DELAY.getName(), "20");
+
+		assertThat(RedDeerProperties.MOUSE_CLICK_DELAY.getIntegerValue(), is(20));
+	}
+
+	@Test(expected=RedDeerException.class)
+	public void getSystemValue_integer_fail() {
+		System.setProperty(RedDeerProperties.MOUSE_CLICK_DELAY.getName(), "0.5");
+
+		RedDeerProperties.MOUSE_CLICK_DELAY.getValue();
+	}
+
+	@Test(expected=RedDeerException.class)
+	public void getIntegerSystemValue_floatProperty() {
+		System.setProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName(), "0.5");
+
+		RedDeerProperties.TIME_PERIOD_FACTOR.getIntegerValue();
+	}
 }
@@ -0,0 +1,120 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.common.test.wait;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.jboss.reddeer.common.condition.AbstractWaitCondition;
+import org.jboss.reddeer.common.condition.WaitCondition;
+import org.jboss.reddeer.common.exception.WaitTimeoutExpiredException;
+import org.jboss.reddeer.common.wait.AdaptivePollingStrategy;
+import org.jboss.reddeer.common.wait.BackoffPollingStrategy;
+import org.jboss.reddeer.common.wait.FixedPollingStrategy;
+import org.jboss.reddeer.common.wait.TimePeriod;
+import org.jboss.reddeer.common.wait.WaitUntil;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PollingStrategyTest {
+
+	private WaitCondition condition = new TrueCondition();
+
+	@Before
+	public void setup() {
+		TimePeriod.updateFactor();
+	}
+
+	@Test
+	public void fixedPollingStrategy() {
+		FixedPollingStrategy strategy = new FixedPollingStrategy(TimePeriod.getCustomMilliseconds(100));
+
+		assertThat(strategy.getDelay(condition, 1, 0), is(100L));
+		assertThat(strategy.getDelay(condition, 10, 5000), is(100L));
+	}
+
+	@Test
+	public void backoffPollingStrategy() {
+		BackoffPollingStrategy strategy = new BackoffPollingStrategy(TimePeriod.getCustomMilliseconds(10),
+				TimePeriod.getCustomMilliseconds(100), 2);
+
+		assertThat(strategy.getDelay(condition, 1, 0), is(10L));
+		assertThat(strategy.getDelay(condition, 2, 0), is(20L));
+		assertThat(strategy.getDelay(condition, 4, 0), is(80L));
+		assertThat(strategy.getDelay(condition, 5, 0), is(100L));
+		assertThat(strategy.getDelay(condition, 1000, 0), is(100L));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void backoffPollingStrategy_invalidMultiplier() {
+		new BackoffPollingStrategy(TimePeriod.getCustomMilliseconds(10), TimePeriod.SHORT, 0.5);
+	}
+
+	@Test
+	public void adaptivePollingStrategy() {
+		AdaptivePollingStrategy strategy = new AdaptivePollingStrategy();
+		strategy.waitingFinished(condition, true, 400);
+
+		assertThat(strategy.getDelay(condition, 1, 0), is(100L));
+		// waiting takes much longer than usually, fall back to backoff
+		assertTrue(strategy.getDelay(condition, 1, 1000) < 100L);
+	}
+
+	@Test
+	public void adaptivePollingStrategy_timeoutIsIgnored() {
+		AdaptivePollingStrategy strategy = new AdaptivePollingStrategy();
+		strategy.waitingFinished(condition, false, 400);
+
+		assertThat(strategy.getDelay(condition, 1, 0), is(AdaptivePollingStrategy.MIN_DELAY));
+	}
+
+	@Test
+	public void waitWithSubsecondPolling() {
+		final long start = System.currentTimeMillis();
+		new WaitUntil(new AbstractWaitCondition() {
+
+			@Override
+			public boolean test() {
+				return System.currentTimeMillis() - start > 100;
+			}
+		}, TimePeriod.NORMAL, true, new BackoffPollingStrategy());
+
+		assertTrue(System.currentTimeMillis() - start < 1000);
+	}
+
+	@Test
+	public void subsecondTimeoutIsReportedInMilliseconds() {
+		try {
+			new WaitUntil(new FalseCondition(), TimePeriod.getCustomMilliseconds(200));
+			fail("Wait should time out");
+		} catch (WaitTimeoutExpiredException e) {
+			assertTrue(e.getMessage(), e.getMessage().startsWith("Timeout after: 200 ms.: "));
+		}
+	}
+
+	private class TrueCondition extends AbstractWaitCondition {
+
+		@Override
+		public boolean test() {
+			return true;
+		}
+	}
+
+	private class FalseCondition extends AbstractWaitCondition {
+
+		@Override
+		public boolean test() {
+			return false;
+		}
+	}
+}
@@ -129,4 +129,52 @@ public class TimePeriodTest {
 		
 		assertThat(TimePeriod.getCustom(1).getSeconds(), is(0L));
 	}
+
+	@Test
+	public void getMilliseconds_factor1() {
+		System.setProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName(), "1");
+		TimePeriod.updateFactor();
+
+		assertThat(TimePeriod.getCustom(5).getMilliseconds(), is(5000L));
+		assertThat(TimePeriod.getCustomMilliseconds(250).getMilliseconds(), is(250L));
+	}
+
+	@Test
+	public void getMilliseconds_factor1_periodmax() {
+		System.setProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName(), "1");
+		TimePeriod.updateFactor();
+
+		assertThat(TimePeriod.getCustom(Long.MAX_VALUE).getMilliseconds(), is(Long.MAX_VALUE));
+		assertThat(TimePeriod.getCustom(Long.MAX_VALUE - 2).getMilliseconds(), is(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void getMilliseconds_factor_gt1() {
+		System.setProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName(), "2");
+		TimePeriod.updateFactor();
+
+		assertThat(TimePeriod.getCustomMilliseconds(250).getMilliseconds(), is(500L));
+	}
+
+	@Test
+	public void getMilliseconds_factor_lt1() {
+		System.setProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName(), "0.5");
+		TimePeriod.updateFactor();
+
+		assertThat(TimePeriod.getCustomMilliseconds(5).getMilliseconds(), is(3L));
+	}
+
+	@Test
+	public void getSeconds_customMilliseconds() {
+		System.setProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName(), "1");
+		TimePeriod.updateFactor();
+
+		assertThat(TimePeriod.getCustomMilliseconds(1500).getSeconds(), is(1L));
+		assertThat(TimePeriod.getCustomMilliseconds(500).getSeconds(), is(0L));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void getCustomMilliseconds_negative() {
+		TimePeriod.getCustomMilliseconds(-1);
+	}
 }
@@ -0,0 +1,157 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.test.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.jboss.reddeer.common.wait.TimePeriod;
+import org.jboss.reddeer.core.handler.EventPipeline;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.junit.runner.RedDeerSuite;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(RedDeerSuite.class)
+public class EventPipelineTest {
+
+	private final List<String> notified = Collections.synchronizedList(new ArrayList<String>());
+
+	private Shell shell;
+
+	private Button first;
+
+	private Button second;
+
+	@Before
+	public void setUp() {
+		shell = Display.syncExec(new ResultRunnable<Shell>() {
+
+			@Override
+			public Shell run() {
+				Shell shell = new Shell(org.eclipse.swt.widgets.Display.getDefault());
+				shell.setText("Event pipeline test");
+				shell.setLayout(new FillLayout());
+				first = createButton(shell, "first");
+				second = createButton(shell, "second");
+				shell.open();
+				return shell;
+			}
+		});
+	}
+
+	@After
+	public void tearDown() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell.dispose();
+			}
+		});
+	}
+
+	@Test
+	public void eventsAreNotifiedInOrderOfAddition() {
+		EventPipeline pipeline = new EventPipeline()
+			.add(SWT.MouseDown, first)
+			.add(SWT.MouseDown, second)
+			.add(SWT.MouseUp, first)
+			.add(SWT.Selection, second);
+		assertEquals(4, pipeline.size());
+		assertEquals(0, notified.size());
+
+		pipeline.flush();
+		assertEquals(0, pipeline.size());
+		assertEquals(Arrays.asList("first:" + SWT.MouseDown, "second:" + SWT.MouseDown,
+				"first:" + SWT.MouseUp, "second:" + SWT.Selection), notified);
+	}
+
+	@Test
+	public void postDoesNotWaitForEvents() {
+		final CountDownLatch released = new CountDownLatch(1);
+		final boolean[] releasedInTime = new boolean[1];
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				first.addListener(SWT.Selection, new Listener() {
+
+					@Override
+					public void handleEvent(Event event) {
+						try {
+							// blocks as long as the caller of post() would be blocked
+							releasedInTime[0] = released.await(
+									TimePeriod.NORMAL.getMilliseconds(), TimeUnit.MILLISECONDS);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					}
+				});
+			}
+		});
+
+		new EventPipeline().add(SWT.Selection, first).post();
+		released.countDown();
+		EventPipeline.barrier();
+		assertTrue("Listener was notified before post() returned", releasedInTime[0]);
+		assertEquals(Arrays.asList("first:" + SWT.Selection), notified);
+	}
+
+	@Test
+	public void eventsOfDisposedWidgetsAreSkipped() {
+		EventPipeline pipeline = new EventPipeline()
+			.add(SWT.Selection, first)
+			.add(SWT.Selection, second);
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				first.dispose();
+			}
+		});
+
+		pipeline.flush();
+		assertEquals(Arrays.asList("second:" + SWT.Selection), notified);
+	}
+
+	private Button createButton(Shell shell, final String name) {
+		Button button = new Button(shell, SWT.PUSH);
+		button.setText(name);
+		Listener listener = new Listener() {
+
+			@Override
+			public void handleEvent(Event event) {
+				notified.add(name + ":" + event.type);
+			}
+		};
+		button.addListener(SWT.MouseDown, listener);
+		button.addListener(SWT.MouseUp, listener);
+		button.addListener(SWT.Selection, listener);
+		return button;
+	}
+}
@@ -0,0 +1,173 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.test.lookup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FormAttachment;
+import org.eclipse.swt.layout.FormData;
+import org.eclipse.swt.layout.FormLayout;
+import org.eclipse.swt.layout.RowLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.swt.widgets.Widget;
+import org.jboss.reddeer.core.lookup.LabelLookup;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.junit.runner.RedDeerSuite;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(RedDeerSuite.class)
+public class LabelLookupTest {
+
+	private Shell shell;
+	private Shell inactiveShell;
+	private Label nameLabel;
+	private Text nameText;
+	private Text imageText;
+	private Text attachedText;
+	private Text inactiveAttachedText;
+	private Text inactivePrecededText;
+
+	@Before
+	public void setUp() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				org.eclipse.swt.widgets.Display display = org.eclipse.swt.widgets.Display.getDefault();
+				inactiveShell = new Shell(display);
+				inactiveShell.setText("Inactive label lookup test");
+				inactiveShell.setLayout(new RowLayout(SWT.VERTICAL));
+				new Label(inactiveShell, SWT.NONE).setText("Inactive preceding");
+				inactivePrecededText = new Text(inactiveShell, SWT.BORDER);
+				inactiveAttachedText = createFormAttached(inactiveShell, "Inactive attached");
+				inactiveShell.open();
+
+				shell = new Shell(display);
+				shell.setText("Label lookup test");
+				shell.setLayout(new RowLayout(SWT.VERTICAL));
+				Composite composite = new Composite(shell, SWT.NONE);
+				composite.setLayout(new RowLayout(SWT.VERTICAL));
+				nameLabel = new Label(composite, SWT.NONE);
+				nameLabel.setText("Name");
+				nameText = new Text(composite, SWT.BORDER);
+				Label imageLabel = new Label(composite, SWT.NONE);
+				imageLabel.setText("Image");
+				imageLabel.setImage(display.getSystemImage(SWT.ICON_INFORMATION));
+				imageText = new Text(composite, SWT.BORDER);
+				attachedText = createFormAttached(shell, "Attached");
+				shell.setSize(400, 400);
+				shell.open();
+				shell.layout(true, true);
+				shell.forceActive();
+			}
+		});
+	}
+
+	@After
+	public void tearDown() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell.dispose();
+				inactiveShell.dispose();
+			}
+		});
+	}
+
+	@Test
+	public void testPrecedingLabel() {
+		assertEquals("Name", getLabel(nameText));
+	}
+
+	@Test
+	public void testFormAttachedLabelWinsOverPrecedingLabel() {
+		assertEquals("Attached", getLabel(attachedText));
+	}
+
+	@Test
+	public void testLabelWithImageIsSkipped() {
+		assertEquals("Name", getLabel(imageText));
+	}
+
+	@Test
+	public void testNestedSessions() {
+		String[] labels = Display.syncExec(new ResultRunnable<String[]>() {
+
+			@Override
+			public String[] run() {
+				String[] labels = new String[4];
+				LabelLookup lookup = LabelLookup.getInstance();
+				lookup.startSession();
+				try {
+					lookup.startSession();
+					try {
+						labels[0] = lookup.getLabel(nameText);
+						nameLabel.setText("Changed");
+						labels[1] = lookup.getLabel(nameText);
+					} finally {
+						lookup.endSession();
+					}
+					labels[2] = lookup.getLabel(nameText);
+				} finally {
+					lookup.endSession();
+				}
+				labels[3] = lookup.getLabel(nameText);
+				return labels;
+			}
+		});
+		assertEquals("Name", labels[0]);
+		// labels are resolved once per session
+		assertEquals("Name", labels[1]);
+		// inner session does not drop labels of the outer one
+		assertEquals("Name", labels[2]);
+		assertEquals("Changed", labels[3]);
+	}
+
+	@Test
+	public void testWidgetOutsideActiveParent() {
+		// only labels attached using form data are resolved outside of the active parent
+		assertEquals("Inactive attached", getLabel(inactiveAttachedText));
+		assertNull(getLabel(inactivePrecededText));
+	}
+
+	private static Text createFormAttached(Composite parent, String labelText) {
+		Composite composite = new Composite(parent, SWT.NONE);
+		composite.setLayout(new FormLayout());
+		Label attachedLabel = new Label(composite, SWT.NONE);
+		attachedLabel.setText(labelText);
+		new Label(composite, SWT.NONE).setText("Preceding");
+		Text text = new Text(composite, SWT.BORDER);
+		FormData formData = new FormData();
+		formData.right = new FormAttachment(text);
+		attachedLabel.setLayoutData(formData);
+		return text;
+	}
+
+	private static String getLabel(final Widget widget) {
+		return Display.syncExec(new ResultRunnable<String>() {
+
+			@Override
+			public String run() {
+				return LabelLookup.getInstance().getLabel(widget);
+			}
+		});
+	}
+}
@@ -0,0 +1,223 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.test.lookup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.common.wait.TimePeriod;
+import org.jboss.reddeer.core.lookup.TreeItemLookup;
+import org.jboss.reddeer.core.matcher.TreeItemTextMatcher;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.junit.runner.RedDeerSuite;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(RedDeerSuite.class)
+@SuppressWarnings("unchecked")
+public class TreeItemLookupTest {
+
+	private Shell shell;
+	private Tree tree;
+
+	@Before
+	public void setUp() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell = new Shell(org.eclipse.swt.widgets.Display.getDefault());
+				shell.setText("Tree item lookup test");
+				shell.setLayout(new FillLayout());
+				tree = new Tree(shell, SWT.BORDER);
+				shell.setSize(300, 300);
+				shell.open();
+			}
+		});
+	}
+
+	@After
+	public void tearDown() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell.dispose();
+			}
+		});
+	}
+
+	@Test
+	public void testSameNamedParents() {
+		createItem(createItem(tree, "Parent"), "Other");
+		TreeItem second = createItem(createItem(tree, "Parent"), "Child");
+		TreeItem third = createItem(createItem(tree, "Parent"), "Child");
+
+		List<TreeItem> items = TreeItemLookup.getInstance().getTreeItems(tree, 
+				matcher("Parent"), matcher("Child"));
+		assertEquals(2, items.size());
+		assertSame(second, items.get(0));
+		assertSame(third, items.get(1));
+		assertSame(third, TreeItemLookup.getInstance().getTreeItem(tree, 1, 
+				matcher("Parent"), matcher("Child")));
+	}
+
+	@Test
+	public void testIndexShortCircuit() {
+		TreeItem child = createItem(createItem(tree, "Parent"), "Child");
+		// children of this parent never appear
+		createItem(tree, "Parent");
+
+		long start = System.currentTimeMillis();
+		assertSame(child, TreeItemLookup.getInstance().getTreeItem(tree, 0, 
+				matcher("Parent"), matcher("Child")));
+		long elapsed = System.currentTimeMillis() - start;
+		assertTrue("Lookup waited for children of the second parent (" + elapsed + " ms)",
+				elapsed < TimePeriod.NORMAL.getMilliseconds());
+	}
+
+	@Test
+	public void testMatchedParentsAreExpanded() {
+		// children of collapsed parents already exist, lookup has to expand them anyway
+		final TreeItem parent = createItem(tree, "Parent");
+		final TreeItem child = createItem(parent, "Child");
+		createItem(child, "Grandchild");
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				parent.setExpanded(false);
+			}
+		});
+
+		TreeItem grandchild = TreeItemLookup.getInstance().getTreeItem(tree, 0, 
+				matcher("Parent"), matcher("Child"), matcher("Grandchild"));
+		assertSame(child, getParentItem(grandchild));
+		assertTrue("Parent is not expanded", isExpanded(parent));
+		assertTrue("Child is not expanded", isExpanded(child));
+	}
+
+	@Test
+	public void testEmptyChildOfPlainTree() {
+		// item without text and data is a regular child of a tree not managed by a viewer
+		TreeItem child = createItem(createItem(tree, "Parent"), "");
+
+		List<TreeItem> items = TreeItemLookup.getInstance().getTreeItems(tree, 
+				matcher("Parent"), matcher(""));
+		assertEquals(1, items.size());
+		assertSame(child, items.get(0));
+	}
+
+	@Test
+	public void testPlaceholderOfViewerTree() {
+		final TreeItem parent = createItem(tree, "Parent");
+		createItem(parent, "");
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				// emulate a tree viewer creating children of a collapsed item on expand
+				tree.setData("input");
+				parent.setData("parent");
+				tree.addListener(SWT.Expand, new Listener() {
+
+					@Override
+					public void handleEvent(Event event) {
+						TreeItem item = (TreeItem) event.item;
+						for (TreeItem placeholder : item.getItems()) {
+							placeholder.dispose();
+						}
+						TreeItem child = new TreeItem(item, SWT.NONE);
+						child.setText("Child");
+						child.setData("child");
+					}
+				});
+			}
+		});
+
+		List<TreeItem> items = TreeItemLookup.getInstance().getTreeItems(tree, 
+				matcher("Parent"), matcher("Child"));
+		assertEquals(1, items.size());
+		assertEquals("child", getData(items.get(0)));
+	}
+
+	private Matcher<TreeItem> matcher(String text) {
+		return new TreeItemTextMatcher(text);
+	}
+
+	private Object getData(final TreeItem item) {
+		return Display.syncExec(new ResultRunnable<Object>() {
+
+			@Override
+			public Object run() {
+				return item.getData();
+			}
+		});
+	}
+
+	private TreeItem getParentItem(final TreeItem item) {
+		return Display.syncExec(new ResultRunnable<TreeItem>() {
+
+			@Override
+			public TreeItem run() {
+				return item.getParentItem();
+			}
+		});
+	}
+
+	private boolean isExpanded(final TreeItem item) {
+		return Display.syncExec(new ResultRunnable<Boolean>() {
+
+			@Override
+			public Boolean run() {
+				return item.getExpanded();
+			}
+		});
+	}
+
+	private TreeItem createItem(final Tree parent, final String text) {
+		return Display.syncExec(new ResultRunnable<TreeItem>() {
+
+			@Override
+			public TreeItem run() {
+				TreeItem item = new TreeItem(parent, SWT.NONE);
+				item.setText(text);
+				return item;
+			}
+		});
+	}
+
+	private TreeItem createItem(final TreeItem parent, final String text) {
+		return Display.syncExec(new ResultRunnable<TreeItem>() {
+
+			@Override
+			public TreeItem run() {
+				TreeItem item = new TreeItem(parent, SWT.NONE);
+				item.setText(text);
+				return item;
+			}
+		});
+	}
+}
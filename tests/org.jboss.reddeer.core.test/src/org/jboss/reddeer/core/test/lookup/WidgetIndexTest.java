@@ -0,0 +1,225 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.test.lookup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.RowLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Widget;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.core.lookup.WidgetIndex;
+import org.jboss.reddeer.core.matcher.AndMatcher;
+import org.jboss.reddeer.core.matcher.ClassMatcher;
+import org.jboss.reddeer.core.matcher.WithTextMatcher;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.junit.runner.RedDeerSuite;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(RedDeerSuite.class)
+public class WidgetIndexTest {
+
+	private Shell shell;
+	private Composite composite;
+	private Button first;
+	private Button second;
+
+	@Before
+	public void setUp() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell = new Shell(org.eclipse.swt.widgets.Display.getDefault());
+				shell.setText("Widget index test");
+				shell.setLayout(new RowLayout(SWT.VERTICAL));
+				composite = new Composite(shell, SWT.NONE);
+				composite.setLayout(new RowLayout(SWT.VERTICAL));
+				new Label(composite, SWT.NONE).setText("Label");
+				first = new Button(composite, SWT.PUSH);
+				first.setText("First");
+				second = new Button(composite, SWT.CHECK);
+				second.setText("Second");
+				shell.setSize(300, 300);
+				shell.open();
+				shell.layout(true, true);
+			}
+		});
+	}
+
+	@After
+	public void tearDown() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell.dispose();
+			}
+		});
+	}
+
+	@Test
+	public void testIndexHit() {
+		List<Button> buttons = findControls(new ClassMatcher(Button.class));
+		assertEquals(2, buttons.size());
+		assertSame(first, buttons.get(0));
+		assertSame(second, buttons.get(1));
+		assertTrue(isIndexed());
+
+		assertEquals(buttons, findControls(new ClassMatcher(Button.class)));
+		assertSame(second, findControl(new ClassMatcher(Button.class), 1));
+		assertNull(findControl(new ClassMatcher(Button.class), 2));
+		assertTrue(isIndexed());
+	}
+
+	@Test
+	public void testClassOnlyKeying() {
+		assertEquals(1, findControls(new ClassMatcher(Label.class)).size());
+		assertEquals(1, findControls(new AndMatcher(new ClassMatcher(Button.class),
+				new WithTextMatcher("Second"))).size());
+
+		// texts are not indexed, changed text is matched on indexed widgets
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				second.setText("Changed");
+			}
+		});
+		assertTrue(isIndexed());
+		assertTrue(findControls(new AndMatcher(new ClassMatcher(Button.class),
+				new WithTextMatcher("Second"))).isEmpty());
+		List<Button> changed = findControls(new AndMatcher(new ClassMatcher(Button.class),
+				new WithTextMatcher("Changed")));
+		assertEquals(1, changed.size());
+		assertSame(second, changed.get(0));
+	}
+
+	@Test
+	public void testInvalidationOnDispose() {
+		assertEquals(2, findControls(new ClassMatcher(Button.class)).size());
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				first.dispose();
+			}
+		});
+		assertFalse(isIndexed());
+		List<Button> buttons = findControls(new ClassMatcher(Button.class));
+		assertEquals(1, buttons.size());
+		assertSame(second, buttons.get(0));
+	}
+
+	@Test
+	public void testInvalidationOnCreate() {
+		assertEquals(2, findControls(new ClassMatcher(Button.class)).size());
+		final Button third = Display.syncExec(new ResultRunnable<Button>() {
+
+			@Override
+			public Button run() {
+				Button button = new Button(composite, SWT.PUSH);
+				button.setText("Third");
+				composite.layout(true);
+				return button;
+			}
+		});
+		assertFalse(isIndexed());
+		List<Button> buttons = findControls(new ClassMatcher(Button.class));
+		assertEquals(3, buttons.size());
+		assertSame(third, buttons.get(2));
+	}
+
+	@Test
+	public void testNoInvalidationOnResizeAndReskin() {
+		assertEquals(2, findControls(new ClassMatcher(Button.class)).size());
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell.setSize(400, 400);
+				shell.layout(true, true);
+				shell.reskin(SWT.ALL);
+			}
+		});
+		// flush skin events sent asynchronously
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+			}
+		});
+		assertTrue(isIndexed());
+		assertEquals(2, findControls(new ClassMatcher(Button.class)).size());
+	}
+
+	@Test
+	public void testInvalidationOnHide() {
+		assertEquals(2, findControls(new ClassMatcher(Button.class)).size());
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				first.setVisible(false);
+			}
+		});
+		assertFalse(isIndexed());
+		List<Button> buttons = findControls(new ClassMatcher(Button.class));
+		assertEquals(1, buttons.size());
+		assertSame(second, buttons.get(0));
+	}
+
+	private boolean isIndexed() {
+		return Display.syncExec(new ResultRunnable<Boolean>() {
+
+			@Override
+			public Boolean run() {
+				return WidgetIndex.getInstance().isIndexed(shell);
+			}
+		});
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private <T extends Widget> List<T> findControls(final Matcher matcher) {
+		return Display.syncExec(new ResultRunnable<List<T>>() {
+
+			@Override
+			public List<T> run() {
+				return WidgetIndex.getInstance().findControls(shell, (Matcher<T>) matcher);
+			}
+		});
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private <T extends Widget> T findControl(final Matcher matcher, final int index) {
+		return Display.syncExec(new ResultRunnable<T>() {
+
+			@Override
+			public T run() {
+				return WidgetIndex.getInstance().findControl(shell, (Matcher<T>) matcher, index);
+			}
+		});
+	}
+}
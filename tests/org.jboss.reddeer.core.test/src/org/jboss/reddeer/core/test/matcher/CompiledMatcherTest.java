@@ -0,0 +1,152 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.test.matcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.RowLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Item;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.TabFolder;
+import org.eclipse.swt.widgets.TabItem;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.ToolBar;
+import org.eclipse.swt.widgets.ToolItem;
+import org.eclipse.swt.widgets.Widget;
+import org.hamcrest.Matcher;
+import org.jboss.reddeer.core.lookup.WidgetLookup;
+import org.jboss.reddeer.core.matcher.ClassMatcher;
+import org.jboss.reddeer.core.matcher.CompiledMatcher;
+import org.jboss.reddeer.core.matcher.MatcherBuilder;
+import org.jboss.reddeer.core.matcher.WithTextMatcher;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.junit.runner.RedDeerSuite;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(RedDeerSuite.class)
+public class CompiledMatcherTest {
+
+	private Shell shell;
+	private ToolBar toolBar;
+	private ToolItem toolItem;
+	private Table table;
+	private TableItem tableItem;
+	private TabItem tabItem;
+	private Button tabButton;
+
+	@Before
+	public void setUp() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell = new Shell(org.eclipse.swt.widgets.Display.getDefault());
+				shell.setText("Compiled matcher test");
+				shell.setLayout(new RowLayout(SWT.VERTICAL));
+				toolBar = new ToolBar(shell, SWT.FLAT);
+				toolItem = new ToolItem(toolBar, SWT.PUSH);
+				toolItem.setText("Tool");
+				table = new Table(shell, SWT.BORDER);
+				for (int i = 0; i < 10; i++) {
+					new TableItem(table, SWT.NONE).setText("Row " + i);
+				}
+				tableItem = table.getItem(0);
+				TabFolder tabFolder = new TabFolder(shell, SWT.NONE);
+				tabItem = new TabItem(tabFolder, SWT.NONE);
+				tabItem.setText("Tab");
+				tabButton = new Button(tabFolder, SWT.PUSH);
+				tabButton.setText("Tab button");
+				tabItem.setControl(tabButton);
+				shell.setSize(300, 400);
+				shell.open();
+				shell.layout(true, true);
+			}
+		});
+	}
+
+	@After
+	public void tearDown() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell.dispose();
+			}
+		});
+	}
+
+	@Test
+	public void testItemsArePrunedForNonItemClass() {
+		CompiledMatcher matcher = compile(new ClassMatcher(Button.class));
+		assertTrue(matcher.canSkip(tableItem));
+		assertTrue(matcher.canSkip(toolItem));
+		assertFalse(matcher.canMatchBelow(toolBar));
+		assertFalse(matcher.canMatchBelow(tableItem));
+		// table can hold editor controls
+		assertTrue(matcher.canMatchBelow(table));
+		assertFalse(matcher.canSkip(table));
+	}
+
+	@Test
+	public void testItemsHoldingControlAreNotPruned() {
+		CompiledMatcher matcher = compile(new ClassMatcher(Button.class), new WithTextMatcher("Tab button"));
+		assertFalse(matcher.canSkip(tabItem));
+		assertTrue(matcher.canMatchBelow(tabItem));
+
+		List<Button> buttons = activeWidgets(matcher);
+		assertEquals(1, buttons.size());
+		assertSame(tabButton, buttons.get(0));
+	}
+
+	@Test
+	public void testItemsAreNotPrunedForItemClass() {
+		CompiledMatcher tableItemMatcher = compile(new ClassMatcher(TableItem.class));
+		assertFalse(tableItemMatcher.canSkip(tableItem));
+		assertEquals(10, activeWidgets(tableItemMatcher).size());
+
+		CompiledMatcher itemMatcher = compile(new ClassMatcher(Item.class), new WithTextMatcher("Tool"));
+		assertFalse(itemMatcher.canSkip(toolItem));
+		assertTrue(itemMatcher.canMatchBelow(toolBar));
+		List<Item> items = activeWidgets(itemMatcher);
+		assertEquals(1, items.size());
+		assertSame(toolItem, items.get(0));
+	}
+
+	@Test
+	public void testItemsAreNotPrunedWithoutClassConstraint() {
+		CompiledMatcher matcher = compile(new WithTextMatcher("Row 0"));
+		assertFalse(matcher.canSkip(tableItem));
+		assertTrue(matcher.canMatchBelow(toolBar));
+		List<Widget> widgets = activeWidgets(matcher);
+		assertEquals(1, widgets.size());
+		assertSame(tableItem, widgets.get(0));
+	}
+
+	private CompiledMatcher compile(Matcher<?>... matchers) {
+		return MatcherBuilder.getInstance().compile(matchers);
+	}
+
+	private <T extends Widget> List<T> activeWidgets(final Matcher<?> matcher) {
+		return WidgetLookup.getInstance().activeWidgets(shell, matcher);
+	}
+}
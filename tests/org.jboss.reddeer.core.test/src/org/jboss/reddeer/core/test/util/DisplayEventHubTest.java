@@ -0,0 +1,191 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.test.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.RowLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.jboss.reddeer.common.wait.TimePeriod;
+import org.jboss.reddeer.common.wait.WaitUntil;
+import org.jboss.reddeer.core.condition.AbstractEventDrivenWaitCondition;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.DisplayEventHub;
+import org.jboss.reddeer.core.util.DisplayEventHub.Subscription;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.junit.runner.RedDeerSuite;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(RedDeerSuite.class)
+public class DisplayEventHubTest {
+
+	private static final long NO_EVENT_TIMEOUT = 500;
+
+	private Shell shell;
+	private Button button;
+	private boolean selected;
+
+	@Before
+	public void setUp() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell = new Shell(org.eclipse.swt.widgets.Display.getDefault());
+				shell.setText("Display event hub test");
+				shell.setLayout(new RowLayout());
+				button = new Button(shell, SWT.PUSH);
+				button.setText("Button");
+				button.addListener(SWT.Selection, new Listener() {
+
+					@Override
+					public void handleEvent(Event event) {
+						selected = true;
+					}
+				});
+				shell.pack();
+				shell.open();
+			}
+		});
+	}
+
+	@After
+	public void tearDown() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell.dispose();
+			}
+		});
+	}
+
+	@Test
+	public void subscriptionIsNotifiedAboutEvent() {
+		Subscription subscription = DisplayEventHub.getInstance().subscribe(SWT.Selection);
+		try {
+			notifyButton(SWT.Selection);
+			assertTrue(subscription.await(TimePeriod.NORMAL.getMilliseconds()));
+			// event was consumed by the previous call
+			assertFalse(subscription.await(NO_EVENT_TIMEOUT));
+		} finally {
+			DisplayEventHub.getInstance().unsubscribe(subscription);
+		}
+	}
+
+	@Test
+	public void subscriptionIsNotNotifiedAboutOtherEvents() {
+		Subscription subscription = DisplayEventHub.getInstance().subscribe(SWT.Selection);
+		try {
+			notifyButton(SWT.Hide);
+			assertFalse(subscription.await(NO_EVENT_TIMEOUT));
+		} finally {
+			DisplayEventHub.getInstance().unsubscribe(subscription);
+		}
+	}
+
+	@Test
+	public void unsubscribedSubscriptionIsNotNotified() {
+		Subscription subscription = DisplayEventHub.getInstance().subscribe(SWT.Selection);
+		DisplayEventHub.getInstance().unsubscribe(subscription);
+		notifyButton(SWT.Selection);
+		assertFalse(subscription.await(NO_EVENT_TIMEOUT));
+	}
+
+	@Test
+	public void subscriptionCannotBeCreatedInUIThread() {
+		Subscription subscription = Display.syncExec(new ResultRunnable<Subscription>() {
+
+			@Override
+			public Subscription run() {
+				return DisplayEventHub.getInstance().subscribe(SWT.Selection);
+			}
+		});
+		assertNull(subscription);
+	}
+
+	@Test
+	public void eventDrivenConditionIsTestedOnEvent() {
+		ButtonIsSelected condition = new ButtonIsSelected();
+		new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(NO_EVENT_TIMEOUT);
+				} catch (InterruptedException e) {
+					return;
+				}
+				notifyButton(SWT.Selection);
+			}
+		}).start();
+
+		long start = System.currentTimeMillis();
+		// condition would be tested again only after the timeout without events
+		new WaitUntil(condition, TimePeriod.LONG, true, TimePeriod.LONG);
+		long elapsed = System.currentTimeMillis() - start;
+		assertTrue("Condition was not tested on event (" + elapsed + " ms)", 
+				elapsed < TimePeriod.NORMAL.getMilliseconds());
+
+		// subscription is removed when waiting finishes
+		try {
+			condition.waitForEvent(NO_EVENT_TIMEOUT);
+			fail("Condition should not listen to events after waiting");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	private void notifyButton(final int eventType) {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				button.notifyListeners(eventType, new Event());
+			}
+		});
+	}
+
+	private class ButtonIsSelected extends AbstractEventDrivenWaitCondition {
+
+		@Override
+		protected int[] getEventTypes() {
+			return new int[] { SWT.Selection };
+		}
+
+		@Override
+		public boolean test() {
+			// state is read in UI thread after the event is processed by listeners
+			return Display.syncExec(new ResultRunnable<Boolean>() {
+
+				@Override
+				public Boolean run() {
+					return selected;
+				}
+			});
+		}
+
+		@Override
+		public String description() {
+			return "button is selected";
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.test.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWTException;
+import org.eclipse.ui.PlatformUI;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.junit.runner.RedDeerSuite;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(RedDeerSuite.class)
+public class DisplayTest {
+
+	@Test
+	public void displayIsCached() {
+		assertSame(Display.getDisplay(), Display.getDisplay());
+		assertFalse(Display.getDisplay().isDisposed());
+	}
+
+	@Test
+	public void workbenchDisplayIsResolved() {
+		assertSame(PlatformUI.getWorkbench().getDisplay(), Display.getDisplay());
+		Thread thread = Display.syncExec(new ResultRunnable<Thread>() {
+
+			@Override
+			public Thread run() {
+				return Thread.currentThread();
+			}
+		});
+		assertSame(Display.getDisplay().getThread(), thread);
+	}
+
+	@Test
+	public void disposedDisplayIsResolvedAgain() throws Exception {
+		final org.eclipse.swt.widgets.Display[] other = new org.eclipse.swt.widgets.Display[1];
+		final CountDownLatch created = new CountDownLatch(1);
+		final CountDownLatch dispose = new CountDownLatch(1);
+		Thread thread = new Thread("Disposed display test") {
+
+			@Override
+			public void run() {
+				try {
+					other[0] = new org.eclipse.swt.widgets.Display();
+				} catch (SWTException e) {
+					// multiple displays are not supported on this platform
+					created.countDown();
+					return;
+				}
+				created.countDown();
+				try {
+					dispose.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				other[0].dispose();
+			}
+		};
+		thread.start();
+		created.await(10, TimeUnit.SECONDS);
+		Assume.assumeTrue(other[0] != null);
+
+		Field displayField = Display.class.getDeclaredField("display");
+		Field threadField = Display.class.getDeclaredField("uiThread");
+		displayField.setAccessible(true);
+		threadField.setAccessible(true);
+		// cached display without dispose hook simulates dispose before hook registration
+		displayField.set(null, other[0]);
+		threadField.set(null, thread);
+		dispose.countDown();
+		thread.join(10000);
+		assertTrue(other[0].isDisposed());
+
+		assertSame(PlatformUI.getWorkbench().getDisplay(), Display.getDisplay());
+		assertTrue(Display.syncExec(new ResultRunnable<Boolean>() {
+
+			@Override
+			public Boolean run() {
+				return PlatformUI.getWorkbench().getDisplay().getThread() == Thread.currentThread();
+			}
+		}));
+	}
+}
@@ -0,0 +1,194 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.core.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+import org.jboss.reddeer.core.exception.CoreLayerException;
+import org.jboss.reddeer.core.handler.TableHandler;
+import org.jboss.reddeer.core.handler.TableItemHandler;
+import org.jboss.reddeer.core.handler.TableItemSnapshot;
+import org.jboss.reddeer.core.util.Display;
+import org.jboss.reddeer.core.util.ResultRunnable;
+import org.jboss.reddeer.core.util.UIBatch;
+import org.jboss.reddeer.core.util.UIBatch.Result;
+import org.jboss.reddeer.junit.runner.RedDeerSuite;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(RedDeerSuite.class)
+public class UIBatchTest {
+
+	private final List<String> executed = new ArrayList<String>();
+
+	@Test
+	public void operationsAreExecutedInOrderOfAddition() {
+		UIBatch batch = new UIBatch();
+		Result<String> first = batch.add(new RecordingRunnable("first"));
+		batch.add(new Runnable() {
+
+			@Override
+			public void run() {
+				executed.add("second");
+			}
+		});
+		Result<String> third = batch.add(new RecordingRunnable("third"));
+		assertEquals(3, batch.size());
+		assertEquals(0, executed.size());
+
+		batch.execute();
+		assertEquals(Arrays.asList("first", "second", "third"), executed);
+		assertEquals("first", first.get());
+		assertEquals("third", third.get());
+	}
+
+	@Test
+	public void operationsAreExecutedInUIThread() {
+		UIBatch batch = new UIBatch();
+		Result<Thread> first = batch.add(new CurrentThread());
+		Result<Thread> second = batch.add(new CurrentThread());
+		batch.execute();
+		assertSame(Display.getDisplay().getThread(), first.get());
+		assertSame(first.get(), second.get());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void resultIsNotAvailableBeforeExecution() {
+		new UIBatch().add(new RecordingRunnable("first")).get();
+	}
+
+	@Test
+	public void batchIsExecutedOnlyOnce() {
+		UIBatch batch = new UIBatch();
+		batch.add(new RecordingRunnable("first"));
+		batch.execute();
+		try {
+			batch.execute();
+			fail("Batch should not be executed twice");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		try {
+			batch.add(new RecordingRunnable("second"));
+			fail("Operation should not be added to executed batch");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		assertEquals(Arrays.asList("first"), executed);
+	}
+
+	@Test
+	public void failingOperationStopsBatch() {
+		UIBatch batch = new UIBatch();
+		batch.add(new RecordingRunnable("first"));
+		batch.add(new ResultRunnable<String>() {
+
+			@Override
+			public String run() {
+				throw new IllegalArgumentException("failure");
+			}
+		});
+		batch.add(new RecordingRunnable("third"));
+		try {
+			batch.execute();
+			fail("Failure of an operation should be reported");
+		} catch (CoreLayerException e) {
+			// expected
+		}
+		assertEquals(Arrays.asList("first"), executed);
+	}
+
+	@Test
+	public void displayBatchReturnsResultsInOrder() {
+		List<Object> results = Display.batch(new RecordingRunnable("first"), new RecordingRunnable("second"));
+		assertEquals(Arrays.<Object>asList("first", "second"), results);
+		assertEquals(Arrays.asList("first", "second"), executed);
+	}
+
+	@Test
+	public void handlerSnapshotsAreCapturedInBatch() {
+		final Shell shell = Display.syncExec(new ResultRunnable<Shell>() {
+
+			@Override
+			public Shell run() {
+				Shell shell = new Shell(org.eclipse.swt.widgets.Display.getDefault());
+				shell.setText("UI batch test");
+				shell.setLayout(new FillLayout());
+				Table table = new Table(shell, SWT.BORDER);
+				new TableItem(table, SWT.NONE).setText("first");
+				new TableItem(table, SWT.NONE).setText("second");
+				shell.open();
+				return shell;
+			}
+		});
+		try {
+			Table table = Display.syncExec(new ResultRunnable<Table>() {
+
+				@Override
+				public Table run() {
+					return (Table) shell.getChildren()[0];
+				}
+			});
+			TableItem secondItem = TableHandler.getInstance().getSWTItem(table, 1);
+			UIBatch batch = new UIBatch();
+			Result<List<TableItemSnapshot>> items = TableHandler.getInstance().snapshotItems(batch, table);
+			Result<TableItemSnapshot> second = TableItemHandler.getInstance().snapshot(batch, secondItem);
+			batch.execute();
+
+			assertEquals(2, items.get().size());
+			assertEquals("first", items.get().get(0).getText());
+			assertEquals("second", second.get().getText());
+			assertEquals(1, second.get().getIndex());
+		} finally {
+			Display.syncExec(new Runnable() {
+
+				@Override
+				public void run() {
+					shell.dispose();
+				}
+			});
+		}
+	}
+
+	private class RecordingRunnable implements ResultRunnable<String> {
+
+		private final String name;
+
+		RecordingRunnable(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String run() {
+			executed.add(name);
+			return name;
+		}
+	}
+
+	private static class CurrentThread implements ResultRunnable<Thread> {
+
+		@Override
+		public Thread run() {
+			return Thread.currentThread();
+		}
+	}
+}
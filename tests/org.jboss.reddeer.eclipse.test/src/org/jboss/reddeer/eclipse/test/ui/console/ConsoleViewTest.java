@@ -14,6 +14,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 
+import java.util.regex.Pattern;
+
 import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsNull;
 import org.jboss.reddeer.common.matcher.RegexMatcher;
@@ -156,6 +158,16 @@ public class ConsoleViewTest {
 		// compare the text without white spaces
 		assertEquals("StartHelloApplication", consoleView.getConsoleText().replaceAll("\\s", ""));
 	}
+
+	@Test
+	public void consoleHasTextPatternTest() {
+		runTestClass(TEST_CLASS_LOOP2_NAME);
+		new WaitUntil(new ConsoleHasText(Pattern.compile("^Start\\s*$", Pattern.MULTILINE)));
+		new WaitUntil(new ConsoleHasText(Pattern.compile("Hello Appl.*")), TimePeriod.LONG);
+		consoleView = new ConsoleView();
+		consoleView.open();
+		consoleView.terminateConsole();
+	}
 	
 	@Test
 	public void toggleShowConsoleOnStandardOutChange() {
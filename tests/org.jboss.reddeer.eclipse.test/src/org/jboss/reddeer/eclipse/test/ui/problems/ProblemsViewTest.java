@@ -246,6 +246,30 @@ public class ProblemsViewTest {
 		}
 	}
 	
+	@Test
+	public void testOneErrorExistsDirectly() {
+		createError();
+		try {
+			new WaitUntil(new ExactNumberOfProblemsExists(ProblemType.ERROR, 1, true), TimePeriod.NORMAL);
+		} catch (WaitTimeoutExpiredException ex) {
+			fail("Wait condition exact number of problems exists did not pass altough it should. There is "
+				+ "following amount of errors: " + problemsView.getProblems(ProblemType.ERROR)
+				+ " altough there should be precisely 1 error.");
+		}
+		problemsView.setDirect(true);
+		try {
+			List<Problem> errors = problemsView.getProblems(ProblemType.ERROR,
+					new ProblemsDescriptionMatcher(Is.is(ERROR_DESCRIPTION)));
+			assertEquals(1, errors.size());
+			Problem error = errors.get(0);
+			assertEquals("Error resource", DEFAULT_ERROR_CLASS_NAME + ".java", error.getResource());
+			assertEquals("Error location", ERROR_LOCATION, error.getLocation());
+			assertEquals("Error type", JAVA_PROBLEM, error.getType());
+		} finally {
+			problemsView.setDirect(false);
+		}
+	}
+
 	@Test
 	public void testOneWarningExists() {
 		createWarning();
@@ -147,6 +147,41 @@ public class LogViewTest {
 				ERROR_MESSAGE_2, ERROR_STACK_2));
 	}
 
+	@Test
+	public void getMessagesDirectly(){
+		logView = new LogView();
+		logView.setDirect(true);
+		List<LogMessage> messages = logView.getErrorMessages();
+		assertTrue(messageIsAvailable(messages, IStatus.ERROR, ERROR_ID_1,
+				ERROR_MESSAGE_1, ERROR_STACK_1));
+		assertTrue(messageIsAvailable(messages, IStatus.ERROR, ERROR_ID_2,
+				ERROR_MESSAGE_2, ERROR_STACK_2));
+		assertTrue(messageIsAvailable(logView.getWarningMessages(), IStatus.WARNING, WARNING_ID_1,
+				WARNING_MESSAGE_1, WARNING_STACK_1));
+		assertTrue(messageIsAvailable(logView.getInfoMessages(), IStatus.INFO, INFO_ID_1,
+				INFO_MESSAGE_1, "An exception stack trace is not available."));
+		// logged last in setUp, no other entry follows it in the log file
+		assertTrue(messageIsAvailable(logView.getInfoMessages(), IStatus.INFO, INFO_ID_2,
+				INFO_MESSAGE_2, INFO_STACK_2));
+		assertTrue(messageIsAvailable(logView.getOKMessages(), IStatus.OK, OK_ID_2,
+				OK_MESSAGE_2, OK_STACK_2));
+	}
+
+	@Test
+	public void clearLogDirectly(){
+		logView = new LogView();
+		logView.setDirect(true);
+		assertFalse("There must be messages", logView.getErrorMessages().isEmpty());
+		logView.clearLog();
+		assertTrue("There should be no messages", logView.getErrorMessages().isEmpty());
+
+		Platform.getLog(Platform.getBundle(Activator.PLUGIN_ID)).log(
+				new Status(IStatus.ERROR, ERROR_ID_1, ERROR_MESSAGE_1, null));
+		List<LogMessage> messages = logView.getErrorMessages();
+		assertTrue("Only message logged after clearing should be available", messages.size() == 1);
+		assertTrue(messageIsAvailable(messages, IStatus.ERROR, ERROR_ID_1, ERROR_MESSAGE_1, null));
+	}
+
 	@Test
 	public void testClearAndRestore(){ 
 		logView = new LogView();
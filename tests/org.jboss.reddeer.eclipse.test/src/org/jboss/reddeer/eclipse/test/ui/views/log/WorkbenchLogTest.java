@@ -0,0 +1,100 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.eclipse.test.ui.views.log;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.eclipse.core.runtime.IStatus;
+import org.jboss.reddeer.eclipse.ui.views.log.LogMessage;
+import org.jboss.reddeer.eclipse.ui.views.log.WorkbenchLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests reading of a log file by {@link WorkbenchLog}. Modification time of the log file
+ * is used to emulate a log which is still being written.
+ */
+public class WorkbenchLogTest {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private static final String FIRST_ENTRY = "\n!ENTRY first.plugin 4 0 2016-01-01 10:00:00.000\n!MESSAGE first\n";
+
+	private static final String SECOND_ENTRY = "\n!ENTRY second.plugin 1 0 2016-01-01 10:00:01.000\n!MESSAGE second\n";
+
+	private File logFile;
+
+	private WorkbenchLog workbenchLog;
+
+	@Before
+	public void setUp() throws IOException {
+		logFile = File.createTempFile("workbench", ".log");
+		workbenchLog = new WorkbenchLog(logFile);
+	}
+
+	@After
+	public void tearDown() {
+		logFile.delete();
+	}
+
+	@Test
+	public void lastEntryIsReadOnceLogIsNotWritten() throws IOException {
+		append(FIRST_ENTRY + SECOND_ENTRY);
+		// log modified in the future is being written for the whole wait
+		logFile.setLastModified(System.currentTimeMillis() + 60000);
+		List<LogMessage> messages = workbenchLog.getAllMessages();
+		assertEquals(1, messages.size());
+		assertEquals("first", messages.get(0).getMessage());
+
+		logFile.setLastModified(System.currentTimeMillis() - 60000);
+		messages = workbenchLog.getAllMessages();
+		assertEquals(2, messages.size());
+		assertEquals("second", messages.get(1).getMessage());
+	}
+
+	@Test
+	public void partiallyWrittenEntryIsReadWhole() throws IOException {
+		append(FIRST_ENTRY + "\n!ENTRY second.plugin 1 0 2016-01-01 10:00:01.000\n");
+		logFile.setLastModified(System.currentTimeMillis() + 60000);
+		assertEquals(1, workbenchLog.getAllMessages().size());
+
+		append("!MESSAGE second\n!STACK 0\njava.lang.NullPointerException\n");
+		logFile.setLastModified(System.currentTimeMillis() - 60000);
+		List<LogMessage> messages = workbenchLog.getMessages(IStatus.INFO);
+		assertEquals(1, messages.size());
+		assertEquals("second", messages.get(0).getMessage());
+		assertEquals("java.lang.NullPointerException", messages.get(0).getStackTrace());
+	}
+
+	@Test
+	public void clearSkipsAllMessages() throws IOException {
+		append(FIRST_ENTRY);
+		logFile.setLastModified(System.currentTimeMillis() - 60000);
+		workbenchLog.clear();
+		assertEquals(0, workbenchLog.getAllMessages().size());
+
+		append(SECOND_ENTRY);
+		logFile.setLastModified(System.currentTimeMillis() - 60000);
+		assertEquals(1, workbenchLog.getAllMessages().size());
+	}
+
+	private void append(String text) throws IOException {
+		Files.write(logFile.toPath(), text.getBytes(UTF8), StandardOpenOption.APPEND);
+	}
+}
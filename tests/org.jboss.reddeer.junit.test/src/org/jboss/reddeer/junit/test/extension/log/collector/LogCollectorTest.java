@@ -0,0 +1,153 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.extension.log.collector;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.jboss.reddeer.junit.extension.log.collector.LogCollector;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests collecting of workbench log entries by {@link LogCollector}. A temporary file
+ * is used instead of the workbench log.
+ */
+public class LogCollectorTest {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private static final String CONFIG = "config";
+
+	private static final String CLASS_NAME = "LogCollectorTest";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File workbenchLog;
+
+	private LogCollector logCollector;
+
+	@Before
+	public void setUp() throws IOException {
+		workbenchLog = folder.newFile("workbench.log");
+		final File directory = folder.newFolder("reddeer-log");
+		logCollector = new LogCollector() {
+
+			@Override
+			protected File getWorkbenchLog() {
+				return workbenchLog;
+			}
+
+			@Override
+			public String getDirectory() {
+				return directory.getAbsolutePath() + File.separator;
+			}
+		};
+	}
+
+	@Test
+	public void onlyAppendedEntriesAreCollected() throws IOException {
+		append("entry before test\n");
+		logCollector.skipWorkbenchLog();
+
+		append("first entry\n");
+		logCollector.processWorkbenchLog(CONFIG, CLASS_NAME, "first");
+		assertThat(readCollectedLog(), is("first\n\nfirst entry\n\n\n"));
+
+		append("second entry\n");
+		logCollector.processWorkbenchLog(CONFIG, CLASS_NAME, "second");
+		assertThat(readCollectedLog(), is("first\n\nfirst entry\n\n\nsecond\n\nsecond entry\n\n\n"));
+	}
+
+	@Test
+	public void nothingIsCollectedIfNothingWasAppended() throws IOException {
+		append("entry before test\n");
+		logCollector.skipWorkbenchLog();
+
+		logCollector.processWorkbenchLog(CONFIG, CLASS_NAME, "nothing");
+		assertThat(readCollectedLog(), is(""));
+	}
+
+	@Test
+	public void workbenchLogIsNotModified() throws IOException {
+		logCollector.skipWorkbenchLog();
+		append("entry\n");
+		logCollector.processWorkbenchLog(CONFIG, CLASS_NAME, "entry");
+		assertThat(read(workbenchLog), is("entry\n"));
+	}
+
+	@Test
+	public void truncatedLogIsCollectedFromBeginning() throws IOException {
+		append("long entry before truncation\n");
+		logCollector.skipWorkbenchLog();
+
+		// log is shorter than the processed offset after truncation
+		Files.write(workbenchLog.toPath(), "new entry\n".getBytes(UTF8));
+		logCollector.processWorkbenchLog(CONFIG, CLASS_NAME, "truncated");
+		assertThat(readCollectedLog(), is("truncated\n\nnew entry\n\n\n"));
+
+		append("next entry\n");
+		logCollector.processWorkbenchLog(CONFIG, CLASS_NAME, "next");
+		assertThat(readCollectedLog(), is("truncated\n\nnew entry\n\n\nnext\n\nnext entry\n\n\n"));
+	}
+
+	@Test
+	public void restOfRolledOverLogIsCollected() throws IOException {
+		append("entry before test\n");
+		logCollector.skipWorkbenchLog();
+
+		append("entry before rollover\n");
+		rollOver();
+		append("entry after rollover\n");
+		logCollector.processWorkbenchLog(CONFIG, CLASS_NAME, "rolled over");
+		assertThat(readCollectedLog(), is("rolled over\n\nentry before rollover\nentry after rollover\n\n\n"));
+	}
+
+	@Test
+	public void rolloverIsDetectedWhenNewLogIsLonger() throws IOException {
+		append("first\n");
+		logCollector.skipWorkbenchLog();
+
+		rollOver();
+		append("new log longer than the processed offset\n");
+		logCollector.processWorkbenchLog(CONFIG, CLASS_NAME, "rolled over");
+		assertThat(readCollectedLog(), is("rolled over\n\nnew log longer than the processed offset\n\n\n"));
+	}
+
+	/**
+	 * Renames the workbench log to a backup file and creates a new empty log like Eclipse does.
+	 */
+	private void rollOver() throws IOException {
+		Files.move(workbenchLog.toPath(), new File(workbenchLog.getParentFile(), "workbench.bak_0.log").toPath());
+		Files.createFile(workbenchLog.toPath());
+	}
+
+	private void append(String entry) throws IOException {
+		Files.write(workbenchLog.toPath(), entry.getBytes(UTF8), StandardOpenOption.APPEND);
+	}
+
+	private String readCollectedLog() throws IOException {
+		return read(logCollector.getLogFile(CONFIG, CLASS_NAME));
+	}
+
+	private String read(File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), UTF8);
+	}
+}
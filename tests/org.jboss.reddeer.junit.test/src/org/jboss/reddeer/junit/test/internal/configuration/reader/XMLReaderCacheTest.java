@@ -0,0 +1,187 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.configuration.reader;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.reddeer.junit.configuration.RedDeerConfigurationException;
+import org.jboss.reddeer.junit.internal.configuration.reader.XMLReader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests caching of parsed configuration files and compiled schemas of {@link XMLReader}.
+ * Configuration files use local schemas only.
+ */
+public class XMLReaderCacheTest {
+
+	private static final String ANY_NAME = ".*";
+
+	private static final String NAME_STARTING_WITH_B = "b.*";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void unchangedFileIsReadAgain() throws IOException {
+		File dir = folder.newFolder("unchanged");
+		writeSchema(dir, ANY_NAME);
+		File config = writeConfiguration(dir, "config.xml", "first");
+		assertThat(readName(config), is("first"));
+		assertThat(readName(config), is("first"));
+	}
+
+	@Test
+	public void fileWithChangedContentIsParsedAgain() throws IOException {
+		File dir = folder.newFolder("content");
+		writeSchema(dir, ANY_NAME);
+		File config = writeConfiguration(dir, "config.xml", "first");
+		long lastModified = config.lastModified();
+		assertThat(readName(config), is("first"));
+
+		// same length and modification time
+		writeConfiguration(dir, "config.xml", "other");
+		config.setLastModified(lastModified);
+		assertThat(readName(config), is("other"));
+	}
+
+	@Test
+	public void fileWithChangedModificationTimeIsParsedAgain() throws IOException {
+		File dir = folder.newFolder("modified");
+		writeSchema(dir, ANY_NAME);
+		File config = writeConfiguration(dir, "config.xml", "first");
+		long lastModified = config.lastModified();
+		assertThat(readName(config), is("first"));
+
+		writeConfiguration(dir, "config.xml", "other");
+		config.setLastModified(lastModified + 2000);
+		assertThat(readName(config), is("other"));
+	}
+
+	@Test
+	public void fileWithChangedLengthIsParsedAgain() throws IOException {
+		File dir = folder.newFolder("length");
+		writeSchema(dir, ANY_NAME);
+		File config = writeConfiguration(dir, "config.xml", "first");
+		long lastModified = config.lastModified();
+		assertThat(readName(config), is("first"));
+
+		writeConfiguration(dir, "config.xml", "second");
+		config.setLastModified(lastModified);
+		assertThat(readName(config), is("second"));
+	}
+
+	@Test
+	public void schemaIsReusedForSameLocation() throws IOException {
+		File dir = folder.newFolder("reused");
+		writeSchema(dir, ANY_NAME);
+		assertThat(readName(writeConfiguration(dir, "first.xml", "first")), is("first"));
+
+		// schema compiled for the first file is used, the changed schema file is not read
+		writeSchema(dir, NAME_STARTING_WITH_B);
+		assertThat(readName(writeConfiguration(dir, "second.xml", "second")), is("second"));
+	}
+
+	@Test(expected = RedDeerConfigurationException.class)
+	public void schemaIsKeyedByResolvedLocation() throws IOException {
+		File anyNameDir = folder.newFolder("any");
+		writeSchema(anyNameDir, ANY_NAME);
+		assertThat(readName(writeConfiguration(anyNameDir, "config.xml", "first")), is("first"));
+
+		// same relative schema location resolves to a different schema
+		File bNameDir = folder.newFolder("b");
+		writeSchema(bNameDir, NAME_STARTING_WITH_B);
+		assertThat(readName(writeConfiguration(bNameDir, "config.xml", "bar")), is("bar"));
+		readName(writeConfiguration(bNameDir, "invalid.xml", "first"));
+	}
+
+	@Test
+	public void schemaIsCompiledAgainAfterFailure() throws IOException {
+		File dir = folder.newFolder("missing");
+		File config = writeConfiguration(dir, "config.xml", "first");
+		try {
+			readName(config);
+			fail("Configuration with missing schema should not be loaded");
+		} catch (RedDeerConfigurationException e) {
+			// expected
+		}
+
+		writeSchema(dir, ANY_NAME);
+		assertThat(readName(config), is("first"));
+	}
+
+	@Test
+	public void differentSchemasAreLoadedInParallel() throws IOException {
+		List<File> configs = new ArrayList<File>();
+		for (int i = 0; i < 4; i++) {
+			File dir = folder.newFolder("parallel" + i);
+			writeSchema(dir, ANY_NAME);
+			configs.add(writeConfiguration(dir, "config.xml", "name" + i));
+		}
+		XMLReader.preload(configs);
+		for (int i = 0; i < configs.size(); i++) {
+			assertThat(readName(configs.get(i)), is("name" + i));
+		}
+	}
+
+	private String readName(File config) {
+		List<SimpleXML> result = new XMLReader(config).getConfiguration(SimpleXML.class);
+		assertThat(result.size(), is(1));
+		return result.get(0).getAttribute();
+	}
+
+	private File writeConfiguration(File dir, String fileName, String requirementName) throws IOException {
+		return write(new File(dir, fileName),
+				"<reddeer xmlns=\"http://www.jboss.org/NS/Req\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+				+ "\txsi:schemaLocation=\"http://www.jboss.org/NS/Req requirements.xsd\">\n"
+				+ "\t<requirement name=\"" + requirementName + "\"/>\n"
+				+ "</reddeer>\n");
+	}
+
+	private File writeSchema(File dir, String namePattern) throws IOException {
+		return write(new File(dir, "requirements.xsd"),
+				"<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\" xmlns=\"http://www.jboss.org/NS/Req\"\n"
+				+ "\ttargetNamespace=\"http://www.jboss.org/NS/Req\" elementFormDefault=\"qualified\">\n"
+				+ "\t<xs:element name=\"reddeer\">\n"
+				+ "\t\t<xs:complexType>\n"
+				+ "\t\t\t<xs:sequence>\n"
+				+ "\t\t\t\t<xs:element name=\"requirement\" maxOccurs=\"unbounded\">\n"
+				+ "\t\t\t\t\t<xs:complexType>\n"
+				+ "\t\t\t\t\t\t<xs:attribute name=\"name\">\n"
+				+ "\t\t\t\t\t\t\t<xs:simpleType>\n"
+				+ "\t\t\t\t\t\t\t\t<xs:restriction base=\"xs:string\">\n"
+				+ "\t\t\t\t\t\t\t\t\t<xs:pattern value=\"" + namePattern + "\"/>\n"
+				+ "\t\t\t\t\t\t\t\t</xs:restriction>\n"
+				+ "\t\t\t\t\t\t\t</xs:simpleType>\n"
+				+ "\t\t\t\t\t\t</xs:attribute>\n"
+				+ "\t\t\t\t\t</xs:complexType>\n"
+				+ "\t\t\t\t</xs:element>\n"
+				+ "\t\t\t</xs:sequence>\n"
+				+ "\t\t</xs:complexType>\n"
+				+ "\t</xs:element>\n"
+				+ "</xs:schema>\n");
+	}
+
+	private File write(File file, String content) throws IOException {
+		Files.write(file.toPath(), content.getBytes(Charset.forName("UTF-8")));
+		return file;
+	}
+}
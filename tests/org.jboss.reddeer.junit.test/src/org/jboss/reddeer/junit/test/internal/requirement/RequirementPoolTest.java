@@ -0,0 +1,177 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.requirement;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.reddeer.junit.internal.requirement.RequirementPool;
+import org.jboss.reddeer.junit.internal.requirement.Requirements;
+import org.jboss.reddeer.junit.requirement.Requirement;
+import org.jboss.reddeer.junit.requirement.RequirementScope;
+import org.jboss.reddeer.junit.requirement.ScopedRequirement;
+import org.junit.After;
+import org.junit.Test;
+
+public class RequirementPoolTest {
+
+	private RequirementPool pool = RequirementPool.getInstance();
+
+	@After
+	public void cleanup() {
+		pool.cleanUpAll();
+	}
+
+	@Test
+	public void classScopeIsNotShared() {
+		CountingRequirement first = acquire(ClassScoped.class, "config");
+		CountingRequirement second = acquire(ClassScoped.class, "config");
+
+		assertThat(first, not(sameInstance(second)));
+	}
+
+	@Test
+	public void differentConfigurationsAreNotShared() {
+		CountingRequirement first = acquire(ConfigurationScoped.class, "config1");
+		CountingRequirement second = acquire(ConfigurationScoped.class, "config2");
+
+		assertThat(first, not(sameInstance(second)));
+	}
+
+	@Test
+	public void configurationScope() {
+		CountingRequirement requirement = acquire(ConfigurationScoped.class, "config");
+		assertThat(acquire(ConfigurationScoped.class, "config"), sameInstance(requirement));
+		Requirements first = requirements(requirement);
+		Requirements second = requirements(requirement);
+
+		first.fulfill();
+		first.cleanUp();
+		assertThat(requirement.fulfilled, is(1));
+		assertThat(requirement.cleanedUp, is(0));
+
+		second.fulfill();
+		second.cleanUp();
+		assertThat(requirement.fulfilled, is(1));
+		assertThat(requirement.cleanedUp, is(1));
+	}
+
+	@Test
+	public void suiteScopeIsCleanedUpBeforeNextUnrelatedClass() {
+		CountingRequirement requirement = acquire(SuiteScoped.class, "config");
+		acquire(SuiteScoped.class, "config");
+		CountingRequirement other = acquire(ClassScoped.class, "config");
+
+		Requirements first = requirements(requirement);
+		first.fulfill();
+		first.cleanUp();
+		assertThat(requirement.cleanedUp, is(0));
+
+		Requirements unrelated = requirements(other);
+		unrelated.fulfill();
+		assertThat(requirement.cleanedUp, is(1));
+		unrelated.cleanUp();
+
+		// later consumer fulfills the requirement again
+		Requirements last = requirements(requirement);
+		last.fulfill();
+		last.cleanUp();
+		assertThat(requirement.fulfilled, is(2));
+		assertThat(requirement.cleanedUp, is(2));
+	}
+
+	@Test
+	public void remainingRequirementsAreCleanedUp() {
+		CountingRequirement requirement = acquire(ConfigurationScoped.class, "config");
+		acquire(ConfigurationScoped.class, "config");
+		Requirements first = requirements(requirement);
+		first.fulfill();
+		first.cleanUp();
+
+		pool.cleanUpAll();
+
+		assertThat(requirement.cleanedUp, is(1));
+	}
+
+	private CountingRequirement acquire(Class<?> annotatedClass, String configId) {
+		CountingRequirement requirement = new CountingRequirement();
+		Counting declaration = annotatedClass.getAnnotation(Counting.class);
+		requirement.setDeclaration(declaration);
+		return (CountingRequirement) pool.acquire(requirement, declaration, configId);
+	}
+
+	private Requirements requirements(Requirement<?> requirement) {
+		List<Requirement<?>> list = new ArrayList<Requirement<?>>();
+		list.add(requirement);
+		return new Requirements(list, String.class, "config");
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.TYPE)
+	@interface Counting {
+		RequirementScope value();
+	}
+
+	@Counting(RequirementScope.CLASS)
+	class ClassScoped {
+	}
+
+	@Counting(RequirementScope.SUITE)
+	class SuiteScoped {
+	}
+
+	@Counting(RequirementScope.CONFIGURATION)
+	class ConfigurationScoped {
+	}
+
+	class CountingRequirement implements ScopedRequirement<Counting> {
+
+		private Counting declaration;
+
+		private int fulfilled;
+
+		private int cleanedUp;
+
+		@Override
+		public boolean canFulfill() {
+			return true;
+		}
+
+		@Override
+		public void fulfill() {
+			fulfilled++;
+		}
+
+		@Override
+		public void setDeclaration(Counting declaration) {
+			this.declaration = declaration;
+		}
+
+		@Override
+		public void cleanUp() {
+			cleanedUp++;
+		}
+
+		@Override
+		public RequirementScope getScope() {
+			return declaration.value();
+		}
+	}
+}
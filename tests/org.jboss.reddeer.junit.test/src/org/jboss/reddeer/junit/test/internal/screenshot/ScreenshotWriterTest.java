@@ -0,0 +1,108 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.screenshot;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.jboss.reddeer.junit.internal.screenshot.ScreenshotWriter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScreenshotWriterTest {
+
+	private static final long TIMEOUT = 10000;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void screenshotIsWrittenWhenFlushed() {
+		ScreenshotWriter writer = new ScreenshotWriter();
+		File file = new File(folder.getRoot(), "screenshot.png");
+
+		writer.write(createImageData(), file.getPath(), SWT.IMAGE_PNG, -1);
+		assertThat(writer.flush(TIMEOUT), is(true));
+
+		assertThat(file.exists(), is(true));
+		assertThat(writer.isPending(file.getPath()), is(false));
+		assertThat(new ImageLoader().load(file.getPath())[0].width, is(16));
+		assertThat(folder.getRoot().list().length, is(1));
+	}
+
+	@Test
+	public void fileAppearsOnlyWhenScreenshotIsComplete() throws InterruptedException {
+		final CountDownLatch saved = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		ScreenshotWriter writer = new ScreenshotWriter() {
+
+			@Override
+			protected void save(ImageData imageData, String fileName, int format, int compression) {
+				super.save(imageData, fileName, format, compression);
+				saved.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		File file = new File(folder.getRoot(), "screenshot.png");
+
+		writer.write(createImageData(), file.getPath(), SWT.IMAGE_PNG, -1);
+		assertThat(saved.await(TIMEOUT, TimeUnit.MILLISECONDS), is(true));
+		assertThat(writer.isPending(file.getPath()), is(true));
+		assertThat(file.exists(), is(false));
+		assertThat(writer.flush(100), is(false));
+
+		release.countDown();
+		assertThat(writer.flush(TIMEOUT), is(true));
+		assertThat(file.exists(), is(true));
+		assertThat(folder.getRoot().list().length, is(1));
+	}
+
+	@Test
+	public void failedScreenshotLeavesNoFile() {
+		ScreenshotWriter writer = new ScreenshotWriter() {
+
+			@Override
+			protected void save(ImageData imageData, String fileName, int format, int compression) {
+				super.save(imageData, fileName, format, compression);
+				throw new IllegalStateException("Encoding failed");
+			}
+		};
+		File file = new File(folder.getRoot(), "screenshot.png");
+
+		writer.write(createImageData(), file.getPath(), SWT.IMAGE_PNG, -1);
+		assertThat(writer.flush(TIMEOUT), is(true));
+
+		assertThat(writer.isPending(file.getPath()), is(false));
+		assertThat(folder.getRoot().list().length, is(0));
+	}
+
+	@Test
+	public void flushWithoutScreenshotsReturnsImmediately() {
+		assertThat(new ScreenshotWriter().flush(0), is(true));
+	}
+
+	private static ImageData createImageData() {
+		return new ImageData(16, 16, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	}
+}
@@ -0,0 +1,130 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.shard;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.jboss.reddeer.junit.internal.shard.ShardAssignment;
+import org.jboss.reddeer.junit.internal.shard.TestDurations;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+public class ShardAssignmentTest {
+
+	private TestDurations durations;
+
+	@Before
+	public void setup() {
+		durations = new TestDurations(null);
+	}
+
+	@Test
+	public void allClassesAssignedToExactlyOneShard() {
+		Set<String> classNames = classNames(TestA.class, TestB.class, TestC.class, TestD.class);
+		int total = 3;
+		Set<String> assigned = new HashSet<String>();
+		int count = 0;
+		for (int i = 0; i < total; i++) {
+			ShardAssignment assignment = ShardAssignment.create(classNames, durations, i, total);
+			for (Class<?> clazz : Arrays.asList(TestA.class, TestB.class, TestC.class, TestD.class)) {
+				if (assignment.isAssigned(clazz)) {
+					assigned.add(clazz.getName());
+					count++;
+				}
+			}
+		}
+		assertThat(count, is(classNames.size()));
+		assertThat(assigned, is(classNames));
+	}
+
+	@Test
+	public void balancedByDuration() {
+		durations.setDuration(TestA.class.getName(), 1000);
+		durations.setDuration(TestB.class.getName(), 400);
+		durations.setDuration(TestC.class.getName(), 300);
+		durations.setDuration(TestD.class.getName(), 300);
+		Set<String> classNames = classNames(TestA.class, TestB.class, TestC.class, TestD.class);
+
+		ShardAssignment first = ShardAssignment.create(classNames, durations, 0, 2);
+		ShardAssignment second = ShardAssignment.create(classNames, durations, 1, 2);
+
+		assertThat(first.isAssigned(TestA.class), is(true));
+		assertThat(first.isAssigned(TestB.class), is(false));
+		assertThat(second.isAssigned(TestB.class), is(true));
+		assertThat(second.isAssigned(TestC.class), is(true));
+		assertThat(second.isAssigned(TestD.class), is(true));
+	}
+
+	@Test
+	public void unknownDurationIsAverage() {
+		durations.setDuration(TestA.class.getName(), 100);
+		durations.setDuration(TestB.class.getName(), 300);
+		Set<String> classNames = classNames(TestA.class, TestB.class, TestC.class);
+
+		// C is counted as 200, shards are {B} and {C, A}
+		ShardAssignment first = ShardAssignment.create(classNames, durations, 0, 2);
+
+		assertThat(first.isAssigned(TestB.class), is(true));
+		assertThat(first.isAssigned(TestC.class), is(false));
+		assertThat(first.isAssigned(TestA.class), is(false));
+	}
+
+	@Test
+	public void testClassesOfNestedSuites() {
+		Set<String> classNames = ShardAssignment.getTestClassNames(OuterSuite.class);
+
+		assertThat(classNames, is(classNames(TestA.class, TestB.class, TestC.class)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidIndex() {
+		ShardAssignment.create(classNames(TestA.class), durations, 2, 2);
+	}
+
+	private static Set<String> classNames(Class<?>... classes) {
+		Set<String> classNames = new LinkedHashSet<String>();
+		for (Class<?> clazz : classes) {
+			classNames.add(clazz.getName());
+		}
+		return classNames;
+	}
+
+	public static class TestA {
+	}
+
+	public static class TestB {
+	}
+
+	public static class TestC {
+	}
+
+	public static class TestD {
+	}
+
+	@RunWith(Suite.class)
+	@SuiteClasses({ TestA.class, TestB.class })
+	public static class InnerSuite {
+	}
+
+	@RunWith(Suite.class)
+	@SuiteClasses({ InnerSuite.class, TestC.class, TestA.class })
+	public static class OuterSuite {
+	}
+}
@@ -0,0 +1,170 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.shard;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.reddeer.junit.internal.shard.ShardCoordinator.Shard;
+import org.jboss.reddeer.junit.internal.shard.ShardEvent;
+import org.jboss.reddeer.junit.internal.shard.TestDurations;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+
+public class ShardCoordinatorTest {
+
+	private static final String TEST = "test(org.jboss.reddeer.Test)";
+
+	private Description firstTest;
+	private Description secondTest;
+	private Shard shard;
+	private List<String> events;
+	private List<Description> descriptions;
+
+	@Before
+	public void setup() {
+		firstTest = Description.createSuiteDescription(TEST);
+		secondTest = Description.createSuiteDescription(TEST);
+		events = new ArrayList<String>();
+		descriptions = new ArrayList<Description>();
+		RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RecordingListener());
+		shard = new Shard(0, Arrays.<Runner>asList(new ConfigurationSuite("first", firstTest),
+				new ConfigurationSuite("second", secondTest)), notifier);
+	}
+
+	@Test
+	public void configurationIds() {
+		assertThat(shard.getConfigurationIds(), is(Arrays.asList("first", "second")));
+	}
+
+	@Test
+	public void eventsAreMergedToDescriptionsOfTheirConfiguration() {
+		shard.fire(new ShardEvent(ShardEvent.Type.STARTED, "second", TEST, null));
+		shard.fire(new ShardEvent(ShardEvent.Type.FINISHED, "second", TEST, null));
+		shard.fire(new ShardEvent(ShardEvent.Type.STARTED, "first", TEST, null));
+		shard.fire(new ShardEvent(ShardEvent.Type.FAILURE, "first", TEST, new AssertionError("failed")));
+		shard.fire(new ShardEvent(ShardEvent.Type.FINISHED, "first", TEST, null));
+
+		assertThat(events, is(Arrays.asList("started", "finished", "started", 
+				"failure java.lang.AssertionError: failed", "finished")));
+		assertThat(descriptions.get(0), sameInstance(secondTest));
+		assertThat(descriptions.get(1), sameInstance(secondTest));
+		assertThat(descriptions.get(2), sameInstance(firstTest));
+		assertThat(descriptions.get(3), sameInstance(firstTest));
+		assertThat(descriptions.get(4), sameInstance(firstTest));
+	}
+
+	@Test
+	public void ignoredAndAssumptionFailureEvents() {
+		shard.fire(new ShardEvent(ShardEvent.Type.IGNORED, "first", TEST, null));
+		shard.fire(new ShardEvent(ShardEvent.Type.ASSUMPTION_FAILURE, "second", TEST, 
+				new IllegalStateException("assumption")));
+
+		assertThat(events, is(Arrays.asList("ignored", "assumption java.lang.IllegalStateException: assumption")));
+		assertThat(descriptions.get(0), sameInstance(firstTest));
+		assertThat(descriptions.get(1), sameInstance(secondTest));
+	}
+
+	@Test
+	public void unknownDescriptionIsCreated() {
+		shard.fire(new ShardEvent(ShardEvent.Type.STARTED, "third", TEST, null));
+
+		assertThat(events, is(Arrays.asList("started")));
+		assertThat(descriptions.get(0).getDisplayName(), is(TEST));
+	}
+
+	@Test
+	public void durationEventIsRecordedAndNotReported() {
+		TestDurations durations = new TestDurations(null, null);
+		RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RecordingListener());
+		Shard recordingShard = new Shard(0, Arrays.<Runner>asList(new ConfigurationSuite("first", firstTest)), 
+				notifier, durations);
+		recordingShard.fire(new ShardEvent("org.jboss.reddeer.Test", 500));
+
+		assertThat(events.isEmpty(), is(true));
+		assertThat(durations.getRecordedDurations().get("org.jboss.reddeer.Test"), is(500L));
+	}
+
+	@Test
+	public void doneEventIsNotReported() {
+		shard.fire(new ShardEvent(ShardEvent.Type.DONE, null, null, null));
+
+		assertThat(events.isEmpty(), is(true));
+	}
+
+	/**
+	 * Suite of a test run configuration named by id of the configuration.
+	 */
+	private static class ConfigurationSuite extends Runner {
+
+		private Description description;
+
+		public ConfigurationSuite(String configurationId, Description test) {
+			description = Description.createSuiteDescription(configurationId);
+			description.addChild(test);
+		}
+
+		@Override
+		public Description getDescription() {
+			return description;
+		}
+
+		@Override
+		public void run(RunNotifier notifier) {
+			// executed by shards
+		}
+	}
+
+	private class RecordingListener extends RunListener {
+
+		@Override
+		public void testStarted(Description description) {
+			record("started", description);
+		}
+
+		@Override
+		public void testFinished(Description description) {
+			record("finished", description);
+		}
+
+		@Override
+		public void testFailure(Failure failure) {
+			record("failure " + failure.getMessage(), failure.getDescription());
+		}
+
+		@Override
+		public void testAssumptionFailure(Failure failure) {
+			record("assumption " + failure.getMessage(), failure.getDescription());
+		}
+
+		@Override
+		public void testIgnored(Description description) {
+			record("ignored", description);
+		}
+
+		private void record(String event, Description description) {
+			events.add(event);
+			descriptions.add(description);
+		}
+	}
+}
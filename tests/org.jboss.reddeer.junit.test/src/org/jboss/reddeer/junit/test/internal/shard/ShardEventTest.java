@@ -0,0 +1,83 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.shard;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.jboss.reddeer.junit.internal.shard.ShardEvent;
+import org.junit.Test;
+
+public class ShardEventTest {
+
+	@Test
+	public void eventWithoutFailureRoundTrip() throws Exception {
+		ShardEvent event = roundTrip(new ShardEvent(ShardEvent.Type.STARTED, "config", "test(Test)", null));
+
+		assertThat(event.getType(), is(ShardEvent.Type.STARTED));
+		assertThat(event.getConfigurationId(), is("config"));
+		assertThat(event.getDisplayName(), is("test(Test)"));
+		assertThat(event.getFailure(), nullValue());
+	}
+
+	@Test
+	public void failureRoundTrip() throws Exception {
+		IllegalStateException cause = new IllegalStateException("cause");
+		RuntimeException failure = new RuntimeException("failure", cause);
+		ShardEvent event = roundTrip(new ShardEvent(ShardEvent.Type.FAILURE, "config", "test(Test)", failure));
+
+		Throwable received = event.getFailure();
+		assertThat(received, instanceOf(RuntimeException.class));
+		assertThat(received.getMessage(), is("java.lang.RuntimeException: failure"));
+		assertThat(received.getStackTrace(), is(failure.getStackTrace()));
+		assertThat(received.getCause().getMessage(), is("java.lang.IllegalStateException: cause"));
+		assertThat(received.getCause().getStackTrace(), is(cause.getStackTrace()));
+		assertThat(received.getCause().getCause(), nullValue());
+	}
+
+	@Test
+	public void assertionErrorRoundTrip() throws Exception {
+		AssertionError failure = new AssertionError("expected");
+		ShardEvent event = roundTrip(new ShardEvent(ShardEvent.Type.FAILURE, "config", "test(Test)", failure));
+
+		assertThat(event.getFailure(), instanceOf(AssertionError.class));
+		assertThat(event.getFailure().getMessage(), is("java.lang.AssertionError: expected"));
+	}
+
+	@Test
+	public void failureWithoutMessageRoundTrip() throws Exception {
+		ShardEvent event = roundTrip(new ShardEvent(ShardEvent.Type.ASSUMPTION_FAILURE, "config", 
+				"test(Test)", new NullPointerException()));
+
+		assertThat(event.getFailure().getMessage(), is("java.lang.NullPointerException"));
+	}
+
+	private static ShardEvent roundTrip(ShardEvent event) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream output = new ObjectOutputStream(bytes);
+		output.writeObject(event);
+		output.close();
+		ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		try {
+			return (ShardEvent) input.readObject();
+		} finally {
+			input.close();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.junit.test.internal.shard;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.jboss.reddeer.junit.internal.runner.NamedSuite;
+import org.jboss.reddeer.junit.internal.shard.TestDurations;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.internal.builders.AllDefaultPossibilitiesBuilder;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.notification.RunNotifier;
+
+public class TestDurationsTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void durationsOfSeveralRunsAreSummed() {
+		TestDurations durations = new TestDurations(null, null);
+		durations.addDuration("Test", 100);
+		durations.addDuration("Test", 50);
+
+		assertThat(durations.getRecordedDurations().get("Test"), is(150L));
+	}
+
+	@Test
+	public void durationsAreSavedToOutputFile() throws IOException {
+		File input = folder.newFile("input.properties");
+		File output = new File(folder.getRoot(), "output.properties");
+		TestDurations previous = new TestDurations(null, input);
+		previous.addDuration("First", 100);
+		previous.addDuration("Second", 200);
+		previous.save();
+		long inputLength = input.length();
+
+		TestDurations durations = new TestDurations(input, output);
+		durations.addDuration("First", 300);
+		durations.save();
+
+		assertThat(input.length(), is(inputLength));
+		assertThat(new TestDurations(input).getDuration("First"), is(100L));
+		TestDurations saved = new TestDurations(output);
+		assertThat(saved.getDuration("First"), is(300L));
+		assertThat(saved.getDuration("Second"), is(200L));
+	}
+
+	@Test
+	public void durationsAreNotSavedWithoutOutputFile() throws IOException {
+		File input = folder.newFile("input.properties");
+		TestDurations durations = new TestDurations(input, null);
+		durations.addDuration("Test", 100);
+		durations.save();
+
+		assertThat(input.length(), is(0L));
+		assertThat(new TestDurations(input).getDuration("Test"), is(nullValue()));
+	}
+
+	@Test
+	public void classDurationIncludesClassSetup() throws Exception {
+		TestDurations durations = new TestDurations(null, null);
+		NamedSuite suite = new NamedSuite(new Class[] { SlowSetupTest.class }, 
+				new AllDefaultPossibilitiesBuilder(true), "config");
+		suite.setTestDurations(durations);
+		suite.run(new RunNotifier());
+
+		Long duration = durations.getRecordedDurations().get(SlowSetupTest.class.getName());
+		assertTrue("Duration " + duration + " does not include class setup", 
+				duration != null && duration >= SlowSetupTest.SETUP_DURATION);
+	}
+
+	public static class SlowSetupTest {
+
+		static final long SETUP_DURATION = 200;
+
+		@BeforeClass
+		public static void setUpClass() throws InterruptedException {
+			Thread.sleep(SETUP_DURATION);
+		}
+
+		@Test
+		public void fastTest() {
+			// duration of the test itself is negligible
+		}
+	}
+}
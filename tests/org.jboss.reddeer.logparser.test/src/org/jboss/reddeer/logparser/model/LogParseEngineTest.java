@@ -0,0 +1,250 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.logparser.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Test;
+
+/**
+ * Tests of {@link LogParseEngine}. Parsed logs are compared with the result of 
+ * the line based parsing which was used by log parser editor before.
+ */
+public class LogParseEngineTest {
+
+	private static final String[] LINE_SEPARATORS = {"\n", "\r", "\r\n"};
+
+	@Test
+	public void testSplitToChunks() {
+		assertArrayEquals(new int[] {0, 8, 12}, LogParseEngine.splitToChunks("aaa\nbbb\nccc\n", 5));
+		// chunk ending exactly at the end of a line is not extended
+		assertArrayEquals(new int[] {0, 5, 10}, LogParseEngine.splitToChunks("aaaa\nbbbb\n", 5));
+		// line longer than chunk
+		assertArrayEquals(new int[] {0, 11, 13}, LogParseEngine.splitToChunks("aaaaaaaaaa\nb\n", 2));
+	}
+
+	@Test
+	public void testSplitToChunks_smallLogs() {
+		assertArrayEquals(new int[] {0}, LogParseEngine.splitToChunks("", 5));
+		assertArrayEquals(new int[] {0, 3}, LogParseEngine.splitToChunks("abc", 5));
+		assertArrayEquals(new int[] {0, 5}, LogParseEngine.splitToChunks("abc\r\n", 5));
+	}
+
+	@Test
+	public void testSplitToChunks_crlfAtChunkBoundary() {
+		// chunk boundary falls between \r and \n
+		assertArrayEquals(new int[] {0, 5, 10, 13}, LogParseEngine.splitToChunks("aaa\r\nbbb\r\nccc", 4));
+		assertArrayEquals(new int[] {0, 2, 4}, LogParseEngine.splitToChunks("\r\n\r\n", 1));
+	}
+
+	@Test
+	public void testSplitToChunks_chunksStartAtLineStarts() {
+		Random random = new Random(1);
+		for (int i = 0; i < 200; i++) {
+			String log = createLog(random, random.nextInt(30));
+			for (int chunkSize = 1; chunkSize <= 20; chunkSize++) {
+				int[] chunkStarts = LogParseEngine.splitToChunks(log, chunkSize);
+				assertEquals(0, chunkStarts[0]);
+				assertEquals(log.length(), chunkStarts[chunkStarts.length - 1]);
+				for (int j = 1; j < chunkStarts.length - 1; j++) {
+					int start = chunkStarts[j];
+					assertTrue(start > chunkStarts[j - 1]);
+					assertTrue("Chunk does not start at line start: " + escape(log) + " " + start,
+							LogParseEngine.isLineSeparator(log.charAt(start - 1)));
+					assertFalse("Chunk starts within \\r\\n: " + escape(log) + " " + start,
+							log.charAt(start - 1) == '\r' && log.charAt(start) == '\n');
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCrlfAcrossChunks() {
+		String log = "first\r\nsecond\r\n\r\nthird\rfourth\nfifth\r\n";
+		List<ParseRule> rules = Collections.emptyList();
+		for (int chunkSize = 1; chunkSize <= log.length(); chunkSize++) {
+			ParsedLog parsedLog = parse(log, rules, chunkSize);
+			assertEquals("first\nsecond\nthird\nfourth\nfifth\n", parsedLog.getText());
+			assertEquals(5, parsedLog.getLineCount());
+			assertEquals(4, parsedLog.getOriginalLineNumber(2));
+			assertParsedAsLineBased(log, rules, chunkSize);
+		}
+	}
+
+	@Test
+	public void testContextAcrossChunks() {
+		StringBuilder log = new StringBuilder();
+		for (int i = 1; i <= 30; i++) {
+			log.append(i % 7 == 0 ? "ERROR " : "INFO ").append(i).append(i % 2 == 0 ? "\r\n" : "\n");
+		}
+		List<ParseRule> rules = Arrays.asList(
+				createRule("ERROR.*", "", 2, 3, 2, "E: "),
+				createRule("INFO 2.*", "INFO 22", 1, 0, 0, "I: "));
+		for (int chunkSize = 1; chunkSize <= log.length(); chunkSize++) {
+			ParsedLog parsedLog = assertParsedAsLineBased(log.toString(), rules, chunkSize);
+			// lines 4 to 6 are included before error on line 7, line 10 is not included
+			assertEquals(2, parsedLog.getOriginalLineNumber(0));
+			assertTrue(parsedLog.getText().startsWith(" I: INFO 2\n  E: INFO 4\n  E: INFO 5\n  E: INFO 6\n  E: ERROR 7\n"));
+			assertFalse(parsedLog.getText().contains("INFO 10\n"));
+			// line 20 keeps info rule, excluded line 22 is included as context of error on line 21
+			assertTrue(parsedLog.getText().contains(
+					"\n  E: INFO 19\n I: INFO 20\n  E: ERROR 21\n  E: INFO 22\n  E: INFO 23\n I: INFO 24\n"));
+		}
+	}
+
+	@Test
+	public void testRandomLogsAreParsedAsLineBased() {
+		Random random = new Random(2);
+		List<ParseRule> rules = Arrays.asList(
+				createRule("a.*", "a+", 0, 1, 0, "A"),
+				createRule(".*b", "", 2, 0, 1, "B"),
+				createRule("", "c.*", 1, 0, 0, ""));
+		for (int i = 0; i < 200; i++) {
+			String log = createLog(random, random.nextInt(40));
+			for (int chunkSize = 1; chunkSize <= 20; chunkSize++) {
+				assertParsedAsLineBased(log, rules, chunkSize);
+			}
+			assertParsedAsLineBased(log, new ArrayList<ParseRule>(), 7);
+			assertParsedAsLineBased(log, rules, LogParseEngine.CHUNK_SIZE);
+		}
+	}
+
+	private ParsedLog assertParsedAsLineBased(String log, List<ParseRule> rules, int chunkSize) {
+		ParsedLog expected = parseLineBased(log, rules);
+		ParsedLog parsedLog = parse(log, rules, chunkSize);
+		String message = "Log " + escape(log) + " parsed in chunks of " + chunkSize;
+		assertEquals(message, expected.getText(), parsedLog.getText());
+		assertEquals(message, expected.getLineCount(), parsedLog.getLineCount());
+		for (int i = 0; i < expected.getLineCount(); i++) {
+			assertEquals(message, expected.getOriginalLineNumber(i), parsedLog.getOriginalLineNumber(i));
+		}
+		return parsedLog;
+	}
+
+	private static ParsedLog parse(String log, List<ParseRule> rules, int chunkSize) {
+		return new LogParseEngine(rules).parse(log, new NullProgressMonitor(), chunkSize);
+	}
+
+	/**
+	 * Parses log line by line the same way as log parser editor did before the log 
+	 * parse engine was introduced.
+	 */
+	private static ParsedLog parseLineBased(String log, List<ParseRule> rules) {
+		LineNumberReader lineNumberReader = new LineNumberReader(new StringReader(log));
+		TreeMap<Integer, String> originalLogLines = new TreeMap<Integer, String>();
+		TreeMap<Integer, ParseRule> includedLines = new TreeMap<Integer, ParseRule>();
+		String line;
+		try {
+			while ((line = lineNumberReader.readLine()) != null) {
+				int lineNumber = lineNumberReader.getLineNumber();
+				originalLogLines.put(lineNumber, line);
+				boolean notIncludeLine = true;
+				ParseRule parseRule = new ParseRule();
+				if (!rules.isEmpty() && line.length() > 0) {
+					boolean excludeRegexNotApplied = true;
+					for (int i = 0; notIncludeLine && excludeRegexNotApplied && i < rules.size(); i++) {
+						parseRule = rules.get(i);
+						boolean includeRegexMatches = true;
+						if (parseRule.getIncludeRegex().length() > 0) {
+							includeRegexMatches = line.matches(parseRule.getIncludeRegex());
+						}
+						if (includeRegexMatches) {
+							if (parseRule.getExcludeRegex().length() > 0) {
+								notIncludeLine = line.matches(parseRule.getExcludeRegex());
+								excludeRegexNotApplied = !notIncludeLine;
+							} else {
+								notIncludeLine = false;
+							}
+						}
+					}
+				} else {
+					notIncludeLine = line.length() == 0;
+				}
+				if (!notIncludeLine) {
+					int from = Math.max(0, lineNumber - parseRule.getDisplayLinesBefore());
+					int to = lineNumber + parseRule.getDisplaylinesAfter();
+					for (int i = from; i <= to; i++) {
+						if (!includedLines.containsKey(i)) {
+							includedLines.put(i, parseRule);
+						}
+					}
+				}
+			}
+		} catch (IOException ioe) {
+			throw new IllegalStateException(ioe);
+		}
+		StringBuilder text = new StringBuilder();
+		List<Integer> originalLines = new ArrayList<Integer>();
+		for (Integer lineNumber : includedLines.keySet()) {
+			String originalLine = originalLogLines.get(lineNumber);
+			if (originalLine != null) {
+				ParseRule rule = includedLines.get(lineNumber);
+				char[] indent = new char[rule.getIndent()];
+				Arrays.fill(indent, ' ');
+				text.append(indent).append(rule.getPrefix()).append(originalLine).append('\n');
+				originalLines.add(lineNumber);
+			}
+		}
+		int[] originalLineNumbers = new int[originalLines.size()];
+		for (int i = 0; i < originalLineNumbers.length; i++) {
+			originalLineNumbers[i] = originalLines.get(i);
+		}
+		return new ParsedLog(text.toString(), originalLineNumbers);
+	}
+
+	private static ParseRule createRule(String includeRegex, String excludeRegex, int indent, 
+			int linesBefore, int linesAfter, String prefix) {
+		ParseRule rule = new ParseRule();
+		rule.setIncludeRegex(includeRegex);
+		rule.setExcludeRegex(excludeRegex);
+		rule.setIndent(indent);
+		rule.setDisplayLinesBefore(linesBefore);
+		rule.setDisplaylinesAfter(linesAfter);
+		rule.setPrefix(prefix);
+		return rule;
+	}
+
+	/**
+	 * Creates log of random lines consisting of characters a, b and c terminated 
+	 * by random line separators, last line is not always terminated.
+	 */
+	private static String createLog(Random random, int lineCount) {
+		StringBuilder log = new StringBuilder();
+		for (int i = 0; i < lineCount; i++) {
+			int length = random.nextInt(5);
+			for (int j = 0; j < length; j++) {
+				log.append((char) ('a' + random.nextInt(3)));
+			}
+			if (i < lineCount - 1 || random.nextBoolean()) {
+				log.append(LINE_SEPARATORS[random.nextInt(LINE_SEPARATORS.length)]);
+			}
+		}
+		return log.toString();
+	}
+
+	private static String escape(String log) {
+		return "\"" + log.replace("\r", "\\r").replace("\n", "\\n") + "\"";
+	}
+}
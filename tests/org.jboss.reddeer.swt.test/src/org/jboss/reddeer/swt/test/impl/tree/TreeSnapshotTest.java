@@ -0,0 +1,114 @@
+/******************************************************************************* 
+ * Copyright (c) 2016 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.jboss.reddeer.swt.test.impl.tree;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.swt.widgets.Shell;
+import org.jboss.reddeer.swt.impl.tree.DefaultTree;
+import org.jboss.reddeer.swt.impl.tree.DefaultTreeItem;
+import org.jboss.reddeer.swt.impl.tree.TreeSnapshot;
+import org.jboss.reddeer.swt.impl.tree.TreeSnapshot.Row;
+import org.junit.Test;
+
+public class TreeSnapshotTest extends AbstractTreeTest {
+
+	private DefaultTree tree;
+
+	@Override
+	protected void createControls(Shell shell) {
+		super.createControls(shell);
+		tree = new DefaultTree();
+	}
+
+	@Test
+	public void testCapture_noItems() {
+		removeTreeItems(tree.getSWTWidget());
+		assertThat(TreeSnapshot.capture(tree).size(), is(0));
+	}
+
+	@Test
+	public void testCapture() {
+		createTreeItems(tree.getSWTWidget());
+		TreeSnapshot snapshot = TreeSnapshot.capture(tree);
+
+		assertThat(snapshot.size(), is(7));
+		assertThat(texts(snapshot.getRows()), is("A AA AAA AAB B BB C"));
+		assertThat(texts(snapshot.getTopRows()), is("A B C"));
+		assertThat(texts(snapshot.getRow(0).getChildren()), is("AA"));
+		assertThat(texts(snapshot.getRow(0).getDescendants()), is("AA AAA AAB"));
+		assertArrayEquals(new String[] {"A", "AA", "AAB"}, snapshot.getRow(3).getPath());
+		assertThat(snapshot.getRow(3).getDepth(), is(2));
+		assertThat(snapshot.getRow(3).getParent().getText(), is("AA"));
+		assertThat(snapshot.getRow(0).getParent(), nullValue());
+		assertThat(snapshot.getRow(0).getItemCount(), is(1));
+		assertThat(snapshot.getRow(0).getCells().length, is(TREE_COLUMN_COUNT));
+	}
+
+	@Test
+	public void testCapture_maxDepth() {
+		createTreeItems(tree.getSWTWidget());
+		TreeSnapshot snapshot = TreeSnapshot.capture(tree, 1, false);
+
+		assertThat(texts(snapshot.getRows()), is("A AA B BB C"));
+		assertThat(snapshot.getRow(1).getItemCount(), is(2));
+		assertTrue(snapshot.getRow(1).getChildren().isEmpty());
+	}
+
+	@Test
+	public void testCapture_treeItem() {
+		createTreeItems(tree.getSWTWidget());
+		TreeSnapshot snapshot = TreeSnapshot.capture(new DefaultTreeItem("A"));
+
+		assertThat(texts(snapshot.getRows()), is("AA AAA AAB"));
+		assertArrayEquals(new String[] {"A", "AA", "AAA"}, snapshot.getRow(1).getPath());
+		assertThat(snapshot.getRow(1).getDepth(), is(1));
+	}
+
+	@Test
+	public void testCapture_expand() {
+		createTreeItems(tree.getSWTWidget());
+		TreeSnapshot snapshot = TreeSnapshot.capture(tree, TreeSnapshot.UNLIMITED_DEPTH, true);
+
+		assertThat(snapshot.size(), is(7));
+		assertThat(snapshot.getRow(0).isExpanded(), is(false));
+		assertThat(TreeSnapshot.capture(tree).getRow(0).isExpanded(), is(true));
+	}
+
+	@Test
+	public void testGetRow() {
+		createTreeItems(tree.getSWTWidget());
+		TreeSnapshot snapshot = TreeSnapshot.capture(tree);
+
+		assertThat(snapshot.getRow("A", "AA", "AAB").getIndex(), is(3));
+		assertThat(snapshot.getRow("B", "BB").getIndex(), is(5));
+		assertThat(snapshot.getRow("B", "AA"), nullValue());
+		assertThat(texts(snapshot.getRows(equalTo("AAB"))), is("AAB"));
+	}
+
+	private String texts(List<Row> rows) {
+		StringBuilder texts = new StringBuilder();
+		for (Row row : rows) {
+			if (texts.length() > 0) {
+				texts.append(' ');
+			}
+			texts.append(row.getText());
+		}
+		return texts.toString();
+	}
+}